@@ -11,6 +11,7 @@ import com.educator.hierarchy.HierarchyNodeRepository;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -73,4 +74,16 @@ public class CourseController {
                 request.getEstimatedDurationMinutes()
         );
     }
+
+    @PostMapping("/{id}/publish")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Course publishCourse(@PathVariable Long id) {
+        return courseService.publishCourse(id);
+    }
+
+    @PostMapping("/{id}/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Course archiveCourse(@PathVariable Long id) {
+        return courseService.archiveCourse(id);
+    }
 }
@@ -1,5 +1,6 @@
 package com.educator.admin;
 
+import com.educator.common.dto.CursorPage;
 import com.educator.common.dto.PaginatedResponse;
 import com.educator.common.pagination.PageableFactory;
 import com.educator.users.dto.AdminUserResponse;
@@ -35,6 +36,18 @@ public class AdminUserController {
         return new PaginatedResponse<>(adminUserService.getUsers(pageable));
     }
 
+    /**
+     * Users newest first, one slice per cursor; an empty cursor starts from the newest user.
+     */
+    @GetMapping(params = "cursor")
+    public CursorPage<AdminUserResponse> listUsersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return adminUserService.getUsers(cursor, size, withTotal);
+    }
+
     @PutMapping("/{id}/roles")
     public ResponseEntity<AdminUserResponse> updateRoles(
             @PathVariable("id") Long userId,
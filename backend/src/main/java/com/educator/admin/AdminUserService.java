@@ -1,10 +1,15 @@
 package com.educator.admin;
 
+import com.educator.common.dto.CursorPage;
+import com.educator.common.pagination.KeysetCursor;
+import com.educator.common.pagination.PageableFactory;
 import com.educator.roles.Role;
 import com.educator.roles.RoleRepository;
+import com.educator.security.VerifiedTokenCache;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import com.educator.users.dto.AdminUserResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,10 +27,16 @@ public class AdminUserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public AdminUserService(UserRepository userRepository, RoleRepository roleRepository) {
+    public AdminUserService(
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            VerifiedTokenCache verifiedTokenCache
+    ) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Transactional(readOnly = true)
@@ -33,6 +44,30 @@ public class AdminUserService {
         return userRepository.findAll(pageable).map(this::toResponse);
     }
 
+    /**
+     * Admin user list, newest first, sliced on the id primary key; the users
+     * table is only counted when withTotal is set.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AdminUserResponse> getUsers(String cursor, Integer size, boolean withTotal) {
+        int pageSize = PageableFactory.sizeOf(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<User> rows = KeysetCursor.isFirstPage(cursor)
+                ? userRepository.findAllByOrderByIdDesc(limit)
+                : userRepository.findByIdLessThanOrderByIdDesc(
+                        KeysetCursor.parse(KeysetCursor.decode(cursor, 1)[0], Long::parseLong),
+                        limit
+                );
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                last -> KeysetCursor.encode(last.getId()),
+                withTotal ? userRepository.count() : null
+        ).map(this::toResponse);
+    }
+
     public AdminUserResponse updateRoles(Long userId, List<String> roleNames) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -46,6 +81,7 @@ public class AdminUserService {
         }
 
         user.setRoles(roles);
+        verifiedTokenCache.revoke(user);
         User updatedUser = userRepository.save(user);
         return toResponse(updatedUser);
     }
@@ -8,6 +8,7 @@ import com.educator.auth.dto.PasswordResetRequestResponse;
 import com.educator.auth.dto.RefreshTokenRequest;
 import com.educator.auth.dto.RegisterRequest;
 import com.educator.security.JwtUtil;
+import com.educator.security.VerifiedJwt;
 import com.educator.users.User;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -63,12 +64,13 @@ public class AuthController {
 
     @PostMapping("/refresh")
     public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
-        if (!jwtUtil.validateToken(request.getToken())) {
+        VerifiedJwt jwt = jwtUtil.verify(request.getToken())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid token"));
+
+        User user = authService.getUserByEmail(jwt.subject());
+        if (!user.acceptsTokenIssuedAt(jwt.issuedAt())) {
             throw new IllegalArgumentException("Invalid token");
         }
-
-        String email = jwtUtil.extractEmail(request.getToken());
-        User user = authService.getUserByEmail(email);
         String newToken = jwtUtil.generateToken(user);
 
         return ResponseEntity.ok(new JwtResponse(newToken));
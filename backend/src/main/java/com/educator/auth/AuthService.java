@@ -2,6 +2,7 @@ package com.educator.auth;
 
 import com.educator.roles.Role;
 import com.educator.roles.RoleRepository;
+import com.educator.security.VerifiedTokenCache;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,15 +20,18 @@ public class AuthService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public AuthService(
             UserRepository userRepository,
             RoleRepository roleRepository,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            VerifiedTokenCache verifiedTokenCache
     ) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     /**
@@ -80,6 +84,7 @@ public class AuthService {
         validateStrongPassword(newPassword);
         User user = getUserByEmail(email);
         user.setPassword(passwordEncoder.encode(newPassword));
+        verifiedTokenCache.revoke(user);
         userRepository.save(user);
     }
 
@@ -2,6 +2,7 @@ package com.educator.certificate.controller;
 
 import com.educator.certificate.entity.Certificate;
 import com.educator.certificate.service.CertificateService;
+import com.educator.common.dto.CursorPage;
 import com.educator.common.dto.PaginatedResponse;
 import com.educator.common.pagination.PageableFactory;
 import com.educator.common.security.UserIdentityUtil;
@@ -36,6 +37,20 @@ public class LearnerCertificateController {
         return new PaginatedResponse<>(certificateService.listForUser(userId, pageable));
     }
 
+    /**
+     * The caller's certificates newest first; pass the previous slice's nextCursor, or an empty one to start.
+     */
+    @GetMapping(params = "cursor")
+    public CursorPage<Certificate> listCertificatesByCursor(
+            Authentication authentication,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        UUID userId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
+        return certificateService.listForUser(userId, cursor, size, withTotal);
+    }
+
     private String resolveEmail(Authentication authentication) {
         if (authentication == null || authentication.getName() == null || authentication.getName().isBlank()) {
             throw new IllegalArgumentException("Authenticated user email is required");
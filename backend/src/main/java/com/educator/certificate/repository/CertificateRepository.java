@@ -2,9 +2,15 @@ package com.educator.certificate.repository;
 
 import com.educator.certificate.entity.Certificate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
 
@@ -12,5 +18,28 @@ public interface CertificateRepository extends JpaRepository<Certificate, UUID>
 
     Optional<Certificate> findByCourseIdAndUserId(Long courseId, UUID userId);
 
+    List<Certificate> findByUserIdAndCourseIdIn(UUID userId, Collection<Long> courseIds);
+
     Page<Certificate> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    /**
+     * A learner's certificates on (createdAt desc, id desc), matching idx_certificates_user_created:
+     * first slice, then every slice after a cursor.
+     */
+    List<Certificate> findByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    @Query("""
+            select c from Certificate c
+            where c.userId = :userId
+              and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+            order by c.createdAt desc, c.id desc
+            """)
+    List<Certificate> findByUserIdAfter(
+            @Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    long countByUserId(UUID userId);
 }
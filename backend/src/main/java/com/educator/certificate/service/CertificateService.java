@@ -3,6 +3,8 @@ package com.educator.certificate.service;
 import com.educator.certificate.entity.Certificate;
 import com.educator.certificate.enums.CertificateStatus;
 import com.educator.certificate.repository.CertificateRepository;
+import com.educator.common.dto.CursorPage;
+import com.educator.common.pagination.KeysetKey;
 import com.educator.completion.entity.CourseCompletion;
 import com.educator.completion.repository.CourseCompletionRepository;
 import com.educator.notification.service.NotificationPersistenceService;
@@ -18,6 +20,9 @@ import java.util.UUID;
 @Transactional
 public class CertificateService {
 
+    private static final KeysetKey<Certificate, LocalDateTime, UUID> BY_CREATED_AT =
+            KeysetKey.of(Certificate::getCreatedAt, LocalDateTime::parse, Certificate::getId, UUID::fromString);
+
     private final CertificateRepository certificateRepository;
     private final CourseCompletionRepository completionRepository;
     private final NotificationPersistenceService notificationPersistenceService;
@@ -84,6 +89,21 @@ public class CertificateService {
         return certificateRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
     }
 
+    /**
+     * The learner's certificates newest first, sliced after a (createdAt, id)
+     * cursor; served from idx_certificates_user_created.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Certificate> listForUser(UUID userId, String cursor, Integer size, boolean withTotal) {
+        return BY_CREATED_AT.slice(
+                cursor,
+                size,
+                limit -> certificateRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit),
+                (createdAt, id, limit) -> certificateRepository.findByUserIdAfter(userId, createdAt, id, limit),
+                withTotal ? () -> certificateRepository.countByUserId(userId) : null
+        );
+    }
+
     @Transactional(readOnly = true)
     public Certificate getById(UUID certificateId) {
         return certificateRepository.findById(certificateId)
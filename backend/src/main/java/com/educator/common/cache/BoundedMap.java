@@ -0,0 +1,217 @@
+package com.educator.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded concurrent map behind the in-process caches.
+ *
+ * Writes never scan the map. A new key that arrives while the map is full
+ * is not stored; instead a trim is queued on a shared background thread,
+ * which drops stale entries and, if allowed, arbitrary live entries until
+ * the map is back under 90% of capacity. The cap can be overshot by the
+ * number of concurrent writers, never by more.
+ *
+ * Loads are guarded by generations: {@link #generation} before the load,
+ * {@link #putIfCurrent} after it. Any invalidation of that key in between
+ * (or of all keys) makes the put a no-op, checked atomically with the write.
+ * Key generations are striped, so memory does not grow with the key space;
+ * a collision only costs an extra reload.
+ */
+public final class BoundedMap<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedMap.class);
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private static final ExecutorService TRIMMER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bounded-map-trim");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Predicate<? super V> stale;
+    private final boolean evictLive;
+    private final Executor trimExecutor;
+
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicBoolean trimQueued = new AtomicBoolean();
+    private final AtomicLong liveEvictions = new AtomicLong();
+
+    /**
+     * A cache: when dropping stale entries is not enough, live ones go too.
+     */
+    public BoundedMap(int maxEntries, Predicate<? super V> stale) {
+        this(maxEntries, stale, true, TRIMMER);
+    }
+
+    /**
+     * With evictLive false, a full map only ever sheds stale entries; new keys
+     * are refused until the trim has made room.
+     */
+    public BoundedMap(int maxEntries, Predicate<? super V> stale, boolean evictLive) {
+        this(maxEntries, stale, evictLive, TRIMMER);
+    }
+
+    public BoundedMap(int maxEntries, Predicate<? super V> stale, boolean evictLive, Executor trimExecutor) {
+        this.maxEntries = maxEntries;
+        this.stale = stale;
+        this.evictLive = evictLive;
+        this.trimExecutor = trimExecutor;
+    }
+
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores the value. Returns false, and queues a trim, if the key is new and the map is full.
+     */
+    public boolean put(K key, V value) {
+        if (!hasRoomFor(key)) {
+            return false;
+        }
+        entries.put(key, value);
+        return true;
+    }
+
+    /**
+     * The existing value, else a new one if there is room; null if the map is full.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        V existing = entries.get(key);
+        if (existing != null || !hasRoomFor(key)) {
+            return existing;
+        }
+        return entries.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * Token to pass to {@link #putIfCurrent} once a value for the key has been loaded.
+     */
+    public long generation(K key) {
+        // Both counters only grow, so the sum changes whenever either does
+        return globalGeneration.get() + keyGenerations.get(stripe(key));
+    }
+
+    /**
+     * Stores a loaded value unless the key was invalidated since {@code observedGeneration}.
+     */
+    public boolean putIfCurrent(K key, V value, long observedGeneration) {
+        if (!hasRoomFor(key)) {
+            return false;
+        }
+        boolean[] stored = new boolean[1];
+        entries.compute(key, (k, existing) -> {
+            if (generation(k) != observedGeneration) {
+                return existing;
+            }
+            stored[0] = true;
+            return value;
+        });
+        return stored[0];
+    }
+
+    public V remove(K key) {
+        return entries.remove(key);
+    }
+
+    public boolean remove(K key, V value) {
+        return entries.remove(key, value);
+    }
+
+    /**
+     * Drops the key and fails any load of it that is still in flight.
+     */
+    public void invalidate(K key) {
+        keyGenerations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    /**
+     * Drops matching entries and fails every load still in flight.
+     */
+    public void invalidateIf(Predicate<? super V> predicate) {
+        globalGeneration.incrementAndGet();
+        entries.values().removeIf(predicate);
+    }
+
+    public void removeIf(Predicate<? super V> predicate) {
+        entries.values().removeIf(predicate);
+    }
+
+    public Map<K, V> view() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Live entries dropped so far because the map was full.
+     */
+    public long liveEvictions() {
+        return liveEvictions.get();
+    }
+
+    /**
+     * Drops stale entries; if still over 90% of capacity and allowed, drops
+     * arbitrary entries too. Runs on the trim thread or a scheduled sweep.
+     */
+    public void trim() {
+        entries.values().removeIf(stale);
+        if (!evictLive) {
+            return;
+        }
+
+        int target = (int) (maxEntries * 0.9);
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            liveEvictions.incrementAndGet();
+        }
+    }
+
+    private boolean hasRoomFor(K key) {
+        if (entries.size() < maxEntries || entries.containsKey(key)) {
+            return true;
+        }
+        if (trimQueued.compareAndSet(false, true)) {
+            try {
+                trimExecutor.execute(() -> {
+                    try {
+                        trim();
+                    } catch (RuntimeException e) {
+                        log.warn("Bounded map trim failed: {}", e.getMessage());
+                    } finally {
+                        trimQueued.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                trimQueued.set(false);
+            }
+        }
+        return false;
+    }
+
+    private int stripe(K key) {
+        return (key == null ? 0 : key.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+}
@@ -0,0 +1,13 @@
+package com.educator.common.cache;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+
+    @Query("select v.version from CacheVersion v where v.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+}
@@ -0,0 +1,78 @@
+package com.educator.common.cache;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Shared version counters used by nodes to detect that a local cache snapshot is stale.
+ *
+ * PostgreSQL bumps a counter with a single INSERT ... ON CONFLICT DO UPDATE
+ * ... RETURNING; other databases (H2 in tests) use the equivalent standard
+ * MERGE followed by a read of the locked row.
+ */
+@Service
+public class CacheVersionService {
+
+    private static final String INCREMENT_POSTGRES = """
+            INSERT INTO cache_versions (name, version, updated_at)
+            VALUES (?, 1, ?)
+            ON CONFLICT (name)
+            DO UPDATE SET version = cache_versions.version + 1, updated_at = EXCLUDED.updated_at
+            RETURNING version
+            """;
+
+    private static final String INCREMENT_STANDARD = """
+            MERGE INTO cache_versions target
+            USING (VALUES (CAST(? AS VARCHAR(100)), CAST(? AS TIMESTAMP))) AS incoming (name, updated_at)
+            ON target.name = incoming.name
+            WHEN MATCHED THEN UPDATE SET version = target.version + 1, updated_at = incoming.updated_at
+            WHEN NOT MATCHED THEN INSERT (name, version, updated_at) VALUES (incoming.name, 1, incoming.updated_at)
+            """;
+
+    private final CacheVersionRepository cacheVersionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public CacheVersionService(CacheVersionRepository cacheVersionRepository, JdbcTemplate jdbcTemplate) {
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Current version of the named cache; 0 when it has never been bumped.
+     */
+    @Transactional(readOnly = true)
+    public long current(String name) {
+        return cacheVersionRepository.findVersion(name).orElse(0L);
+    }
+
+    /**
+     * Increments the named counter and returns the new value. Joins the caller's
+     * transaction, so the bump only becomes visible together with the change it marks.
+     */
+    @Transactional
+    public long increment(String name) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (isPostgres()) {
+            return jdbcTemplate.queryForObject(INCREMENT_POSTGRES, Long.class, name, now);
+        }
+        jdbcTemplate.update(INCREMENT_STANDARD, name, now);
+        return jdbcTemplate.queryForObject("SELECT version FROM cache_versions WHERE name = ?", Long.class, name);
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            detected = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = detected;
+        }
+        return detected;
+    }
+}
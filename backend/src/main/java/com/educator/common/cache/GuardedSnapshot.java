@@ -0,0 +1,62 @@
+package com.educator.common.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lazily built, invalidatable snapshot of a single value.
+ *
+ * Concurrent callers on a cold snapshot wait for one build. A build that
+ * overlaps an {@link #invalidate} is returned to its caller but not
+ * published, so a snapshot read before a change can never outlive it.
+ */
+public final class GuardedSnapshot<T> {
+
+    private final Supplier<T> builder;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile T value;
+
+    public GuardedSnapshot(Supplier<T> builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Returns the current value, building it if it has been invalidated.
+     */
+    public T get() {
+        T current = value;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = value;
+            if (current != null) {
+                return current;
+            }
+
+            long observedGeneration = generation.get();
+            T built = builder.get();
+            if (generation.get() == observedGeneration) {
+                value = built;
+            }
+            return built;
+        }
+    }
+
+    /**
+     * The published value, or null if there is none; never builds.
+     */
+    public T peek() {
+        return value;
+    }
+
+    /**
+     * Drops the value and discards any build still in flight.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        value = null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.educator.common.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated listing, the cursor-mode counterpart of
+ * {@link PaginatedResponse}. nextCursor is null on the last slice and
+ * totalElements is null unless the caller asked for a count.
+ */
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long totalElements;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this(content, nextCursor, null);
+    }
+
+    public CursorPage(List<T> content, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * Builds a slice from rows fetched with a limit of size + 1: the extra
+     * row only signals that another slice follows and is not returned.
+     */
+    public static <T> CursorPage<T> of(
+            List<T> rows,
+            int size,
+            Function<T, String> cursorOf,
+            Long totalElements
+    ) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(List.copyOf(rows), null, totalElements);
+        }
+        List<T> content = List.copyOf(rows.subList(0, size));
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)), totalElements);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor, totalElements);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+}
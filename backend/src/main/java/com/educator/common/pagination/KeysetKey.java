@@ -0,0 +1,87 @@
+package com.educator.common.pagination;
+
+import com.educator.common.dto.CursorPage;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Two-part keyset sort key (a timestamp plus a unique id) of one listing,
+ * and the slicing shared by every listing that pages on such a key.
+ *
+ * A slice reads size + 1 rows starting after the key decoded from the
+ * cursor; see {@link CursorPage#of} for how the extra row is used.
+ */
+public final class KeysetKey<T, A, B> {
+
+    private final Function<T, A> first;
+    private final Function<String, A> parseFirst;
+    private final Function<T, B> second;
+    private final Function<String, B> parseSecond;
+
+    private KeysetKey(
+            Function<T, A> first,
+            Function<String, A> parseFirst,
+            Function<T, B> second,
+            Function<String, B> parseSecond
+    ) {
+        this.first = first;
+        this.parseFirst = parseFirst;
+        this.second = second;
+        this.parseSecond = parseSecond;
+    }
+
+    public static <T, A, B> KeysetKey<T, A, B> of(
+            Function<T, A> first,
+            Function<String, A> parseFirst,
+            Function<T, B> second,
+            Function<String, B> parseSecond
+    ) {
+        return new KeysetKey<>(first, parseFirst, second, parseSecond);
+    }
+
+    /**
+     * One slice of the listing.
+     *
+     * @param firstSlice rows of the first slice, for a blank cursor
+     * @param sliceAfter rows strictly after the decoded key
+     * @param total      counts every row of the listing; null when no total was requested
+     */
+    public CursorPage<T> slice(
+            String cursor,
+            Integer size,
+            Function<Limit, List<T>> firstSlice,
+            SliceAfter<T, A, B> sliceAfter,
+            LongSupplier total
+    ) {
+        int pageSize = PageableFactory.sizeOf(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<T> rows;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            rows = firstSlice.apply(limit);
+        } else {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            rows = sliceAfter.fetch(
+                    KeysetCursor.parse(key[0], parseFirst),
+                    KeysetCursor.parse(key[1], parseSecond),
+                    limit
+            );
+        }
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                last -> KeysetCursor.encode(first.apply(last), second.apply(last)),
+                total != null ? total.getAsLong() : null
+        );
+    }
+
+    @FunctionalInterface
+    public interface SliceAfter<T, A, B> {
+
+        List<T> fetch(A first, B second, Limit limit);
+    }
+}
@@ -15,7 +15,13 @@ public final class PageableFactory {
 
     public static Pageable of(Integer page, Integer size, Sort sort) {
         int safePage = page == null || page < 0 ? DEFAULT_PAGE : page;
-        int safeSize = size == null || size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
-        return PageRequest.of(safePage, safeSize, sort == null ? Sort.unsorted() : sort);
+        return PageRequest.of(safePage, sizeOf(size), sort == null ? Sort.unsorted() : sort);
+    }
+
+    /**
+     * Page size with the same default and upper bound, for cursor (keyset) pagination.
+     */
+    public static int sizeOf(Integer size) {
+        return size == null || size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
     }
 }
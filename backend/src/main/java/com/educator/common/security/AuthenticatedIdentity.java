@@ -0,0 +1,39 @@
+package com.educator.common.security;
+
+import com.educator.roles.Role;
+import com.educator.users.User;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable identity of the authenticated user, resolved once per request
+ * by the JWT filter and carried in the security principal.
+ *
+ * Controllers and services use it instead of looking the User up again by email.
+ */
+public record AuthenticatedIdentity(
+        Long userId,
+        UUID stableId,
+        String email,
+        Set<String> roles
+) {
+
+    public AuthenticatedIdentity {
+        roles = roles == null ? Set.of() : Set.copyOf(roles);
+    }
+
+    public static AuthenticatedIdentity from(User user) {
+        return new AuthenticatedIdentity(
+                user.getId(),
+                UserIdentityUtil.toStableUuid(user.getEmail()),
+                user.getEmail(),
+                user.getRoles().stream().map(Role::getName).collect(Collectors.toSet())
+        );
+    }
+
+    public boolean hasRole(String roleName) {
+        return roles.contains(roleName);
+    }
+}
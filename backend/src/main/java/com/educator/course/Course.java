@@ -2,6 +2,7 @@ package com.educator.course;
 
 import com.educator.hierarchy.HierarchyNode;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -90,6 +91,14 @@ public class Course {
     @Column(nullable = false)
     private int sortOrder = 0;
 
+    /**
+     * Live (non-deleted) lessons; maintained by LessonService through bulk
+     * updates, never written from the entity
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "lesson_count", nullable = false, updatable = false)
+    private int lessonCount = 0;
+
     /**
      * Optimistic locking
      */
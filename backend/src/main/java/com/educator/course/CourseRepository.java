@@ -1,12 +1,16 @@
 package com.educator.course;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import com.educator.hierarchy.HierarchyNode;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,33 +31,163 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
   Optional<Course> findByIdAndStatusAndIsDeletedFalse(Long id, CourseStatus status);
 
+  /**
+   * Subset of the given ids that are publicly visible: PUBLISHED, not archived, not deleted.
+   */
+  @Query("""
+      select c.id from Course c
+      where c.id in :ids
+        and c.status = com.educator.course.CourseStatus.PUBLISHED
+        and c.isArchived = false
+        and c.isDeleted = false
+      """)
+  List<Long> findVisibleIdsIn(@Param("ids") Collection<Long> ids);
+
   List<Course> findByHierarchyNodeAndStatusAndIsArchivedFalseAndIsDeletedFalseOrderBySortOrderAsc(
       HierarchyNode hierarchyNode,
       CourseStatus status);
 
+  /**
+   * PUBLISHED courses anywhere under the node with the given materialized path,
+   * keyset-paged on (sortOrder, id). Courses on a node that is, or sits below,
+   * a hidden, unpublished or deleted node are left out, as in the public tree.
+   */
+  @Query("""
+      select c from Course c join c.hierarchyNode n
+      where n.path like concat(:pathPrefix, '%')
+        and not exists (
+            select a.id from HierarchyNode a
+            where a.path like concat(:pathPrefix, '%')
+              and n.path like concat(a.path, '%')
+              and (a.isDeleted = true or a.isVisible = false or a.isPublished = false))
+        and c.status = com.educator.course.CourseStatus.PUBLISHED
+        and c.isArchived = false
+        and c.isDeleted = false
+        and (c.sortOrder > :afterSortOrder
+             or (c.sortOrder = :afterSortOrder and c.id > :afterId))
+      order by c.sortOrder asc, c.id asc
+      """)
+  List<Course> findPublishedInSubtreeAfter(
+      @Param("pathPrefix") String pathPrefix,
+      @Param("afterSortOrder") int afterSortOrder,
+      @Param("afterId") long afterId,
+      Pageable pageable);
+
+  /**
+   * Number of publicly visible courses attached directly to each node of the
+   * public tree, keyed by the node's materialized path. Nodes below a hidden,
+   * unpublished or deleted ancestor are not part of the tree and get no count.
+   */
+  @Query("""
+      select n.path as path, count(c) as courseCount
+      from Course c join c.hierarchyNode n
+      where n.path is not null
+        and not exists (
+            select a.id from HierarchyNode a
+            where n.path like concat(a.path, '%')
+              and (a.isDeleted = true or a.isVisible = false or a.isPublished = false))
+        and c.status = com.educator.course.CourseStatus.PUBLISHED
+        and c.isArchived = false
+        and c.isDeleted = false
+      group by n.path
+      """)
+  List<NodeCourseCount> countPublishedByNodePath();
+
+  interface NodeCourseCount {
+    String getPath();
+
+    long getCourseCount();
+  }
+
   List<Course> findByIsDeletedFalseOrderByCreatedAtDesc();
 
   long countByIsDeletedFalse();
 
   /**
-   * SEARCH WITH TEXT (q MUST NOT BE NULL)
+   * FULL-TEXT SEARCH (PostgreSQL only): matches the GIN-indexed search_vector
+   * against a to_tsquery expression, best rank first. Filters are applied in
+   * the same statement; difficulty and status are enum names or null.
+   */
+  @Query(value = """
+      select c.* from courses c
+      where c.search_vector @@ to_tsquery('simple', :tsQuery)
+        and c.is_deleted = false
+        and c.is_archived = false
+        and (cast(:difficulty as varchar) is null or c.difficulty = cast(:difficulty as varchar))
+        and (cast(:status as varchar) is null or c.status = cast(:status as varchar))
+      order by ts_rank(c.search_vector, to_tsquery('simple', :tsQuery)) desc,
+               c.created_at desc,
+               c.id desc
+      limit :limit offset :offset
+      """, nativeQuery = true)
+  List<Course> searchFullText(
+      @Param("tsQuery") String tsQuery,
+      @Param("difficulty") String difficulty,
+      @Param("status") String status,
+      @Param("limit") int limit,
+      @Param("offset") long offset);
+
+  @Query(value = """
+      select count(*) from courses c
+      where c.search_vector @@ to_tsquery('simple', :tsQuery)
+        and c.is_deleted = false
+        and c.is_archived = false
+        and (cast(:difficulty as varchar) is null or c.difficulty = cast(:difficulty as varchar))
+        and (cast(:status as varchar) is null or c.status = cast(:status as varchar))
+      """, nativeQuery = true)
+  long countFullText(
+      @Param("tsQuery") String tsQuery,
+      @Param("difficulty") String difficulty,
+      @Param("status") String status);
+
+  /**
+   * Every course the public search can return, for the in-memory search index.
+   */
+  List<Course> findByIsDeletedFalseAndIsArchivedFalse();
+
+  /**
+   * Keyset counterpart of searchPublicCoursesWithoutQuery on (createdAt desc, id desc):
+   * first slice, then every slice after a cursor.
    */
   @Query("""
       select c from Course c
       where c.isDeleted = false
         and c.isArchived = false
-        and (
-              lower(c.titleEn) like lower(concat('%', :q, '%'))
-              or lower(c.descriptionEn) like lower(concat('%', :q, '%'))
-        )
         and (:difficulty is null or c.difficulty = :difficulty)
         and (:status is null or c.status = :status)
+      order by c.createdAt desc, c.id desc
       """)
-  Page<Course> searchPublicCoursesWithQuery(
-      @Param("q") String q,
+  List<Course> searchPublicCoursesWithoutQueryFirst(
       @Param("difficulty") CourseDifficulty difficulty,
       @Param("status") CourseStatus status,
-      Pageable pageable);
+      Limit limit);
+
+  @Query("""
+      select c from Course c
+      where c.isDeleted = false
+        and c.isArchived = false
+        and (:difficulty is null or c.difficulty = :difficulty)
+        and (:status is null or c.status = :status)
+        and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+      order by c.createdAt desc, c.id desc
+      """)
+  List<Course> searchPublicCoursesWithoutQueryAfter(
+      @Param("difficulty") CourseDifficulty difficulty,
+      @Param("status") CourseStatus status,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") Long id,
+      Limit limit);
+
+  @Query("""
+      select count(c) from Course c
+      where c.isDeleted = false
+        and c.isArchived = false
+        and (:difficulty is null or c.difficulty = :difficulty)
+        and (:status is null or c.status = :status)
+      """)
+  long countPublicCoursesWithoutQuery(
+      @Param("difficulty") CourseDifficulty difficulty,
+      @Param("status") CourseStatus status);
 
   /**
    * SEARCH WITHOUT TEXT
@@ -69,4 +203,32 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
       @Param("difficulty") CourseDifficulty difficulty,
       @Param("status") CourseStatus status,
       Pageable pageable);
+
+  /**
+   * LESSON COUNTER: atomic adjustment, bypasses the entity version
+   */
+  @Modifying
+  @Query("""
+      update Course c
+      set c.lessonCount = c.lessonCount + :delta
+      where c.id = :courseId
+      """)
+  int adjustLessonCount(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+  /**
+   * LESSON COUNTER REPAIR: recounts live lessons for drifted courses only
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(value = """
+      UPDATE courses
+      SET lesson_count = (
+          SELECT COUNT(*) FROM lessons l
+          WHERE l.course_id = courses.id AND l.is_deleted = FALSE
+      )
+      WHERE lesson_count <> (
+          SELECT COUNT(*) FROM lessons l
+          WHERE l.course_id = courses.id AND l.is_deleted = FALSE
+      )
+      """, nativeQuery = true)
+  int reconcileLessonCounts();
 }
@@ -1,11 +1,16 @@
 package com.educator.course.api;
 
+import com.educator.common.dto.CursorPage;
 import com.educator.common.dto.PaginatedResponse;
 import com.educator.common.pagination.PageableFactory;
 import com.educator.course.Course;
 import com.educator.course.CourseDifficulty;
 import com.educator.course.CourseStatus;
+import com.educator.course.dto.CourseSuggestion;
+import com.educator.course.dto.HierarchyCoursesResponse;
+import com.educator.course.search.CourseTitleSuggester;
 import com.educator.course.service.CourseService;
+import com.educator.course.service.HierarchyCourseService;
 import com.educator.course.CourseRepository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -17,17 +22,25 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.core.Authentication;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/public/courses")
 public class CoursePublicController {
 
     private final CourseService courseService;
     private final CourseRepository courseRepository;
+    private final HierarchyCourseService hierarchyCourseService;
+    private final CourseTitleSuggester courseTitleSuggester;
 
     public CoursePublicController(CourseService courseService,
-                                  CourseRepository courseRepository) {
+                                  CourseRepository courseRepository,
+                                  HierarchyCourseService hierarchyCourseService,
+                                  CourseTitleSuggester courseTitleSuggester) {
         this.courseService = courseService;
         this.courseRepository = courseRepository;
+        this.hierarchyCourseService = hierarchyCourseService;
+        this.courseTitleSuggester = courseTitleSuggester;
     }
 
     @GetMapping("/search")
@@ -39,17 +52,7 @@ public class CoursePublicController {
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size) {
 
-        // Public + Students -> force PUBLISHED
-        // Admin/Instructor can filter by status
-        boolean isPrivileged = authentication != null && authentication.getAuthorities().stream()
-                .anyMatch(a ->
-                        a.getAuthority().equals("ROLE_ADMIN") ||
-                                a.getAuthority().equals("ROLE_INSTRUCTOR")
-                );
-
-        if (!isPrivileged) {
-            status = CourseStatus.PUBLISHED;
-        }
+        status = effectiveStatus(authentication, status);
 
         Pageable pageable = PageableFactory.of(
                 page,
@@ -62,6 +65,58 @@ public class CoursePublicController {
         );
     }
 
+    /**
+     * Cursor mode of the catalog listing, selected by the cursor parameter
+     * (empty for the first slice). Text queries keep using page/size, since
+     * ranked results have no stable seek key.
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    public CursorPage<Course> browseCoursesByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) CourseDifficulty difficulty,
+            @RequestParam(required = false) CourseStatus status,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        if (q != null && !q.isBlank()) {
+            throw new IllegalArgumentException("Cursor pagination is not available for text search; use page and size");
+        }
+
+        return courseService.browsePublicCourses(
+                difficulty,
+                effectiveStatus(authentication, status),
+                cursor,
+                size,
+                withTotal
+        );
+    }
+
+    /**
+     * As-you-type title suggestions, served from memory without a database query.
+     */
+    @GetMapping("/suggest")
+    public List<CourseSuggestion> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "8") int limit) {
+
+        return courseTitleSuggester.suggest(q, limit);
+    }
+
+    /**
+     * Published courses anywhere under a hierarchy node, with per-node totals.
+     * Pass the returned nextCursor back as cursor to get the following slice.
+     */
+    @GetMapping("/hierarchy/{nodeId}")
+    public HierarchyCoursesResponse coursesUnderNode(
+            @PathVariable Long nodeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        return hierarchyCourseService.getCourses(nodeId, cursor, size);
+    }
+
     @GetMapping("/{courseId}")
     public ResponseEntity<Course> getCourseById(@PathVariable Long courseId) {
 
@@ -75,4 +130,18 @@ public class CoursePublicController {
                         )
                 );
     }
+
+    /**
+     * Public + Students -> force PUBLISHED
+     * Admin/Instructor can filter by status
+     */
+    private CourseStatus effectiveStatus(Authentication authentication, CourseStatus requested) {
+        boolean isPrivileged = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a ->
+                        a.getAuthority().equals("ROLE_ADMIN") ||
+                                a.getAuthority().equals("ROLE_INSTRUCTOR")
+                );
+
+        return isPrivileged ? requested : CourseStatus.PUBLISHED;
+    }
 }
@@ -0,0 +1,7 @@
+package com.educator.course.dto;
+
+/**
+ * One typeahead suggestion for the course search box.
+ */
+public record CourseSuggestion(Long id, String titleEn) {
+}
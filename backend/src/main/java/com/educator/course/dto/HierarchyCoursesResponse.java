@@ -0,0 +1,49 @@
+package com.educator.course.dto;
+
+import com.educator.common.dto.CursorPage;
+import com.educator.course.Course;
+
+import java.util.Map;
+
+/**
+ * One category browse page: a slice of the published courses under a node,
+ * the node's total, and the totals of every descendant node that has courses.
+ */
+public class HierarchyCoursesResponse {
+
+    private Long nodeId;
+    private long totalCourses;
+    private Map<Long, Long> courseCountsByNode;
+    private CursorPage<Course> courses;
+
+    public HierarchyCoursesResponse() {
+    }
+
+    public HierarchyCoursesResponse(
+            Long nodeId,
+            long totalCourses,
+            Map<Long, Long> courseCountsByNode,
+            CursorPage<Course> courses
+    ) {
+        this.nodeId = nodeId;
+        this.totalCourses = totalCourses;
+        this.courseCountsByNode = courseCountsByNode;
+        this.courses = courses;
+    }
+
+    public Long getNodeId() {
+        return nodeId;
+    }
+
+    public long getTotalCourses() {
+        return totalCourses;
+    }
+
+    public Map<Long, Long> getCourseCountsByNode() {
+        return courseCountsByNode;
+    }
+
+    public CursorPage<Course> getCourses() {
+        return courses;
+    }
+}
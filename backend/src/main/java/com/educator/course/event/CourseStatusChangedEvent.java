@@ -0,0 +1,10 @@
+package com.educator.course.event;
+
+import com.educator.course.CourseStatus;
+
+/**
+ * Published when a course is published, archived or moved to another hierarchy node,
+ * i.e. whenever its public visibility may change.
+ */
+public record CourseStatusChangedEvent(Long courseId, CourseStatus status, boolean archived) {
+}
@@ -0,0 +1,9 @@
+package com.educator.course.event;
+
+/**
+ * Published inside the transaction that adds (delta 1) or deletes (delta -1)
+ * a lesson, after the course's lesson count has been adjusted. Enrollment
+ * counters follow once that transaction has committed.
+ */
+public record LessonCountChangedEvent(Long courseId, Long lessonId, int delta) {
+}
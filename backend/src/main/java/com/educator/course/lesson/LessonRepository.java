@@ -61,8 +61,37 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
             @Param("course") Course course
     );
 
+    /**
+     * Minimal per-lesson tree data for a whole course in one read.
+     * Ordered by orderIndex then id, so appending each row to its parent
+     * yields correctly ordered sibling lists without any sorting.
+     */
+    @Query("""
+        SELECT l.id AS id,
+               l.parentLesson.id AS parentId,
+               l.orderIndex AS orderIndex,
+               l.depthLevel AS depthLevel
+        FROM Lesson l
+        WHERE l.course.id = :courseId
+          AND l.isDeleted = false
+        ORDER BY l.orderIndex ASC, l.id ASC
+    """)
+    List<LessonTreeRow> findTreeRowsByCourseId(
+            @Param("courseId") Long courseId
+    );
+
     /**
      * Check if lesson has children (used for safe delete / reparent)
      */
     boolean existsByParentLessonAndIsDeletedFalse(Lesson parentLesson);
+
+    interface LessonTreeRow {
+        Long getId();
+
+        Long getParentId();
+
+        int getOrderIndex();
+
+        int getDepthLevel();
+    }
 }
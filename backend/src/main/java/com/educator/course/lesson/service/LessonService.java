@@ -1,10 +1,13 @@
 package com.educator.course.lesson.service;
 
 import com.educator.course.Course;
+import com.educator.course.CourseRepository;
+import com.educator.course.event.LessonCountChangedEvent;
 import com.educator.course.lesson.Lesson;
 import com.educator.course.lesson.LessonRepository;
 import com.educator.course.lesson.LessonType;
 import com.educator.course.lesson.dto.UpdateLessonRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,9 +20,20 @@ import java.util.List;
 public class LessonService {
 
     private final LessonRepository lessonRepository;
-
-    public LessonService(LessonRepository lessonRepository) {
+    private final LessonTreeService lessonTreeService;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LessonService(
+            LessonRepository lessonRepository,
+            LessonTreeService lessonTreeService,
+            CourseRepository courseRepository,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.lessonRepository = lessonRepository;
+        this.lessonTreeService = lessonTreeService;
+        this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // -------------------------------------------------
@@ -71,6 +85,8 @@ public class LessonService {
 
         saved.setPath("/course/" + course.getId() + "/lesson/" + saved.getId());
 
+        lessonTreeService.evict(course.getId());
+        lessonCountChanged(course.getId(), saved.getId(), 1);
         return lessonRepository.save(saved);
     }
 
@@ -82,12 +98,27 @@ public class LessonService {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new IllegalArgumentException("Lesson not found"));
 
+        if (lesson.isDeleted()) {
+            return;
+        }
+
         if (lessonRepository.existsByParentLessonAndIsDeletedFalse(lesson)) {
             throw new IllegalStateException("Cannot delete lesson with children");
         }
 
         lesson.setDeleted(true);
         lessonRepository.save(lesson);
+        lessonTreeService.evict(lesson.getCourse().getId());
+        lessonCountChanged(lesson.getCourse().getId(), lesson.getId(), -1);
+    }
+
+    /**
+     * Keeps Course.lessonCount in step with live lessons; enrollment counters
+     * follow through the event after commit.
+     */
+    private void lessonCountChanged(Long courseId, Long lessonId, int delta) {
+        courseRepository.adjustLessonCount(courseId, delta);
+        eventPublisher.publishEvent(new LessonCountChangedEvent(courseId, lessonId, delta));
     }
 
     // -------------------------------------------------
@@ -129,6 +160,7 @@ public class LessonService {
             lesson.setPath(newParent.getPath() + "/lesson/" + lesson.getId());
         }
 
+        lessonTreeService.evict(lesson.getCourse().getId());
         return lessonRepository.save(lesson);
     }
 
@@ -187,6 +219,7 @@ public class LessonService {
 
         lesson.setOrderIndex(newOrderIndex);
 
+        lessonTreeService.evict(lesson.getCourse().getId());
         return lessonRepository.save(lesson);
     }
 }
@@ -0,0 +1,112 @@
+package com.educator.course.lesson.service;
+
+import com.educator.common.cache.BoundedMap;
+import com.educator.common.transaction.AfterCommit;
+import com.educator.course.CourseRepository;
+import com.educator.course.lesson.LessonRepository;
+import com.educator.course.lesson.LessonRepository.LessonTreeRow;
+import com.educator.course.lesson.dto.LessonTreeResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds and caches the lesson tree of each course.
+ *
+ * A tree is assembled in a single pass over one flat read of the course's
+ * lessons and kept until {@link LessonService} changes a lesson of that course.
+ */
+@Service
+public class LessonTreeService {
+
+    private final LessonRepository lessonRepository;
+    private final CourseRepository courseRepository;
+
+    private final BoundedMap<Long, List<LessonTreeResponse>> rootsByCourse;
+
+    public LessonTreeService(
+            LessonRepository lessonRepository,
+            CourseRepository courseRepository,
+            @Value("${app.lesson-tree.cache.max-entries:2000}") int maxEntries
+    ) {
+        this.lessonRepository = lessonRepository;
+        this.courseRepository = courseRepository;
+        // Trees never expire on their own; a full cache drops arbitrary ones
+        this.rootsByCourse = new BoundedMap<>(maxEntries, roots -> false);
+    }
+
+    /**
+     * Root lessons of the course, paged in memory, each with its full subtree.
+     */
+    @Transactional(readOnly = true)
+    public Page<LessonTreeResponse> getTree(Long courseId, Pageable pageable) {
+        List<LessonTreeResponse> roots = getRoots(courseId);
+
+        int total = roots.size();
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        return new PageImpl<>(roots.subList(from, to), pageable, total);
+    }
+
+    private List<LessonTreeResponse> getRoots(Long courseId) {
+        List<LessonTreeResponse> cached = rootsByCourse.get(courseId);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("Course not found");
+        }
+
+        long generation = rootsByCourse.generation(courseId);
+        List<LessonTreeResponse> roots = build(lessonRepository.findTreeRowsByCourseId(courseId));
+        rootsByCourse.putIfCurrent(courseId, roots, generation);
+        return roots;
+    }
+
+    /**
+     * O(n) assembly: one pass creates every node, a second attaches each node
+     * to its parent. Rows arrive in sibling order, so no sorting is needed.
+     * Lessons whose parent is missing (deleted) are unreachable, as before.
+     */
+    static List<LessonTreeResponse> build(List<LessonTreeRow> rows) {
+        Map<Long, LessonTreeResponse> nodesById = new HashMap<>(rows.size() * 2);
+        for (LessonTreeRow row : rows) {
+            nodesById.put(row.getId(), new LessonTreeResponse(row.getId(), row.getOrderIndex(), row.getDepthLevel()));
+        }
+
+        List<LessonTreeResponse> roots = new ArrayList<>();
+        for (LessonTreeRow row : rows) {
+            LessonTreeResponse node = nodesById.get(row.getId());
+            if (row.getParentId() == null) {
+                roots.add(node);
+                continue;
+            }
+
+            LessonTreeResponse parent = nodesById.get(row.getParentId());
+            if (parent != null) {
+                parent.addChild(node);
+            }
+        }
+        return List.copyOf(roots);
+    }
+
+    public void evict(Long courseId) {
+        if (courseId == null) {
+            return;
+        }
+        AfterCommit.runNowAndAfterCommit(() -> rootsByCourse.invalidate(courseId));
+    }
+
+    public int size() {
+        return rootsByCourse.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.educator.course.search;
+
+import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import com.educator.course.CourseStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Ranked full-text search over non-deleted, non-archived courses.
+ *
+ * Every term must match, as a prefix, a word of the title or description;
+ * title matches rank above description matches. Difficulty and status are
+ * optional filters applied inside the search itself.
+ */
+public interface CourseSearchEngine {
+
+    /**
+     * @param terms non-empty output of {@link CourseSearchIndex#tokenize(String)}
+     */
+    Page<Course> search(
+            List<String> terms,
+            CourseDifficulty difficulty,
+            CourseStatus status,
+            Pageable pageable
+    );
+
+    /**
+     * Called after a course is created or changed, for engines that keep their own index.
+     */
+    default void courseChanged(Long courseId) {
+    }
+}
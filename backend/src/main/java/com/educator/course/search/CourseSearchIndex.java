@@ -0,0 +1,230 @@
+package com.educator.course.search;
+
+import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import com.educator.course.CourseStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Immutable in-memory inverted index over course titles and descriptions.
+ *
+ * Courses are numbered 0..n-1 and each term maps to the sorted ordinals of the
+ * courses containing it, with the weight of its best field. Terms are kept
+ * sorted, so a prefix expands to one contiguous range of the term map.
+ * Scoring mirrors the PostgreSQL search: every query term must match, title
+ * matches outweigh description matches, ties go to the newest course.
+ */
+public final class CourseSearchIndex {
+
+    static final float TITLE_WEIGHT = 1.0f;
+    static final float DESCRIPTION_WEIGHT = 0.4f;
+
+    private final long[] courseIds;
+    private final CourseDifficulty[] difficulties;
+    private final CourseStatus[] statuses;
+    private final long[] createdAtMillis;
+    private final NavigableMap<String, Postings> postingsByTerm;
+
+    private CourseSearchIndex(
+            long[] courseIds,
+            CourseDifficulty[] difficulties,
+            CourseStatus[] statuses,
+            long[] createdAtMillis,
+            NavigableMap<String, Postings> postingsByTerm
+    ) {
+        this.courseIds = courseIds;
+        this.difficulties = difficulties;
+        this.statuses = statuses;
+        this.createdAtMillis = createdAtMillis;
+        this.postingsByTerm = postingsByTerm;
+    }
+
+    public static CourseSearchIndex build(Collection<Course> courses) {
+        int n = courses.size();
+        long[] ids = new long[n];
+        CourseDifficulty[] difficulties = new CourseDifficulty[n];
+        CourseStatus[] statuses = new CourseStatus[n];
+        long[] created = new long[n];
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+
+        int ordinal = 0;
+        for (Course course : courses) {
+            ids[ordinal] = course.getId();
+            difficulties[ordinal] = course.getDifficulty();
+            statuses[ordinal] = course.getStatus();
+            created[ordinal] = course.getCreatedAt() == null ? 0L : course.getCreatedAt().toEpochMilli();
+
+            // Best field weight per distinct term of this course
+            Map<String, Float> weights = new HashMap<>();
+            for (String term : tokenize(course.getDescriptionEn())) {
+                weights.put(term, DESCRIPTION_WEIGHT);
+            }
+            for (String term : tokenize(course.getTitleEn())) {
+                weights.put(term, TITLE_WEIGHT);
+            }
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                builders.computeIfAbsent(entry.getKey(), term -> new PostingsBuilder())
+                        .add(ordinal, entry.getValue());
+            }
+            ordinal++;
+        }
+
+        NavigableMap<String, Postings> postings = new TreeMap<>();
+        builders.forEach((term, builder) -> postings.put(term, builder.build()));
+
+        return new CourseSearchIndex(ids, difficulties, statuses, created, postings);
+    }
+
+    /**
+     * Lowercased runs of letters and digits; everything else separates terms.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Ids of the matching courses for the requested page, best match first.
+     * Only the top offset + size matches are ordered; the rest are just counted.
+     */
+    public Page<Long> search(
+            List<String> terms,
+            CourseDifficulty difficulty,
+            CourseStatus status,
+            Pageable pageable
+    ) {
+        float[] scores = null;
+        for (String term : terms) {
+            float[] termScores = scoreTerm(term);
+            if (termScores == null) {
+                return Page.empty(pageable);
+            }
+            if (scores == null) {
+                scores = termScores;
+                continue;
+            }
+            // AND: a course must match every term
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = termScores[i] == 0f ? 0f : scores[i] + termScores[i];
+            }
+        }
+        if (scores == null) {
+            return Page.empty(pageable);
+        }
+
+        long wanted = pageable.getOffset() + pageable.getPageSize();
+        int limit = (int) Math.min(wanted, Integer.MAX_VALUE);
+        Comparator<Integer> bestFirst = rankOrder(scores);
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, Math.min(limit, 1024)), bestFirst.reversed());
+        long total = 0;
+
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] == 0f
+                    || (difficulty != null && difficulties[i] != difficulty)
+                    || (status != null && statuses[i] != status)) {
+                continue;
+            }
+            total++;
+            top.add(i);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        Integer[] ranked = top.toArray(new Integer[0]);
+        Arrays.sort(ranked, bestFirst);
+
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        for (int i = (int) Math.min(pageable.getOffset(), ranked.length); i < ranked.length; i++) {
+            ids.add(courseIds[ranked[i]]);
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    public int size() {
+        return courseIds.length;
+    }
+
+    /**
+     * Per-course weight of the best term starting with the given prefix, or null if none does.
+     */
+    private float[] scoreTerm(String prefix) {
+        NavigableMap<String, Postings> range =
+                postingsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.isEmpty()) {
+            return null;
+        }
+
+        float[] scores = new float[courseIds.length];
+        for (Postings postings : range.values()) {
+            for (int i = 0; i < postings.ordinals.length; i++) {
+                int ordinal = postings.ordinals[i];
+                scores[ordinal] = Math.max(scores[ordinal], postings.weights[i]);
+            }
+        }
+        return scores;
+    }
+
+    private Comparator<Integer> rankOrder(float[] scores) {
+        return (a, b) -> {
+            int byScore = Float.compare(scores[b], scores[a]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byCreated = Long.compare(createdAtMillis[b], createdAtMillis[a]);
+            return byCreated != 0 ? byCreated : Long.compare(courseIds[b], courseIds[a]);
+        };
+    }
+
+    private record Postings(int[] ordinals, float[] weights) {
+    }
+
+    private static final class PostingsBuilder {
+
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(ordinals, size), Arrays.copyOf(weights, size));
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.educator.course.search;
+
+import com.educator.common.transaction.AfterCommit;
+import com.educator.course.Course;
+import com.educator.course.CourseRepository;
+import com.educator.course.CourseStatus;
+import com.educator.course.dto.CourseSuggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over the titles of publicly visible courses.
+ *
+ * Title tokens are stored in a character trie. Every trie node keeps the best
+ * {@value #MAX_TOP} courses of its subtree (shortest title first), so a short
+ * prefix is usually answered without visiting the subtree. Reads share a read lock;
+ * publish, update and archive apply their change after commit under the
+ * write lock. A periodic rebuild picks up changes made on other nodes.
+ */
+@Component
+public class CourseTitleSuggester implements CommandLineRunner {
+
+    static final int MAX_TOP = 32;
+    static final int MAX_LIMIT = 20;
+
+    /**
+     * Subtrees with at most this many postings are enumerated exactly. Larger
+     * ones are answered from the node's top list when that provably yields
+     * the best matches, and enumerated otherwise.
+     */
+    private static final int ENUMERATE_LIMIT = 2048;
+
+    private static final Logger log = LoggerFactory.getLogger(CourseTitleSuggester.class);
+
+    private static final Comparator<Entry> STATIC_RANK = Comparator
+            .comparingInt((Entry e) -> e.title().length())
+            .thenComparing(Entry::normalizedTitle)
+            .thenComparingLong(Entry::id);
+
+    private final CourseRepository courseRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private Map<Long, Entry> entries = new HashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public CourseTitleSuggester(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @Override
+    public void run(String... args) {
+        rebuild();
+    }
+
+    /**
+     * Up to limit titles in which every query term prefixes a title word.
+     * Titles starting with the first term come first, then shorter titles.
+     */
+    public List<CourseSuggestion> suggest(String q, int limit) {
+        List<String> terms = CourseSearchIndex.tokenize(q);
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        String first = terms.get(0);
+        Comparator<Entry> order = Comparator
+                .comparing((Entry e) -> !leadsWith(e, first))
+                .thenComparing(STATIC_RANK);
+
+        List<Entry> matches;
+        lock.readLock().lock();
+        try {
+            // Drive from the rarest term; the others only filter its candidates
+            Node driving = null;
+            for (String term : terms) {
+                Node node = find(term);
+                if (node == null) {
+                    return List.of();
+                }
+                if (driving == null || node.count < driving.count) {
+                    driving = node;
+                }
+            }
+
+            if (driving.count <= ENUMERATE_LIMIT) {
+                matches = matching(collect(driving, new LinkedHashSet<>()), terms, order);
+            } else {
+                matches = matching(driving.top, terms, order);
+                if (!isCompleteFromTop(matches, k, first)) {
+                    matches = matching(collect(driving, new LinkedHashSet<>()), terms, order);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<CourseSuggestion> result = new ArrayList<>(Math.min(k, matches.size()));
+        for (int i = 0; i < matches.size() && i < k; i++) {
+            result.add(new CourseSuggestion(matches.get(i).id(), matches.get(i).title()));
+        }
+        return result;
+    }
+
+    /**
+     * Applies the course's current title and visibility once the surrounding
+     * transaction commits (immediately when there is none).
+     */
+    public void courseChanged(Course course) {
+        Long id = course.getId();
+        boolean visible = course.getStatus() == CourseStatus.PUBLISHED
+                && !course.isArchived()
+                && !course.isDeleted();
+        Entry entry = visible ? Entry.of(id, course.getTitleEn()) : null;
+
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                generation.incrementAndGet();
+                Entry previous = entries.remove(id);
+                if (previous != null) {
+                    remove(root, previous);
+                }
+                if (entry != null) {
+                    entries.put(id, entry);
+                    insert(root, entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the trie from the database without blocking readers; skipped
+     * if an incremental change lands while it runs.
+     */
+    @Scheduled(
+            initialDelayString = "${app.course-suggest.rebuild-ms:300000}",
+            fixedDelayString = "${app.course-suggest.rebuild-ms:300000}"
+    )
+    public void rebuild() {
+        long observedGeneration = generation.get();
+
+        Node builtRoot = new Node();
+        Map<Long, Entry> builtEntries = new HashMap<>();
+        for (Course course : courseRepository.findAllByStatusAndIsDeletedFalse(CourseStatus.PUBLISHED)) {
+            if (course.isArchived()) {
+                continue;
+            }
+            Entry entry = Entry.of(course.getId(), course.getTitleEn());
+            builtEntries.put(entry.id(), entry);
+            insert(builtRoot, entry);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (generation.get() != observedGeneration) {
+                log.debug("Course title index changed during rebuild; keeping current trie");
+                return;
+            }
+            root = builtRoot;
+            entries = builtEntries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Built course title index: {} courses", builtEntries.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static List<Entry> matching(Collection<Entry> candidates, List<String> terms, Comparator<Entry> order) {
+        List<Entry> matches = new ArrayList<>();
+        for (Entry candidate : candidates) {
+            if (matchesAll(candidate, terms)) {
+                matches.add(candidate);
+            }
+        }
+        matches.sort(order);
+        return matches;
+    }
+
+    /**
+     * Whether the best k matches taken from a top list are the best k overall.
+     * Every entry outside the top list ranks lower statically, so it can only
+     * win if it leads with the first term while some chosen match does not.
+     * That cannot happen once the k-th chosen match leads with the first term.
+     */
+    private static boolean isCompleteFromTop(List<Entry> matches, int k, String first) {
+        return matches.size() >= k && leadsWith(matches.get(k - 1), first);
+    }
+
+    private static boolean leadsWith(Entry entry, String first) {
+        return !entry.tokens().isEmpty() && entry.tokens().get(0).startsWith(first);
+    }
+
+    private static boolean matchesAll(Entry entry, List<String> terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String token : entry.tokens()) {
+                if (token.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Entry> collect(Node node, Set<Entry> into) {
+        into.addAll(node.exact);
+        for (Node child : node.children.values()) {
+            collect(child, into);
+        }
+        return into;
+    }
+
+    private static void insert(Node root, Entry entry) {
+        for (String token : new HashSet<>(entry.tokens())) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+                node.count++;
+                node.offer(entry);
+            }
+            node.exact.add(entry);
+        }
+    }
+
+    private static void remove(Node root, Entry entry) {
+        for (String token : new HashSet<>(entry.tokens())) {
+            List<Node> path = new ArrayList<>(token.length() + 1);
+            path.add(root);
+            Node node = root;
+            for (int i = 0; i < token.length() && node != null; i++) {
+                node = node.children.get(token.charAt(i));
+                if (node != null) {
+                    path.add(node);
+                }
+            }
+            if (node == null) {
+                continue;
+            }
+            node.exact.remove(entry);
+
+            // Bottom-up, so each node refills its top list from already-repaired children
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node current = path.get(i);
+                current.count--;
+                if (current.count == 0) {
+                    path.get(i - 1).children.remove(token.charAt(i - 1));
+                } else if (current.top.contains(entry)) {
+                    current.refill();
+                }
+            }
+        }
+    }
+
+    private record Entry(long id, String title, String normalizedTitle, List<String> tokens) {
+
+        static Entry of(Long id, String title) {
+            String safeTitle = title == null ? "" : title;
+            List<String> tokens = CourseSearchIndex.tokenize(safeTitle);
+            return new Entry(
+                    id,
+                    safeTitle,
+                    safeTitle.toLowerCase(Locale.ROOT),
+                    List.copyOf(tokens)
+            );
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Set<Entry> exact = new HashSet<>(2);
+        private final List<Entry> top = new ArrayList<>(2);
+        private int count;
+
+        void offer(Entry entry) {
+            if (top.contains(entry)) {
+                return;
+            }
+            int index = Collections.binarySearch(top, entry, STATIC_RANK);
+            int insertAt = index < 0 ? -index - 1 : index;
+            if (insertAt >= MAX_TOP) {
+                return;
+            }
+            top.add(insertAt, entry);
+            if (top.size() > MAX_TOP) {
+                top.remove(top.size() - 1);
+            }
+        }
+
+        void refill() {
+            Set<Entry> pool = new HashSet<>(exact);
+            for (Node child : children.values()) {
+                pool.addAll(child.top);
+            }
+            List<Entry> best = new ArrayList<>(pool);
+            best.sort(STATIC_RANK);
+            top.clear();
+            top.addAll(best.subList(0, Math.min(MAX_TOP, best.size())));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.educator.course.search;
+
+import com.educator.common.cache.GuardedSnapshot;
+import com.educator.common.transaction.AfterCommit;
+import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import com.educator.course.CourseRepository;
+import com.educator.course.CourseStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search engine for databases without tsvector support (H2 in tests).
+ *
+ * Serves queries from a {@link CourseSearchIndex} built from one read of all
+ * searchable courses. Any course change drops the index; the next search
+ * rebuilds it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.course-search.engine", havingValue = "memory")
+public class InMemoryCourseSearchEngine implements CourseSearchEngine {
+
+    private final CourseRepository courseRepository;
+
+    private final GuardedSnapshot<CourseSearchIndex> index;
+
+    public InMemoryCourseSearchEngine(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+        this.index = new GuardedSnapshot<>(() ->
+                CourseSearchIndex.build(courseRepository.findByIsDeletedFalseAndIsArchivedFalse()));
+    }
+
+    @Override
+    public Page<Course> search(
+            List<String> terms,
+            CourseDifficulty difficulty,
+            CourseStatus status,
+            Pageable pageable
+    ) {
+        Page<Long> ids = index.get().search(terms, difficulty, status, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        Map<Long, Course> coursesById = new HashMap<>();
+        for (Course course : courseRepository.findAllById(ids.getContent())) {
+            coursesById.put(course.getId(), course);
+        }
+
+        List<Course> content = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids.getContent()) {
+            Course course = coursesById.get(id);
+            if (course != null) {
+                content.add(course);
+            }
+        }
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    @Override
+    public void courseChanged(Long courseId) {
+        AfterCommit.runNowAndAfterCommit(index::invalidate);
+    }
+}
@@ -0,0 +1,66 @@
+package com.educator.course.search;
+
+import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import com.educator.course.CourseRepository;
+import com.educator.course.CourseStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the GIN-indexed courses.search_vector column (see V10 migration).
+ * The column is generated by PostgreSQL, so there is nothing to maintain here.
+ */
+@Component
+@ConditionalOnProperty(name = "app.course-search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresCourseSearchEngine implements CourseSearchEngine {
+
+    private final CourseRepository courseRepository;
+
+    public PostgresCourseSearchEngine(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @Override
+    public Page<Course> search(
+            List<String> terms,
+            CourseDifficulty difficulty,
+            CourseStatus status,
+            Pageable pageable
+    ) {
+        String tsQuery = toTsQuery(terms);
+        String difficultyName = difficulty == null ? null : difficulty.name();
+        String statusName = status == null ? null : status.name();
+
+        List<Course> content = courseRepository.searchFullText(
+                tsQuery,
+                difficultyName,
+                statusName,
+                pageable.getPageSize(),
+                pageable.getOffset()
+        );
+
+        // Skip the count when the first page already holds every match
+        long total = pageable.getOffset() == 0 && content.size() < pageable.getPageSize()
+                ? content.size()
+                : courseRepository.countFullText(tsQuery, difficultyName, statusName);
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * "anc hist" -> "anc:* & hist:*". Terms are letters and digits only,
+     * so they cannot inject tsquery operators.
+     */
+    static String toTsQuery(List<String> terms) {
+        return terms.stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
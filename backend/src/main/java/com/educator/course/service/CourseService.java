@@ -1,23 +1,47 @@
 package com.educator.course.service;
 
+import com.educator.common.dto.CursorPage;
+import com.educator.common.pagination.KeysetKey;
 import com.educator.course.Course;
 import com.educator.course.CourseDifficulty;
 import com.educator.course.CourseRepository;
 import com.educator.course.CourseStatus;
+import com.educator.course.event.CourseStatusChangedEvent;
+import com.educator.course.search.CourseSearchEngine;
+import com.educator.course.search.CourseSearchIndex;
+import com.educator.course.search.CourseTitleSuggester;
 import com.educator.hierarchy.HierarchyNode;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
+
 @Service
 @Transactional
 public class CourseService {
 
+    private static final KeysetKey<Course, Instant, Long> BY_CREATED_AT =
+            KeysetKey.of(Course::getCreatedAt, Instant::parse, Course::getId, Long::parseLong);
+
     private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseSearchEngine courseSearchEngine;
+    private final CourseTitleSuggester courseTitleSuggester;
 
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(
+            CourseRepository courseRepository,
+            ApplicationEventPublisher eventPublisher,
+            CourseSearchEngine courseSearchEngine,
+            CourseTitleSuggester courseTitleSuggester
+    ) {
         this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
+        this.courseSearchEngine = courseSearchEngine;
+        this.courseTitleSuggester = courseTitleSuggester;
     }
 
     // -------------------------------------------------
@@ -42,7 +66,9 @@ public class CourseService {
         course.setCreatedByRole(createdByRole);
         course.setStatus(CourseStatus.DRAFT);
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        courseSearchEngine.courseChanged(saved.getId());
+        return saved;
     }
 
     // -------------------------------------------------
@@ -59,12 +85,12 @@ public class CourseService {
         String normalizedQ = (q == null || q.isBlank()) ? null : q;
 
         if (normalizedQ != null) {
-            return courseRepository.searchPublicCoursesWithQuery(
-                    normalizedQ,
-                    difficulty,
-                    status,
-                    pageable
-            );
+            // Ranked full-text search; relevance order replaces the requested sort
+            List<String> terms = CourseSearchIndex.tokenize(normalizedQ);
+            if (terms.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            return courseSearchEngine.search(terms, difficulty, status, pageable);
         }
 
         return courseRepository.searchPublicCoursesWithoutQuery(
@@ -74,6 +100,29 @@ public class CourseService {
         );
     }
 
+    /**
+     * Cursor mode of the catalog listing (no text query), newest first.
+     * Ranked text search stays offset-paged: relevance has no stable seek key.
+     * Slices walk the partial idx_courses_catalog_created index of live courses.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Course> browsePublicCourses(
+            CourseDifficulty difficulty,
+            CourseStatus status,
+            String cursor,
+            Integer size,
+            boolean withTotal
+    ) {
+        return BY_CREATED_AT.slice(
+                cursor,
+                size,
+                limit -> courseRepository.searchPublicCoursesWithoutQueryFirst(difficulty, status, limit),
+                (createdAt, id, limit) ->
+                        courseRepository.searchPublicCoursesWithoutQueryAfter(difficulty, status, createdAt, id, limit),
+                withTotal ? () -> courseRepository.countPublicCoursesWithoutQuery(difficulty, status) : null
+        );
+    }
+
     // -------------------------------------------------
     // B4.1 UPDATE COURSE
     // -------------------------------------------------
@@ -93,6 +142,9 @@ public class CourseService {
             throw new IllegalStateException("Cannot update deleted course");
         }
 
+        boolean moved = course.getHierarchyNode() == null
+                || !course.getHierarchyNode().getId().equals(hierarchyNode.getId());
+
         course.setHierarchyNode(hierarchyNode);
         course.setTitleEn(titleEn);
         course.setDescriptionEn(descriptionEn);
@@ -100,6 +152,45 @@ public class CourseService {
         course.setLanguageCode(languageCode);
         course.setEstimatedDurationMinutes(estimatedDurationMinutes);
 
-        return courseRepository.save(course);
+        if (moved) {
+            // Moving a course changes which categories list it publicly
+            return saveAndAnnounce(course);
+        }
+
+        Course saved = courseRepository.save(course);
+        courseSearchEngine.courseChanged(saved.getId());
+        courseTitleSuggester.courseChanged(saved);
+        return saved;
+    }
+
+    // -------------------------------------------------
+    // PUBLISH / ARCHIVE
+    // -------------------------------------------------
+    public Course publishCourse(Long courseId) {
+        Course course = getActiveCourseOrThrow(courseId);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course.setArchived(false);
+        return saveAndAnnounce(course);
+    }
+
+    public Course archiveCourse(Long courseId) {
+        Course course = getActiveCourseOrThrow(courseId);
+        course.setArchived(true);
+        return saveAndAnnounce(course);
+    }
+
+    private Course getActiveCourseOrThrow(Long courseId) {
+        return courseRepository.findByIdAndIsDeletedFalse(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+    }
+
+    private Course saveAndAnnounce(Course course) {
+        Course saved = courseRepository.save(course);
+        courseSearchEngine.courseChanged(saved.getId());
+        courseTitleSuggester.courseChanged(saved);
+        eventPublisher.publishEvent(
+                new CourseStatusChangedEvent(saved.getId(), saved.getStatus(), saved.isArchived())
+        );
+        return saved;
     }
 }
@@ -0,0 +1,72 @@
+package com.educator.course.service;
+
+import com.educator.course.CourseRepository.NodeCourseCount;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-node totals of publicly visible courses, each node counting
+ * the courses attached to it and to every node below it.
+ *
+ * Built from the direct per-node counts by adding each count to every
+ * ancestor listed in the node's materialized path.
+ */
+public final class HierarchyCourseCounts {
+
+    public static final HierarchyCourseCounts EMPTY = new HierarchyCourseCounts(Map.of(), Map.of());
+
+    private final Map<Long, Long> subtreeCountByNode;
+    private final Map<Long, String> pathByNode;
+
+    private HierarchyCourseCounts(Map<Long, Long> subtreeCountByNode, Map<Long, String> pathByNode) {
+        this.subtreeCountByNode = subtreeCountByNode;
+        this.pathByNode = pathByNode;
+    }
+
+    public static HierarchyCourseCounts from(List<NodeCourseCount> directCounts) {
+        Map<Long, Long> counts = new HashMap<>();
+        Map<Long, String> paths = new HashMap<>();
+
+        for (NodeCourseCount row : directCounts) {
+            String path = row.getPath();
+            if (path == null) {
+                continue;
+            }
+
+            // "/1/5/12/" -> ancestors 1, 5 and 12, each with its own path prefix
+            int start = 1;
+            int end;
+            while ((end = path.indexOf('/', start)) > 0) {
+                Long nodeId = Long.valueOf(path.substring(start, end));
+                counts.merge(nodeId, row.getCourseCount(), Long::sum);
+                paths.putIfAbsent(nodeId, path.substring(0, end + 1));
+                start = end + 1;
+            }
+        }
+
+        return new HierarchyCourseCounts(Map.copyOf(counts), Map.copyOf(paths));
+    }
+
+    public long countFor(Long nodeId) {
+        return subtreeCountByNode.getOrDefault(nodeId, 0L);
+    }
+
+    /**
+     * Totals for the node at the given path and every descendant that has at least one course.
+     */
+    public Map<Long, Long> countsUnder(String path) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Map.Entry<Long, String> entry : pathByNode.entrySet()) {
+            if (entry.getValue().startsWith(path)) {
+                result.put(entry.getKey(), subtreeCountByNode.get(entry.getKey()));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return subtreeCountByNode.size();
+    }
+}
@@ -0,0 +1,100 @@
+package com.educator.course.service;
+
+import com.educator.common.cache.GuardedSnapshot;
+import com.educator.common.dto.CursorPage;
+import com.educator.common.exception.ResourceNotFoundException;
+import com.educator.common.pagination.KeysetCursor;
+import com.educator.common.pagination.PageableFactory;
+import com.educator.course.Course;
+import com.educator.course.CourseRepository;
+import com.educator.course.dto.HierarchyCoursesResponse;
+import com.educator.course.event.CourseStatusChangedEvent;
+import com.educator.hierarchy.HierarchyChangedEvent;
+import com.educator.hierarchy.HierarchyNode;
+import com.educator.hierarchy.HierarchyNodeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Category browsing: published courses anywhere below a hierarchy node.
+ *
+ * Courses are matched by the node's materialized path and keyset-paged on
+ * (sortOrder, id). Per-node totals come from a cached snapshot that is
+ * rebuilt with one grouped query after a course or the hierarchy changes.
+ */
+@Service
+public class HierarchyCourseService {
+
+    private final CourseRepository courseRepository;
+    private final HierarchyNodeRepository hierarchyNodeRepository;
+
+    private final GuardedSnapshot<HierarchyCourseCounts> counts;
+
+    public HierarchyCourseService(
+            CourseRepository courseRepository,
+            HierarchyNodeRepository hierarchyNodeRepository
+    ) {
+        this.courseRepository = courseRepository;
+        this.hierarchyNodeRepository = hierarchyNodeRepository;
+        this.counts = new GuardedSnapshot<>(() -> HierarchyCourseCounts.from(courseRepository.countPublishedByNodePath()));
+    }
+
+    @Transactional(readOnly = true)
+    public HierarchyCoursesResponse getCourses(Long nodeId, String cursor, Integer size) {
+        HierarchyNode node = hierarchyNodeRepository.findById(nodeId)
+                .filter(n -> !n.isDeleted() && n.isVisible() && n.isPublished() && n.getPath() != null)
+                .filter(n -> !hierarchyNodeRepository.existsHiddenOnPath(n.getPath()))
+                .orElseThrow(() -> new ResourceNotFoundException("Hierarchy node not found"));
+
+        int pageSize = PageableFactory.sizeOf(size);
+        int afterSortOrder = Integer.MIN_VALUE;
+        long afterId = 0L;
+        if (!KeysetCursor.isFirstPage(cursor)) {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            afterSortOrder = KeysetCursor.parse(key[0], Integer::parseInt);
+            afterId = KeysetCursor.parse(key[1], Long::parseLong);
+        }
+
+        // One extra row tells whether another slice follows
+        List<Course> rows = courseRepository.findPublishedInSubtreeAfter(
+                node.getPath(),
+                afterSortOrder,
+                afterId,
+                PageRequest.of(0, pageSize + 1)
+        );
+
+        HierarchyCourseCounts current = getCounts();
+        return new HierarchyCoursesResponse(
+                node.getId(),
+                current.countFor(node.getId()),
+                current.countsUnder(node.getPath()),
+                CursorPage.of(rows, pageSize, last -> KeysetCursor.encode(last.getSortOrder(), last.getId()), null)
+        );
+    }
+
+    /**
+     * Current per-node totals; concurrent callers on a cold cache wait for a single build.
+     */
+    @Transactional(readOnly = true)
+    public HierarchyCourseCounts getCounts() {
+        return counts.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseStatusChanged(CourseStatusChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHierarchyChanged(HierarchyChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        counts.invalidate();
+    }
+}
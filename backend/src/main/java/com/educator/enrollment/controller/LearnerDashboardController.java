@@ -0,0 +1,30 @@
+package com.educator.enrollment.controller;
+
+import com.educator.common.security.AuthenticatedIdentity;
+import com.educator.enrollment.dto.LearnerDashboardEntry;
+import com.educator.enrollment.service.LearnerDashboardService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/learner/dashboard")
+public class LearnerDashboardController {
+
+    private final LearnerDashboardService learnerDashboardService;
+
+    public LearnerDashboardController(LearnerDashboardService learnerDashboardService) {
+        this.learnerDashboardService = learnerDashboardService;
+    }
+
+    // ─────────────────────────────────────────────────────────────
+    // Every enrollment with progress, exam and certificate status
+    // ─────────────────────────────────────────────────────────────
+
+    @GetMapping
+    public List<LearnerDashboardEntry> getDashboard(AuthenticatedIdentity identity) {
+        return learnerDashboardService.getDashboard(identity.userId(), identity.stableId());
+    }
+}
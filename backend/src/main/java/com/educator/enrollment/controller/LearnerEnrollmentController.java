@@ -1,6 +1,8 @@
 package com.educator.enrollment.controller;
 
+import com.educator.common.dto.CursorPage;
 import com.educator.common.dto.PaginatedResponse;
+import com.educator.common.security.AuthenticatedIdentity;
 import com.educator.common.pagination.PageableFactory;
 import com.educator.enrollment.entity.Enrollment;
 import com.educator.enrollment.service.EnrollmentService;
@@ -8,11 +10,8 @@ import com.educator.users.User;
 import com.educator.users.UserRepository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -37,40 +36,53 @@ public class LearnerEnrollmentController {
 
     @PostMapping("/course/{courseId}")
     public Enrollment enroll(
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @PathVariable Long courseId
     ) {
-        User user = resolveAuthenticatedUser(authentication);
+        User user = resolveAuthenticatedUser(identity);
         return enrollmentService.enroll(user, courseId);
     }
 
     @GetMapping
     public PaginatedResponse<Enrollment> getMyEnrollments(
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size
     ) {
-        User user = resolveAuthenticatedUser(authentication);
+        User user = resolveAuthenticatedUser(identity);
         Pageable pageable = PageableFactory.of(page, size, Sort.by(Sort.Direction.DESC, "enrolledAt"));
         return new PaginatedResponse<>(enrollmentService.getMyEnrollments(user, pageable));
     }
 
+    /**
+     * The caller's enrollments by enrollment date, newest first; an empty cursor starts from the latest.
+     */
+    @GetMapping(params = "cursor")
+    public CursorPage<Enrollment> getMyEnrollmentsByCursor(
+            AuthenticatedIdentity identity,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        User user = resolveAuthenticatedUser(identity);
+        return enrollmentService.getMyEnrollments(user, cursor, size, withTotal);
+    }
+
     @DeleteMapping("/{enrollmentId}")
     public ResponseEntity<Void> dropEnrollment(
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @PathVariable Long enrollmentId
     ) {
-        User user = resolveAuthenticatedUser(authentication);
+        User user = resolveAuthenticatedUser(identity);
         enrollmentService.dropEnrollment(user, enrollmentId);
         return ResponseEntity.noContent().build();
     }
 
-    private User resolveAuthenticatedUser(Authentication authentication) {
-        String email = authentication.getName(); // JWT subject
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.UNAUTHORIZED,
-                        "Authenticated user not found"
-                ));
+    /**
+     * The identity is already resolved by the JWT filter, so a lazy reference
+     * is enough to scope enrollment queries — no user SELECT is issued.
+     */
+    private User resolveAuthenticatedUser(AuthenticatedIdentity identity) {
+        return userRepository.getReferenceById(identity.userId());
     }
 }
@@ -1,5 +1,6 @@
 package com.educator.enrollment.controller;
 
+import com.educator.common.security.AuthenticatedIdentity;
 import com.educator.course.lesson.Lesson;
 import com.educator.course.lesson.LessonRepository;
 import com.educator.enrollment.entity.Enrollment;
@@ -8,10 +9,18 @@ import com.educator.enrollment.service.LessonProgressService;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * Learner progress events.
+ *
+ * Both endpoints acknowledge the event once ownership is checked; the write
+ * is buffered and lands with the next flush (app.progress.flush-ms, 500 ms by
+ * default). Until then enrollment progress, completion status and dashboard
+ * counters read from the database do not include the event, so clients keep
+ * their own record of what they just sent rather than re-reading it.
+ */
 @RestController
 @RequestMapping("/api/learner/progress")
 public class LearnerProgressController {
@@ -39,16 +48,10 @@ public class LearnerProgressController {
 
     @PostMapping("/enrollment/{enrollmentId}/start")
     public void startProgress(
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @PathVariable Long enrollmentId
     ) {
-        String email = authentication.getName();
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.UNAUTHORIZED,
-                        "Authenticated user not found"
-                ));
+        User user = userRepository.getReferenceById(identity.userId());
 
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -65,17 +68,11 @@ public class LearnerProgressController {
 
     @PostMapping("/enrollment/{enrollmentId}/lesson/{lessonId}/complete")
     public void completeLesson(
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @PathVariable Long enrollmentId,
             @PathVariable Long lessonId
     ) {
-        String email = authentication.getName();
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.UNAUTHORIZED,
-                        "Authenticated user not found"
-                ));
+        User user = userRepository.getReferenceById(identity.userId());
 
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new ResponseStatusException(
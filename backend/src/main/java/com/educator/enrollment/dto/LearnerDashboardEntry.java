@@ -0,0 +1,57 @@
+package com.educator.enrollment.dto;
+
+import com.educator.certificate.enums.CertificateStatus;
+import com.educator.course.CourseDifficulty;
+import com.educator.enrollment.entity.EnrollmentStatus;
+import com.educator.exam.enums.AttemptStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One enrollment on the learner home screen: course summary, lesson
+ * progress, latest exam attempt and certificate (null when there is none).
+ * Enrollments in courses that were since hidden stay listed as history;
+ * {@code continueLearning} marks those the learner can still pick up.
+ */
+public record LearnerDashboardEntry(
+        Long enrollmentId,
+        EnrollmentStatus status,
+        LocalDateTime enrolledAt,
+        LocalDateTime lastAccessedAt,
+        LocalDateTime completedAt,
+        CourseSummary course,
+        int completedLessons,
+        int totalLessons,
+        int progressPercent,
+        ExamResult latestExamAttempt,
+        CertificateSummary certificate,
+        boolean continueLearning
+) {
+
+    public record CourseSummary(
+            Long id,
+            String titleEn,
+            CourseDifficulty difficulty,
+            int estimatedDurationMinutes,
+            boolean available
+    ) {
+    }
+
+    public record ExamResult(
+            UUID attemptId,
+            AttemptStatus status,
+            Integer scorePercentage,
+            Boolean passed,
+            LocalDateTime startedAt,
+            LocalDateTime evaluatedAt
+    ) {
+    }
+
+    public record CertificateSummary(
+            UUID id,
+            CertificateStatus status,
+            LocalDateTime issuedAt
+    ) {
+    }
+}
@@ -51,6 +51,16 @@ public class Enrollment {
     @Column(name = "last_accessed_at")
     private LocalDateTime lastAccessedAt;
 
+    // ─────────────────────────────────────────────────────────────
+    // Progress Counters (maintained by bulk updates, never written from the entity)
+    // ─────────────────────────────────────────────────────────────
+
+    @Column(name = "completed_lessons", nullable = false, updatable = false)
+    private int completedLessons;
+
+    @Column(name = "total_lessons_snapshot", nullable = false, updatable = false)
+    private int totalLessonsSnapshot;
+
     // ─────────────────────────────────────────────────────────────
     // Constructors
     // ─────────────────────────────────────────────────────────────
@@ -64,6 +74,7 @@ public class Enrollment {
         this.course = course;
         this.status = EnrollmentStatus.ACTIVE;
         this.enrolledAt = LocalDateTime.now();
+        this.totalLessonsSnapshot = course.getLessonCount();
     }
 
     // ─────────────────────────────────────────────────────────────
@@ -114,4 +125,27 @@ public class Enrollment {
     public LocalDateTime getLastAccessedAt() {
         return lastAccessedAt;
     }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public int getTotalLessonsSnapshot() {
+        return totalLessonsSnapshot;
+    }
+
+    public int getProgressPercent() {
+        return progressPercent(completedLessons, totalLessonsSnapshot);
+    }
+
+    public static int progressPercent(int completedLessons, int totalLessons) {
+        if (totalLessons <= 0) {
+            return 0;
+        }
+        return Math.min(100, completedLessons * 100 / totalLessons);
+    }
+
+    public boolean hasCompletedAllLessons() {
+        return totalLessonsSnapshot > 0 && completedLessons >= totalLessonsSnapshot;
+    }
 }
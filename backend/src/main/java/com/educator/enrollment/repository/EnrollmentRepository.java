@@ -4,10 +4,16 @@ import com.educator.enrollment.entity.Enrollment;
 import com.educator.enrollment.entity.EnrollmentStatus;
 import com.educator.users.User;
 import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,5 +39,166 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     Page<Enrollment> findAllByUserAndStatus(User user, EnrollmentStatus status, Pageable pageable);
 
+    /**
+     * A user's enrollments on (enrolledAt desc, id desc), matching idx_enrollments_user_enrolled:
+     * first slice, then every slice after a cursor.
+     */
+    List<Enrollment> findAllByUserOrderByEnrolledAtDescIdDesc(User user, Limit limit);
+
+    @Query("""
+            select e from Enrollment e
+            where e.user = :user
+              and (e.enrolledAt < :enrolledAt or (e.enrolledAt = :enrolledAt and e.id < :id))
+            order by e.enrolledAt desc, e.id desc
+            """)
+    List<Enrollment> findAllByUserAfter(
+            @Param("user") User user,
+            @Param("enrolledAt") LocalDateTime enrolledAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * Dashboard rows: every enrollment with its course summary, progress
+     * counters and whether the course is still open to learners, newest
+     * first, in one query.
+     */
+    @Query("""
+            select e.id as enrollmentId,
+                   e.status as status,
+                   e.enrolledAt as enrolledAt,
+                   e.lastAccessedAt as lastAccessedAt,
+                   e.completedAt as completedAt,
+                   e.completedLessons as completedLessons,
+                   e.totalLessonsSnapshot as totalLessons,
+                   c.id as courseId,
+                   c.titleEn as courseTitle,
+                   c.difficulty as difficulty,
+                   c.estimatedDurationMinutes as estimatedDurationMinutes,
+                   case when c.isDeleted = false
+                             and c.isArchived = false
+                             and c.status = com.educator.course.CourseStatus.PUBLISHED
+                        then true else false end as courseAvailable
+            from Enrollment e
+            join e.course c
+            where e.user.id = :userId
+            order by e.enrolledAt desc, e.id desc
+            """)
+    List<DashboardRow> findDashboardRows(@Param("userId") Long userId);
+
+    long countByUser(User user);
+
     long countByStatus(EnrollmentStatus status);
+
+    // ─────────────────────────────────────────────────────────────
+    // Progress Counters
+    // ─────────────────────────────────────────────────────────────
+
+    /**
+     * Ids of a course's enrollments whose counters still follow the course,
+     * in id order, after {@code afterId}. Completed enrollments keep the
+     * counters they were completed with.
+     */
+    @Query("""
+            select e.id from Enrollment e
+            where e.course.id = :courseId
+              and e.status <> com.educator.enrollment.entity.EnrollmentStatus.COMPLETED
+              and e.id > :afterId
+            order by e.id
+            """)
+    List<Long> findCounterIdsAfter(
+            @Param("courseId") Long courseId,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("""
+            update Enrollment e
+            set e.totalLessonsSnapshot = e.totalLessonsSnapshot + :delta
+            where e.course.id = :courseId
+              and e.status <> com.educator.enrollment.entity.EnrollmentStatus.COMPLETED
+              and e.id between :fromId and :toId
+            """)
+    int adjustTotalLessons(
+            @Param("courseId") Long courseId,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("delta") int delta
+    );
+
+    /**
+     * A deleted lesson no longer counts towards the enrollments in the id
+     * range that had completed it.
+     */
+    @Modifying
+    @Query("""
+            update Enrollment e
+            set e.completedLessons = e.completedLessons - 1
+            where e.completedLessons > 0
+              and e.status <> com.educator.enrollment.entity.EnrollmentStatus.COMPLETED
+              and e.id between :fromId and :toId
+              and e.id in (
+                  select p.enrollment.id from LessonProgress p
+                  where p.lesson.id = :lessonId and p.completed = true
+              )
+            """)
+    int decrementCompletedLessonsForLesson(
+            @Param("lessonId") Long lessonId,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId
+    );
+
+    /**
+     * Recomputes both counters for drifted enrollments only; completed
+     * enrollments keep the counters they were completed with.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            UPDATE enrollments
+            SET completed_lessons = (
+                    SELECT COUNT(*) FROM lesson_progress p
+                    JOIN lessons l ON l.id = p.lesson_id
+                    WHERE p.enrollment_id = enrollments.id AND p.completed = TRUE AND l.is_deleted = FALSE
+                ),
+                total_lessons_snapshot = (
+                    SELECT c.lesson_count FROM courses c WHERE c.id = enrollments.course_id
+                )
+            WHERE status <> 'COMPLETED'
+              AND (completed_lessons <> (
+                    SELECT COUNT(*) FROM lesson_progress p
+                    JOIN lessons l ON l.id = p.lesson_id
+                    WHERE p.enrollment_id = enrollments.id AND p.completed = TRUE AND l.is_deleted = FALSE
+                )
+               OR total_lessons_snapshot <> (
+                    SELECT c.lesson_count FROM courses c WHERE c.id = enrollments.course_id
+                ))
+            """, nativeQuery = true)
+    int reconcileProgressCounters();
+
+    interface DashboardRow {
+        Long getEnrollmentId();
+
+        EnrollmentStatus getStatus();
+
+        LocalDateTime getEnrolledAt();
+
+        LocalDateTime getLastAccessedAt();
+
+        LocalDateTime getCompletedAt();
+
+        int getCompletedLessons();
+
+        int getTotalLessons();
+
+        Long getCourseId();
+
+        String getCourseTitle();
+
+        CourseDifficulty getDifficulty();
+
+        int getEstimatedDurationMinutes();
+
+        boolean isCourseAvailable();
+    }
 }
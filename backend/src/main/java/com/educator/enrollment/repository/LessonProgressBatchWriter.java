@@ -0,0 +1,161 @@
+package com.educator.enrollment.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC batch writes for buffered lesson progress.
+ *
+ * Completions are upserted in two batched statements: insert the row if it
+ * is missing, then complete any existing row that is not completed yet. An
+ * existing completedAt is never overwritten, so replays are harmless. Rows
+ * that became completed are added to their enrollment's completed_lessons
+ * counter in the same transaction, unless the enrollment is already
+ * completed: its counters stay as they were at completion.
+ */
+@Repository
+public class LessonProgressBatchWriter {
+
+    private static final String INSERT_MISSING = """
+            INSERT INTO lesson_progress (enrollment_id, lesson_id, completed, completed_at)
+            SELECT incoming.enrollment_id, incoming.lesson_id, TRUE, incoming.completed_at
+            FROM (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP)))
+                AS incoming (enrollment_id, lesson_id, completed_at)
+            WHERE NOT EXISTS (
+                SELECT 1 FROM lesson_progress existing
+                WHERE existing.enrollment_id = incoming.enrollment_id
+                  AND existing.lesson_id = incoming.lesson_id
+            )
+            """;
+
+    private static final String COMPLETE_EXISTING = """
+            UPDATE lesson_progress
+            SET completed = TRUE, completed_at = COALESCE(completed_at, ?)
+            WHERE enrollment_id = ? AND lesson_id = ? AND completed = FALSE
+            """;
+
+    private static final String TOUCH_ENROLLMENT = """
+            UPDATE enrollments
+            SET last_accessed_at = ?
+            WHERE id = ? AND (last_accessed_at IS NULL OR last_accessed_at < ?)
+            """;
+
+    private static final String ADD_COMPLETED_LESSONS = """
+            UPDATE enrollments
+            SET completed_lessons = completed_lessons + ?
+            WHERE id = ? AND status <> 'COMPLETED'
+            """;
+
+    private static final String RECOUNT_COMPLETED_LESSONS = """
+            UPDATE enrollments
+            SET completed_lessons = (
+                SELECT COUNT(*) FROM lesson_progress p
+                JOIN lessons l ON l.id = p.lesson_id
+                WHERE p.enrollment_id = enrollments.id AND p.completed = TRUE AND l.is_deleted = FALSE
+            )
+            WHERE id = ? AND status <> 'COMPLETED'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LessonProgressBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes one flush in a single transaction, batchSize rows per JDBC batch.
+     * Returns the enrollments whose completed lesson count went up.
+     */
+    @Transactional
+    public Set<Long> write(List<CompletedLesson> completions, Map<Long, LocalDateTime> lastAccessedByEnrollment, int batchSize) {
+        Set<Long> progressed = new LinkedHashSet<>();
+        if (!completions.isEmpty()) {
+            int[] inserted = flatten(jdbcTemplate.batchUpdate(INSERT_MISSING, completions, batchSize, (ps, row) -> {
+                ps.setLong(1, row.enrollmentId());
+                ps.setLong(2, row.lessonId());
+                ps.setTimestamp(3, Timestamp.valueOf(row.completedAt()));
+            }));
+            int[] completed = flatten(jdbcTemplate.batchUpdate(COMPLETE_EXISTING, completions, batchSize, (ps, row) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(row.completedAt()));
+                ps.setLong(2, row.enrollmentId());
+                ps.setLong(3, row.lessonId());
+            }));
+            progressed.addAll(countNewCompletions(completions, inserted, completed, batchSize));
+        }
+
+        if (!lastAccessedByEnrollment.isEmpty()) {
+            List<Map.Entry<Long, LocalDateTime>> touches = new ArrayList<>(lastAccessedByEnrollment.entrySet());
+            jdbcTemplate.batchUpdate(TOUCH_ENROLLMENT, touches, batchSize, (ps, touch) -> {
+                Timestamp at = Timestamp.valueOf(touch.getValue());
+                ps.setTimestamp(1, at);
+                ps.setLong(2, touch.getKey());
+                ps.setTimestamp(3, at);
+            });
+        }
+        return progressed;
+    }
+
+    /**
+     * Adds each enrollment's newly completed rows to its counter. A driver that
+     * does not report per-row counts gets an exact recount instead.
+     */
+    private Set<Long> countNewCompletions(List<CompletedLesson> completions, int[] inserted, int[] completed, int batchSize) {
+        Map<Long, Integer> added = new LinkedHashMap<>();
+        Set<Long> recount = new LinkedHashSet<>();
+        for (int i = 0; i < completions.size(); i++) {
+            long enrollmentId = completions.get(i).enrollmentId();
+            int insertCount = i < inserted.length ? inserted[i] : Statement.SUCCESS_NO_INFO;
+            int updateCount = i < completed.length ? completed[i] : Statement.SUCCESS_NO_INFO;
+            if (insertCount < 0 || updateCount < 0) {
+                recount.add(enrollmentId);
+            } else if (insertCount + updateCount > 0) {
+                added.merge(enrollmentId, insertCount + updateCount, Integer::sum);
+            }
+        }
+        added.keySet().removeAll(recount);
+
+        if (!added.isEmpty()) {
+            List<Map.Entry<Long, Integer>> increments = new ArrayList<>(added.entrySet());
+            jdbcTemplate.batchUpdate(ADD_COMPLETED_LESSONS, increments, batchSize, (ps, increment) -> {
+                ps.setInt(1, increment.getValue());
+                ps.setLong(2, increment.getKey());
+            });
+        }
+        if (!recount.isEmpty()) {
+            List<Long> ids = new ArrayList<>(recount);
+            jdbcTemplate.batchUpdate(RECOUNT_COMPLETED_LESSONS, ids, batchSize, (ps, id) -> ps.setLong(1, id));
+        }
+
+        Set<Long> progressed = new LinkedHashSet<>(added.keySet());
+        progressed.addAll(recount);
+        return progressed;
+    }
+
+    private static int[] flatten(int[][] batches) {
+        int total = 0;
+        for (int[] batch : batches) {
+            total += batch.length;
+        }
+        int[] counts = new int[total];
+        int offset = 0;
+        for (int[] batch : batches) {
+            System.arraycopy(batch, 0, counts, offset, batch.length);
+            offset += batch.length;
+        }
+        return counts;
+    }
+
+    public record CompletedLesson(long enrollmentId, long lessonId, LocalDateTime completedAt) {
+    }
+}
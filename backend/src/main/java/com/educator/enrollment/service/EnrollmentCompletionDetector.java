@@ -0,0 +1,82 @@
+package com.educator.enrollment.service;
+
+import com.educator.common.security.UserIdentityUtil;
+import com.educator.completion.repository.CourseCompletionRepository;
+import com.educator.enrollment.entity.Enrollment;
+import com.educator.enrollment.entity.EnrollmentStatus;
+import com.educator.enrollment.repository.EnrollmentRepository;
+import com.educator.exam.enums.AttemptStatus;
+import com.educator.exam.repository.ExamAttemptRepository;
+import com.educator.exam.repository.ExamRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Marks an enrollment completed once every lesson is completed, the course
+ * completion exists and an exam attempt has been evaluated.
+ *
+ * Runs off the request path, after {@link LessonProgressBuffer} has flushed
+ * the enrollment's progress.
+ */
+@Service
+public class EnrollmentCompletionDetector {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ExamRepository examRepository;
+    private final ExamAttemptRepository examAttemptRepository;
+    private final CourseCompletionRepository courseCompletionRepository;
+
+    public EnrollmentCompletionDetector(
+            EnrollmentRepository enrollmentRepository,
+            ExamRepository examRepository,
+            ExamAttemptRepository examAttemptRepository,
+            CourseCompletionRepository courseCompletionRepository
+    ) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.examRepository = examRepository;
+        this.examAttemptRepository = examAttemptRepository;
+        this.courseCompletionRepository = courseCompletionRepository;
+    }
+
+    /**
+     * Returns true if the enrollment was marked completed by this call.
+     */
+    @Transactional
+    public boolean completeIfEligible(Long enrollmentId) {
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId).orElse(null);
+        if (enrollment == null || enrollment.getStatus() == EnrollmentStatus.COMPLETED) {
+            return false;
+        }
+
+        // O(1): counters are kept current by the progress writer and lesson changes
+        if (!enrollment.hasCompletedAllLessons()) {
+            return false;
+        }
+
+        UUID userUuid = UserIdentityUtil.toStableUuid(enrollment.getUser().getEmail());
+        Long courseId = enrollment.getCourse().getId();
+
+        boolean hasCompletion = courseCompletionRepository.findByCourseIdAndUserId(courseId, userUuid).isPresent();
+        if (!hasCompletion) {
+            return false;
+        }
+
+        boolean hasEvaluatedExamAttempt = examRepository.findByCourseId(courseId)
+                .map(exam -> examAttemptRepository.findTopByExamIdAndUserIdAndStatusOrderByEvaluatedAtDesc(
+                        exam.getId(),
+                        userUuid,
+                        AttemptStatus.EVALUATED
+                ).isPresent())
+                .orElse(false);
+
+        if (!hasEvaluatedExamAttempt) {
+            return false;
+        }
+
+        enrollment.markCompleted();
+        enrollmentRepository.save(enrollment);
+        return true;
+    }
+}
@@ -0,0 +1,118 @@
+package com.educator.enrollment.service;
+
+import com.educator.course.CourseRepository;
+import com.educator.course.event.LessonCountChangedEvent;
+import com.educator.enrollment.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Maintains the denormalized progress counters on enrollments.
+ *
+ * Lesson adds and deletes adjust the course's enrollments once the lesson
+ * change has committed, in id order and in chunks of their own transaction,
+ * so a popular course never holds all its enrollment rows locked at once and
+ * concurrent adjustments lock rows in the same order. Completions are counted
+ * by {@link com.educator.enrollment.repository.LessonProgressBatchWriter}.
+ * The scheduled reconciliation recounts from lessons and lesson_progress and
+ * only rewrites rows that drifted, so it is safe to run on several nodes; it
+ * also repairs adjustments lost to a crash between commit and listener.
+ *
+ * Completed enrollments keep the counters they were completed with: a lesson
+ * added to the course later does not push them back below 100%.
+ */
+@Service
+public class EnrollmentProgressCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentProgressCounters.class);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public EnrollmentProgressCounters(
+            EnrollmentRepository enrollmentRepository,
+            CourseRepository courseRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.progress.counter-chunk-size:500}") int chunkSize
+    ) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLessonCountChanged(LessonCountChangedEvent event) {
+        long afterId = 0L;
+        while (true) {
+            long from = afterId;
+            Long last = chunkTransaction.execute(status -> adjustChunk(event, from));
+            if (last == null) {
+                return;
+            }
+            afterId = last;
+        }
+    }
+
+    /**
+     * Adjusts the next chunk after {@code afterId}; returns its last id, or null when done.
+     */
+    private Long adjustChunk(LessonCountChangedEvent event, long afterId) {
+        List<Long> ids = enrollmentRepository.findCounterIdsAfter(event.courseId(), afterId, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        Long fromId = ids.get(0);
+        Long toId = ids.get(ids.size() - 1);
+        enrollmentRepository.adjustTotalLessons(event.courseId(), fromId, toId, event.delta());
+        if (event.delta() < 0) {
+            enrollmentRepository.decrementCompletedLessonsForLesson(event.lessonId(), fromId, toId);
+        }
+        return ids.size() < chunkSize ? null : toId;
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.progress.reconcile-ms:3600000}",
+            fixedDelayString = "${app.progress.reconcile-ms:3600000}"
+    )
+    @Transactional
+    public ReconcileResult reconcile() {
+        long startedNanos = System.nanoTime();
+
+        // Courses first: enrollment totals are repaired from the course counts
+        int courses = courseRepository.reconcileLessonCounts();
+        int enrollments = enrollmentRepository.reconcileProgressCounters();
+
+        ReconcileResult result = new ReconcileResult(
+                courses,
+                enrollments,
+                (System.nanoTime() - startedNanos) / 1_000_000L
+        );
+
+        if (courses > 0 || enrollments > 0) {
+            log.warn("Repaired progress counter drift on {} courses and {} enrollments in {} ms",
+                    result.coursesRepaired(), result.enrollmentsRepaired(), result.elapsedMillis());
+        } else {
+            log.debug("Progress counters consistent, checked in {} ms", result.elapsedMillis());
+        }
+
+        return result;
+    }
+
+    public record ReconcileResult(int coursesRepaired, int enrollmentsRepaired, long elapsedMillis) {
+    }
+}
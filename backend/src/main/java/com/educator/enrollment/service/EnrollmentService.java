@@ -1,5 +1,7 @@
 package com.educator.enrollment.service;
 
+import com.educator.common.dto.CursorPage;
+import com.educator.common.pagination.KeysetKey;
 import com.educator.course.Course;
 import com.educator.course.CourseRepository;
 import com.educator.course.CourseStatus;
@@ -12,12 +14,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @Transactional
 public class EnrollmentService {
 
+    private static final KeysetKey<Enrollment, LocalDateTime, Long> BY_ENROLLED_AT =
+            KeysetKey.of(Enrollment::getEnrolledAt, LocalDateTime::parse, Enrollment::getId, Long::parseLong);
+
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
 
@@ -89,6 +95,21 @@ public class EnrollmentService {
         return enrollmentRepository.findAllByUser(user, pageable);
     }
 
+    /**
+     * The user's enrollments, most recently enrolled first, sliced after an
+     * (enrolledAt, id) cursor; served from idx_enrollments_user_enrolled.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Enrollment> getMyEnrollments(User user, String cursor, Integer size, boolean withTotal) {
+        return BY_ENROLLED_AT.slice(
+                cursor,
+                size,
+                limit -> enrollmentRepository.findAllByUserOrderByEnrolledAtDescIdDesc(user, limit),
+                (enrolledAt, id, limit) -> enrollmentRepository.findAllByUserAfter(user, enrolledAt, id, limit),
+                withTotal ? () -> enrollmentRepository.countByUser(user) : null
+        );
+    }
+
     @Transactional(readOnly = true)
     public List<Enrollment> getMyActiveEnrollments(User user) {
         return enrollmentRepository.findAllByUserAndStatus(user, EnrollmentStatus.ACTIVE);
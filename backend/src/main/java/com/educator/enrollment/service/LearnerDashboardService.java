@@ -0,0 +1,130 @@
+package com.educator.enrollment.service;
+
+import com.educator.certificate.entity.Certificate;
+import com.educator.certificate.repository.CertificateRepository;
+import com.educator.enrollment.dto.LearnerDashboardEntry;
+import com.educator.enrollment.dto.LearnerDashboardEntry.CertificateSummary;
+import com.educator.enrollment.dto.LearnerDashboardEntry.CourseSummary;
+import com.educator.enrollment.dto.LearnerDashboardEntry.ExamResult;
+import com.educator.enrollment.entity.Enrollment;
+import com.educator.enrollment.entity.EnrollmentStatus;
+import com.educator.enrollment.repository.EnrollmentRepository;
+import com.educator.enrollment.repository.EnrollmentRepository.DashboardRow;
+import com.educator.exam.entity.ExamAttempt;
+import com.educator.exam.repository.ExamAttemptRepository;
+import com.educator.exam.repository.ExamRepository;
+import com.educator.exam.repository.ExamRepository.CourseExam;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Learner home screen in at most four set-based queries, however many
+ * enrollments there are: enrollment rows with course and counters, exam ids
+ * of those courses, the latest attempt per exam, and certificates. Course
+ * visibility only decides what is offered to continue, never what is listed.
+ */
+@Service
+public class LearnerDashboardService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ExamRepository examRepository;
+    private final ExamAttemptRepository examAttemptRepository;
+    private final CertificateRepository certificateRepository;
+
+    public LearnerDashboardService(
+            EnrollmentRepository enrollmentRepository,
+            ExamRepository examRepository,
+            ExamAttemptRepository examAttemptRepository,
+            CertificateRepository certificateRepository
+    ) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.examRepository = examRepository;
+        this.examAttemptRepository = examAttemptRepository;
+        this.certificateRepository = certificateRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LearnerDashboardEntry> getDashboard(Long userId, UUID stableUserId) {
+        List<DashboardRow> rows = enrollmentRepository.findDashboardRows(userId);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> courseIds = new ArrayList<>(rows.size());
+        for (DashboardRow row : rows) {
+            courseIds.add(row.getCourseId());
+        }
+
+        Map<Long, UUID> examIdByCourse = new HashMap<>();
+        for (CourseExam exam : examRepository.findExamIdsByCourseIdIn(courseIds)) {
+            examIdByCourse.put(exam.getCourseId(), exam.getExamId());
+        }
+
+        Map<UUID, ExamAttempt> latestAttemptByExam = new HashMap<>();
+        if (!examIdByCourse.isEmpty()) {
+            for (ExamAttempt attempt : examAttemptRepository.findLatestByUserIdAndExamIdIn(stableUserId, examIdByCourse.values())) {
+                // Equal start times are vanishingly rare; keep the first one seen
+                latestAttemptByExam.putIfAbsent(attempt.getExamId(), attempt);
+            }
+        }
+
+        Map<Long, Certificate> certificateByCourse = new HashMap<>();
+        for (Certificate certificate : certificateRepository.findByUserIdAndCourseIdIn(stableUserId, courseIds)) {
+            certificateByCourse.put(certificate.getCourseId(), certificate);
+        }
+
+        List<LearnerDashboardEntry> entries = new ArrayList<>(rows.size());
+        for (DashboardRow row : rows) {
+            UUID examId = examIdByCourse.get(row.getCourseId());
+            entries.add(new LearnerDashboardEntry(
+                    row.getEnrollmentId(),
+                    row.getStatus(),
+                    row.getEnrolledAt(),
+                    row.getLastAccessedAt(),
+                    row.getCompletedAt(),
+                    new CourseSummary(
+                            row.getCourseId(),
+                            row.getCourseTitle(),
+                            row.getDifficulty(),
+                            row.getEstimatedDurationMinutes(),
+                            row.isCourseAvailable()
+                    ),
+                    row.getCompletedLessons(),
+                    row.getTotalLessons(),
+                    Enrollment.progressPercent(row.getCompletedLessons(), row.getTotalLessons()),
+                    examId == null ? null : toExamResult(latestAttemptByExam.get(examId)),
+                    toCertificateSummary(certificateByCourse.get(row.getCourseId())),
+                    // Only courses still open to learners are suggested; the rest is history
+                    row.getStatus() == EnrollmentStatus.ACTIVE && row.isCourseAvailable()
+            ));
+        }
+        return entries;
+    }
+
+    private static ExamResult toExamResult(ExamAttempt attempt) {
+        if (attempt == null) {
+            return null;
+        }
+        return new ExamResult(
+                attempt.getId(),
+                attempt.getStatus(),
+                attempt.getScorePercentage(),
+                attempt.getPassed(),
+                attempt.getStartedAt(),
+                attempt.getEvaluatedAt()
+        );
+    }
+
+    private static CertificateSummary toCertificateSummary(Certificate certificate) {
+        if (certificate == null) {
+            return null;
+        }
+        return new CertificateSummary(certificate.getId(), certificate.getStatus(), certificate.getIssuedAt());
+    }
+}
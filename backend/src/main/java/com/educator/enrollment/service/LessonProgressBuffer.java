@@ -0,0 +1,243 @@
+package com.educator.enrollment.service;
+
+import com.educator.enrollment.repository.LessonProgressBatchWriter;
+import com.educator.enrollment.repository.LessonProgressBatchWriter.CompletedLesson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for lesson progress events.
+ *
+ * Requests only record the event in memory. Repeated events for the same
+ * (enrollment, lesson) collapse into one pending row keeping the earliest
+ * completion time; access touches collapse per enrollment keeping the latest.
+ * A scheduled flush writes everything pending in JDBC batches, then hands the
+ * affected enrollments to a single worker for completion detection.
+ *
+ * A flush that fails on an unavailable database puts its rows back for the
+ * next attempt. A flush rejected by a constraint is split in halves until the
+ * offending rows are isolated; those are logged and dropped, everything else
+ * is written. A full buffer wakes the flush thread instead of writing on the
+ * caller's thread. Completion checks that fail are retried on the next
+ * flushes, a few times at most.
+ *
+ * Pending rows are flushed on shutdown; events accepted since the last flush
+ * are lost only if the process dies without a graceful shutdown. Until a
+ * flush runs, reads of enrollment progress do not include buffered events.
+ */
+@Component
+public class LessonProgressBuffer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LessonProgressBuffer.class);
+
+    static final int MAX_CHECK_ATTEMPTS = 3;
+
+    private final LessonProgressBatchWriter batchWriter;
+    private final EnrollmentCompletionDetector completionDetector;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final Map<ProgressKey, LocalDateTime> pendingCompletions = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingAccesses = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> failedChecks = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ExecutorService completionWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lesson-progress-completion");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService flushWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lesson-progress-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LessonProgressBuffer(
+            LessonProgressBatchWriter batchWriter,
+            EnrollmentCompletionDetector completionDetector,
+            @Value("${app.progress.batch-size:500}") int batchSize,
+            @Value("${app.progress.max-pending:20000}") int maxPending
+    ) {
+        this.batchWriter = batchWriter;
+        this.completionDetector = completionDetector;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    public void recordCompleted(Long enrollmentId, Long lessonId) {
+        LocalDateTime now = LocalDateTime.now();
+        pendingCompletions.merge(new ProgressKey(enrollmentId, lessonId), now,
+                (existing, incoming) -> existing.isBefore(incoming) ? existing : incoming);
+        recordAccess(enrollmentId, now);
+    }
+
+    public void recordAccess(Long enrollmentId) {
+        recordAccess(enrollmentId, LocalDateTime.now());
+    }
+
+    public int pendingCount() {
+        return pendingCompletions.size() + pendingAccesses.size();
+    }
+
+    /**
+     * Writes everything pending. Returns the number of rows written.
+     */
+    @Scheduled(fixedDelayString = "${app.progress.flush-ms:500}")
+    public synchronized int flush() {
+        retryFailedChecks();
+
+        Map<ProgressKey, LocalDateTime> completions = drain(pendingCompletions);
+        Map<Long, LocalDateTime> accesses = drain(pendingAccesses);
+        if (completions.isEmpty() && accesses.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletedLesson> rows = new ArrayList<>(completions.size());
+        completions.forEach((key, completedAt) ->
+                rows.add(new CompletedLesson(key.enrollmentId(), key.lessonId(), completedAt)));
+
+        Set<Long> progressed = new LinkedHashSet<>();
+        int dropped;
+        try {
+            dropped = writeIsolating(rows, accesses, progressed);
+        } catch (RuntimeException e) {
+            // Put the rows back; merging keeps the coalescing rules for anything recorded meanwhile.
+            // Replaying rows that did get written is harmless: the writer never completes a row twice
+            completions.forEach((key, completedAt) -> pendingCompletions.merge(key, completedAt,
+                    (existing, incoming) -> existing.isBefore(incoming) ? existing : incoming));
+            accesses.forEach((enrollmentId, at) -> pendingAccesses.merge(enrollmentId, at,
+                    (existing, incoming) -> existing.isAfter(incoming) ? existing : incoming));
+            log.warn("Lesson progress flush failed, {} rows requeued: {}", rows.size() + accesses.size(), e.getMessage());
+            return 0;
+        }
+
+        // Only enrollments whose completed lesson count went up can have become complete
+        for (Long enrollmentId : progressed) {
+            submitCompletionCheck(enrollmentId);
+        }
+
+        log.debug("Flushed {} lesson completions and {} enrollment touches", rows.size() - dropped, accesses.size());
+        return rows.size() - dropped + accesses.size();
+    }
+
+    /**
+     * Flushes what is pending, then lets queued completion checks finish.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flush();
+        if (pendingCount() > 0) {
+            log.warn("Lesson progress buffer shut down with {} unwritten rows", pendingCount());
+        }
+
+        flushWorker.shutdownNow();
+        completionWorker.shutdown();
+        if (!completionWorker.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Enrollment completion checks still running at shutdown");
+            completionWorker.shutdownNow();
+        }
+    }
+
+    private void recordAccess(Long enrollmentId, LocalDateTime at) {
+        pendingAccesses.merge(enrollmentId, at, (existing, incoming) -> existing.isAfter(incoming) ? existing : incoming);
+
+        // Backpressure: a burst larger than the buffer wakes the flush thread early
+        if (pendingCompletions.size() >= maxPending && flushQueued.compareAndSet(false, true)) {
+            try {
+                flushWorker.execute(() -> {
+                    flushQueued.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                flushQueued.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the rows; when a constraint rejects them, splits them until each
+     * rejected row stands alone and drops it. Returns the number of rows dropped.
+     * Any other failure propagates, so the caller requeues the whole flush.
+     */
+    private int writeIsolating(List<CompletedLesson> rows, Map<Long, LocalDateTime> accesses, Set<Long> progressed) {
+        try {
+            progressed.addAll(batchWriter.write(rows, accesses, batchSize));
+            return 0;
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() <= 1) {
+                if (!rows.isEmpty()) {
+                    log.error("Dropping lesson completion rejected by the database — {}: {}", rows.get(0), e.getMessage());
+                }
+                if (!accesses.isEmpty()) {
+                    progressed.addAll(batchWriter.write(List.of(), accesses, batchSize));
+                }
+                return rows.size();
+            }
+            int half = rows.size() / 2;
+            return writeIsolating(rows.subList(0, half), accesses, progressed)
+                    + writeIsolating(rows.subList(half, rows.size()), Map.of(), progressed);
+        }
+    }
+
+    private void submitCompletionCheck(Long enrollmentId) {
+        try {
+            completionWorker.execute(() -> {
+                try {
+                    completionDetector.completeIfEligible(enrollmentId);
+                    failedChecks.remove(enrollmentId);
+                } catch (RuntimeException e) {
+                    int attempts = failedChecks.merge(enrollmentId, 1, Integer::sum);
+                    if (attempts >= MAX_CHECK_ATTEMPTS) {
+                        failedChecks.remove(enrollmentId);
+                        log.error("Enrollment completion check gave up after {} attempts — enrollmentId={}: {}",
+                                attempts, enrollmentId, e.getMessage());
+                    } else {
+                        log.warn("Enrollment completion check failed, will retry — enrollmentId={}: {}",
+                                enrollmentId, e.getMessage());
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Enrollment completion check skipped during shutdown — enrollmentId={}", enrollmentId);
+        }
+    }
+
+    private void retryFailedChecks() {
+        for (Long enrollmentId : failedChecks.keySet()) {
+            submitCompletionCheck(enrollmentId);
+        }
+    }
+
+    private static <K> Map<K, LocalDateTime> drain(Map<K, LocalDateTime> pending) {
+        Map<K, LocalDateTime> drained = new HashMap<>();
+        for (K key : pending.keySet()) {
+            LocalDateTime value = pending.remove(key);
+            if (value != null) {
+                drained.put(key, value);
+            }
+        }
+        return drained;
+    }
+
+    private record ProgressKey(long enrollmentId, long lessonId) {
+    }
+}
@@ -1,11 +1,29 @@
 package com.educator.exam.controller;
 
+import com.educator.exam.dto.BulkUpsertExamQuestionsRequest;
+import com.educator.exam.dto.BulkUpsertExamQuestionsResponse;
 import com.educator.exam.dto.UpsertExamQuestionRequest;
 import com.educator.exam.entity.ExamQuestion;
 import com.educator.exam.service.ExamQuestionService;
+import com.educator.importer.common.ImportContext;
+import com.educator.importer.common.ImportError;
+import com.educator.importer.common.ImportResult;
+import com.educator.importer.common.SizeLimitedInputStream;
+import com.educator.importer.enums.ImportEntityType;
+import com.educator.importer.enums.ImportSourceType;
+import com.educator.importer.exam.ExamQuestionCsvImport;
+import com.educator.importer.exam.ExamQuestionCsvImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,9 +32,17 @@ import java.util.UUID;
 public class ExamQuestionAdminController {
 
     private final ExamQuestionService examQuestionService;
+    private final ExamQuestionCsvImportService examQuestionCsvImportService;
+    private final long maxImportBytes;
 
-    public ExamQuestionAdminController(ExamQuestionService examQuestionService) {
+    public ExamQuestionAdminController(
+            ExamQuestionService examQuestionService,
+            ExamQuestionCsvImportService examQuestionCsvImportService,
+            @Value("${app.import.exam-csv.max-bytes:268435456}") long maxImportBytes
+    ) {
         this.examQuestionService = examQuestionService;
+        this.examQuestionCsvImportService = examQuestionCsvImportService;
+        this.maxImportBytes = maxImportBytes;
     }
 
     @PostMapping
@@ -27,6 +53,46 @@ public class ExamQuestionAdminController {
         return examQuestionService.createQuestion(examId, request);
     }
 
+    /**
+     * Creates and updates many questions with their options in one transaction.
+     */
+    @PutMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkUpsertExamQuestionsResponse bulkUpsertQuestions(
+            @PathVariable UUID examId,
+            @Valid @RequestBody BulkUpsertExamQuestionsRequest request
+    ) {
+        return examQuestionService.bulkUpsert(examId, request);
+    }
+
+    /**
+     * Appends the questions of a CSV question bank sent as the request body,
+     * streamed row by row. The body is read straight from the connection, so
+     * its size limit applies to this endpoint only, not to multipart uploads.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResult> importQuestions(
+            @PathVariable UUID examId,
+            HttpServletRequest request
+    ) throws IOException {
+        if (request.getContentLengthLong() > maxImportBytes) {
+            ImportResult result = new ImportResult();
+            result.addError(new ImportError("FILE_TOO_LARGE", "The file is larger than " + maxImportBytes + " bytes"));
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(result);
+        }
+
+        ImportContext context = new ImportContext();
+        context.setEntityType(ImportEntityType.EXAM);
+        context.setSourceType(ImportSourceType.CSV);
+
+        // Bodies without a declared length are cut off once they pass the limit
+        try (InputStream source = new SizeLimitedInputStream(request.getInputStream(), maxImportBytes)) {
+            return ResponseEntity.ok(
+                    examQuestionCsvImportService.importData(new ExamQuestionCsvImport(context, examId, source)));
+        }
+    }
+
     @PutMapping("/{questionId}")
     public ExamQuestion updateQuestion(
             @PathVariable UUID examId,
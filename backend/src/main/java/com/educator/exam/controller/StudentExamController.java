@@ -2,7 +2,7 @@ package com.educator.exam.controller;
 
 import com.educator.common.dto.PaginatedResponse;
 import com.educator.common.pagination.PageableFactory;
-import com.educator.common.security.UserIdentityUtil;
+import com.educator.common.security.AuthenticatedIdentity;
 import com.educator.exam.dto.ExamAttemptReviewResponse;
 import com.educator.exam.entity.ExamAttempt;
 import com.educator.exam.entity.ExamAttemptAnswer;
@@ -11,7 +11,6 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.UUID;
@@ -37,13 +36,10 @@ public class StudentExamController {
     @PostMapping("/{examId}/start")
     public ResponseEntity<ExamAttempt> startExam(
             @PathVariable UUID examId,
-            Authentication authentication
+            AuthenticatedIdentity identity
     ) {
-        String email = resolveEmail(authentication);
-        UUID authenticatedUserId = UserIdentityUtil.toStableUuid(email);
-
         return ResponseEntity.ok(
-                examAttemptService.startAttempt(examId, authenticatedUserId, email)
+                examAttemptService.startAttempt(examId, identity)
         );
     }
 
@@ -53,10 +49,10 @@ public class StudentExamController {
     @PostMapping("/attempts/{attemptId}/submit")
     public ResponseEntity<ExamAttempt> submitExam(
             @PathVariable UUID attemptId,
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @Valid @RequestBody List<@Valid ExamAttemptAnswer> answers
     ) {
-        UUID authenticatedUserId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
+        UUID authenticatedUserId = identity.stableId();
         return ResponseEntity.ok(
                 examAttemptService.submitAndEvaluateAttempt(attemptId, authenticatedUserId, answers)
         );
@@ -65,11 +61,11 @@ public class StudentExamController {
     @GetMapping("/{examId}/attempts")
     public ResponseEntity<PaginatedResponse<ExamAttempt>> getAttemptHistory(
             @PathVariable UUID examId,
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size
     ) {
-        UUID authenticatedUserId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
+        UUID authenticatedUserId = identity.stableId();
         Pageable pageable = PageableFactory.of(page, size, Sort.by(Sort.Direction.DESC, "startedAt"));
         return ResponseEntity.ok(
                 new PaginatedResponse<>(
@@ -81,18 +77,11 @@ public class StudentExamController {
     @GetMapping("/attempts/{attemptId}/review")
     public ResponseEntity<ExamAttemptReviewResponse> getAttemptReview(
             @PathVariable UUID attemptId,
-            Authentication authentication
+            AuthenticatedIdentity identity
     ) {
-        UUID authenticatedUserId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
+        UUID authenticatedUserId = identity.stableId();
         return ResponseEntity.ok(
                 examAttemptService.getAttemptReview(attemptId, authenticatedUserId)
         );
     }
-
-    private String resolveEmail(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null || authentication.getName().isBlank()) {
-            throw new IllegalArgumentException("Authenticated user email is required");
-        }
-        return authentication.getName();
-    }
 }
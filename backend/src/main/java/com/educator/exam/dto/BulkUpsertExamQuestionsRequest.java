@@ -0,0 +1,69 @@
+package com.educator.exam.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A set of questions with their options, written in one request.
+ *
+ * Entries with an id update that question or option; entries without one
+ * are created. Options of an updated question that are not listed are
+ * removed. Questions of the exam that are not listed are left unchanged.
+ */
+public class BulkUpsertExamQuestionsRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid @NotNull QuestionEntry> questions;
+
+    public List<QuestionEntry> getQuestions() {
+        return questions;
+    }
+
+    public void setQuestions(List<QuestionEntry> questions) {
+        this.questions = questions;
+    }
+
+    public static class QuestionEntry extends UpsertExamQuestionRequest {
+
+        private UUID id;
+
+        @NotEmpty
+        @Size(max = 20)
+        private List<@Valid @NotNull OptionEntry> options;
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public List<OptionEntry> getOptions() {
+            return options;
+        }
+
+        public void setOptions(List<OptionEntry> options) {
+            this.options = options;
+        }
+    }
+
+    public static class OptionEntry extends UpsertExamOptionRequest {
+
+        private UUID id;
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+    }
+}
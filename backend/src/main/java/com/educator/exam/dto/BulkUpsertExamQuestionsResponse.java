@@ -0,0 +1,18 @@
+package com.educator.exam.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ids of the written questions and options, in request order.
+ */
+public record BulkUpsertExamQuestionsResponse(
+        UUID examId,
+        int created,
+        int updated,
+        List<QuestionIds> questions
+) {
+
+    public record QuestionIds(UUID id, Integer displayOrder, List<UUID> optionIds) {
+    }
+}
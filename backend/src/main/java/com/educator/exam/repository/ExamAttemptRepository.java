@@ -5,7 +5,13 @@ import com.educator.exam.enums.AttemptStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,6 +42,23 @@ public interface ExamAttemptRepository extends JpaRepository<ExamAttempt, UUID>
             AttemptStatus status
     );
 
+    /**
+     * The user's most recently started attempt of each given exam, in one query.
+     */
+    @Query("""
+            select a from ExamAttempt a
+            where a.userId = :userId
+              and a.examId in :examIds
+              and a.startedAt = (
+                  select max(latest.startedAt) from ExamAttempt latest
+                  where latest.userId = a.userId and latest.examId = a.examId
+              )
+            """)
+    List<ExamAttempt> findLatestByUserIdAndExamIdIn(
+            @Param("userId") UUID userId,
+            @Param("examIds") Collection<UUID> examIds
+    );
+
     Page<ExamAttempt> findByExamIdAndUserIdOrderByStartedAtDesc(
             UUID examId,
             UUID userId,
@@ -43,4 +66,88 @@ public interface ExamAttemptRepository extends JpaRepository<ExamAttempt, UUID>
     );
 
     List<ExamAttempt> findByStatus(AttemptStatus status);
+
+    /**
+     * Distinct positive time limits of exams that currently have attempts in the given status.
+     * Used to split expiry into one set-based UPDATE per time limit.
+     */
+    @Query("""
+            select distinct e.timeLimitMinutes from Exam e
+            where e.timeLimitMinutes > 0
+              and exists (
+                  select 1 from ExamAttempt a
+                  where a.examId = e.id
+                    and a.status = :status
+              )
+            """)
+    List<Integer> findDistinctTimeLimitsWithAttemptsInStatus(@Param("status") AttemptStatus status);
+
+    /**
+     * Expires every IN_PROGRESS attempt started before the cutoff on exams with the given time limit.
+     *
+     * The status predicate is re-checked under the row lock, so concurrent runs
+     * on several nodes never expire the same attempt twice.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update ExamAttempt a
+            set a.status = com.educator.exam.enums.AttemptStatus.EXPIRED,
+                a.submittedAt = :now,
+                a.evaluatedAt = :now
+            where a.status = com.educator.exam.enums.AttemptStatus.IN_PROGRESS
+              and a.startedAt < :cutoff
+              and a.examId in (
+                  select e.id from Exam e
+                  where e.timeLimitMinutes = :timeLimitMinutes
+              )
+            """)
+    int expireInProgressStartedBefore(
+            @Param("timeLimitMinutes") Integer timeLimitMinutes,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Expires a single attempt if it is still IN_PROGRESS and started before the cutoff.
+     * Used by the deadline timer; a concurrent submit or sweep simply makes this a no-op.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update ExamAttempt a
+            set a.status = com.educator.exam.enums.AttemptStatus.EXPIRED,
+                a.submittedAt = :now,
+                a.evaluatedAt = :now
+            where a.id = :attemptId
+              and a.status = com.educator.exam.enums.AttemptStatus.IN_PROGRESS
+              and a.startedAt <= :cutoff
+            """)
+    int expireInProgressById(
+            @Param("attemptId") UUID attemptId,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * All IN_PROGRESS attempts on timed exams, in one range scan over (status, started_at).
+     */
+    @Query("""
+            select a.id as attemptId,
+                   a.startedAt as startedAt,
+                   e.timeLimitMinutes as timeLimitMinutes
+            from ExamAttempt a, Exam e
+            where a.examId = e.id
+              and a.status = com.educator.exam.enums.AttemptStatus.IN_PROGRESS
+              and e.timeLimitMinutes > 0
+            order by a.startedAt asc
+            """)
+    List<TimedAttempt> findInProgressTimedAttempts();
+
+    interface TimedAttempt {
+        UUID getAttemptId();
+
+        LocalDateTime getStartedAt();
+
+        Integer getTimeLimitMinutes();
+    }
 }
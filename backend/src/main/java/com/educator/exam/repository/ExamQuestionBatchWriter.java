@@ -0,0 +1,150 @@
+package com.educator.exam.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC batch writes for bulk question authoring. Rows carry ids generated
+ * by the caller, so nothing has to be read back; updates that match no row
+ * fail the write. {@link #write} runs in the
+ * caller's transaction; {@link #append} opens its own for callers that
+ * commit chunk by chunk.
+ */
+@Repository
+public class ExamQuestionBatchWriter {
+
+    private static final String INSERT_QUESTION = """
+            INSERT INTO exam_questions (id, exam_id, question_text, display_order, explanation)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_QUESTION = """
+            UPDATE exam_questions
+            SET question_text = ?, display_order = ?, explanation = ?
+            WHERE id = ? AND exam_id = ?
+            """;
+
+    private static final String INSERT_OPTION = """
+            INSERT INTO exam_options (id, question_id, option_text, is_correct, display_order)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_OPTION = """
+            UPDATE exam_options
+            SET option_text = ?, is_correct = ?, display_order = ?
+            WHERE id = ? AND question_id = ?
+            """;
+
+    private static final String DELETE_OPTION = "DELETE FROM exam_options WHERE id = ?";
+
+    private static final String LOCK_EXAM = "SELECT id FROM exams WHERE id = ? FOR UPDATE";
+
+    private static final String MAX_DISPLAY_ORDER =
+            "SELECT COALESCE(MAX(display_order), 0) FROM exam_questions WHERE exam_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExamQuestionBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts new questions after the exam's current last question, in one
+     * transaction. Question display orders are taken as positions within
+     * the appended set (1, 2, ...). The exam row stays locked until commit,
+     * so concurrent appends and upserts cannot claim the same orders.
+     */
+    @Transactional
+    public void append(UUID examId, List<QuestionRow> questions, List<OptionRow> options, int batchSize) {
+        if (jdbcTemplate.queryForList(LOCK_EXAM, UUID.class, examId).isEmpty()) {
+            throw new IllegalArgumentException("Exam not found");
+        }
+        Integer maxDisplayOrder = jdbcTemplate.queryForObject(MAX_DISPLAY_ORDER, Integer.class, examId);
+        int offset = maxDisplayOrder == null ? 0 : maxDisplayOrder;
+
+        List<QuestionRow> placed = new ArrayList<>(questions.size());
+        for (QuestionRow row : questions) {
+            placed.add(new QuestionRow(row.id(), row.questionText(), offset + row.displayOrder(), row.explanation()));
+        }
+        write(examId, placed, List.of(), options, List.of(), List.of(), batchSize);
+    }
+
+    public void write(
+            UUID examId,
+            List<QuestionRow> insertedQuestions,
+            List<QuestionRow> updatedQuestions,
+            List<OptionRow> insertedOptions,
+            List<OptionRow> updatedOptions,
+            Collection<UUID> deletedOptionIds,
+            int batchSize
+    ) {
+        if (!insertedQuestions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_QUESTION, insertedQuestions, batchSize, (ps, row) -> {
+                ps.setObject(1, row.id());
+                ps.setObject(2, examId);
+                ps.setString(3, row.questionText());
+                ps.setInt(4, row.displayOrder());
+                ps.setString(5, row.explanation());
+            });
+        }
+        if (!updatedQuestions.isEmpty()) {
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_QUESTION, updatedQuestions, batchSize, (ps, row) -> {
+                ps.setString(1, row.questionText());
+                ps.setInt(2, row.displayOrder());
+                ps.setString(3, row.explanation());
+                ps.setObject(4, row.id());
+                ps.setObject(5, examId);
+            });
+            requireAllUpdated(counts, "question");
+        }
+        if (!deletedOptionIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_OPTION, List.copyOf(deletedOptionIds), batchSize,
+                    (ps, id) -> ps.setObject(1, id));
+        }
+        if (!insertedOptions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OPTION, insertedOptions, batchSize, (ps, row) -> {
+                ps.setObject(1, row.id());
+                ps.setObject(2, row.questionId());
+                ps.setString(3, row.optionText());
+                ps.setBoolean(4, row.correct());
+                ps.setInt(5, row.displayOrder());
+            });
+        }
+        if (!updatedOptions.isEmpty()) {
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_OPTION, updatedOptions, batchSize, (ps, row) -> {
+                ps.setString(1, row.optionText());
+                ps.setBoolean(2, row.correct());
+                ps.setInt(3, row.displayOrder());
+                ps.setObject(4, row.id());
+                ps.setObject(5, row.questionId());
+            });
+            requireAllUpdated(counts, "option");
+        }
+    }
+
+    /**
+     * An update that matched no row means the row was deleted or moved since
+     * the caller validated it. Throwing rolls back everything written so far.
+     */
+    private static void requireAllUpdated(int[][] counts, String kind) {
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    throw new IllegalStateException("An updated " + kind + " no longer exists in this exam");
+                }
+            }
+        }
+    }
+
+    public record QuestionRow(UUID id, String questionText, int displayOrder, String explanation) {
+    }
+
+    public record OptionRow(UUID id, UUID questionId, String optionText, boolean correct, int displayOrder) {
+    }
+}
@@ -2,8 +2,14 @@ package com.educator.exam.repository;
 
 import com.educator.exam.entity.Exam;
 import com.educator.exam.enums.ExamStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,4 +29,28 @@ public interface ExamRepository extends JpaRepository<Exam, UUID> {
     boolean existsByCourseIdAndStatus(Long courseId, ExamStatus status);
 
     long countByStatus(ExamStatus status);
+
+    /**
+     * Loads the exam and holds its row lock until the transaction ends, so
+     * concurrent writers of the same exam's questions run one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Exam e where e.id = :id")
+    Optional<Exam> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Exam ids of the given courses, in one query.
+     */
+    @Query("""
+            select e.id as examId, e.courseId as courseId
+            from Exam e
+            where e.courseId in :courseIds
+            """)
+    List<CourseExam> findExamIdsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    interface CourseExam {
+        UUID getExamId();
+
+        Long getCourseId();
+    }
 }
@@ -0,0 +1,164 @@
+package com.educator.exam.service;
+
+import com.educator.exam.entity.ExamOption;
+import com.educator.exam.entity.ExamQuestion;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable, versioned answer key for a single Exam.
+ *
+ * Question ids are kept sorted in a flat long array (msb/lsb pairs)
+ * with the correct option id stored at the same index, so scoring
+ * a submission is a binary search per answer and needs no database access.
+ */
+public final class CompiledAnswerKey {
+
+    private final UUID examId;
+    private final long version;
+
+    /**
+     * Sorted question ids, two longs per question: [msb0, lsb0, msb1, lsb1, ...].
+     */
+    private final long[] questionIds;
+
+    /**
+     * Correct option id per question, aligned with {@link #questionIds}.
+     */
+    private final long[] correctOptionIds;
+
+    /**
+     * Whether the question at a given index has a correct option configured.
+     */
+    private final boolean[] answerable;
+
+    private CompiledAnswerKey(
+            UUID examId,
+            long version,
+            long[] questionIds,
+            long[] correctOptionIds,
+            boolean[] answerable
+    ) {
+        this.examId = examId;
+        this.version = version;
+        this.questionIds = questionIds;
+        this.correctOptionIds = correctOptionIds;
+        this.answerable = answerable;
+    }
+
+    /**
+     * Compiles an answer key from the questions of an exam and their options.
+     * When several options are flagged correct, the first one in display order wins.
+     */
+    public static CompiledAnswerKey compile(
+            UUID examId,
+            long version,
+            Collection<ExamQuestion> questions,
+            List<ExamOption> options
+    ) {
+        Map<UUID, UUID> correctByQuestion = new HashMap<>();
+        for (ExamOption option : options) {
+            if (option.isCorrect()) {
+                correctByQuestion.putIfAbsent(option.getQuestionId(), option.getId());
+            }
+        }
+
+        UUID[] sorted = questions.stream()
+                .map(ExamQuestion::getId)
+                .distinct()
+                .sorted()
+                .toArray(UUID[]::new);
+
+        int size = sorted.length;
+        long[] questionIds = new long[size * 2];
+        long[] correctOptionIds = new long[size * 2];
+        boolean[] answerable = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            questionIds[2 * i] = sorted[i].getMostSignificantBits();
+            questionIds[2 * i + 1] = sorted[i].getLeastSignificantBits();
+
+            UUID correct = correctByQuestion.get(sorted[i]);
+            if (correct != null) {
+                correctOptionIds[2 * i] = correct.getMostSignificantBits();
+                correctOptionIds[2 * i + 1] = correct.getLeastSignificantBits();
+                answerable[i] = true;
+            }
+        }
+
+        return new CompiledAnswerKey(examId, version, questionIds, correctOptionIds, answerable);
+    }
+
+    public UUID getExamId() {
+        return examId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getTotalQuestions() {
+        return answerable.length;
+    }
+
+    public boolean containsQuestion(UUID questionId) {
+        return questionId != null && indexOf(questionId) >= 0;
+    }
+
+    /**
+     * Returns true when the selected option is the correct option for the question.
+     */
+    public boolean isCorrect(UUID questionId, UUID selectedOptionId) {
+        if (questionId == null || selectedOptionId == null) {
+            return false;
+        }
+
+        int index = indexOf(questionId);
+        if (index < 0 || !answerable[index]) {
+            return false;
+        }
+
+        return correctOptionIds[2 * index] == selectedOptionId.getMostSignificantBits()
+                && correctOptionIds[2 * index + 1] == selectedOptionId.getLeastSignificantBits();
+    }
+
+    /**
+     * Binary search using the same ordering as {@link UUID#compareTo(UUID)}.
+     */
+    private int indexOf(UUID questionId) {
+        long msb = questionId.getMostSignificantBits();
+        long lsb = questionId.getLeastSignificantBits();
+
+        int low = 0;
+        int high = answerable.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compare(questionIds[2 * mid], msb);
+            if (cmp == 0) {
+                cmp = Long.compare(questionIds[2 * mid + 1], lsb);
+            }
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledAnswerKey{examId=" + examId
+                + ", version=" + version
+                + ", questions=" + answerable.length
+                + '}';
+    }
+}
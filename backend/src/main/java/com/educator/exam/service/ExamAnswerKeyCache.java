@@ -0,0 +1,123 @@
+package com.educator.exam.service;
+
+import com.educator.common.transaction.AfterCommit;
+import com.educator.exam.entity.Exam;
+import com.educator.exam.entity.ExamQuestion;
+import com.educator.exam.enums.ExamStatus;
+import com.educator.exam.repository.ExamOptionRepository;
+import com.educator.exam.repository.ExamQuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache of compiled answer keys for PUBLISHED exams.
+ *
+ * Keys are invalidated on exam publish/archive and on any question
+ * or option mutation. Invalidation is applied immediately and again
+ * after the surrounding transaction commits, so a key compiled from
+ * pre-commit data can never outlive the mutation.
+ */
+@Component
+public class ExamAnswerKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ExamAnswerKeyCache.class);
+
+    private final ExamQuestionRepository examQuestionRepository;
+    private final ExamOptionRepository examOptionRepository;
+
+    private final Map<UUID, CompiledAnswerKey> keysByExam = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public ExamAnswerKeyCache(
+            ExamQuestionRepository examQuestionRepository,
+            ExamOptionRepository examOptionRepository
+    ) {
+        this.examQuestionRepository = examQuestionRepository;
+        this.examOptionRepository = examOptionRepository;
+    }
+
+    /**
+     * Returns the answer key for the exam, compiling it on first use.
+     * Only PUBLISHED exams are cached; drafts are compiled on every call
+     * because their content is still being edited.
+     */
+    public CompiledAnswerKey getOrCompile(Exam exam) {
+        if (exam.getStatus() != ExamStatus.PUBLISHED) {
+            return compile(exam.getId(), versionSequence.get());
+        }
+
+        CompiledAnswerKey cached = keysByExam.get(exam.getId());
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = versionSequence.get();
+        CompiledAnswerKey compiled = compile(exam.getId(), version);
+
+        // Evictions bump the version before removing, so checking it inside
+        // compute either sees the bump or is followed by the removal
+        CompiledAnswerKey published = keysByExam.compute(exam.getId(), (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return versionSequence.get() == version ? compiled : null;
+        });
+        return published != null ? published : compiled;
+    }
+
+    /**
+     * Drops the cached key for an exam.
+     */
+    public void evict(UUID examId) {
+        if (examId == null) {
+            return;
+        }
+        AfterCommit.runNowAndAfterCommit(() -> {
+            versionSequence.incrementAndGet();
+            keysByExam.remove(examId);
+        });
+    }
+
+    /**
+     * Drops any cached key that contains the given question.
+     */
+    public void evictForQuestion(UUID questionId) {
+        if (questionId == null) {
+            return;
+        }
+        AfterCommit.runNowAndAfterCommit(() -> {
+            versionSequence.incrementAndGet();
+            keysByExam.values().removeIf(key -> key.containsQuestion(questionId));
+        });
+    }
+
+    public int size() {
+        return keysByExam.size();
+    }
+
+    private CompiledAnswerKey compile(UUID examId, long version) {
+        List<ExamQuestion> questions =
+                examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(examId);
+
+        List<UUID> questionIds = questions.stream().map(ExamQuestion::getId).toList();
+
+        CompiledAnswerKey key = CompiledAnswerKey.compile(
+                examId,
+                version,
+                questions,
+                questionIds.isEmpty()
+                        ? List.of()
+                        : examOptionRepository.findByQuestionIdInOrderByDisplayOrderAsc(questionIds)
+        );
+
+        log.debug("Compiled answer key {}", key);
+        return key;
+    }
+}
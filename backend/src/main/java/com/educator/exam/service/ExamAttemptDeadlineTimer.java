@@ -0,0 +1,193 @@
+package com.educator.exam.service;
+
+import com.educator.exam.repository.ExamAttemptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline-ordered timer for timed exam attempts.
+ *
+ * Attempts are registered once their start has committed and expired by a
+ * single worker thread as soon as their deadline passes, instead of waiting
+ * for the next expiry sweep. Submitted attempts are deregistered; their
+ * queue entry is skipped when it comes due rather than searched for. The
+ * queue is rebuilt from the database on startup.
+ *
+ * The timer is an optimisation only: the database update re-checks the
+ * attempt status, submits still go through the time-limit check, and the
+ * scheduled sweep in {@link ExamAttemptExpiryService} remains the backstop
+ * for attempts started on other nodes.
+ */
+@Component
+public class ExamAttemptDeadlineTimer implements CommandLineRunner, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ExamAttemptDeadlineTimer.class);
+
+    private final ExamAttemptRepository examAttemptRepository;
+    private final boolean enabled;
+
+    private final DelayQueue<AttemptDeadline> deadlines = new DelayQueue<>();
+    private final Set<UUID> registered = ConcurrentHashMap.newKeySet();
+    private volatile Thread worker;
+
+    public ExamAttemptDeadlineTimer(
+            ExamAttemptRepository examAttemptRepository,
+            @Value("${app.exam.deadline-timer.enabled:true}") boolean enabled
+    ) {
+        this.examAttemptRepository = examAttemptRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Rebuilds the queue from all IN_PROGRESS timed attempts and starts the worker.
+     */
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            log.info("Exam attempt deadline timer disabled");
+            return;
+        }
+
+        List<ExamAttemptRepository.TimedAttempt> inProgress =
+                examAttemptRepository.findInProgressTimedAttempts();
+
+        for (ExamAttemptRepository.TimedAttempt attempt : inProgress) {
+            register(attempt.getAttemptId(), attempt.getStartedAt(), attempt.getTimeLimitMinutes());
+        }
+
+        log.info("Exam attempt deadline timer rebuilt with {} attempts", inProgress.size());
+        start();
+    }
+
+    /**
+     * Schedules expiry of an attempt at startedAt + timeLimitMinutes.
+     * Untimed attempts are ignored.
+     */
+    public void register(UUID attemptId, LocalDateTime startedAt, Integer timeLimitMinutes) {
+        if (!enabled || attemptId == null || startedAt == null
+                || timeLimitMinutes == null || timeLimitMinutes <= 0) {
+            return;
+        }
+
+        LocalDateTime deadline = startedAt.plusMinutes(timeLimitMinutes);
+        if (registered.add(attemptId)) {
+            // Round up so sub-millisecond start times never fire before the deadline
+            deadlines.put(new AttemptDeadline(attemptId, deadline, timeLimitMinutes, toEpochMillis(deadline) + 1));
+        }
+    }
+
+    /**
+     * Cancels the deadline of a submitted attempt.
+     */
+    public void deregister(UUID attemptId) {
+        if (attemptId != null) {
+            registered.remove(attemptId);
+        }
+    }
+
+    public int pendingCount() {
+        return registered.size();
+    }
+
+    /**
+     * Expires every attempt whose deadline has already passed. Returns the number expired.
+     */
+    int expireDue() {
+        int expired = 0;
+        AttemptDeadline due;
+        while ((due = deadlines.poll()) != null) {
+            expired += expire(due);
+        }
+        return expired;
+    }
+
+    private synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+
+        Thread thread = new Thread(this::drain, "exam-attempt-deadline-timer");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                expire(deadlines.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // The scheduled sweep will pick up anything missed here
+                log.warn("Exam attempt deadline expiry failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private int expire(AttemptDeadline due) {
+        if (!registered.remove(due.attemptId())) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = examAttemptRepository.expireInProgressById(
+                due.attemptId(),
+                now.minusMinutes(due.timeLimitMinutes()),
+                now
+        );
+
+        if (updated > 0) {
+            log.info("Exam attempt expired at deadline — attemptId={}, deadline={}", due.attemptId(), due.deadline());
+        }
+        return updated;
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+            worker = null;
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record AttemptDeadline(
+            UUID attemptId,
+            LocalDateTime deadline,
+            int timeLimitMinutes,
+            long deadlineEpochMillis
+    ) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineEpochMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof AttemptDeadline that) {
+                return Long.compare(deadlineEpochMillis, that.deadlineEpochMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.educator.exam.service;
+
+import com.educator.exam.enums.AttemptStatus;
+import com.educator.exam.repository.ExamAttemptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Set-based expiry of timed-out exam attempts.
+ *
+ * Instead of loading every IN_PROGRESS attempt and its exam, the job issues
+ * one bulk UPDATE per distinct exam time limit. Each UPDATE only touches rows
+ * that are still IN_PROGRESS, so it is safe to run on several nodes at once.
+ */
+@Service
+public class ExamAttemptExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExamAttemptExpiryService.class);
+
+    private final ExamAttemptRepository examAttemptRepository;
+
+    public ExamAttemptExpiryService(ExamAttemptRepository examAttemptRepository) {
+        this.examAttemptRepository = examAttemptRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${app.exam.expiry-check-ms:60000}")
+    @Transactional
+    public ExpiryRunResult expireTimedOutAttempts() {
+        long startedNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Integer> timeLimits =
+                examAttemptRepository.findDistinctTimeLimitsWithAttemptsInStatus(AttemptStatus.IN_PROGRESS);
+
+        int expired = 0;
+        for (Integer timeLimitMinutes : timeLimits) {
+            expired += examAttemptRepository.expireInProgressStartedBefore(
+                    timeLimitMinutes,
+                    now.minusMinutes(timeLimitMinutes),
+                    now
+            );
+        }
+
+        ExpiryRunResult result = new ExpiryRunResult(
+                expired,
+                timeLimits.size(),
+                (System.nanoTime() - startedNanos) / 1_000_000L
+        );
+
+        if (expired > 0) {
+            log.info("Expired {} exam attempts across {} time limits in {} ms",
+                    result.expiredCount(), result.timeLimitGroups(), result.elapsedMillis());
+        } else {
+            log.debug("Exam attempt expiry found nothing to expire in {} ms", result.elapsedMillis());
+        }
+
+        return result;
+    }
+
+    public record ExpiryRunResult(int expiredCount, int timeLimitGroups, long elapsedMillis) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.educator.exam.service;
 
 import com.educator.certificate.service.CertificateService;
+import com.educator.common.security.AuthenticatedIdentity;
+import com.educator.common.transaction.AfterCommit;
 import com.educator.completion.entity.CourseCompletion;
 import com.educator.completion.repository.CourseCompletionRepository;
 import com.educator.exam.dto.ExamAttemptReviewResponse;
@@ -13,13 +15,10 @@ import com.educator.exam.enums.AttemptStatus;
 import com.educator.exam.repository.*;
 import com.educator.notification.service.NotificationPersistenceService;
 import com.educator.security.service.AccessControlService;
-import com.educator.users.User;
-import com.educator.users.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,7 +42,8 @@ public class ExamAttemptService {
     private final CertificateService certificateService;
     private final NotificationPersistenceService notificationPersistenceService;
     private final AccessControlService accessControlService;
-    private final UserRepository userRepository;
+    private final ExamAnswerKeyCache examAnswerKeyCache;
+    private final ExamAttemptDeadlineTimer examAttemptDeadlineTimer;
 
     public ExamAttemptService(
             ExamRepository examRepository,
@@ -55,7 +55,8 @@ public class ExamAttemptService {
             CertificateService certificateService,
             NotificationPersistenceService notificationPersistenceService,
             AccessControlService accessControlService,
-            UserRepository userRepository
+            ExamAnswerKeyCache examAnswerKeyCache,
+            ExamAttemptDeadlineTimer examAttemptDeadlineTimer
     ) {
         this.examRepository = examRepository;
         this.examAttemptRepository = examAttemptRepository;
@@ -66,23 +67,20 @@ public class ExamAttemptService {
         this.certificateService = certificateService;
         this.notificationPersistenceService = notificationPersistenceService;
         this.accessControlService = accessControlService;
-        this.userRepository = userRepository;
+        this.examAnswerKeyCache = examAnswerKeyCache;
+        this.examAttemptDeadlineTimer = examAttemptDeadlineTimer;
     }
 
-    public ExamAttempt startAttempt(UUID examId, UUID userId, String email) {
+    public ExamAttempt startAttempt(UUID examId, AuthenticatedIdentity identity) {
 
-        log.info("Exam start requested — examId={}, userId={}, email={}", examId, userId, email);
+        UUID userId = identity.stableId();
+        Long dbUserId = identity.userId();
+
+        log.info("Exam start requested — examId={}, userId={}, dbUserId={}", examId, userId, dbUserId);
 
         Exam exam = examRepository.findById(examId)
                 .orElseThrow(() -> new IllegalArgumentException("Exam not found"));
 
-        // Resolve the actual User.id (Long PK) from email for AccessControlService
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("User not found for email=" + email));
-
-        Long dbUserId = user.getId();
-        log.info("Resolved email={} to dbUserId={}", email, dbUserId);
-
         // Subscription / Enrollment access check
         boolean allowed = accessControlService.canAccessExam(dbUserId, examId);
 
@@ -109,6 +107,9 @@ public class ExamAttemptService {
         attempt.setQuestionOrder(buildQuestionOrder(exam));
 
         ExamAttempt saved = examAttemptRepository.save(attempt);
+        // A rolled-back start must not leave a deadline behind
+        AfterCommit.run(() ->
+                examAttemptDeadlineTimer.register(saved.getId(), saved.getStartedAt(), exam.getTimeLimitMinutes()));
         log.info("Exam attempt created — attemptId={}, examId={}, userId={}", saved.getId(), examId, userId);
         return saved;
     }
@@ -143,31 +144,13 @@ public class ExamAttemptService {
         }
         examAttemptAnswerRepository.saveAll(answers);
 
-        List<ExamQuestion> questions =
-                examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(attempt.getExamId());
-
-        List<UUID> questionIds = questions.stream().map(ExamQuestion::getId).toList();
-
-        List<ExamOption> options =
-                examOptionRepository.findByQuestionIdInOrderByDisplayOrderAsc(questionIds);
+        CompiledAnswerKey answerKey = examAnswerKeyCache.getOrCompile(exam);
 
-        Map<UUID, ExamOption> correctOptionByQuestion = options.stream()
-                .filter(ExamOption::isCorrect)
-                .collect(Collectors.toMap(
-                        ExamOption::getQuestionId,
-                        Function.identity(),
-                        (a, b) -> a
-                ));
-
-        int totalQuestions = questionIds.size();
+        int totalQuestions = answerKey.getTotalQuestions();
         int correctAnswers = 0;
 
         for (ExamAttemptAnswer answer : answers) {
-            ExamOption correctOption =
-                    correctOptionByQuestion.get(answer.getQuestionId());
-
-            if (correctOption != null &&
-                    correctOption.getId().equals(answer.getSelectedOptionId())) {
+            if (answerKey.isCorrect(answer.getQuestionId(), answer.getSelectedOptionId())) {
                 correctAnswers++;
             }
         }
@@ -185,6 +168,7 @@ public class ExamAttemptService {
         attempt.setEvaluatedAt(LocalDateTime.now());
 
         examAttemptRepository.save(attempt);
+        AfterCommit.run(() -> examAttemptDeadlineTimer.deregister(attemptId));
 
         if (Boolean.TRUE.equals(attempt.getPassed())) {
             notificationPersistenceService.notifyExamPassed(
@@ -300,21 +284,6 @@ public class ExamAttemptService {
         );
     }
 
-    @Scheduled(fixedDelayString = "${app.exam.expiry-check-ms:60000}")
-    public void expireTimedOutAttempts() {
-        List<ExamAttempt> inProgressAttempts =
-                examAttemptRepository.findByStatus(AttemptStatus.IN_PROGRESS);
-
-        for (ExamAttempt attempt : inProgressAttempts) {
-            Exam exam = examRepository.findById(attempt.getExamId()).orElse(null);
-            if (exam == null) continue;
-
-            if (isTimedOut(attempt, exam.getTimeLimitMinutes())) {
-                markExpired(attempt);
-            }
-        }
-    }
-
     private boolean isTimedOut(ExamAttempt attempt, Integer timeLimitMinutes) {
         if (timeLimitMinutes == null || timeLimitMinutes <= 0) return false;
         return LocalDateTime.now()
@@ -17,20 +17,23 @@ public class ExamOptionService {
 
     private final ExamOptionRepository examOptionRepository;
     private final ExamQuestionRepository examQuestionRepository;
+    private final ExamAnswerKeyCache examAnswerKeyCache;
 
     public ExamOptionService(
             ExamOptionRepository examOptionRepository,
-            ExamQuestionRepository examQuestionRepository
+            ExamQuestionRepository examQuestionRepository,
+            ExamAnswerKeyCache examAnswerKeyCache
     ) {
         this.examOptionRepository = examOptionRepository;
         this.examQuestionRepository = examQuestionRepository;
+        this.examAnswerKeyCache = examAnswerKeyCache;
     }
 
     // CREATE
     public ExamOption createOption(UUID questionId, UpsertExamOptionRequest request) {
 
         // Ensure question exists
-        examQuestionRepository.findById(questionId)
+        ExamQuestion question = examQuestionRepository.findById(questionId)
                 .orElseThrow(() -> new IllegalArgumentException("Question not found"));
 
         ExamOption option = new ExamOption();
@@ -39,6 +42,7 @@ public class ExamOptionService {
         option.setCorrect(request.getCorrect());
         option.setDisplayOrder(request.getDisplayOrder());
 
+        examAnswerKeyCache.evict(question.getExamId());
         return examOptionRepository.save(option);
     }
 
@@ -60,6 +64,7 @@ public class ExamOptionService {
         option.setCorrect(request.getCorrect());
         option.setDisplayOrder(request.getDisplayOrder());
 
+        examAnswerKeyCache.evictForQuestion(questionId);
         return examOptionRepository.save(option);
     }
 
@@ -73,6 +78,7 @@ public class ExamOptionService {
             throw new IllegalStateException("Option does not belong to this question");
         }
 
+        examAnswerKeyCache.evictForQuestion(questionId);
         examOptionRepository.delete(option);
     }
 
@@ -1,22 +1,59 @@
 package com.educator.exam.service;
 
+import com.educator.common.exception.BusinessValidationException;
+import com.educator.exam.dto.BulkUpsertExamQuestionsRequest;
+import com.educator.exam.dto.BulkUpsertExamQuestionsRequest.OptionEntry;
+import com.educator.exam.dto.BulkUpsertExamQuestionsRequest.QuestionEntry;
+import com.educator.exam.dto.BulkUpsertExamQuestionsResponse;
 import com.educator.exam.dto.UpsertExamQuestionRequest;
+import com.educator.exam.entity.ExamOption;
 import com.educator.exam.entity.ExamQuestion;
+import com.educator.exam.repository.ExamOptionRepository;
+import com.educator.exam.repository.ExamQuestionBatchWriter;
+import com.educator.exam.repository.ExamQuestionBatchWriter.OptionRow;
+import com.educator.exam.repository.ExamQuestionBatchWriter.QuestionRow;
 import com.educator.exam.repository.ExamQuestionRepository;
+import com.educator.exam.repository.ExamRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ExamQuestionService {
 
     private final ExamQuestionRepository examQuestionRepository;
-
-    public ExamQuestionService(ExamQuestionRepository examQuestionRepository) {
+    private final ExamOptionRepository examOptionRepository;
+    private final ExamRepository examRepository;
+    private final ExamQuestionBatchWriter examQuestionBatchWriter;
+    private final ExamAnswerKeyCache examAnswerKeyCache;
+    private final int batchSize;
+
+    public ExamQuestionService(
+            ExamQuestionRepository examQuestionRepository,
+            ExamOptionRepository examOptionRepository,
+            ExamRepository examRepository,
+            ExamQuestionBatchWriter examQuestionBatchWriter,
+            ExamAnswerKeyCache examAnswerKeyCache,
+            @Value("${app.exam.authoring.batch-size:500}") int batchSize
+    ) {
         this.examQuestionRepository = examQuestionRepository;
+        this.examOptionRepository = examOptionRepository;
+        this.examRepository = examRepository;
+        this.examQuestionBatchWriter = examQuestionBatchWriter;
+        this.examAnswerKeyCache = examAnswerKeyCache;
+        this.batchSize = batchSize;
     }
 
     // CREATE
@@ -28,6 +65,7 @@ public class ExamQuestionService {
         question.setDisplayOrder(request.getDisplayOrder());
         question.setExplanation(request.getExplanation());
 
+        examAnswerKeyCache.evict(examId);
         return examQuestionRepository.save(question);
     }
 
@@ -62,13 +100,132 @@ public class ExamQuestionService {
             throw new IllegalStateException("Question does not belong to this exam");
         }
 
+        examAnswerKeyCache.evict(examId);
         examQuestionRepository.delete(question);
     }
 
+    // BULK UPSERT
+    /**
+     * Validates the whole set in memory, then writes it with JDBC batches:
+     * a locking read of the exam, two reads and at most five batched
+     * statements however many questions and options are sent.
+     */
+    public BulkUpsertExamQuestionsResponse bulkUpsert(UUID examId, BulkUpsertExamQuestionsRequest request) {
+
+        // Validation below reads the exam's current questions; holding the exam
+        // row keeps a concurrent upsert or import from changing them meanwhile
+        examRepository.findByIdForUpdate(examId)
+                .orElseThrow(() -> new IllegalArgumentException("Exam not found"));
+
+        Map<UUID, ExamQuestion> existingQuestions = examQuestionRepository
+                .findByExamIdOrderByDisplayOrderAsc(examId).stream()
+                .collect(Collectors.toMap(ExamQuestion::getId, Function.identity()));
+
+        Set<UUID> updatedQuestionIds = new LinkedHashSet<>();
+        Set<Integer> questionOrders = new HashSet<>();
+        for (QuestionEntry entry : request.getQuestions()) {
+            if (entry.getId() != null) {
+                if (!existingQuestions.containsKey(entry.getId())) {
+                    throw new BusinessValidationException("Question " + entry.getId() + " does not belong to this exam");
+                }
+                if (!updatedQuestionIds.add(entry.getId())) {
+                    throw new BusinessValidationException("Question " + entry.getId() + " is listed more than once");
+                }
+            }
+            if (!questionOrders.add(entry.getDisplayOrder())) {
+                throw new BusinessValidationException("Duplicate question display order " + entry.getDisplayOrder());
+            }
+            validateOptions(entry);
+        }
+        for (ExamQuestion question : existingQuestions.values()) {
+            if (!updatedQuestionIds.contains(question.getId()) && !questionOrders.add(question.getDisplayOrder())) {
+                throw new BusinessValidationException(
+                        "Question display order " + question.getDisplayOrder() + " is already used in this exam");
+            }
+        }
+
+        Map<UUID, Map<UUID, ExamOption>> existingOptions = new HashMap<>();
+        if (!updatedQuestionIds.isEmpty()) {
+            for (ExamOption option : examOptionRepository.findByQuestionIdInOrderByDisplayOrderAsc(updatedQuestionIds)) {
+                existingOptions.computeIfAbsent(option.getQuestionId(), id -> new HashMap<>()).put(option.getId(), option);
+            }
+        }
+
+        List<QuestionRow> insertedQuestions = new ArrayList<>();
+        List<QuestionRow> updatedQuestions = new ArrayList<>();
+        List<OptionRow> insertedOptions = new ArrayList<>();
+        List<OptionRow> updatedOptions = new ArrayList<>();
+        Set<UUID> deletedOptionIds = new LinkedHashSet<>();
+        List<BulkUpsertExamQuestionsResponse.QuestionIds> written = new ArrayList<>(request.getQuestions().size());
+
+        for (QuestionEntry entry : request.getQuestions()) {
+            boolean isNew = entry.getId() == null;
+            UUID questionId = isNew ? UUID.randomUUID() : entry.getId();
+            QuestionRow questionRow = new QuestionRow(
+                    questionId, entry.getQuestionText(), entry.getDisplayOrder(), entry.getExplanation());
+            (isNew ? insertedQuestions : updatedQuestions).add(questionRow);
+
+            Map<UUID, ExamOption> current = existingOptions.getOrDefault(questionId, Map.of());
+            Set<UUID> kept = new HashSet<>();
+            List<UUID> optionIds = new ArrayList<>(entry.getOptions().size());
+            for (OptionEntry option : entry.getOptions()) {
+                boolean isNewOption = option.getId() == null;
+                if (!isNewOption && (!current.containsKey(option.getId()) || !kept.add(option.getId()))) {
+                    throw new BusinessValidationException(
+                            "Option " + option.getId() + " does not belong to question " + questionId);
+                }
+                UUID optionId = isNewOption ? UUID.randomUUID() : option.getId();
+                OptionRow optionRow = new OptionRow(
+                        optionId, questionId, option.getOptionText(), option.getCorrect(), option.getDisplayOrder());
+                (isNewOption ? insertedOptions : updatedOptions).add(optionRow);
+                optionIds.add(optionId);
+            }
+            for (UUID optionId : current.keySet()) {
+                if (!kept.contains(optionId)) {
+                    deletedOptionIds.add(optionId);
+                }
+            }
+
+            written.add(new BulkUpsertExamQuestionsResponse.QuestionIds(questionId, entry.getDisplayOrder(), optionIds));
+        }
+
+        examQuestionBatchWriter.write(
+                examId,
+                insertedQuestions,
+                updatedQuestions,
+                insertedOptions,
+                updatedOptions,
+                deletedOptionIds,
+                batchSize
+        );
+
+        examAnswerKeyCache.evict(examId);
+        return new BulkUpsertExamQuestionsResponse(examId, insertedQuestions.size(), updatedQuestions.size(), written);
+    }
+
     // LIST
     @Transactional(readOnly = true)
     public List<ExamQuestion> getQuestions(UUID examId) {
         return examQuestionRepository
                 .findByExamIdOrderByDisplayOrderAsc(examId);
     }
+
+    private static void validateOptions(QuestionEntry entry) {
+        int correct = 0;
+        Set<Integer> optionOrders = new HashSet<>();
+        for (OptionEntry option : entry.getOptions()) {
+            if (Boolean.TRUE.equals(option.getCorrect())) {
+                correct++;
+            }
+            if (!optionOrders.add(option.getDisplayOrder())) {
+                throw new BusinessValidationException(
+                        "Duplicate option display order " + option.getDisplayOrder()
+                                + " in question " + entry.getDisplayOrder());
+            }
+        }
+        if (correct != 1) {
+            throw new BusinessValidationException(
+                    "Question " + entry.getDisplayOrder() + " must have exactly one correct option");
+        }
+    }
 }
@@ -17,9 +17,11 @@ import java.util.UUID;
 public class ExamService {
 
     private final ExamRepository examRepository;
+    private final ExamAnswerKeyCache examAnswerKeyCache;
 
-    public ExamService(ExamRepository examRepository) {
+    public ExamService(ExamRepository examRepository, ExamAnswerKeyCache examAnswerKeyCache) {
         this.examRepository = examRepository;
+        this.examAnswerKeyCache = examAnswerKeyCache;
     }
 
     /**
@@ -52,6 +54,7 @@ public class ExamService {
     public Exam publishExam(UUID examId) {
         Exam exam = getExamOrThrow(examId);
         exam.setStatus(ExamStatus.PUBLISHED);
+        examAnswerKeyCache.evict(examId);
         return examRepository.save(exam);
     }
 
@@ -61,6 +64,7 @@ public class ExamService {
     public Exam archiveExam(UUID examId) {
         Exam exam = getExamOrThrow(examId);
         exam.setStatus(ExamStatus.ARCHIVED);
+        examAnswerKeyCache.evict(examId);
         return examRepository.save(exam);
     }
 
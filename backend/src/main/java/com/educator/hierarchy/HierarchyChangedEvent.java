@@ -0,0 +1,8 @@
+package com.educator.hierarchy;
+
+/**
+ * Published when a node is created, edited, moved, deleted or restored,
+ * i.e. whenever the shape or visibility of the public hierarchy may change.
+ */
+public record HierarchyChangedEvent(Long nodeId) {
+}
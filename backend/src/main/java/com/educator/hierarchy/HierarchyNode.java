@@ -11,7 +11,8 @@ import java.util.List;
         name = "hierarchy_nodes",
         indexes = {
                 @Index(name = "idx_hierarchy_parent", columnList = "parent_id"),
-                @Index(name = "idx_hierarchy_slug", columnList = "slug", unique = true)
+                @Index(name = "idx_hierarchy_slug", columnList = "slug", unique = true),
+                @Index(name = "idx_hierarchy_path", columnList = "path")
         }
 )
 public class HierarchyNode {
@@ -35,6 +36,18 @@ public class HierarchyNode {
     @OrderBy("sortOrder ASC")
     private List<HierarchyNode> children = new ArrayList<>();
 
+    /**
+     * Materialized ancestor path including this node (e.g. /1/5/12/)
+     */
+    @Column(length = 1024)
+    private String path;
+
+    /**
+     * Depth level (0 = root node)
+     */
+    @Column(name = "depth_level", nullable = false)
+    private int depthLevel = 0;
+
     /**
      * Human-readable unique identifier (SEO / routing safe)
      */
@@ -125,6 +138,22 @@ public class HierarchyNode {
         return children;
     }
 
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getDepthLevel() {
+        return depthLevel;
+    }
+
+    public void setDepthLevel(int depthLevel) {
+        this.depthLevel = depthLevel;
+    }
+
     public String getSlug() {
         return slug;
     }
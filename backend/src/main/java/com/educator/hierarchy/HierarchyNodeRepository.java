@@ -1,7 +1,9 @@
 package com.educator.hierarchy;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -45,4 +47,42 @@ public interface HierarchyNodeRepository extends JpaRepository<HierarchyNode, Lo
         order by n.sortOrder asc
     """)
     List<HierarchyNode> findAllVisiblePublished();
+
+    /**
+     * Whether the node with this path, or any of its ancestors, is hidden,
+     * unpublished or deleted, i.e. whether it is missing from the public tree.
+     */
+    @Query("""
+        select count(a) > 0 from HierarchyNode a
+        where :path like concat(a.path, '%')
+          and (a.isDeleted = true or a.isVisible = false or a.isPublished = false)
+    """)
+    boolean existsHiddenOnPath(@Param("path") String path);
+
+    /**
+     * Deepest depth level in the subtree rooted at the given path (prefix scan on path).
+     */
+    @Query("""
+        select coalesce(max(n.depthLevel), 0) from HierarchyNode n
+        where n.path like concat(:pathPrefix, '%')
+    """)
+    int findMaxDepthUnderPath(@Param("pathPrefix") String pathPrefix);
+
+    /**
+     * Re-roots a whole subtree in one statement: replaces the old path prefix
+     * with the new one and shifts depth levels by the given delta.
+     */
+    @Modifying
+    @Query("""
+        update HierarchyNode n
+        set n.path = concat(:newPrefix, substring(n.path, :oldPrefixLength + 1)),
+            n.depthLevel = n.depthLevel + :depthDelta
+        where n.path like concat(:oldPrefix, '%')
+    """)
+    int rebaseSubtree(
+            @Param("oldPrefix") String oldPrefix,
+            @Param("oldPrefixLength") int oldPrefixLength,
+            @Param("newPrefix") String newPrefix,
+            @Param("depthDelta") int depthDelta
+    );
 }
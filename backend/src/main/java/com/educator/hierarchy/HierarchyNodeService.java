@@ -1,14 +1,20 @@
 package com.educator.hierarchy;
 
+import com.educator.common.cache.GuardedSnapshot;
 import com.educator.common.exception.BusinessValidationException;
 import com.educator.common.exception.DuplicateResourceException;
 import com.educator.common.exception.ResourceNotFoundException;
+import com.educator.common.transaction.AfterCommit;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -17,9 +23,20 @@ public class HierarchyNodeService {
     private static final int MAX_DEPTH = 10; // configurable later
 
     private final HierarchyNodeRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public HierarchyNodeService(HierarchyNodeRepository repository) {
+    /**
+     * Published tree snapshot, rebuilt lazily after any hierarchy change.
+     */
+    private final GuardedSnapshot<List<HierarchyTreeNode>> publishedTree;
+
+    public HierarchyNodeService(
+            HierarchyNodeRepository repository,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.publishedTree = new GuardedSnapshot<>(() -> buildTree(repository.findAllVisiblePublished()));
     }
 
     /* =====================
@@ -45,13 +62,21 @@ public class HierarchyNodeService {
         node.setSortOrder(sortOrder);
         node.setCreatedBy(createdBy);
 
+        HierarchyNode parent = null;
         if (parentId != null) {
-            HierarchyNode parent = getNodeOrThrow(parentId);
-            validateDepth(parent);
+            parent = getNodeOrThrow(parentId);
+            validateDepth(parent, 0);
             node.setParent(parent);
+            node.setDepthLevel(parent.getDepthLevel() + 1);
         }
 
-        return repository.save(node);
+        // Path includes the node's own id, so it is assigned after the insert
+        HierarchyNode saved = repository.save(node);
+        saved.setPath((parent != null ? pathOf(parent) : "/") + saved.getId() + "/");
+
+        HierarchyNode result = repository.save(saved);
+        hierarchyChanged(result);
+        return result;
     }
 
     /* =====================
@@ -74,7 +99,9 @@ public class HierarchyNodeService {
         node.setPublished(isPublished);
         node.setVisible(isVisible);
 
-        return repository.save(node);
+        HierarchyNode result = repository.save(node);
+        hierarchyChanged(result);
+        return result;
     }
 
     /* =====================
@@ -89,14 +116,29 @@ public class HierarchyNodeService {
             throw new BusinessValidationException("Node cannot be parent of itself");
         }
 
-        if (isDescendant(node, newParent)) {
+        String oldPath = pathOf(node);
+        String newParentPath = pathOf(newParent);
+
+        if (newParentPath.startsWith(oldPath)) {
             throw new BusinessValidationException("Cycle detected in hierarchy");
         }
 
-        validateDepth(newParent);
+        int subtreeHeight = repository.findMaxDepthUnderPath(oldPath) - node.getDepthLevel();
+        validateDepth(newParent, subtreeHeight);
+
+        String newPath = newParentPath + node.getId() + "/";
+        int newDepth = newParent.getDepthLevel() + 1;
+
+        // One statement re-roots the node and all of its descendants
+        repository.rebaseSubtree(oldPath, oldPath.length(), newPath, newDepth - node.getDepthLevel());
 
         node.setParent(newParent);
-        return repository.save(node);
+        node.setPath(newPath);
+        node.setDepthLevel(newDepth);
+
+        HierarchyNode result = repository.save(node);
+        hierarchyChanged(result);
+        return result;
     }
 
     /* =====================
@@ -107,12 +149,14 @@ public class HierarchyNodeService {
         HierarchyNode node = getNodeOrThrow(nodeId);
         node.setDeleted(true);
         repository.save(node);
+        hierarchyChanged(node);
     }
 
     public void restore(Long nodeId) {
         HierarchyNode node = getNodeIncludingDeletedOrThrow(nodeId);
         node.setDeleted(false);
         repository.save(node);
+        hierarchyChanged(node);
     }
 
     /* =====================
@@ -139,6 +183,56 @@ public class HierarchyNodeService {
         return repository.findByParentIdAndIsDeletedFalse(parentId, pageable);
     }
 
+    /**
+     * Every visible, published node reachable from a visible, published root,
+     * as an immutable tree ordered by sortOrder. Built from one query and
+     * cached until the hierarchy changes.
+     */
+    @Transactional(readOnly = true)
+    public List<HierarchyTreeNode> getPublishedTree() {
+        return publishedTree.get();
+    }
+
+    /**
+     * Single pass grouping nodes under their parent id; rows arrive in
+     * sortOrder, so sibling lists need no sorting. Nodes whose parent is not
+     * itself visible and published are unreachable and left out.
+     */
+    static List<HierarchyTreeNode> buildTree(List<HierarchyNode> nodes) {
+        Map<Long, List<HierarchyNode>> childrenByParent = new HashMap<>(nodes.size() * 2);
+        List<HierarchyNode> roots = new ArrayList<>();
+
+        for (HierarchyNode node : nodes) {
+            HierarchyNode parent = node.getParent();
+            if (parent == null) {
+                roots.add(node);
+            } else {
+                childrenByParent.computeIfAbsent(parent.getId(), id -> new ArrayList<>()).add(node);
+            }
+        }
+
+        return freeze(roots, childrenByParent);
+    }
+
+    private static List<HierarchyTreeNode> freeze(
+            List<HierarchyNode> nodes,
+            Map<Long, List<HierarchyNode>> childrenByParent
+    ) {
+        List<HierarchyTreeNode> result = new ArrayList<>(nodes.size());
+        for (HierarchyNode node : nodes) {
+            result.add(new HierarchyTreeNode(
+                    node.getId(),
+                    node.getSlug(),
+                    node.getNameEn(),
+                    node.getDescriptionEn(),
+                    node.getSortOrder(),
+                    node.getDepthLevel(),
+                    freeze(childrenByParent.getOrDefault(node.getId(), List.of()), childrenByParent)
+            ));
+        }
+        return List.copyOf(result);
+    }
+
     /* =====================
        INTERNAL HELPERS
        ===================== */
@@ -158,28 +252,31 @@ public class HierarchyNodeService {
                 );
     }
 
-    private void validateDepth(HierarchyNode parent) {
-        int depth = 1;
-        HierarchyNode current = parent;
-
-        while (current.getParent() != null) {
-            depth++;
-            if (depth >= MAX_DEPTH) {
-                throw new BusinessValidationException("Maximum hierarchy depth exceeded");
-            }
-            current = current.getParent();
+    /**
+     * Depth levels are 0-based, so the deepest allowed node sits at MAX_DEPTH - 1.
+     * subtreeHeight is how far the subtree being attached extends below its root.
+     */
+    private void validateDepth(HierarchyNode parent, int subtreeHeight) {
+        if (parent.getDepthLevel() + 1 + subtreeHeight > MAX_DEPTH - 1) {
+            throw new BusinessValidationException("Maximum hierarchy depth exceeded");
         }
     }
 
-    private boolean isDescendant(HierarchyNode node, HierarchyNode potentialParent) {
-        HierarchyNode current = potentialParent;
-
-        while (current != null) {
-            if (current.getId().equals(node.getId())) {
-                return true;
-            }
-            current = current.getParent();
+    /**
+     * Nodes written before paths were maintained get theirs from the parent chain once.
+     */
+    private String pathOf(HierarchyNode node) {
+        if (node.getPath() == null) {
+            HierarchyNode parent = node.getParent();
+            String parentPath = parent != null ? pathOf(parent) : "/";
+            node.setPath(parentPath + node.getId() + "/");
+            node.setDepthLevel(parent != null ? parent.getDepthLevel() + 1 : 0);
         }
-        return false;
+        return node.getPath();
+    }
+
+    private void hierarchyChanged(HierarchyNode node) {
+        AfterCommit.runNowAndAfterCommit(publishedTree::invalidate);
+        eventPublisher.publishEvent(new HierarchyChangedEvent(node.getId()));
     }
 }
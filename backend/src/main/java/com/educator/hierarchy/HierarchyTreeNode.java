@@ -0,0 +1,21 @@
+package com.educator.hierarchy;
+
+import java.util.List;
+
+/**
+ * Immutable node of the public hierarchy tree.
+ */
+public record HierarchyTreeNode(
+        Long id,
+        String slug,
+        String nameEn,
+        String descriptionEn,
+        int sortOrder,
+        int depthLevel,
+        List<HierarchyTreeNode> children
+) {
+
+    public HierarchyTreeNode {
+        children = List.copyOf(children);
+    }
+}
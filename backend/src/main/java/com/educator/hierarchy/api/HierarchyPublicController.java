@@ -4,6 +4,7 @@ import com.educator.common.dto.PaginatedResponse;
 import com.educator.common.pagination.PageableFactory;
 import com.educator.hierarchy.HierarchyNode;
 import com.educator.hierarchy.HierarchyNodeService;
+import com.educator.hierarchy.HierarchyTreeNode;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
@@ -39,4 +40,12 @@ public class HierarchyPublicController {
         Pageable pageable = PageableFactory.of(page, size, Sort.by(Sort.Direction.ASC, "sortOrder"));
         return ResponseEntity.ok(new PaginatedResponse<>(service.getChildren(parentId, pageable)));
     }
+
+    /**
+     * Entire published tree in one response.
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<HierarchyTreeNode>> tree() {
+        return ResponseEntity.ok(service.getPublishedTree());
+    }
 }
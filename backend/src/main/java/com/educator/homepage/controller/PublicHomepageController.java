@@ -4,26 +4,114 @@ import com.educator.common.dto.PaginatedResponse;
 import com.educator.common.pagination.PageableFactory;
 import com.educator.homepage.dto.HomepageResponse;
 import com.educator.homepage.service.HomepageQueryService;
+import com.educator.homepage.service.HomepageRenderer;
+import com.educator.homepage.service.HomepageSnapshot;
+import com.educator.homepage.service.RenderedHomepage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/public/homepage")
 public class PublicHomepageController {
 
     private final HomepageQueryService service;
+    private final HomepageRenderer renderer;
+    private final boolean precomputedResponses;
 
-    public PublicHomepageController(HomepageQueryService service) {
+    public PublicHomepageController(
+            HomepageQueryService service,
+            HomepageRenderer renderer,
+            @Value("${app.homepage.precomputed-responses.enabled:true}") boolean precomputedResponses
+    ) {
         this.service = service;
+        this.renderer = renderer;
+        this.precomputedResponses = precomputedResponses;
     }
 
     @GetMapping
-    public PaginatedResponse<HomepageResponse> getHomepage(
+    public ResponseEntity<?> getHomepage(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
+        HomepageSnapshot snapshot = service.getSnapshot();
         Pageable pageable = PageableFactory.of(page, size, Sort.by(Sort.Direction.ASC, "orderIndex"));
-        return new PaginatedResponse<>(service.getHomepage(pageable));
+
+        if (precomputedResponses) {
+            return precomputed(renderer.render(snapshot, pageable), request, response);
+        }
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(snapshot.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.getETag())
+                .cacheControl(CacheControl.noCache())
+                .body(new PaginatedResponse<>(snapshot.page(pageable)));
+    }
+
+    /**
+     * Returns the pre-rendered bytes as the body; the byte array converter
+     * writes them as-is, without message conversion or re-encoding.
+     */
+    private static ResponseEntity<byte[]> precomputed(
+            RenderedHomepage rendered,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        boolean gzipped = acceptsGzip(request);
+        String etag = rendered.getETag(gzipped);
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(etag, rendered.getLastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .lastModified(rendered.getLastModifiedMillis())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(rendered.getLastModifiedMillis())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(rendered.length(gzipped));
+        if (gzipped) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ok.body(rendered.body(gzipped));
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equalsIgnoreCase("q=0");
+            }
+        }
+        return false;
     }
 }
@@ -3,6 +3,8 @@ package com.educator.homepage.repository;
 import com.educator.homepage.entity.BlockConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +12,6 @@ public interface BlockConfigRepository extends JpaRepository<BlockConfig, UUID>
 
     Optional<BlockConfig> findByBlockId(UUID blockId);
 
+    List<BlockConfig> findAllByBlockIdIn(Collection<UUID> blockIds);
+
 }
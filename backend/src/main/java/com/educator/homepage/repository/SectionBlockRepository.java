@@ -3,9 +3,12 @@ package com.educator.homepage.repository;
 import com.educator.homepage.entity.SectionBlock;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface SectionBlockRepository extends JpaRepository<SectionBlock, UUID> {
     List<SectionBlock> findAllBySectionIdAndEnabledTrueOrderByOrderIndexAsc(UUID sectionId);
+
+    List<SectionBlock> findAllBySectionIdInAndEnabledTrueOrderByOrderIndexAsc(Collection<UUID> sectionIds);
 }
@@ -13,13 +13,16 @@ public class BlockConfigAdminService {
 
     private final BlockConfigRepository configRepo;
     private final SectionBlockRepository blockRepo;
+    private final HomepageQueryService homepageQueryService;
 
     public BlockConfigAdminService(
             BlockConfigRepository configRepo,
-            SectionBlockRepository blockRepo
+            SectionBlockRepository blockRepo,
+            HomepageQueryService homepageQueryService
     ) {
         this.configRepo = configRepo;
         this.blockRepo = blockRepo;
+        this.homepageQueryService = homepageQueryService;
     }
 
     // -------------------------------------------------
@@ -38,7 +41,9 @@ public class BlockConfigAdminService {
         config.setBlockId(blockId);
         apply(config, req);
 
-        return configRepo.save(config);
+        BlockConfig saved = configRepo.save(config);
+        homepageQueryService.invalidate();
+        return saved;
     }
 
     // -------------------------------------------------
@@ -51,7 +56,9 @@ public class BlockConfigAdminService {
 
         apply(config, req);
 
-        return configRepo.save(config);
+        BlockConfig saved = configRepo.save(config);
+        homepageQueryService.invalidate();
+        return saved;
     }
 
     // -------------------------------------------------
@@ -63,6 +70,7 @@ public class BlockConfigAdminService {
                 .orElseThrow(() -> new IllegalArgumentException("Config not found"));
 
         configRepo.delete(config);
+        homepageQueryService.invalidate();
     }
 
     // -------------------------------------------------
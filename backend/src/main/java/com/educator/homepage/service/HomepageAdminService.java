@@ -16,11 +16,14 @@ public class HomepageAdminService {
 
     private final HomepageSectionRepository sectionRepo;
     private final SectionBlockRepository blockRepo;
+    private final HomepageQueryService homepageQueryService;
 
     public HomepageAdminService(HomepageSectionRepository sectionRepo,
-                                SectionBlockRepository blockRepo) {
+                                SectionBlockRepository blockRepo,
+                                HomepageQueryService homepageQueryService) {
         this.sectionRepo = sectionRepo;
         this.blockRepo = blockRepo;
+        this.homepageQueryService = homepageQueryService;
     }
 
     // -------------------------------------------------
@@ -33,7 +36,9 @@ public class HomepageAdminService {
         s.setPosition(req.position);
         s.setOrderIndex(req.orderIndex);
         s.setEnabled(req.enabled);
-        return sectionRepo.save(s);
+        HomepageSection saved = sectionRepo.save(s);
+        homepageQueryService.invalidate();
+        return saved;
     }
 
     public HomepageSection updateSection(UUID sectionId, HomepageSectionRequest req) {
@@ -45,7 +50,9 @@ public class HomepageAdminService {
         section.setOrderIndex(req.orderIndex);
         section.setEnabled(req.enabled);
 
-        return sectionRepo.save(section);
+        HomepageSection saved = sectionRepo.save(section);
+        homepageQueryService.invalidate();
+        return saved;
     }
 
     public void deleteSection(UUID sectionId) {
@@ -54,6 +61,7 @@ public class HomepageAdminService {
 
         section.setEnabled(false);
         sectionRepo.save(section);
+        homepageQueryService.invalidate();
     }
 
     // -------------------------------------------------
@@ -66,7 +74,9 @@ public class HomepageAdminService {
         b.setBlockType(req.blockType);
         b.setOrderIndex(req.orderIndex);
         b.setEnabled(req.enabled);
-        return blockRepo.save(b);
+        SectionBlock saved = blockRepo.save(b);
+        homepageQueryService.invalidate();
+        return saved;
     }
 
     // -------------------------------------------------
@@ -82,7 +92,9 @@ public class HomepageAdminService {
         block.setOrderIndex(req.orderIndex);
         block.setEnabled(req.enabled);
 
-        return blockRepo.save(block);
+        SectionBlock saved = blockRepo.save(block);
+        homepageQueryService.invalidate();
+        return saved;
     }
 
     // -------------------------------------------------
@@ -96,6 +108,7 @@ public class HomepageAdminService {
 
         block.setEnabled(false);
         blockRepo.save(block);
+        homepageQueryService.invalidate();
     }
 
     // -------------------------------------------------
@@ -139,6 +152,8 @@ public class HomepageAdminService {
 
         block.setOrderIndex(newOrderIndex);
 
-        return blockRepo.save(block);
+        SectionBlock saved = blockRepo.save(block);
+        homepageQueryService.invalidate();
+        return saved;
     }
 }
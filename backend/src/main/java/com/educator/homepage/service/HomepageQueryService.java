@@ -1,96 +1,192 @@
 package com.educator.homepage.service;
 
+import com.educator.common.cache.CacheVersionService;
+import com.educator.common.cache.GuardedSnapshot;
+import com.educator.common.transaction.AfterCommit;
+import com.educator.course.CourseRepository;
+import com.educator.course.event.CourseStatusChangedEvent;
 import com.educator.homepage.dto.HomepageResponse;
+import com.educator.homepage.entity.BlockConfig;
 import com.educator.homepage.entity.HomepageSection;
 import com.educator.homepage.entity.SectionBlock;
+import com.educator.homepage.enums.BlockTargetType;
+import com.educator.homepage.repository.BlockConfigRepository;
 import com.educator.homepage.repository.HomepageSectionRepository;
 import com.educator.homepage.repository.SectionBlockRepository;
-import com.educator.homepage.repository.BlockConfigRepository;
-import com.educator.homepage.entity.BlockConfig;
-import com.educator.homepage.enums.BlockTargetType;
-import com.educator.course.CourseRepository;
-import com.educator.course.CourseStatus;
-
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
-
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Serves the public homepage from an in-memory snapshot.
+ *
+ * The snapshot is assembled with a fixed number of batched queries and kept
+ * until homepage admin edits or course publish/archive invalidate it. Each
+ * invalidation also bumps a shared version so other nodes drop their copy
+ * on their next poll.
+ */
 @Service
 public class HomepageQueryService {
 
+    static final String CACHE_NAME = "homepage";
+
+    private static final Logger log = LoggerFactory.getLogger(HomepageQueryService.class);
+
     private final HomepageSectionRepository sectionRepo;
     private final SectionBlockRepository blockRepo;
     private final BlockConfigRepository blockConfigRepo;
     private final CourseRepository courseRepo;
+    private final CacheVersionService cacheVersionService;
+
+    private final GuardedSnapshot<HomepageSnapshot> snapshot = new GuardedSnapshot<>(this::build);
 
     public HomepageQueryService(HomepageSectionRepository sectionRepo,
                                 SectionBlockRepository blockRepo,
                                 BlockConfigRepository blockConfigRepo,
-                                CourseRepository courseRepo) {
+                                CourseRepository courseRepo,
+                                CacheVersionService cacheVersionService) {
         this.sectionRepo = sectionRepo;
         this.blockRepo = blockRepo;
         this.blockConfigRepo = blockConfigRepo;
         this.courseRepo = courseRepo;
+        this.cacheVersionService = cacheVersionService;
     }
 
     public List<HomepageResponse> getHomepage() {
-        return sectionRepo.findAllByEnabledTrueOrderByOrderIndexAsc()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return getSnapshot().getSections();
     }
 
     public Page<HomepageResponse> getHomepage(Pageable pageable) {
-        return sectionRepo.findAllByEnabledTrueOrderByOrderIndexAsc(pageable)
-                .map(this::mapToResponse);
+        return getSnapshot().page(pageable);
+    }
+
+    /**
+     * Returns the current snapshot, building it if it has been invalidated.
+     * Concurrent callers on a cold cache wait for a single build.
+     */
+    public HomepageSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Drops the snapshot locally (now and after commit) and bumps the shared version.
+     */
+    public void invalidate() {
+        cacheVersionService.increment(CACHE_NAME);
+        AfterCommit.runNowAndAfterCommit(snapshot::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCourseStatusChanged(CourseStatusChangedEvent event) {
+        invalidate();
     }
 
-    private HomepageResponse mapToResponse(HomepageSection section) {
+    /**
+     * Drops the local snapshot when another node has changed the homepage.
+     */
+    @Scheduled(fixedDelayString = "${app.homepage.snapshot.poll-ms:30000}")
+    public void refreshIfStale() {
+        HomepageSnapshot current = snapshot.peek();
+        if (current != null && current.getVersion() != cacheVersionService.current(CACHE_NAME)) {
+            snapshot.invalidate();
+        }
+    }
+
+    /**
+     * Four queries regardless of homepage size: sections, blocks, block configs
+     * and the visibility of every course referenced by a COURSE block.
+     */
+    private HomepageSnapshot build() {
+        long version = cacheVersionService.current(CACHE_NAME);
+
+        List<HomepageSection> sections = sectionRepo.findAllByEnabledTrueOrderByOrderIndexAsc();
+        if (sections.isEmpty()) {
+            return HomepageSnapshot.of(List.of(), version);
+        }
+
+        List<UUID> sectionIds = sections.stream().map(HomepageSection::getId).toList();
+        List<SectionBlock> blocks =
+                blockRepo.findAllBySectionIdInAndEnabledTrueOrderByOrderIndexAsc(sectionIds);
 
-        List<SectionBlock> rawBlocks =
-                blockRepo.findAllBySectionIdAndEnabledTrueOrderByOrderIndexAsc(section.getId());
+        Map<UUID, BlockConfig> configsByBlock = new HashMap<>();
+        if (!blocks.isEmpty()) {
+            List<UUID> blockIds = blocks.stream().map(SectionBlock::getId).toList();
+            for (BlockConfig config : blockConfigRepo.findAllByBlockIdIn(blockIds)) {
+                configsByBlock.put(config.getBlockId(), config);
+            }
+        }
 
-        List<SectionBlock> filteredBlocks = new ArrayList<>();
+        Map<UUID, Long> courseIdByBlock = new HashMap<>();
+        for (BlockConfig config : configsByBlock.values()) {
+            if (config.getTargetType() == BlockTargetType.COURSE) {
+                Long courseId = parseCourseId(config.getTargetUrl());
+                if (courseId != null) {
+                    courseIdByBlock.put(config.getBlockId(), courseId);
+                }
+            }
+        }
 
-        for (SectionBlock block : rawBlocks) {
+        Set<Long> visibleCourseIds = courseIdByBlock.isEmpty()
+                ? Set.of()
+                : new HashSet<>(courseRepo.findVisibleIdsIn(new HashSet<>(courseIdByBlock.values())));
 
-            BlockConfig config =
-                    blockConfigRepo.findByBlockId(block.getId()).orElse(null);
+        Map<UUID, List<SectionBlock>> blocksBySection = new HashMap<>();
+        for (SectionBlock block : blocks) {
+            BlockConfig config = configsByBlock.get(block.getId());
 
-            // Validate COURSE blocks only
+            // Validate COURSE blocks only; skip invalid/draft/archived/deleted courses
             if (config != null && config.getTargetType() == BlockTargetType.COURSE) {
-                if (!isValidCourseUrl(config.getTargetUrl())) {
-                    continue; // Skip invalid/draft/deleted courses
+                Long courseId = courseIdByBlock.get(block.getId());
+                if (courseId == null || !visibleCourseIds.contains(courseId)) {
+                    continue;
                 }
             }
 
-            filteredBlocks.add(block);
+            blocksBySection.computeIfAbsent(block.getSectionId(), id -> new ArrayList<>()).add(block);
         }
 
-        return new HomepageResponse(section, filteredBlocks);
+        List<HomepageResponse> responses = new ArrayList<>(sections.size());
+        for (HomepageSection section : sections) {
+            responses.add(new HomepageResponse(
+                    section,
+                    blocksBySection.getOrDefault(section.getId(), List.of())
+            ));
+        }
+
+        HomepageSnapshot built = HomepageSnapshot.of(responses, version);
+        log.debug("Built homepage snapshot: {} sections, {} blocks, etag {}",
+                sections.size(), blocks.size(), built.getETag());
+        return built;
     }
 
-    private boolean isValidCourseUrl(String url) {
+    /**
+     * Expected format: /courses/{id}
+     */
+    private static Long parseCourseId(String url) {
         if (url == null || url.isBlank()) {
-            return false;
+            return null;
         }
 
         try {
-            // Expected format: /courses/{id}
             String[] parts = url.split("/");
-            String idStr = parts[parts.length - 1];
-            Long courseId = Long.parseLong(idStr);
-
-            return courseRepo
-                    .findByIdAndStatusAndIsDeletedFalse(courseId, CourseStatus.PUBLISHED)
-                    .isPresent();
-
-        } catch (Exception e) {
-            return false; // Malformed URL or invalid ID
+            return Long.parseLong(parts[parts.length - 1]);
+        } catch (RuntimeException e) {
+            return null; // Malformed URL or invalid ID
         }
     }
 }
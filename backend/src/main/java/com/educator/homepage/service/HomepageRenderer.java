@@ -0,0 +1,31 @@
+package com.educator.homepage.service;
+
+import com.educator.common.dto.PaginatedResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Renders homepage pages with the application's JSON mapper, so the bytes
+ * match what the MVC message converter would have produced.
+ */
+@Component
+public class HomepageRenderer {
+
+    private final JsonMapper jsonMapper;
+
+    public HomepageRenderer(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Returns the rendered page, serializing it only the first time it is
+     * requested from this snapshot.
+     */
+    public RenderedHomepage render(HomepageSnapshot snapshot, Pageable pageable) {
+        return snapshot.rendered(pageable, page -> RenderedHomepage.of(
+                jsonMapper.writeValueAsBytes(new PaginatedResponse<>(page)),
+                snapshot.getBuiltAt().toEpochMilli()
+        ));
+    }
+}
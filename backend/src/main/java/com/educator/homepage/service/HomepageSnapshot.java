@@ -0,0 +1,123 @@
+package com.educator.homepage.service;
+
+import com.educator.homepage.dto.HomepageResponse;
+import com.educator.homepage.entity.HomepageSection;
+import com.educator.homepage.entity.SectionBlock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Fully assembled public homepage, ordered by section orderIndex.
+ *
+ * The ETag is derived from the rendered content, so it stays stable across
+ * rebuilds and nodes as long as the homepage itself has not changed.
+ * Rendered (page, size) variants are memoized on the snapshot and discarded with it.
+ */
+public final class HomepageSnapshot {
+
+    /**
+     * Upper bound on memoized variants; unusual page/size combinations beyond it are rendered per request.
+     */
+    private static final int MAX_RENDERED_VARIANTS = 64;
+
+    private final List<HomepageResponse> sections;
+    private final String etag;
+    private final long version;
+    private final Instant builtAt;
+    private final Map<Long, RenderedHomepage> renderedVariants = new ConcurrentHashMap<>();
+
+    private HomepageSnapshot(List<HomepageResponse> sections, String etag, long version, Instant builtAt) {
+        this.sections = sections;
+        this.etag = etag;
+        this.version = version;
+        this.builtAt = builtAt;
+    }
+
+    public static HomepageSnapshot of(List<HomepageResponse> sections, long version) {
+        List<HomepageResponse> frozen = sections.stream()
+                .map(response -> new HomepageResponse(response.getSection(), List.copyOf(response.getBlocks())))
+                .toList();
+        return new HomepageSnapshot(frozen, computeETag(frozen), version, Instant.now());
+    }
+
+    public List<HomepageResponse> getSections() {
+        return sections;
+    }
+
+    public Page<HomepageResponse> page(Pageable pageable) {
+        int total = sections.size();
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        return new PageImpl<>(sections.subList(from, to), pageable, total);
+    }
+
+    public RenderedHomepage rendered(
+            Pageable pageable,
+            Function<Page<HomepageResponse>, RenderedHomepage> renderer
+    ) {
+        long key = ((long) pageable.getPageNumber() << 32) | pageable.getPageSize();
+
+        RenderedHomepage cached = renderedVariants.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        RenderedHomepage rendered = renderer.apply(page(pageable));
+        if (renderedVariants.size() < MAX_RENDERED_VARIANTS) {
+            renderedVariants.putIfAbsent(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * Strong ETag, already quoted for use in the ETag header.
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    private static String computeETag(List<HomepageResponse> sections) {
+        StringBuilder canonical = new StringBuilder();
+        for (HomepageResponse response : sections) {
+            HomepageSection section = response.getSection();
+            canonical.append('S').append(section.getId())
+                    .append('|').append(section.getTitle())
+                    .append('|').append(section.getPosition())
+                    .append('|').append(section.getOrderIndex())
+                    .append('\n');
+            for (SectionBlock block : response.getBlocks()) {
+                canonical.append('B').append(block.getId())
+                        .append('|').append(block.getBlockType())
+                        .append('|').append(block.getOrderIndex())
+                        .append('\n');
+            }
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
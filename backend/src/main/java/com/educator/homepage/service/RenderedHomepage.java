@@ -0,0 +1,74 @@
+package com.educator.homepage.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One homepage page rendered to UTF-8 JSON, with a pre-compressed gzip copy.
+ *
+ * The identity and gzip variants carry distinct strong ETags because their
+ * bytes differ. Both share the Last-Modified time of the snapshot they came from.
+ */
+public final class RenderedHomepage {
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+    private final String gzipETag;
+    private final long lastModifiedMillis;
+
+    private RenderedHomepage(byte[] json, byte[] gzip, String etag, long lastModifiedMillis) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = "\"" + etag + "\"";
+        this.gzipETag = "\"" + etag + "-gzip\"";
+        this.lastModifiedMillis = lastModifiedMillis;
+    }
+
+    public static RenderedHomepage of(byte[] json, long lastModifiedMillis) {
+        return new RenderedHomepage(json, compress(json), hash(json), lastModifiedMillis);
+    }
+
+    /**
+     * The pre-rendered body for the chosen encoding. Shared, not copied: callers must not modify it.
+     */
+    public byte[] body(boolean gzipped) {
+        return gzipped ? gzip : json;
+    }
+
+    public int length(boolean gzipped) {
+        return gzipped ? gzip.length : json.length;
+    }
+
+    public String getETag(boolean gzipped) {
+        return gzipped ? gzipETag : etag;
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
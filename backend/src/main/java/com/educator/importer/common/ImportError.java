@@ -2,14 +2,27 @@ package com.educator.importer.common;
 
 public class ImportError {
 
+    private final Long row;
     private final String code;
     private final String message;
 
     public ImportError(String code, String message) {
+        this(null, code, message);
+    }
+
+    /**
+     * An error tied to one input row (line number for text sources).
+     */
+    public ImportError(Long row, String code, String message) {
+        this.row = row;
         this.code = code;
         this.message = message;
     }
 
+    public Long getRow() {
+        return row;
+    }
+
     public String getCode() {
         return code;
     }
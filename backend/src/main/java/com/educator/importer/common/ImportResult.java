@@ -8,6 +8,11 @@ public class ImportResult {
     private boolean success;
     private final List<ImportError> errors = new ArrayList<>();
 
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private long elapsedMillis;
+
     public boolean isSuccess() {
         return success && errors.isEmpty();
     }
@@ -23,4 +28,47 @@ public class ImportResult {
     public void addError(ImportError error) {
         this.errors.add(error);
     }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    /**
+     * Rejected rows. Can exceed the number of errors listed when an
+     * importer caps how many it reports.
+     */
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Rows read per second of wall-clock import time.
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis <= 0 ? rowsRead : rowsRead * 1000 / elapsedMillis;
+    }
 }
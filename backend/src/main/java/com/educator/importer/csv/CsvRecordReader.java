@@ -0,0 +1,143 @@
+package com.educator.importer.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: one record per {@link #next()} call.
+ *
+ * Quoted fields may contain separators, doubled quotes and line breaks;
+ * both LF and CRLF end a record. Field length and field count are capped,
+ * so a malformed file (an unterminated quote, a binary upload) costs at
+ * most one capped record of memory. Such a record is still returned with
+ * a problem describing it; an unterminated quote runs to the end of input.
+ */
+public class CsvRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private final int maxFields;
+
+    private long line = 1;
+    private int pushedBack = Integer.MIN_VALUE;
+
+    public CsvRecordReader(Reader reader, int maxFieldLength, int maxFields) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+        this.maxFields = maxFields;
+    }
+
+    /**
+     * The next record, or null at the end of input. Blank lines are skipped.
+     */
+    public CsvRecord next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+        unread(c);
+
+        long startLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        String problem = null;
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            c = read();
+            if (quoted) {
+                if (c == EOF) {
+                    problem = "Unterminated quoted field";
+                    break;
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        problem = append(field, '"', problem);
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    problem = append(field, (char) c, problem);
+                }
+                continue;
+            }
+
+            if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                problem = addField(fields, field, problem);
+                fieldStart = true;
+            } else if (c == '\n' || c == '\r' || c == EOF) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                break;
+            } else {
+                problem = append(field, (char) c, problem);
+                fieldStart = false;
+            }
+        }
+        problem = addField(fields, field, problem);
+        return new CsvRecord(startLine, fields, problem);
+    }
+
+    private String append(StringBuilder field, char c, String problem) {
+        if (field.length() < maxFieldLength) {
+            field.append(c);
+            return problem;
+        }
+        return problem != null ? problem : "Field longer than " + maxFieldLength + " characters";
+    }
+
+    private String addField(List<String> fields, StringBuilder field, String problem) {
+        if (fields.size() < maxFields) {
+            fields.add(field.toString());
+        } else if (problem == null) {
+            problem = "More than " + maxFields + " fields";
+        }
+        field.setLength(0);
+        return problem;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != Integer.MIN_VALUE) {
+            c = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+        if (c == '\n') {
+            line--;
+        }
+    }
+
+    /**
+     * One record; line is where it starts in the file (1-based). Problem is
+     * null for a well-formed record.
+     */
+    public record CsvRecord(long line, List<String> fields, String problem) {
+    }
+}
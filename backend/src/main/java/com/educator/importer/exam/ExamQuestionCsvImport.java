@@ -0,0 +1,12 @@
+package com.educator.importer.exam;
+
+import com.educator.importer.common.ImportContext;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * A UTF-8 CSV question bank to append to one exam. The caller owns the stream.
+ */
+public record ExamQuestionCsvImport(ImportContext context, UUID examId, InputStream source) {
+}
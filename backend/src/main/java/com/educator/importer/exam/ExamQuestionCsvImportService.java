@@ -0,0 +1,307 @@
+package com.educator.importer.exam;
+
+import com.educator.exam.repository.ExamQuestionBatchWriter;
+import com.educator.exam.repository.ExamQuestionBatchWriter.OptionRow;
+import com.educator.exam.repository.ExamQuestionBatchWriter.QuestionRow;
+import com.educator.exam.repository.ExamRepository;
+import com.educator.exam.service.ExamAnswerKeyCache;
+import com.educator.importer.common.AbstractImportService;
+import com.educator.importer.common.ImportContext;
+import com.educator.importer.common.ImportError;
+import com.educator.importer.common.ImportResult;
+import com.educator.importer.csv.CsvRecordReader;
+import com.educator.importer.csv.CsvRecordReader.CsvRecord;
+import com.educator.importer.enums.ImportEntityType;
+import com.educator.importer.enums.ImportSourceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends a CSV question bank to an exam.
+ *
+ * The file is read one record at a time, one question per row:
+ * question_text, correct_option (1-based option number), option_1 to
+ * option_20 and an optional explanation. Blank option cells are skipped.
+ * Questions are placed after the exam's current last question in file order.
+ *
+ * Valid rows are written in fixed-size chunks, each in its own transaction,
+ * so heap use does not grow with the file. Each chunk locks the exam row and
+ * reads the last display order itself, so a concurrent edit of the exam
+ * cannot collide with it, and the answer key is evicted once it commits.
+ * Invalid rows are skipped and reported; a failed chunk is reported and
+ * the import moves on. Chunks written before a failure stay committed.
+ */
+@Service
+public class ExamQuestionCsvImportService extends AbstractImportService<ExamQuestionCsvImport> {
+
+    static final int MAX_OPTIONS = 20;
+
+    private static final int MAX_QUESTION_LENGTH = 4000;
+    private static final int MAX_OPTION_LENGTH = 2000;
+    private static final int MAX_FIELDS = 64;
+
+    private static final String QUESTION_TEXT = "question_text";
+    private static final String CORRECT_OPTION = "correct_option";
+    private static final String EXPLANATION = "explanation";
+    private static final String OPTION_PREFIX = "option_";
+
+    private static final Logger log = LoggerFactory.getLogger(ExamQuestionCsvImportService.class);
+
+    private final ExamRepository examRepository;
+    private final ExamQuestionBatchWriter examQuestionBatchWriter;
+    private final ExamAnswerKeyCache examAnswerKeyCache;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ExamQuestionCsvImportService(
+            ExamRepository examRepository,
+            ExamQuestionBatchWriter examQuestionBatchWriter,
+            ExamAnswerKeyCache examAnswerKeyCache,
+            @Value("${app.import.exam-csv.batch-size:1000}") int batchSize,
+            @Value("${app.import.exam-csv.max-reported-errors:1000}") int maxReportedErrors
+    ) {
+        this.examRepository = examRepository;
+        this.examQuestionBatchWriter = examQuestionBatchWriter;
+        this.examAnswerKeyCache = examAnswerKeyCache;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public ImportResult importData(ExamQuestionCsvImport input) {
+        ImportContext context = input.context();
+        if (context == null
+                || context.getEntityType() != ImportEntityType.EXAM
+                || context.getSourceType() != ImportSourceType.CSV) {
+            ImportResult result = new ImportResult();
+            result.addError(new ImportError("UNSUPPORTED_SOURCE", "Only CSV exam imports are supported"));
+            return result;
+        }
+        if (!examRepository.existsById(input.examId())) {
+            throw new IllegalArgumentException("Exam not found");
+        }
+
+        Run run = new Run(input.examId());
+        long started = System.nanoTime();
+        try (Reader reader = new BufferedReader(new InputStreamReader(input.source(), StandardCharsets.UTF_8), 1 << 16)) {
+            read(new CsvRecordReader(reader, MAX_QUESTION_LENGTH, MAX_FIELDS), run);
+        } catch (IOException e) {
+            run.result.addError(new ImportError("READ_FAILED", "Could not read the file: " + e.getMessage()));
+        } finally {
+            run.result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+
+        ImportResult result = run.result;
+        result.setSuccess(result.getRowsFailed() == 0);
+        log.info("Exam CSV import — examId={}, read={}, imported={}, failed={}, {} ms, {} rows/s",
+                input.examId(), result.getRowsRead(), result.getRowsImported(), result.getRowsFailed(),
+                result.getElapsedMillis(), result.getRowsPerSecond());
+        return result;
+    }
+
+    private void read(CsvRecordReader csv, Run run) throws IOException {
+        CsvRecord header = csv.next();
+        if (header == null) {
+            run.result.addError(new ImportError("EMPTY_FILE", "The file has no header row"));
+            return;
+        }
+        Columns columns = Columns.parse(header, run.result);
+        if (columns == null) {
+            return;
+        }
+
+        CsvRecord record;
+        while ((record = csv.next()) != null) {
+            run.result.setRowsRead(run.result.getRowsRead() + 1);
+            String problem = run.add(record, columns);
+            if (problem != null) {
+                run.reject(record.line(), problem);
+            }
+            if (run.questions.size() >= batchSize) {
+                run.flush();
+            }
+        }
+        run.flush();
+    }
+
+    /**
+     * Column positions taken from the header row.
+     */
+    private record Columns(int width, int questionText, int correctOption, int explanation, int[] options) {
+
+        static Columns parse(CsvRecord header, ImportResult result) {
+            if (header.problem() != null) {
+                result.addError(new ImportError(header.line(), "INVALID_HEADER", header.problem()));
+                return null;
+            }
+
+            Map<String, Integer> positions = new HashMap<>();
+            List<String> fields = header.fields();
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                if (!isKnown(name)) {
+                    result.addError(new ImportError(header.line(), "INVALID_HEADER", "Unknown column '" + name + "'"));
+                    return null;
+                }
+                if (positions.put(name, i) != null) {
+                    result.addError(new ImportError(header.line(), "INVALID_HEADER", "Duplicate column '" + name + "'"));
+                    return null;
+                }
+            }
+            for (String required : List.of(QUESTION_TEXT, CORRECT_OPTION, OPTION_PREFIX + 1, OPTION_PREFIX + 2)) {
+                if (!positions.containsKey(required)) {
+                    result.addError(new ImportError(header.line(), "INVALID_HEADER", "Missing column '" + required + "'"));
+                    return null;
+                }
+            }
+
+            int[] options = new int[MAX_OPTIONS];
+            for (int n = 1; n <= MAX_OPTIONS; n++) {
+                options[n - 1] = positions.getOrDefault(OPTION_PREFIX + n, -1);
+            }
+            return new Columns(
+                    fields.size(),
+                    positions.get(QUESTION_TEXT),
+                    positions.get(CORRECT_OPTION),
+                    positions.getOrDefault(EXPLANATION, -1),
+                    options
+            );
+        }
+
+        private static boolean isKnown(String name) {
+            if (name.equals(QUESTION_TEXT) || name.equals(CORRECT_OPTION) || name.equals(EXPLANATION)) {
+                return true;
+            }
+            if (!name.startsWith(OPTION_PREFIX)) {
+                return false;
+            }
+            try {
+                int n = Integer.parseInt(name.substring(OPTION_PREFIX.length()));
+                return n >= 1 && n <= MAX_OPTIONS;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * State of one import: the pending chunk and the running totals.
+     */
+    private final class Run {
+
+        private final UUID examId;
+        private final ImportResult result = new ImportResult();
+        private final List<QuestionRow> questions = new ArrayList<>(batchSize);
+        private final List<OptionRow> options = new ArrayList<>();
+        private long firstPendingLine;
+        private long lastPendingLine;
+
+        Run(UUID examId) {
+            this.examId = examId;
+        }
+
+        /**
+         * Validates a row and queues it. Returns why it was rejected, or null.
+         */
+        String add(CsvRecord record, Columns columns) {
+            if (record.problem() != null) {
+                return record.problem();
+            }
+            List<String> fields = record.fields();
+            if (fields.size() != columns.width()) {
+                return "Expected " + columns.width() + " columns but found " + fields.size();
+            }
+
+            String questionText = fields.get(columns.questionText()).trim();
+            if (questionText.isEmpty()) {
+                return "question_text is required";
+            }
+            String explanation = columns.explanation() < 0 ? null : fields.get(columns.explanation()).trim();
+
+            int correct;
+            try {
+                correct = Integer.parseInt(fields.get(columns.correctOption()).trim());
+            } catch (NumberFormatException e) {
+                return "correct_option must be an option number";
+            }
+            if (correct < 1 || correct > MAX_OPTIONS
+                    || columns.options()[correct - 1] < 0
+                    || fields.get(columns.options()[correct - 1]).isBlank()) {
+                return "correct_option " + correct + " does not refer to a filled option column";
+            }
+
+            UUID questionId = UUID.randomUUID();
+            List<OptionRow> rowOptions = new ArrayList<>();
+            for (int n = 1; n <= MAX_OPTIONS; n++) {
+                int position = columns.options()[n - 1];
+                if (position < 0 || fields.get(position).isBlank()) {
+                    continue;
+                }
+                String optionText = fields.get(position).trim();
+                if (optionText.length() > MAX_OPTION_LENGTH) {
+                    return "option_" + n + " is longer than " + MAX_OPTION_LENGTH + " characters";
+                }
+                rowOptions.add(new OptionRow(UUID.randomUUID(), questionId, optionText, n == correct, rowOptions.size() + 1));
+            }
+            if (rowOptions.size() < 2) {
+                return "At least two options are required";
+            }
+
+            if (questions.isEmpty()) {
+                firstPendingLine = record.line();
+            }
+            lastPendingLine = record.line();
+            // Position within the chunk; the writer adds the exam's last order
+            questions.add(new QuestionRow(questionId, questionText, questions.size() + 1,
+                    explanation == null || explanation.isEmpty() ? null : explanation));
+            options.addAll(rowOptions);
+            return null;
+        }
+
+        void flush() {
+            if (questions.isEmpty()) {
+                return;
+            }
+            try {
+                examQuestionBatchWriter.append(examId, questions, options, batchSize);
+                result.setRowsImported(result.getRowsImported() + questions.size());
+                examAnswerKeyCache.evict(examId);
+            } catch (RuntimeException e) {
+                result.setRowsFailed(result.getRowsFailed() + questions.size());
+                report(new ImportError(firstPendingLine, "BATCH_FAILED",
+                        "Rows on lines " + firstPendingLine + "-" + lastPendingLine + " were not saved: " + e.getMessage()));
+                log.warn("Exam CSV import chunk failed — examId={}, lines {}-{}: {}",
+                        examId, firstPendingLine, lastPendingLine, e.getMessage());
+            }
+            questions.clear();
+            options.clear();
+        }
+
+        void reject(long line, String message) {
+            result.setRowsFailed(result.getRowsFailed() + 1);
+            report(new ImportError(line, "INVALID_ROW", message));
+        }
+
+        private void report(ImportError error) {
+            // Counts stay exact; only the listed errors are capped
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.addError(error);
+            }
+        }
+    }
+}
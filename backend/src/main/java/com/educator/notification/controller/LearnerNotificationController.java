@@ -1,21 +1,30 @@
 package com.educator.notification.controller;
 
+import com.educator.common.dto.CursorPage;
 import com.educator.common.dto.PaginatedResponse;
 import com.educator.common.pagination.PageableFactory;
 import com.educator.common.security.UserIdentityUtil;
 import com.educator.notification.entity.Notification;
 import com.educator.notification.service.LearnerNotificationService;
+import com.educator.notification.service.NotificationStreamHub;
+import com.educator.security.JwtUtil;
+import com.educator.security.VerifiedJwt;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
@@ -24,9 +33,17 @@ import java.util.UUID;
 public class LearnerNotificationController {
 
     private final LearnerNotificationService learnerNotificationService;
+    private final NotificationStreamHub notificationStreamHub;
+    private final JwtUtil jwtUtil;
 
-    public LearnerNotificationController(LearnerNotificationService learnerNotificationService) {
+    public LearnerNotificationController(
+            LearnerNotificationService learnerNotificationService,
+            NotificationStreamHub notificationStreamHub,
+            JwtUtil jwtUtil
+    ) {
         this.learnerNotificationService = learnerNotificationService;
+        this.notificationStreamHub = notificationStreamHub;
+        this.jwtUtil = jwtUtil;
     }
 
     @GetMapping
@@ -40,6 +57,20 @@ public class LearnerNotificationController {
         return new PaginatedResponse<>(learnerNotificationService.list(userId, pageable));
     }
 
+    /**
+     * The caller's inbox in cursor slices; stable while new notifications arrive, unlike page numbers.
+     */
+    @GetMapping(params = "cursor")
+    public CursorPage<Notification> listNotificationsByCursor(
+            Authentication authentication,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        UUID userId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
+        return learnerNotificationService.list(userId, cursor, size, withTotal);
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<Notification> markRead(
             Authentication authentication,
@@ -49,12 +80,36 @@ public class LearnerNotificationController {
         return ResponseEntity.ok(learnerNotificationService.markRead(userId, notificationId));
     }
 
+    @PutMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllRead(Authentication authentication) {
+        UUID userId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
+        return ResponseEntity.ok(Map.of("updated", learnerNotificationService.markAllRead(userId)));
+    }
+
     @GetMapping("/unread-count")
     public ResponseEntity<Map<String, Long>> unreadCount(Authentication authentication) {
         UUID userId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
         return ResponseEntity.ok(Map.of("unreadCount", learnerNotificationService.unreadCount(userId)));
     }
 
+    /**
+     * Server-sent events: "unread-count" on connect and whenever it changes,
+     * "notification" for every new notification. The stream ends when the
+     * access token expires; reconnect with a fresh one. Events only come from
+     * the node serving the stream, so keep polling /unread-count alongside it.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            Authentication authentication,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization
+    ) {
+        UUID userId = UserIdentityUtil.toStableUuid(resolveEmail(authentication));
+        Instant tokenExpiresAt = authorization.startsWith("Bearer ")
+                ? jwtUtil.verify(authorization.substring(7)).map(VerifiedJwt::expiresAt).orElse(null)
+                : null;
+        return notificationStreamHub.subscribe(userId, tokenExpiresAt);
+    }
+
     private String resolveEmail(Authentication authentication) {
         if (authentication == null || authentication.getName() == null || authentication.getName().isBlank()) {
             throw new IllegalArgumentException("Authenticated user email is required");
@@ -0,0 +1,20 @@
+package com.educator.notification.dto;
+
+import com.educator.notification.entity.NotificationType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A newly delivered notification as pushed on the learner stream, with the
+ * learner's unread count after it.
+ */
+public record NotificationPushEvent(
+        UUID id,
+        NotificationType type,
+        String title,
+        String message,
+        Instant createdAt,
+        long unreadCount
+) {
+}
@@ -0,0 +1,100 @@
+package com.educator.notification.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A notification recorded in the same transaction as the domain change that
+ * caused it. The outbox dispatcher turns pending entries into
+ * {@link Notification} rows and stamps dispatchedAt; an entry whose delivery
+ * keeps failing is parked instead, with its last error.
+ */
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    private String title;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(insertable = false, updatable = false)
+    private Instant dispatchedAt;
+
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    @Column(length = 1000, insertable = false, updatable = false)
+    private String lastError;
+
+    @Column(insertable = false, updatable = false)
+    private Instant parkedAt;
+
+    protected NotificationOutboxEntry() {
+    }
+
+    public NotificationOutboxEntry(UUID userId, NotificationType type, String title, String message) {
+        this.userId = userId;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+    }
+
+    /* Getters */
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Instant getParkedAt() {
+        return parkedAt;
+    }
+}
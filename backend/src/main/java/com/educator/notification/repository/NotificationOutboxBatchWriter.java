@@ -0,0 +1,202 @@
+package com.educator.notification.repository;
+
+import com.educator.notification.entity.NotificationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC batch delivery of the notification outbox.
+ *
+ * One call locks up to batchSize pending entries with FOR UPDATE SKIP LOCKED,
+ * stamps dispatched_at on them and inserts their notifications, all in one
+ * transaction. Entries locked by another node are skipped rather than waited
+ * for, so every entry is delivered once and nodes drain different rows.
+ *
+ * A batch that cannot be delivered fails with {@link OutboxDispatchException}
+ * naming its entries, so the caller can retry them one at a time and record
+ * a failure against the one that is broken. Entries with failures are
+ * claimed after fresh ones; after maxAttempts they are parked.
+ */
+@Repository
+public class NotificationOutboxBatchWriter {
+
+    private static final String PENDING = """
+            SELECT id, user_id, type, title, message, created_at
+            FROM notification_outbox
+            WHERE dispatched_at IS NULL AND parked_at IS NULL
+            """;
+
+    private static final String SELECT_PENDING = PENDING + """
+            ORDER BY attempts, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String SELECT_PENDING_ENTRY = PENDING + """
+            AND id = ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String CLAIM = """
+            UPDATE notification_outbox
+            SET dispatched_at = ?
+            WHERE id = ?
+            """;
+
+    private static final String RECORD_FAILURE = """
+            UPDATE notification_outbox
+            SET attempts = attempts + 1,
+                last_error = ?,
+                parked_at = CASE WHEN attempts + 1 >= ? THEN ? ELSE NULL END
+            WHERE id = ? AND dispatched_at IS NULL
+            """;
+
+    private static final String COUNT_PARKED = """
+            SELECT COUNT(*) FROM notification_outbox
+            WHERE id = ? AND parked_at IS NOT NULL
+            """;
+
+    private static final String INSERT_NOTIFICATION = """
+            INSERT INTO notifications (id, user_id, type, title, message, status, read, created_at)
+            VALUES (?, ?, ?, ?, ?, 'PERSISTED', FALSE, ?)
+            """;
+
+    private static final String DELETE_DISPATCHED = """
+            DELETE FROM notification_outbox
+            WHERE dispatched_at IS NOT NULL AND dispatched_at < ?
+            """;
+
+    private static final RowMapper<PendingEntry> PENDING_ENTRY = (rs, rowNum) -> new PendingEntry(
+            rs.getLong("id"),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("type"),
+            rs.getString("title"),
+            rs.getString("message"),
+            rs.getTimestamp("created_at")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Delivers the oldest pending entries. The batch's read count is below
+     * batchSize once the outbox is drained.
+     */
+    @Transactional
+    public DispatchedBatch dispatchBatch(int batchSize) {
+        return deliver(jdbcTemplate.query(SELECT_PENDING, PENDING_ENTRY, batchSize));
+    }
+
+    /**
+     * Delivers one entry if it is still pending and not locked elsewhere.
+     */
+    @Transactional
+    public DispatchedBatch dispatchEntry(long entryId) {
+        return deliver(jdbcTemplate.query(SELECT_PENDING_ENTRY, PENDING_ENTRY, entryId));
+    }
+
+    /**
+     * Counts a failed delivery against the entry, parking it on the
+     * maxAttempts-th failure. Returns true if the entry is now parked.
+     */
+    @Transactional
+    public boolean recordFailure(long entryId, String error, int maxAttempts) {
+        String lastError = error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+        jdbcTemplate.update(RECORD_FAILURE, lastError, maxAttempts, Timestamp.from(Instant.now()), entryId);
+        Integer parked = jdbcTemplate.queryForObject(COUNT_PARKED, Integer.class, entryId);
+        return parked != null && parked > 0;
+    }
+
+    private DispatchedBatch deliver(List<PendingEntry> pending) {
+        if (pending.isEmpty()) {
+            return DispatchedBatch.EMPTY;
+        }
+
+        try {
+            // The rows are locked, so every claim succeeds
+            Timestamp now = Timestamp.from(Instant.now());
+            jdbcTemplate.batchUpdate(CLAIM, pending, pending.size(), (ps, entry) -> {
+                ps.setTimestamp(1, now);
+                ps.setLong(2, entry.id());
+            });
+
+            List<DeliveredNotification> delivered = new ArrayList<>(pending.size());
+            for (PendingEntry entry : pending) {
+                delivered.add(new DeliveredNotification(
+                        UUID.randomUUID(),
+                        entry.userId(),
+                        NotificationType.valueOf(entry.type()),
+                        entry.title(),
+                        entry.message(),
+                        entry.createdAt().toInstant()
+                ));
+            }
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, delivered, delivered.size(), (ps, notification) -> {
+                ps.setObject(1, notification.id());
+                ps.setObject(2, notification.userId());
+                ps.setString(3, notification.type().name());
+                ps.setString(4, notification.title());
+                ps.setString(5, notification.message());
+                ps.setTimestamp(6, Timestamp.from(notification.createdAt()));
+            });
+            return new DispatchedBatch(pending.size(), delivered);
+        } catch (RuntimeException e) {
+            throw new OutboxDispatchException(pending.stream().map(PendingEntry::id).toList(), e);
+        }
+    }
+
+    /**
+     * Deletes entries dispatched before the cutoff. Returns the number removed.
+     */
+    @Transactional
+    public int deleteDispatchedBefore(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_DISPATCHED, Timestamp.from(cutoff));
+    }
+
+    public record DispatchedBatch(int read, List<DeliveredNotification> delivered) {
+
+        static final DispatchedBatch EMPTY = new DispatchedBatch(0, List.of());
+    }
+
+    public record DeliveredNotification(
+            UUID id,
+            UUID userId,
+            NotificationType type,
+            String title,
+            String message,
+            Instant createdAt
+    ) {
+    }
+
+    /**
+     * A batch that could not be delivered; its transaction has rolled back.
+     */
+    public static class OutboxDispatchException extends RuntimeException {
+
+        private final List<Long> entryIds;
+
+        public OutboxDispatchException(List<Long> entryIds, Throwable cause) {
+            super("Could not deliver outbox entries " + entryIds + ": " + cause.getMessage(), cause);
+            this.entryIds = entryIds;
+        }
+
+        public List<Long> getEntryIds() {
+            return entryIds;
+        }
+    }
+
+    private record PendingEntry(long id, UUID userId, String type, String title, String message, Timestamp createdAt) {
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.educator.notification.repository;
+
+import com.educator.notification.entity.NotificationOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntry, Long> {
+
+    long countByDispatchedAtIsNull();
+}
@@ -1,10 +1,16 @@
 package com.educator.notification.repository;
 
 import com.educator.notification.entity.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,8 +18,40 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     Page<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
 
+    /**
+     * A user's inbox on (createdAt desc, id desc), matching idx_notifications_user_created:
+     * first slice, then every slice after a cursor.
+     */
+    List<Notification> findByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    @Query("""
+            select n from Notification n
+            where n.userId = :userId
+              and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id))
+            order by n.createdAt desc, n.id desc
+            """)
+    List<Notification> findByUserIdAfter(
+            @Param("userId") UUID userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    long countByUserId(UUID userId);
+
     long countByUserIdAndReadFalse(UUID userId);
 
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Notification n set n.read = true where n.userId = :userId and n.read = false")
+    int markAllRead(@Param("userId") UUID userId);
+
+    /**
+     * Returns 1 only for the call that actually flipped the notification to read.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Notification n set n.read = true where n.id = :id and n.userId = :userId and n.read = false")
+    int markRead(@Param("id") UUID id, @Param("userId") UUID userId);
+
     // 🔒 B3.5 — Secure lookup to prevent cross-user access
     Optional<Notification> findByIdAndUserId(UUID id, UUID userId);
 }
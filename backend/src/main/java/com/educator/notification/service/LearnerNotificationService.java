@@ -1,5 +1,8 @@
 package com.educator.notification.service;
 
+import com.educator.common.dto.CursorPage;
+import com.educator.common.pagination.KeysetKey;
+import com.educator.common.transaction.AfterCommit;
 import com.educator.notification.entity.Notification;
 import com.educator.notification.repository.NotificationRepository;
 import org.springframework.data.domain.Page;
@@ -7,16 +10,28 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class LearnerNotificationService {
 
+    private static final KeysetKey<Notification, Instant, UUID> BY_CREATED_AT =
+            KeysetKey.of(Notification::getCreatedAt, Instant::parse, Notification::getId, UUID::fromString);
+
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamHub streamHub;
 
-    public LearnerNotificationService(NotificationRepository notificationRepository) {
+    public LearnerNotificationService(
+            NotificationRepository notificationRepository,
+            UnreadNotificationCounter unreadCounter,
+            NotificationStreamHub streamHub
+    ) {
         this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.streamHub = streamHub;
     }
 
     @Transactional(readOnly = true)
@@ -24,6 +39,21 @@ public class LearnerNotificationService {
         return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
     }
 
+    /**
+     * The inbox newest first, read and unread alike, sliced after a
+     * (createdAt, id) cursor; served from idx_notifications_user_created.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Notification> list(UUID userId, String cursor, Integer size, boolean withTotal) {
+        return BY_CREATED_AT.slice(
+                cursor,
+                size,
+                limit -> notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit),
+                (createdAt, id, limit) -> notificationRepository.findByUserIdAfter(userId, createdAt, id, limit),
+                withTotal ? () -> notificationRepository.countByUserId(userId) : null
+        );
+    }
+
     public Notification markRead(UUID userId, UUID notificationId) {
 
         // 🔒 Secure DB-level ownership validation
@@ -36,12 +66,34 @@ public class LearnerNotificationService {
             return notification;
         }
 
+        // Of two concurrent requests, only the one whose UPDATE flips the row adjusts the count
+        if (notificationRepository.markRead(notificationId, userId) == 1) {
+            AfterCommit.run(() -> {
+                unreadCounter.add(userId, -1);
+                streamHub.publishUnreadCount(userId);
+            });
+        }
         notification.setRead(true);
-        return notificationRepository.save(notification);
+        return notification;
+    }
+
+    /**
+     * Marks every unread notification of the user as read in one UPDATE.
+     * Returns the number of notifications changed.
+     */
+    public int markAllRead(UUID userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        if (updated > 0) {
+            AfterCommit.run(() -> {
+                unreadCounter.evict(userId);
+                streamHub.publishUnreadCount(userId);
+            });
+        }
+        return updated;
     }
 
     @Transactional(readOnly = true)
     public long unreadCount(UUID userId) {
-        return notificationRepository.countByUserIdAndReadFalse(userId);
+        return unreadCounter.get(userId);
     }
 }
@@ -0,0 +1,178 @@
+package com.educator.notification.service;
+
+import com.educator.notification.repository.NotificationOutboxBatchWriter;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.DeliveredNotification;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.DispatchedBatch;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.OutboxDispatchException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the notification outbox on a dedicated worker thread.
+ *
+ * Every committed batch updates the cached unread counts and is pushed to
+ * connected learners. Writers wake the worker after their transaction
+ * commits; a periodic poll
+ * picks up anything a wake-up missed (another node, a failed drain, a
+ * restart). Wake-ups that arrive while a drain is queued collapse into it.
+ *
+ * A batch that fails is retried one entry at a time, so the healthy entries
+ * go out and the failure is recorded against the broken one. A drain stops
+ * after such a batch; the next poll retries the failures, and an entry that
+ * fails maxAttempts times is parked.
+ */
+@Component
+public class NotificationOutboxDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private final NotificationOutboxBatchWriter batchWriter;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamHub streamHub;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationOutboxDispatcher(
+            NotificationOutboxBatchWriter batchWriter,
+            UnreadNotificationCounter unreadCounter,
+            NotificationStreamHub streamHub,
+            @Value("${app.notifications.outbox.batch-size:200}") int batchSize,
+            @Value("${app.notifications.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${app.notifications.outbox.retention-hours:24}") long retentionHours
+    ) {
+        this.batchWriter = batchWriter;
+        this.unreadCounter = unreadCounter;
+        this.streamHub = streamHub;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Queues a drain unless one is already waiting to run.
+     */
+    public void wakeUp() {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                drainQueued.set(false);
+                try {
+                    drain();
+                } catch (RuntimeException e) {
+                    // Entries stay pending; the next poll retries them
+                    log.warn("Notification outbox dispatch failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-ms:2000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Dispatches batches until the outbox is empty. Returns the number of entries read.
+     */
+    public synchronized int drain() {
+        int total = 0;
+        DispatchedBatch batch;
+        do {
+            try {
+                batch = batchWriter.dispatchBatch(batchSize);
+            } catch (OutboxDispatchException e) {
+                batch = dispatchOneByOne(e.getEntryIds());
+            }
+            countDelivered(batch);
+            streamHub.publish(batch.delivered());
+            total += batch.read();
+        } while (batch.read() == batchSize && batch.delivered().size() == batch.read());
+
+        if (total > 0) {
+            log.debug("Dispatched {} outbox notifications", total);
+        }
+        return total;
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.notifications.outbox.prune-ms:3600000}",
+            fixedDelayString = "${app.notifications.outbox.prune-ms:3600000}"
+    )
+    public int prune() {
+        int removed = batchWriter.deleteDispatchedBefore(Instant.now().minus(retention));
+        if (removed > 0) {
+            log.info("Pruned {} dispatched outbox notifications", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Lets a queued drain finish; anything left is dispatched after restart.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        worker.shutdown();
+        if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Notification outbox dispatch still running at shutdown");
+            worker.shutdownNow();
+        }
+    }
+
+    private DispatchedBatch dispatchOneByOne(List<Long> entryIds) {
+        List<DeliveredNotification> delivered = new ArrayList<>(entryIds.size());
+        for (Long entryId : entryIds) {
+            try {
+                delivered.addAll(batchWriter.dispatchEntry(entryId).delivered());
+            } catch (OutboxDispatchException e) {
+                String error = e.getCause().getMessage();
+                if (batchWriter.recordFailure(entryId, error, maxAttempts)) {
+                    log.error("Parked notification outbox entry {} after {} failed attempts: {}", entryId, maxAttempts, error);
+                } else {
+                    log.warn("Notification outbox entry {} failed, will retry: {}", entryId, error);
+                }
+            }
+        }
+        return new DispatchedBatch(entryIds.size(), delivered);
+    }
+
+    /**
+     * Runs after the batch transaction has committed, so readers never count
+     * a notification they cannot list yet.
+     */
+    private void countDelivered(DispatchedBatch batch) {
+        Map<UUID, Long> deliveredPerUser = new HashMap<>();
+        for (DeliveredNotification notification : batch.delivered()) {
+            deliveredPerUser.merge(notification.userId(), 1L, Long::sum);
+        }
+        deliveredPerUser.forEach(unreadCounter::add);
+    }
+}
@@ -1,38 +1,42 @@
 package com.educator.notification.service;
 
-import com.educator.notification.entity.Notification;
+import com.educator.common.transaction.AfterCommit;
+import com.educator.notification.entity.NotificationOutboxEntry;
 import com.educator.notification.entity.NotificationType;
-import com.educator.notification.enums.NotificationStatus;
-import com.educator.notification.repository.NotificationRepository;
+import com.educator.notification.repository.NotificationOutboxRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
+/**
+ * Records learner notifications in the outbox as part of the caller's
+ * transaction. {@link NotificationOutboxDispatcher} writes the actual
+ * notification rows once that transaction has committed.
+ */
 @Service
 public class NotificationPersistenceService {
 
-    private final NotificationRepository notificationRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxDispatcher outboxDispatcher;
 
-    public NotificationPersistenceService(NotificationRepository notificationRepository) {
-        this.notificationRepository = notificationRepository;
+    public NotificationPersistenceService(
+            NotificationOutboxRepository outboxRepository,
+            NotificationOutboxDispatcher outboxDispatcher
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.outboxDispatcher = outboxDispatcher;
     }
 
     @Transactional
-    public Notification persist(UUID userId,
-                                NotificationType type,
-                                String title,
-                                String message) {
+    public void persist(UUID userId,
+                        NotificationType type,
+                        String title,
+                        String message) {
 
-        Notification notification = new Notification();
-        notification.setUserId(userId);
-        notification.setType(type);
-        notification.setTitle(title);
-        notification.setMessage(message);
-        notification.setStatus(NotificationStatus.PERSISTED);
-        notification.setRead(false);
+        outboxRepository.save(new NotificationOutboxEntry(userId, type, title, message));
 
-        return notificationRepository.save(notification);
+        AfterCommit.run(outboxDispatcher::wakeUp);
     }
 
     // B3.1
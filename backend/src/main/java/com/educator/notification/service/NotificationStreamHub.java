@@ -0,0 +1,258 @@
+package com.educator.notification.service;
+
+import com.educator.notification.dto.NotificationPushEvent;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.DeliveredNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out of notification events to connected learners over SSE.
+ *
+ * Every connection is an async {@link SseEmitter}; an idle one holds no
+ * thread, only the emitter and an empty queue. Publishing only enqueues, and
+ * a small sender pool writes each connection's queue in order. A connection
+ * whose queue overflows is closed, so the client reconnects and re-lists
+ * instead of silently missing events.
+ *
+ * The hub is node-local: a notification reaches the streams held by the node
+ * whose outbox dispatcher delivered it, and "unread-count" events follow
+ * reads made on the same node. With several nodes a client must not rely on
+ * the stream alone; it keeps polling GET /unread-count (the learner UI does
+ * every 30 seconds) and re-lists when the count changes. A stream never
+ * outlives the access token it was opened with.
+ */
+@Component
+public class NotificationStreamHub implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamHub.class);
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int maxConnectionsPerUser;
+
+    private final Map<UUID, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender;
+
+    public NotificationStreamHub(
+            UnreadNotificationCounter unreadCounter,
+            @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.notifications.stream.queue-capacity:32}") int queueCapacity,
+            @Value("${app.notifications.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${app.notifications.stream.sender-threads:2}") int senderThreads
+    ) {
+        this.unreadCounter = unreadCounter;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream for the user, closed no later than {@code notAfter} (the
+     * access token's expiry; null for none). The current unread count is the
+     * first event.
+     */
+    public SseEmitter subscribe(UUID userId, Instant notAfter) {
+        long timeout = timeoutMillis;
+        if (notAfter != null) {
+            timeout = Math.max(1L, Math.min(timeout, notAfter.toEpochMilli() - System.currentTimeMillis()));
+        }
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        // Atomic with remove(): a set emptied concurrently is never reused after it left the map
+        Set<Subscriber> subscribers = subscribersByUser.compute(userId, (id, existing) -> {
+            Set<Subscriber> set = existing != null ? existing : new CopyOnWriteArraySet<>();
+            set.add(subscriber);
+            return set;
+        });
+        connections.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Oldest connections of this user go first
+        List<Subscriber> open = List.copyOf(subscribers);
+        for (int i = 0; i < open.size() - maxConnectionsPerUser; i++) {
+            open.get(i).close();
+        }
+
+        subscriber.offer(unreadCountEvent(unreadCounter.get(userId)));
+        return emitter;
+    }
+
+    /**
+     * Pushes notifications that have just been committed to their recipients.
+     */
+    public void publish(List<DeliveredNotification> delivered) {
+        for (DeliveredNotification notification : delivered) {
+            Set<Subscriber> subscribers = subscribersByUser.get(notification.userId());
+            if (subscribers == null || subscribers.isEmpty()) {
+                continue;
+            }
+
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .name("notification")
+                    .id(notification.id().toString())
+                    .data(new NotificationPushEvent(
+                            notification.id(),
+                            notification.type(),
+                            notification.title(),
+                            notification.message(),
+                            notification.createdAt(),
+                            unreadCounter.get(notification.userId())
+                    ));
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    /**
+     * Pushes the user's current unread count, e.g. after notifications were read elsewhere.
+     */
+    public void publishUnreadCount(UUID userId) {
+        Set<Subscriber> subscribers = subscribersByUser.get(userId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        SseEmitter.SseEventBuilder event = unreadCountEvent(unreadCounter.get(userId));
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds dead ones.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        SseEmitter.SseEventBuilder ping = SseEmitter.event().comment("ping");
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(ping)));
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        sender.shutdown();
+        if (!sender.awaitTermination(5, TimeUnit.SECONDS)) {
+            sender.shutdownNow();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            removed[0] = subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed[0]) {
+            connections.decrementAndGet();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder unreadCountEvent(long unreadCount) {
+        return SseEmitter.event().name("unread-count").data(Map.of("unreadCount", unreadCount));
+    }
+
+    private final class Subscriber {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>(4);
+        private boolean sending;
+        private boolean closed;
+
+        Subscriber(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= queueCapacity) {
+                    log.debug("Notification stream of user {} fell behind; closing it", userId);
+                    close();
+                    return;
+                }
+                queue.add(event);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = queue.poll();
+                    if (event == null || closed) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the emitter callbacks may not fire for a write failure
+                    close();
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+            }
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.educator.notification.service;
+
+import com.educator.common.cache.BoundedMap;
+import com.educator.notification.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded cache of unread notification counts per user.
+ *
+ * A miss loads the count from the database once; after that, delivery and
+ * markRead adjust the cached value in place once their transaction has
+ * committed. Entries expire so that changes made on other nodes are picked
+ * up, and a load is discarded if that user's count changed while it was
+ * running.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final long ttlMillis;
+    private final BoundedMap<UUID, CachedCount> countsByUser;
+
+    public UnreadNotificationCounter(
+            NotificationRepository notificationRepository,
+            @Value("${app.notifications.unread-count.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.notifications.unread-count.max-entries:50000}") int maxEntries
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.countsByUser = new BoundedMap<>(maxEntries, cached -> cached.isExpired(System.currentTimeMillis()));
+    }
+
+    public long get(UUID userId) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = countsByUser.get(userId);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.count().get();
+        }
+
+        // A delta applied while loading may or may not be in the loaded value
+        long observedGeneration = countsByUser.generation(userId);
+        long loaded = notificationRepository.countByUserIdAndReadFalse(userId);
+        countsByUser.putIfCurrent(userId, new CachedCount(new AtomicLong(loaded), now + ttlMillis), observedGeneration);
+        return loaded;
+    }
+
+    /**
+     * Adjusts a cached count; users without a live cached count are loaded on their next read.
+     */
+    public void add(UUID userId, long delta) {
+        CachedCount cached = countsByUser.get(userId);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            cached.count().accumulateAndGet(delta, (current, d) -> Math.max(0, current + d));
+        } else {
+            // Also fails a load of this user that may have missed the delta
+            countsByUser.invalidate(userId);
+        }
+    }
+
+    public void evict(UUID userId) {
+        countsByUser.invalidate(userId);
+    }
+
+    public int size() {
+        return countsByUser.size();
+    }
+
+    private record CachedCount(AtomicLong count, long expiresAtMillis) {
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.educator.profile;
 
+import com.educator.common.security.AuthenticatedIdentity;
 import com.educator.profile.dto.ChangePasswordRequest;
 import com.educator.profile.dto.ProfileResponse;
 import com.educator.profile.dto.UpdateProfileRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -23,31 +23,24 @@ public class LearnerProfileController {
     }
 
     @GetMapping
-    public ResponseEntity<ProfileResponse> getProfile(Authentication authentication) {
-        return ResponseEntity.ok(profileService.getProfile(resolveEmail(authentication)));
+    public ResponseEntity<ProfileResponse> getProfile(AuthenticatedIdentity identity) {
+        return ResponseEntity.ok(profileService.getProfile(identity));
     }
 
     @PutMapping
     public ResponseEntity<ProfileResponse> updateProfile(
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @Valid @RequestBody UpdateProfileRequest request
     ) {
-        return ResponseEntity.ok(profileService.updateProfile(resolveEmail(authentication), request.getEmail()));
+        return ResponseEntity.ok(profileService.updateProfile(identity, request.getEmail()));
     }
 
     @PutMapping("/password")
     public ResponseEntity<Void> changePassword(
-            Authentication authentication,
+            AuthenticatedIdentity identity,
             @Valid @RequestBody ChangePasswordRequest request
     ) {
-        profileService.changePassword(resolveEmail(authentication), request.getCurrentPassword(), request.getNewPassword());
+        profileService.changePassword(identity, request.getCurrentPassword(), request.getNewPassword());
         return ResponseEntity.noContent().build();
     }
-
-    private String resolveEmail(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null || authentication.getName().isBlank()) {
-            throw new IllegalArgumentException("Authenticated user email is required");
-        }
-        return authentication.getName();
-    }
 }
@@ -1,6 +1,8 @@
 package com.educator.profile;
 
+import com.educator.common.security.AuthenticatedIdentity;
 import com.educator.profile.dto.ProfileResponse;
+import com.educator.security.VerifiedTokenCache;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -15,20 +17,28 @@ public class ProfileService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public ProfileService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public ProfileService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            VerifiedTokenCache verifiedTokenCache
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
+    /**
+     * Served entirely from the authenticated identity; no user lookup.
+     */
     @Transactional(readOnly = true)
-    public ProfileResponse getProfile(String email) {
-        User user = getByEmailOrThrow(email);
-        return mapToProfileResponse(user);
+    public ProfileResponse getProfile(AuthenticatedIdentity identity) {
+        return new ProfileResponse(identity.userId(), identity.email(), identity.roles());
     }
 
-    public ProfileResponse updateProfile(String authenticatedEmail, String email) {
-        User user = getByEmailOrThrow(authenticatedEmail);
+    public ProfileResponse updateProfile(AuthenticatedIdentity identity, String email) {
+        User user = getByIdOrThrow(identity.userId());
 
         String normalizedEmail = email.trim().toLowerCase();
         if (!user.getEmail().equalsIgnoreCase(normalizedEmail)
@@ -36,28 +46,33 @@ public class ProfileService {
             throw new IllegalArgumentException("Email already registered");
         }
 
+        if (!user.getEmail().equals(normalizedEmail)) {
+            // Existing tokens carry the old email as subject
+            verifiedTokenCache.revoke(user);
+        }
         user.setEmail(normalizedEmail);
         User updated = userRepository.save(user);
         return mapToProfileResponse(updated);
     }
 
     public void changePassword(
-            String authenticatedEmail,
+            AuthenticatedIdentity identity,
             String currentPassword,
             String newPassword
     ) {
-        User user = getByEmailOrThrow(authenticatedEmail);
+        User user = getByIdOrThrow(identity.userId());
 
         if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        verifiedTokenCache.revoke(user);
         userRepository.save(user);
     }
 
-    private User getByEmailOrThrow(String email) {
-        return userRepository.findByEmail(email)
+    private User getByIdOrThrow(Long userId) {
+        return userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
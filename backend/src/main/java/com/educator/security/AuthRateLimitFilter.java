@@ -10,25 +10,27 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.OffsetDateTime;
-import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
 
+/**
+ * Rejects authentication requests over the client's budget with 429.
+ * Budgets are per route and per client IP; see {@link AuthRateLimiter}.
+ */
 @Component
 public class AuthRateLimitFilter extends OncePerRequestFilter {
 
     private static final int HTTP_STATUS_TOO_MANY_REQUESTS = 429;
-    private static final int MAX_REQUESTS_PER_WINDOW = 10;
-    private static final long WINDOW_MILLIS = 60_000L;
 
-    private final Map<String, Deque<Long>> requestHistoryByIp = new ConcurrentHashMap<>();
+    private final AuthRateLimiter rateLimiter;
+
+    public AuthRateLimitFilter(AuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-        return path == null || !path.startsWith("/api/auth/");
+        return !AuthRateLimiter.normalizePath(request.getRequestURI()).startsWith("/api/auth/");
     }
 
     @Override
@@ -37,23 +39,11 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        String clientIp = resolveClientIp(request);
-        long now = System.currentTimeMillis();
-        long windowStart = now - WINDOW_MILLIS;
-
-        Deque<Long> timestamps = requestHistoryByIp.computeIfAbsent(clientIp, key -> new ConcurrentLinkedDeque<>());
-
-        synchronized (timestamps) {
-            while (!timestamps.isEmpty() && timestamps.peekFirst() < windowStart) {
-                timestamps.pollFirst();
-            }
-
-            if (timestamps.size() >= MAX_REQUESTS_PER_WINDOW) {
-                writeRateLimitResponse(response, request);
-                return;
-            }
-
-            timestamps.addLast(now);
+        long retryAfterMillis = rateLimiter.tryAcquire(request.getRequestURI(), resolveClientIp(request));
+        if (retryAfterMillis > 0) {
+            response.setHeader("Retry-After", String.valueOf((retryAfterMillis + 999) / 1000));
+            writeRateLimitResponse(response, request);
+            return;
         }
 
         filterChain.doFilter(request, response);
@@ -62,7 +52,8 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
     private String resolveClientIp(HttpServletRequest request) {
         String forwardedFor = request.getHeader("X-Forwarded-For");
         if (forwardedFor != null && !forwardedFor.isBlank()) {
-            return forwardedFor.split(",")[0].trim();
+            int comma = forwardedFor.indexOf(',');
+            return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
         }
         return request.getRemoteAddr();
     }
@@ -76,7 +67,7 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
         error.put("status", HTTP_STATUS_TOO_MANY_REQUESTS);
         error.put("error", "Too Many Requests");
         error.put("code", "RATE_LIMIT_EXCEEDED");
-        error.put("message", "Too many authentication requests. Please try again in a minute.");
+        error.put("message", "Too many authentication requests. Please try again later.");
         error.put("path", request.getRequestURI());
 
         String json = String.format(
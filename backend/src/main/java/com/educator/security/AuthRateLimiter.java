@@ -0,0 +1,260 @@
+package com.educator.security;
+
+import com.educator.common.cache.BoundedMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Per-client token buckets for the authentication endpoints.
+ *
+ * Each bucket is a single "theoretical arrival time" (GCRA): a request is
+ * allowed while that time is at most capacity - 1 intervals in the future,
+ * and pushes it one interval further. That is a token bucket refilling one
+ * token per interval, updated with one CAS and no lock. A bucket whose
+ * arrival time has passed is indistinguishable from a new one, so idle
+ * buckets are dropped without losing anything.
+ *
+ * The number of tracked clients is capped, and a live bucket is never
+ * evicted: that would hand its client a fresh budget. Idle buckets are
+ * dropped by the scheduled sweep and, when the limiter fills up, by a trim
+ * on a background thread. New clients arriving while it is still full share
+ * one overflow bucket per route, so a flood of addresses is throttled as a
+ * whole instead of pushing out the clients being limited.
+ *
+ * Paths are normalized before the route lookup, so "/api/auth/login/" and
+ * other spellings of a route get that route's policy. Client keys that are
+ * not plain IP literals (the forwarded header is client-supplied) are
+ * replaced by their SHA-256 digest, so every key has a small fixed size.
+ *
+ * With app.security.rate-limit.distributed enabled, a request the local
+ * bucket allows must also fit the route's per-minute budget across all
+ * nodes; see {@link ClusterRateLimitWindows}.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final Pattern PATH_PARAMETERS = Pattern.compile(";[^/]*");
+    private static final Pattern REPEATED_SLASHES = Pattern.compile("/{2,}");
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f.:]+");
+
+    /** Longest textual IPv6 address (IPv4-mapped form). */
+    private static final int MAX_IP_LENGTH = 45;
+
+    private final Map<String, Policy> policiesByPath;
+    private final Policy defaultPolicy;
+    private final ClusterRateLimitWindows clusterWindows;
+    private final LongSupplier nanoClock;
+
+    private final BoundedMap<String, Bucket> buckets;
+    private final Counter overflows;
+
+    @Autowired
+    public AuthRateLimiter(
+            @Value("${app.security.rate-limit.login-per-minute:10}") int loginPerMinute,
+            @Value("${app.security.rate-limit.register-per-minute:5}") int registerPerMinute,
+            @Value("${app.security.rate-limit.reset-per-minute:3}") int resetPerMinute,
+            @Value("${app.security.rate-limit.default-per-minute:20}") int defaultPerMinute,
+            @Value("${app.security.rate-limit.max-keys:100000}") int maxKeys,
+            ObjectProvider<ClusterRateLimitWindows> clusterWindows,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(loginPerMinute, registerPerMinute, resetPerMinute, defaultPerMinute, maxKeys,
+                clusterWindows.getIfAvailable(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new), System::nanoTime);
+    }
+
+    AuthRateLimiter(
+            int loginPerMinute,
+            int registerPerMinute,
+            int resetPerMinute,
+            int defaultPerMinute,
+            int maxKeys,
+            ClusterRateLimitWindows clusterWindows,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock
+    ) {
+        long now = nanoClock.getAsLong();
+        Policy login = new Policy("login", loginPerMinute, meterRegistry, now);
+        Policy register = new Policy("register", registerPerMinute, meterRegistry, now);
+        Policy reset = new Policy("reset", resetPerMinute, meterRegistry, now);
+
+        Map<String, Policy> byPath = new LinkedHashMap<>();
+        byPath.put("/api/auth/login", login);
+        byPath.put("/api/auth/register", register);
+        byPath.put("/api/auth/reset-request", reset);
+        byPath.put("/api/auth/reset-confirm", reset);
+        this.policiesByPath = Map.copyOf(byPath);
+        this.defaultPolicy = new Policy("auth", defaultPerMinute, meterRegistry, now);
+        this.clusterWindows = clusterWindows;
+        this.nanoClock = nanoClock;
+        this.buckets = new BoundedMap<>(maxKeys, bucket -> bucket.isIdle(nanoClock.getAsLong()), false);
+
+        this.overflows = Counter.builder("auth.rate_limit.overflow")
+                .description("Requests of new clients metered on the shared overflow bucket because the limiter was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate_limit.keys", buckets, BoundedMap::size)
+                .description("Client buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token for the client on the route's policy. Returns 0 if the
+     * request may proceed, otherwise the milliseconds until it would.
+     */
+    public long tryAcquire(String path, String clientKey) {
+        Policy policy = policiesByPath.getOrDefault(normalizePath(path), defaultPolicy);
+        long now = nanoClock.getAsLong();
+
+        String key = policy.name + '|' + normalizeClientKey(clientKey);
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(now));
+        if (bucket == null) {
+            overflows.increment();
+            bucket = policy.overflow;
+        }
+
+        long waitNanos = bucket.tryAcquire(policy, now);
+        if (waitNanos > 0) {
+            policy.rejections.increment();
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+
+        if (clusterWindows != null) {
+            long clusterWaitMillis = clusterWindows.tryAcquire(key, policy.perMinute);
+            if (clusterWaitMillis > 0) {
+                policy.rejections.increment();
+                return clusterWaitMillis;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drops buckets that have fully refilled.
+     */
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.sweep-ms:60000}")
+    public void evictIdle() {
+        buckets.trim();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * The client key as given if it looks like an IP address, else its
+     * digest: at most 45 characters either way.
+     */
+    static String normalizeClientKey(String clientKey) {
+        if (clientKey == null) {
+            return "";
+        }
+        if (clientKey.length() <= MAX_IP_LENGTH && IP_LITERAL.matcher(clientKey).matches()) {
+            return clientKey;
+        }
+        return digest(clientKey);
+    }
+
+    /**
+     * Base64 SHA-256 of the value: 44 characters.
+     */
+    static String digest(String value) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * The route as the dispatcher resolves it: decoded, without path
+     * parameters, repeated or trailing slashes, lower case.
+     */
+    static String normalizePath(String path) {
+        if (path == null) {
+            return "";
+        }
+        String normalized = path;
+        try {
+            normalized = UriUtils.decode(normalized, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // Malformed escapes: match on the raw path
+        }
+        normalized = PATH_PARAMETERS.matcher(normalized).replaceAll("");
+        normalized = REPEATED_SLASHES.matcher(normalized).replaceAll("/");
+        if (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Policy {
+
+        private final String name;
+        private final int perMinute;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter rejections;
+        private final Bucket overflow;
+
+        Policy(String name, int perMinute, MeterRegistry meterRegistry, long now) {
+            int capacity = Math.max(1, perMinute);
+            this.name = name;
+            this.perMinute = capacity;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / capacity;
+            this.burstNanos = intervalNanos * (capacity - 1);
+            this.overflow = new Bucket(now);
+            this.rejections = Counter.builder("auth.rate_limit.rejected")
+                    .description("Authentication requests rejected by the rate limiter")
+                    .tag("route", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class Bucket {
+
+        /** Time at which the bucket is full again. */
+        private final AtomicLong arrivalNanos;
+
+        Bucket(long now) {
+            this.arrivalNanos = new AtomicLong(now);
+        }
+
+        long tryAcquire(Policy policy, long now) {
+            while (true) {
+                long arrival = arrivalNanos.get();
+                long base = arrival - now < 0 ? now : arrival;
+                long wait = base - now - policy.burstNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (arrivalNanos.compareAndSet(arrival, base + policy.intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isIdle(long now) {
+            return arrivalNanos.get() - now <= 0;
+        }
+    }
+}
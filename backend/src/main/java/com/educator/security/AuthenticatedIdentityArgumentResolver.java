@@ -0,0 +1,62 @@
+package com.educator.security;
+
+import com.educator.common.security.AuthenticatedIdentity;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Injects the {@link AuthenticatedIdentity} of the current request into controller methods.
+ *
+ * The identity normally comes straight from the {@link CustomUserDetails} principal
+ * set by {@link JwtAuthenticationFilter}; other authentication types fall back to
+ * the identity cache.
+ */
+@Component
+public class AuthenticatedIdentityArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final AuthenticatedIdentityCache identityCache;
+
+    public AuthenticatedIdentityArgumentResolver(AuthenticatedIdentityCache identityCache) {
+        this.identityCache = identityCache;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedIdentity.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public AuthenticatedIdentity resolveArgument(
+            MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory
+    ) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+
+        if (authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getIdentity();
+        }
+
+        return identityCache.resolve(authentication.getName())
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.UNAUTHORIZED,
+                        "Authenticated user not found"
+                ));
+    }
+}
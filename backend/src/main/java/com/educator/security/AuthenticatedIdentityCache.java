@@ -0,0 +1,109 @@
+package com.educator.security;
+
+import com.educator.common.cache.BoundedMap;
+import com.educator.common.security.AuthenticatedIdentity;
+import com.educator.users.User;
+import com.educator.users.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Short-lived, size-bounded cache of authenticated identities keyed by email.
+ *
+ * A warm entry lets the JWT filter authenticate a request without touching
+ * the users table. Each entry also carries the user's persisted token
+ * revocation cut-off, so roles and revocations changed on another node
+ * apply here once the entry's TTL runs out. Entries must be evicted whenever
+ * email or roles change; an eviction also discards any load of that email
+ * still in flight.
+ */
+@Component
+public class AuthenticatedIdentityCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+
+    private final BoundedMap<String, CachedIdentity> identitiesByEmail;
+
+    public AuthenticatedIdentityCache(
+            UserRepository userRepository,
+            @Value("${app.security.identity-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.security.identity-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.identitiesByEmail = new BoundedMap<>(maxEntries,
+                cached -> cached.expiresAtMillis() <= System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the identity for the email, loading it from the database on a cache miss.
+     */
+    public Optional<AuthenticatedIdentity> resolve(String email) {
+        return resolveWithRevocation(email).map(ResolvedIdentity::identity);
+    }
+
+    /**
+     * Identity plus the cut-off before which the user's tokens are rejected.
+     */
+    public Optional<ResolvedIdentity> resolveWithRevocation(String email) {
+        if (email == null || email.isBlank()) {
+            return Optional.empty();
+        }
+
+        String key = normalize(email);
+        long now = System.currentTimeMillis();
+
+        CachedIdentity cached = identitiesByEmail.get(key);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return Optional.of(cached.resolved());
+        }
+
+        long generation = identitiesByEmail.generation(key);
+        Optional<ResolvedIdentity> loaded = userRepository.findByEmail(email)
+                .map(user -> new ResolvedIdentity(AuthenticatedIdentity.from(user), user.getTokensValidAfter()));
+
+        loaded.ifPresentOrElse(
+                resolved -> identitiesByEmail.putIfCurrent(key, new CachedIdentity(resolved, now + ttlMillis), generation),
+                () -> identitiesByEmail.remove(key)
+        );
+        return loaded;
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            identitiesByEmail.invalidate(normalize(email));
+        }
+    }
+
+    public void evictUser(Long userId) {
+        if (userId != null) {
+            identitiesByEmail.invalidateIf(cached -> userId.equals(cached.resolved().identity().userId()));
+        }
+    }
+
+    public int size() {
+        return identitiesByEmail.size();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param tokensValidAfter tokens issued before this instant are revoked; null if none are
+     */
+    public record ResolvedIdentity(AuthenticatedIdentity identity, Instant tokensValidAfter) {
+
+        public boolean accepts(VerifiedJwt jwt) {
+            return User.acceptsTokenIssuedAt(tokensValidAfter, jwt.issuedAt());
+        }
+    }
+
+    private record CachedIdentity(ResolvedIdentity resolved, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.educator.security;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class AuthenticatedIdentityWebConfig implements WebMvcConfigurer {
+
+    private final AuthenticatedIdentityArgumentResolver authenticatedIdentityArgumentResolver;
+
+    public AuthenticatedIdentityWebConfig(AuthenticatedIdentityArgumentResolver authenticatedIdentityArgumentResolver) {
+        this.authenticatedIdentityArgumentResolver = authenticatedIdentityArgumentResolver;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(authenticatedIdentityArgumentResolver);
+    }
+}
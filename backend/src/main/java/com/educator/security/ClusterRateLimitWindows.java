@@ -0,0 +1,262 @@
+package com.educator.security;
+
+import com.educator.security.RateLimitCounterStore.WindowDelta;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Cluster-wide per-minute budgets for {@link AuthRateLimiter}.
+ *
+ * Requests never touch the database. Each node counts its own hits per key
+ * and minute and compares local pending hits plus the last known cluster
+ * total against the limit. A flush on this component's own thread adds the
+ * pending hits to {@link RateLimitCounterStore} in one batch and reads back
+ * the totals of every key active this minute. Totals are therefore up to
+ * one flush interval stale. A slow store never holds up the shared
+ * scheduler, and store statements carry a query timeout.
+ *
+ * If a flush fails, takes longer than the slow threshold, or is still
+ * running past it, the store is bypassed for a back-off period and only the
+ * per-node buckets apply. Local counts are kept meanwhile; hits a failed
+ * flush could not write are put back for the next one, unless the store
+ * rejected the data itself or their minute is already past, in which case
+ * retrying could never succeed or matter and they are dropped. Keys longer
+ * than the store column are stored by digest.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.rate-limit.distributed", havingValue = "true")
+public class ClusterRateLimitWindows implements DisposableBean {
+
+    static final long WINDOW_MILLIS = 60_000L;
+
+    /** Width of rate_limit_windows.limit_key. */
+    static final int MAX_KEY_LENGTH = 200;
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRateLimitWindows.class);
+
+    private final RateLimitCounterStore store;
+    private final long slowFlushMillis;
+    private final long backoffMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private volatile long bypassUntilMillis;
+    /** Start of the flush in progress, 0 when none is running. */
+    private volatile long flushStartedMillis;
+    private long purgedBefore;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public ClusterRateLimitWindows(
+            RateLimitCounterStore store,
+            @Value("${app.security.rate-limit.store-slow-ms:250}") long slowFlushMillis,
+            @Value("${app.security.rate-limit.store-backoff-ms:10000}") long backoffMillis,
+            @Value("${app.security.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${app.security.rate-limit.flush-ms:200}") long flushMillis,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(store, slowFlushMillis, backoffMillis, maxKeys,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new), System::currentTimeMillis);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    ClusterRateLimitWindows(
+            RateLimitCounterStore store,
+            long slowFlushMillis,
+            long backoffMillis,
+            int maxKeys,
+            MeterRegistry meterRegistry,
+            LongSupplier clock
+    ) {
+        this.store = store;
+        this.slowFlushMillis = slowFlushMillis;
+        this.backoffMillis = backoffMillis;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        meterRegistry.gauge("auth.rate_limit.store_bypassed", this, windows -> windows.isBypassed() ? 1 : 0);
+    }
+
+    /**
+     * Counts one hit for the key unless the cluster has used up the limit
+     * for this minute. Returns 0 if allowed, otherwise the milliseconds
+     * until the next minute. Always allows while the store is bypassed.
+     */
+    public long tryAcquire(String key, int limit) {
+        long now = clock.getAsLong();
+        if (isBypassed(now)) {
+            return 0;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = AuthRateLimiter.digest(key);
+        }
+
+        long index = now / WINDOW_MILLIS;
+        Window window = windows.get(key);
+        if (window == null || window.index != index) {
+            if (window == null && windows.size() >= maxKeys) {
+                // Untracked keys still get the per-node limit; the next flush drops past windows
+                return 0;
+            }
+            window = windows.compute(key, (k, existing) ->
+                    existing != null && existing.index == index ? existing : new Window(index));
+        }
+
+        while (true) {
+            int pending = window.pending.get();
+            if (window.clusterHits + window.inFlight + pending >= limit) {
+                return WINDOW_MILLIS - now % WINDOW_MILLIS;
+            }
+            if (window.pending.compareAndSet(pending, pending + 1)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Pushes pending hits and refreshes cluster totals for the current minute.
+     */
+    public synchronized void flush() {
+        long started = clock.getAsLong();
+        if (started < bypassUntilMillis) {
+            return;
+        }
+        long current = started / WINDOW_MILLIS;
+        flushStartedMillis = started;
+        try {
+            flush(started, current);
+        } finally {
+            flushStartedMillis = 0;
+        }
+    }
+
+    private void flush(long started, long current) {
+        List<WindowDelta> deltas = new ArrayList<>();
+        List<Window> flushed = new ArrayList<>();
+        Map<String, Window> active = new HashMap<>();
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            int hits = window.pending.getAndSet(0);
+            if (hits > 0 && window.index >= current - 1) {
+                // Still counted by tryAcquire until the refreshed totals include them
+                window.inFlight = hits;
+                deltas.add(new WindowDelta(entry.getKey(), window.index, hits));
+                flushed.add(window);
+            }
+            if (window.index == current) {
+                active.put(entry.getKey(), window);
+            }
+        }
+        // Hits of the previous minute may still be written; older ones no longer count anywhere
+        windows.values().removeIf(window -> window.index < current - 1
+                || window.index < current && window.pending.get() == 0);
+
+        try {
+            store.add(deltas);
+            if (!active.isEmpty()) {
+                Map<String, Integer> totals = store.counts(current, active.keySet());
+                active.forEach((key, window) -> window.clusterHits = totals.getOrDefault(key, 0));
+            }
+            flushed.forEach(window -> window.inFlight = 0);
+            if (purgedBefore < current - 1) {
+                store.deleteBefore(current - 1);
+                purgedBefore = current - 1;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // The same rows would be rejected again on every flush; the store itself is healthy
+            flushed.forEach(window -> window.inFlight = 0);
+            log.warn("Rate limit store rejected {} deltas; dropped: {}", deltas.size(), e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            // Written or not, the hits are counted again next time; over-counting only errs towards limiting
+            for (Window window : flushed) {
+                if (window.index >= current - 1) {
+                    window.pending.addAndGet(window.inFlight);
+                }
+                window.inFlight = 0;
+            }
+            bypass(started, "failed: " + e.getMessage());
+            return;
+        }
+
+        long elapsed = clock.getAsLong() - started;
+        if (elapsed > slowFlushMillis) {
+            bypass(started, "took " + elapsed + " ms");
+        }
+    }
+
+    public boolean isBypassed() {
+        return isBypassed(clock.getAsLong());
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+    }
+
+    private boolean isBypassed(long now) {
+        if (now < bypassUntilMillis) {
+            return true;
+        }
+        // A flush stuck on the store leaves the totals stale however long it blocks
+        long flushStarted = flushStartedMillis;
+        return flushStarted != 0 && now - flushStarted > slowFlushMillis;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Rate limit flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps the local windows and their pending hits; only the cluster totals,
+     * which can no longer be refreshed, are forgotten.
+     */
+    private void bypass(long now, String reason) {
+        bypassUntilMillis = now + backoffMillis;
+        windows.values().forEach(window -> window.clusterHits = 0);
+        log.warn("Rate limit store flush {}; using per-node limits for {} ms", reason, backoffMillis);
+    }
+
+    private static final class Window {
+
+        private final long index;
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile int clusterHits;
+        private volatile int inFlight;
+
+        Window(long index) {
+            this.index = index;
+        }
+    }
+}
@@ -1,43 +1,58 @@
 package com.educator.security;
 
+import com.educator.common.security.AuthenticatedIdentity;
 import com.educator.users.User;
-import com.educator.roles.Role;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 public class CustomUserDetails implements UserDetails {
 
+    /**
+     * Full entity, present only when the principal was built from a database load
+     * (e.g. username/password authentication). JWT-authenticated requests carry
+     * the identity alone.
+     */
     private final User user;
 
+    private final AuthenticatedIdentity identity;
+
     public CustomUserDetails(User user) {
         this.user = user;
+        this.identity = AuthenticatedIdentity.from(user);
+    }
+
+    public CustomUserDetails(AuthenticatedIdentity identity) {
+        this.user = null;
+        this.identity = identity;
     }
 
     public User getUser() {
         return user;
     }
 
+    public AuthenticatedIdentity getIdentity() {
+        return identity;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Set<Role> roles = user.getRoles();
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
+        return identity.roles().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
                 .collect(Collectors.toSet());
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return user == null ? null : user.getPassword();
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return identity.email();
     }
 
     @Override
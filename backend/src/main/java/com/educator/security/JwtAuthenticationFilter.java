@@ -1,7 +1,6 @@
 package com.educator.security;
 
-import com.educator.users.User;
-import com.educator.users.UserRepository;
+import com.educator.common.security.AuthenticatedIdentity;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,14 +19,17 @@ import java.time.OffsetDateTime;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final AuthenticatedIdentityCache identityCache;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public JwtAuthenticationFilter(
             JwtUtil jwtUtil,
-            UserRepository userRepository
+            AuthenticatedIdentityCache identityCache,
+            VerifiedTokenCache verifiedTokenCache
     ) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.identityCache = identityCache;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
@@ -46,22 +48,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        if (!jwtUtil.validateToken(token)) {
-            writeUnauthorizedJson(response, request, "Invalid or expired JWT token");
-            return;
-        }
+        // Warm path: token already verified and resolved on an earlier request
+        AuthenticatedIdentity identity = verifiedTokenCache.get(token).orElse(null);
 
-        String email = jwtUtil.extractEmail(token);
+        if (identity == null) {
+            VerifiedJwt jwt = jwtUtil.verify(token).orElse(null);
 
-        User user = userRepository.findByEmail(email)
-                .orElse(null);
+            if (jwt == null) {
+                writeUnauthorizedJson(response, request, "Invalid or expired JWT token");
+                return;
+            }
 
-        if (user == null) {
-            writeUnauthorizedJson(response, request, "User not found");
-            return;
+            // Roles come from the user, not the token's claims, so role changes and revocations apply
+            AuthenticatedIdentityCache.ResolvedIdentity resolved =
+                    identityCache.resolveWithRevocation(jwt.subject()).orElse(null);
+
+            if (resolved == null) {
+                writeUnauthorizedJson(response, request, "User not found");
+                return;
+            }
+
+            if (!resolved.accepts(jwt)) {
+                writeUnauthorizedJson(response, request, "Token has been revoked");
+                return;
+            }
+
+            identity = resolved.identity();
+
+            verifiedTokenCache.put(token, jwt, identity);
         }
 
-        CustomUserDetails customUserDetails = new CustomUserDetails(user);
+        CustomUserDetails customUserDetails = new CustomUserDetails(identity);
 
         UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(
@@ -2,6 +2,7 @@ package com.educator.security;
 
 import com.educator.users.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,20 +12,32 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
+    static final String ROLES_CLAIM = "roles";
+    static final String USER_ID_CLAIM = "uid";
+
     private final SecretKey secretKey;
     private final long expirationMs;
 
+    /**
+     * Parsers are immutable and thread-safe, so one instance is shared by all requests.
+     */
+    private final JwtParser parser;
+
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration-ms}") long expirationMs
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
     }
 
     public String generateToken(User user) {
@@ -34,43 +47,69 @@ public class JwtUtil {
                 .map(role -> role.getName())   // produces "ADMIN"
                 .collect(Collectors.toList());
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
                 .setSubject(user.getEmail())
-                .claim("roles", roles)
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(
                         new Date(System.currentTimeMillis() + expirationMs)
-                )
+                );
+
+        if (user.getId() != null) {
+            builder.claim(USER_ID_CLAIM, user.getId());
+        }
+
+        return builder
                 .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies signature and expiry with a single parse and returns all claims the
+     * application uses. Empty when the token is invalid or expired.
+     */
+    public Optional<VerifiedJwt> verify(String token) {
+        Claims claims;
         try {
-            parseClaims(token);
-            return true;
+            claims = parseClaims(token);
         } catch (Exception ex) {
-            return false;
+            return Optional.empty();
         }
+
+        Object uid = claims.get(USER_ID_CLAIM);
+
+        return Optional.of(new VerifiedJwt(
+                claims.getSubject(),
+                uid instanceof Number number ? number.longValue() : null,
+                toRoleNames(claims.get(ROLES_CLAIM)),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        ));
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 
     public String extractEmail(String token) {
         return parseClaims(token).getSubject();
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token) {
-        Object roles = parseClaims(token).get("roles");
-        return ((List<?>) roles)
-                .stream()
+        return toRoleNames(parseClaims(token).get(ROLES_CLAIM));
+    }
+
+    private static List<String> toRoleNames(Object roles) {
+        if (!(roles instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
                 .map(Object::toString)
                 .collect(Collectors.toList());
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
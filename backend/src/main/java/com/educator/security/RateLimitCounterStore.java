@@ -0,0 +1,111 @@
+package com.educator.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared per-minute request counters in the rate_limit_windows table.
+ *
+ * PostgreSQL adds deltas with INSERT ... ON CONFLICT DO UPDATE; other
+ * databases (H2 in tests) use the equivalent standard MERGE. Every statement
+ * runs with a query timeout, so a locked or overloaded table fails the flush
+ * instead of blocking it.
+ */
+@Repository
+public class RateLimitCounterStore {
+
+    private static final String UPSERT_POSTGRES = """
+            INSERT INTO rate_limit_windows (limit_key, window_start, hits)
+            VALUES (?, ?, ?)
+            ON CONFLICT (limit_key, window_start)
+            DO UPDATE SET hits = rate_limit_windows.hits + EXCLUDED.hits
+            """;
+
+    private static final String UPSERT_STANDARD = """
+            MERGE INTO rate_limit_windows target
+            USING (VALUES (CAST(? AS VARCHAR(200)), CAST(? AS BIGINT), CAST(? AS INTEGER)))
+                AS incoming (limit_key, window_start, hits)
+            ON target.limit_key = incoming.limit_key AND target.window_start = incoming.window_start
+            WHEN MATCHED THEN UPDATE SET hits = target.hits + incoming.hits
+            WHEN NOT MATCHED THEN INSERT (limit_key, window_start, hits)
+                VALUES (incoming.limit_key, incoming.window_start, incoming.hits)
+            """;
+
+    private static final int READ_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsert;
+
+    public RateLimitCounterStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.security.rate-limit.store-timeout-seconds:1}") int queryTimeoutSeconds
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+    }
+
+    /**
+     * Adds every delta in one JDBC batch.
+     */
+    public void add(List<WindowDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsertStatement(), deltas, deltas.size(), (ps, delta) -> {
+            ps.setString(1, delta.key());
+            ps.setLong(2, delta.window());
+            ps.setInt(3, delta.hits());
+        });
+    }
+
+    /**
+     * Cluster-wide hits of the given keys in one window; keys without a row are absent.
+     */
+    public Map<String, Integer> counts(long window, Collection<String> keys) {
+        Map<String, Integer> counts = new HashMap<>();
+        List<String> all = List.copyOf(keys);
+        for (int from = 0; from < all.size(); from += READ_CHUNK) {
+            List<String> chunk = all.subList(from, Math.min(all.size(), from + READ_CHUNK));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = window;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query(
+                    "SELECT limit_key, hits FROM rate_limit_windows WHERE window_start = ? AND limit_key IN (" + placeholders + ")",
+                    rs -> {
+                        counts.put(rs.getString("limit_key"), rs.getInt("hits"));
+                    },
+                    args
+            );
+        }
+        return counts;
+    }
+
+    public int deleteBefore(long window) {
+        return jdbcTemplate.update("DELETE FROM rate_limit_windows WHERE window_start < ?", window);
+    }
+
+    private String upsertStatement() {
+        String statement = upsert;
+        if (statement == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            statement = "PostgreSQL".equalsIgnoreCase(product) ? UPSERT_POSTGRES : UPSERT_STANDARD;
+            upsert = statement;
+        }
+        return statement;
+    }
+
+    public record WindowDelta(String key, long window, int hits) {
+    }
+}
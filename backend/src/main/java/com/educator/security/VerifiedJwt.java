@@ -0,0 +1,26 @@
+package com.educator.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable result of a single signature-checked parse of a JWT.
+ *
+ * @param subject   user email
+ * @param userId    database id from the {@code uid} claim; null for tokens issued before it existed
+ * @param roles     role names from the {@code roles} claim
+ * @param issuedAt  {@code iat}
+ * @param expiresAt {@code exp}
+ */
+public record VerifiedJwt(
+        String subject,
+        Long userId,
+        List<String> roles,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public VerifiedJwt {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
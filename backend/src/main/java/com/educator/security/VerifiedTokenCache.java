@@ -0,0 +1,115 @@
+package com.educator.security;
+
+import com.educator.common.cache.BoundedMap;
+import com.educator.common.security.AuthenticatedIdentity;
+import com.educator.common.transaction.AfterCommit;
+import com.educator.users.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Size-bounded cache of already verified JWTs, keyed by a SHA-256 digest of the token.
+ *
+ * A hit skips both signature verification and the user lookup. Entries live
+ * for a short TTL and never outlive the token's {@code exp}.
+ *
+ * Revocation is persisted on the user ({@link User#revokeIssuedTokens}) and
+ * checked whenever a token is verified, against the identity loaded through
+ * {@link AuthenticatedIdentityCache}. The revoking node drops its cached
+ * entries at once; every other node stops accepting the user's old tokens,
+ * and picks up changed roles, within the two caches' TTLs (30 seconds each
+ * by default).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final AuthenticatedIdentityCache identityCache;
+    private final long ttlMillis;
+
+    private final BoundedMap<String, CachedToken> tokensByDigest;
+
+    public VerifiedTokenCache(
+            AuthenticatedIdentityCache identityCache,
+            @Value("${app.security.token-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.security.token-cache.max-entries:20000}") int maxEntries
+    ) {
+        this.identityCache = identityCache;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.tokensByDigest = new BoundedMap<>(maxEntries,
+                cached -> cached.expiresAtMillis() <= System.currentTimeMillis());
+    }
+
+    public Optional<AuthenticatedIdentity> get(String token) {
+        String digest = digest(token);
+        CachedToken cached = tokensByDigest.get(digest);
+        if (cached == null) {
+            return Optional.empty();
+        }
+
+        if (cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            tokensByDigest.remove(digest, cached);
+            return Optional.empty();
+        }
+        return Optional.of(cached.identity());
+    }
+
+    public void put(String token, VerifiedJwt jwt, AuthenticatedIdentity identity) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        if (jwt.expiresAt() != null) {
+            expiresAt = Math.min(expiresAt, jwt.expiresAt().toEpochMilli());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        tokensByDigest.put(digest(token), new CachedToken(identity, expiresAt));
+    }
+
+    /**
+     * Revocation hook, called before the user is saved: stamps the user so
+     * every token issued so far is rejected on all nodes, and drops this
+     * node's cached tokens and identity for the user now and after commit.
+     * Called when roles, email or password change.
+     */
+    public void revoke(User user) {
+        if (user == null) {
+            return;
+        }
+
+        user.revokeIssuedTokens(Instant.now());
+
+        Long userId = user.getId();
+        String email = user.getEmail();
+        AfterCommit.runNowAndAfterCommit(() -> {
+            tokensByDigest.invalidateIf(cached -> userId != null
+                    ? userId.equals(cached.identity().userId())
+                    : cached.identity().email().equalsIgnoreCase(email));
+            identityCache.evict(email);
+            identityCache.evictUser(userId);
+        });
+    }
+
+    public int size() {
+        return tokensByDigest.size();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedToken(AuthenticatedIdentity identity, long expiresAtMillis) {
+    }
+}
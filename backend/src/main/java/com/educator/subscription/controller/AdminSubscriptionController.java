@@ -6,6 +6,7 @@ import com.educator.subscription.entity.SubscriptionPlanExam;
 import com.educator.subscription.repository.SubscriptionPlanCourseRepository;
 import com.educator.subscription.repository.SubscriptionPlanExamRepository;
 import com.educator.subscription.repository.SubscriptionPlanRepository;
+import com.educator.subscription.service.SubscriptionPlanContentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +20,7 @@ public class AdminSubscriptionController {
     private final SubscriptionPlanRepository planRepository;
     private final SubscriptionPlanCourseRepository planCourseRepository;
     private final SubscriptionPlanExamRepository planExamRepository;
+    private final SubscriptionPlanContentService planContentService;
 
     // ─────────────────────────────────────────────
     // Basic Plan Management
@@ -74,28 +76,13 @@ public class AdminSubscriptionController {
     @PostMapping("/{planId}/courses/{courseId}")
     public void attachCourse(@PathVariable UUID planId,
                              @PathVariable Long courseId) {
-
-        if (!planRepository.existsById(planId)) {
-            throw new IllegalArgumentException("Plan not found");
-        }
-
-        boolean exists = planCourseRepository.existsByPlanIdAndCourseId(planId, courseId);
-
-        if (!exists) {
-            SubscriptionPlanCourse mapping = SubscriptionPlanCourse.builder()
-                    .planId(planId)
-                    .courseId(courseId)
-                    .build();
-
-            planCourseRepository.save(mapping);
-        }
+        planContentService.attachCourse(planId, courseId);
     }
 
     @DeleteMapping("/{planId}/courses/{courseId}")
     public void removeCourse(@PathVariable UUID planId,
                              @PathVariable Long courseId) {
-
-        planCourseRepository.deleteByPlanIdAndCourseId(planId, courseId);
+        planContentService.removeCourse(planId, courseId);
     }
 
     // ─────────────────────────────────────────────
@@ -105,27 +92,12 @@ public class AdminSubscriptionController {
     @PostMapping("/{planId}/exams/{examId}")
     public void attachExam(@PathVariable UUID planId,
                            @PathVariable UUID examId) {
-
-        if (!planRepository.existsById(planId)) {
-            throw new IllegalArgumentException("Plan not found");
-        }
-
-        boolean exists = planExamRepository.existsByPlanIdAndExamId(planId, examId);
-
-        if (!exists) {
-            SubscriptionPlanExam mapping = SubscriptionPlanExam.builder()
-                    .planId(planId)
-                    .examId(examId)
-                    .build();
-
-            planExamRepository.save(mapping);
-        }
+        planContentService.attachExam(planId, examId);
     }
 
     @DeleteMapping("/{planId}/exams/{examId}")
     public void removeExam(@PathVariable UUID planId,
                            @PathVariable UUID examId) {
-
-        planExamRepository.deleteByPlanIdAndExamId(planId, examId);
+        planContentService.removeExam(planId, examId);
     }
 }
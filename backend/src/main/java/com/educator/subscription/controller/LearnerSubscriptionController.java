@@ -26,7 +26,7 @@ public class LearnerSubscriptionController {
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         return paymentService.initiatePayment(
-                userDetails.getUser().getId(),
+                userDetails.getIdentity().userId(),
                 planId
         );
     }
@@ -36,7 +36,7 @@ public class LearnerSubscriptionController {
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         return subscriptionService.getUserSubscriptions(
-                userDetails.getUser().getId()
+                userDetails.getIdentity().userId()
         );
     }
 
@@ -45,7 +45,7 @@ public class LearnerSubscriptionController {
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         return paymentService.getPaymentHistory(
-                userDetails.getUser().getId()
+                userDetails.getIdentity().userId()
         );
     }
 }
@@ -15,5 +15,7 @@ public interface UserSubscriptionRepository extends JpaRepository<UserSubscripti
 
     List<UserSubscription> findByUserIdAndStatus(Long userId, SubscriptionStatus status);
 
+    List<UserSubscription> findByUserIdAndStatusAndExpiresAtAfter(Long userId, SubscriptionStatus status, LocalDateTime now);
+
     List<UserSubscription> findByStatusAndExpiresAtBefore(SubscriptionStatus status, LocalDateTime now);
 }
@@ -0,0 +1,123 @@
+package com.educator.subscription.service;
+
+import com.educator.common.cache.CacheVersionService;
+import com.educator.common.transaction.AfterCommit;
+import com.educator.subscription.repository.SubscriptionPlanCourseRepository;
+import com.educator.subscription.repository.SubscriptionPlanExamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+/**
+ * In-memory index of which courses and exams each subscription plan grants.
+ *
+ * Local attach/remove calls update the snapshot incrementally after commit.
+ * Every change also bumps a shared version row, which other nodes poll to
+ * detect that their snapshot is stale and reload it.
+ */
+@Component
+public class PlanContentIndex implements CommandLineRunner {
+
+    static final String CACHE_NAME = "subscription-plan-content";
+
+    private static final Logger log = LoggerFactory.getLogger(PlanContentIndex.class);
+
+    private final SubscriptionPlanCourseRepository planCourseRepository;
+    private final SubscriptionPlanExamRepository planExamRepository;
+    private final CacheVersionService cacheVersionService;
+
+    private volatile PlanContentSnapshot snapshot;
+
+    public PlanContentIndex(
+            SubscriptionPlanCourseRepository planCourseRepository,
+            SubscriptionPlanExamRepository planExamRepository,
+            CacheVersionService cacheVersionService
+    ) {
+        this.planCourseRepository = planCourseRepository;
+        this.planExamRepository = planExamRepository;
+        this.cacheVersionService = cacheVersionService;
+    }
+
+    @Override
+    public void run(String... args) {
+        reload();
+    }
+
+    /**
+     * Returns the current snapshot, loading it on first use.
+     */
+    public PlanContentSnapshot snapshot() {
+        PlanContentSnapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    public boolean containsCourse(UUID planId, long courseId) {
+        return snapshot().containsCourse(planId, courseId);
+    }
+
+    public boolean containsExam(UUID planId, UUID examId) {
+        return snapshot().containsExam(planId, examId);
+    }
+
+    public void courseAttached(UUID planId, Long courseId) {
+        recordChange(version -> snapshot().withCourse(version, planId, courseId, true));
+    }
+
+    public void courseRemoved(UUID planId, Long courseId) {
+        recordChange(version -> snapshot().withCourse(version, planId, courseId, false));
+    }
+
+    public void examAttached(UUID planId, UUID examId) {
+        recordChange(version -> snapshot().withExam(version, planId, examId, true));
+    }
+
+    public void examRemoved(UUID planId, UUID examId) {
+        recordChange(version -> snapshot().withExam(version, planId, examId, false));
+    }
+
+    /**
+     * Reloads the snapshot when another node has bumped the shared version.
+     */
+    @Scheduled(fixedDelayString = "${app.subscription.plan-index.poll-ms:30000}")
+    public void refreshIfStale() {
+        long stored = cacheVersionService.current(CACHE_NAME);
+        if (snapshot == null || snapshot.getVersion() != stored) {
+            reload();
+        }
+    }
+
+    public synchronized PlanContentSnapshot reload() {
+        long version = cacheVersionService.current(CACHE_NAME);
+        PlanContentSnapshot loaded = PlanContentSnapshot.build(
+                version,
+                planCourseRepository.findAll(),
+                planExamRepository.findAll()
+        );
+        snapshot = loaded;
+        log.debug("Loaded {}", loaded);
+        return loaded;
+    }
+
+    private void recordChange(LongFunction<PlanContentSnapshot> change) {
+        long version = cacheVersionService.increment(CACHE_NAME);
+        AfterCommit.run(() -> apply(version, change));
+    }
+
+    /**
+     * Applies an incremental change when it directly follows the local snapshot;
+     * otherwise some change was missed and the snapshot is reloaded instead.
+     */
+    private synchronized void apply(long version, LongFunction<PlanContentSnapshot> change) {
+        PlanContentSnapshot current = snapshot;
+        if (current != null && current.getVersion() == version - 1) {
+            snapshot = change.apply(version);
+        } else if (current == null || current.getVersion() < version) {
+            reload();
+        }
+    }
+}
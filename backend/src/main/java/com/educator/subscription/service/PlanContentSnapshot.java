@@ -0,0 +1,139 @@
+package com.educator.subscription.service;
+
+import com.educator.subscription.entity.SubscriptionPlanCourse;
+import com.educator.subscription.entity.SubscriptionPlanExam;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable view of every plan→course and plan→exam mapping.
+ *
+ * Course ids per plan are kept as a sorted primitive array. Mutations return
+ * a new snapshot that shares every untouched plan with the previous one, so
+ * readers never lock and writers only copy the plan they change.
+ */
+public final class PlanContentSnapshot {
+
+    public static final PlanContentSnapshot EMPTY = new PlanContentSnapshot(0L, Map.of(), Map.of());
+
+    private static final long[] NO_COURSES = new long[0];
+
+    private final long version;
+    private final Map<UUID, long[]> coursesByPlan;
+    private final Map<UUID, Set<UUID>> examsByPlan;
+
+    private PlanContentSnapshot(long version, Map<UUID, long[]> coursesByPlan, Map<UUID, Set<UUID>> examsByPlan) {
+        this.version = version;
+        this.coursesByPlan = coursesByPlan;
+        this.examsByPlan = examsByPlan;
+    }
+
+    public static PlanContentSnapshot build(
+            long version,
+            Collection<SubscriptionPlanCourse> courseMappings,
+            Collection<SubscriptionPlanExam> examMappings
+    ) {
+        Map<UUID, Set<Long>> courses = new HashMap<>();
+        for (SubscriptionPlanCourse mapping : courseMappings) {
+            courses.computeIfAbsent(mapping.getPlanId(), id -> new HashSet<>()).add(mapping.getCourseId());
+        }
+
+        Map<UUID, long[]> coursesByPlan = new HashMap<>();
+        courses.forEach((planId, ids) -> coursesByPlan.put(
+                planId,
+                ids.stream().mapToLong(Long::longValue).sorted().toArray()
+        ));
+
+        Map<UUID, Set<UUID>> exams = new HashMap<>();
+        for (SubscriptionPlanExam mapping : examMappings) {
+            exams.computeIfAbsent(mapping.getPlanId(), id -> new HashSet<>()).add(mapping.getExamId());
+        }
+
+        Map<UUID, Set<UUID>> examsByPlan = new HashMap<>();
+        exams.forEach((planId, ids) -> examsByPlan.put(planId, Set.copyOf(ids)));
+
+        return new PlanContentSnapshot(version, Map.copyOf(coursesByPlan), Map.copyOf(examsByPlan));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean containsCourse(UUID planId, long courseId) {
+        return Arrays.binarySearch(coursesOf(planId), courseId) >= 0;
+    }
+
+    public boolean containsExam(UUID planId, UUID examId) {
+        return examsOf(planId).contains(examId);
+    }
+
+    /**
+     * Sorted course ids of the plan. The array is shared and must not be modified.
+     */
+    long[] coursesOf(UUID planId) {
+        return coursesByPlan.getOrDefault(planId, NO_COURSES);
+    }
+
+    Set<UUID> examsOf(UUID planId) {
+        return examsByPlan.getOrDefault(planId, Set.of());
+    }
+
+    public PlanContentSnapshot withCourse(long newVersion, UUID planId, long courseId, boolean attached) {
+        long[] current = coursesOf(planId);
+        int index = Arrays.binarySearch(current, courseId);
+
+        long[] updated;
+        if (attached && index < 0) {
+            int insertAt = -index - 1;
+            updated = new long[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, insertAt);
+            updated[insertAt] = courseId;
+            System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+        } else if (!attached && index >= 0) {
+            updated = new long[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        } else {
+            updated = current;
+        }
+
+        Map<UUID, long[]> courses = new HashMap<>(coursesByPlan);
+        if (updated.length == 0) {
+            courses.remove(planId);
+        } else {
+            courses.put(planId, updated);
+        }
+        return new PlanContentSnapshot(newVersion, Map.copyOf(courses), examsByPlan);
+    }
+
+    public PlanContentSnapshot withExam(long newVersion, UUID planId, UUID examId, boolean attached) {
+        Set<UUID> updated = new HashSet<>(examsOf(planId));
+        if (attached) {
+            updated.add(examId);
+        } else {
+            updated.remove(examId);
+        }
+
+        Map<UUID, Set<UUID>> exams = new HashMap<>(examsByPlan);
+        if (updated.isEmpty()) {
+            exams.remove(planId);
+        } else {
+            exams.put(planId, Set.copyOf(updated));
+        }
+        return new PlanContentSnapshot(newVersion, coursesByPlan, Map.copyOf(exams));
+    }
+
+    @Override
+    public String toString() {
+        return "PlanContentSnapshot{version=" + version
+                + ", coursePlans=" + coursesByPlan.size()
+                + ", examPlans=" + examsByPlan.size()
+                + '}';
+    }
+}
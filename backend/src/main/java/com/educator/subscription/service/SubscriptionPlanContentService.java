@@ -0,0 +1,66 @@
+package com.educator.subscription.service;
+
+import com.educator.subscription.entity.SubscriptionPlanCourse;
+import com.educator.subscription.entity.SubscriptionPlanExam;
+import com.educator.subscription.repository.SubscriptionPlanCourseRepository;
+import com.educator.subscription.repository.SubscriptionPlanExamRepository;
+import com.educator.subscription.repository.SubscriptionPlanRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Attaches and removes plan courses and exams. Each mapping change and the
+ * {@link PlanContentIndex} version bump commit in the same transaction, so
+ * other nodes never see one without the other.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SubscriptionPlanContentService {
+
+    private final SubscriptionPlanRepository planRepository;
+    private final SubscriptionPlanCourseRepository planCourseRepository;
+    private final SubscriptionPlanExamRepository planExamRepository;
+    private final PlanContentIndex planContentIndex;
+
+    public void attachCourse(UUID planId, Long courseId) {
+        if (!planRepository.existsById(planId)) {
+            throw new IllegalArgumentException("Plan not found");
+        }
+
+        if (!planCourseRepository.existsByPlanIdAndCourseId(planId, courseId)) {
+            planCourseRepository.save(SubscriptionPlanCourse.builder()
+                    .planId(planId)
+                    .courseId(courseId)
+                    .build());
+            planContentIndex.courseAttached(planId, courseId);
+        }
+    }
+
+    public void removeCourse(UUID planId, Long courseId) {
+        planCourseRepository.deleteByPlanIdAndCourseId(planId, courseId);
+        planContentIndex.courseRemoved(planId, courseId);
+    }
+
+    public void attachExam(UUID planId, UUID examId) {
+        if (!planRepository.existsById(planId)) {
+            throw new IllegalArgumentException("Plan not found");
+        }
+
+        if (!planExamRepository.existsByPlanIdAndExamId(planId, examId)) {
+            planExamRepository.save(SubscriptionPlanExam.builder()
+                    .planId(planId)
+                    .examId(examId)
+                    .build());
+            planContentIndex.examAttached(planId, examId);
+        }
+    }
+
+    public void removeExam(UUID planId, UUID examId) {
+        planExamRepository.deleteByPlanIdAndExamId(planId, examId);
+        planContentIndex.examRemoved(planId, examId);
+    }
+}
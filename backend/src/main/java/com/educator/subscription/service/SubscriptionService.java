@@ -7,6 +7,7 @@ import com.educator.subscription.entity.UserSubscription;
 import com.educator.subscription.repository.SubscriptionPlanRepository;
 import com.educator.subscription.repository.UserSubscriptionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +21,7 @@ public class SubscriptionService {
 
     private final UserSubscriptionRepository userSubscriptionRepository;
     private final SubscriptionPlanRepository subscriptionPlanRepository;
+    private final UserEntitlementCache userEntitlementCache;
 
     /**
      * Activate subscription after successful payment
@@ -42,6 +44,7 @@ public class SubscriptionService {
                 .build();
 
         userSubscriptionRepository.save(subscription);
+        userEntitlementCache.evictUser(userId);
     }
 
     /**
@@ -69,6 +72,7 @@ public class SubscriptionService {
     /**
      * Expire subscriptions if needed
      */
+    @Scheduled(fixedDelayString = "${app.subscription.expiry-check-ms:300000}")
     @Transactional
     public void expireSubscriptionsIfNeeded() {
 
@@ -83,5 +87,10 @@ public class SubscriptionService {
         }
 
         userSubscriptionRepository.saveAll(expired);
+
+        expired.stream()
+                .map(UserSubscription::getUserId)
+                .distinct()
+                .forEach(userEntitlementCache::evictUser);
     }
 }
@@ -0,0 +1,86 @@
+package com.educator.subscription.service;
+
+import com.educator.common.cache.BoundedMap;
+import com.educator.common.transaction.AfterCommit;
+import com.educator.subscription.entity.SubscriptionStatus;
+import com.educator.subscription.repository.UserSubscriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user cache of subscription entitlements.
+ *
+ * Entries are dropped when a subscription is activated or expired.
+ * Invalidation runs immediately and again after the surrounding transaction
+ * commits. Entries also rebuild on their own once the earliest subscription
+ * in them expires or the {@link PlanContentIndex} moves to a new version.
+ */
+@Component
+public class UserEntitlementCache {
+
+    private final UserSubscriptionRepository userSubscriptionRepository;
+    private final PlanContentIndex planContentIndex;
+    private final long ttlMillis;
+
+    private final BoundedMap<Long, CachedEntitlements> entitlementsByUser;
+
+    public UserEntitlementCache(
+            UserSubscriptionRepository userSubscriptionRepository,
+            PlanContentIndex planContentIndex,
+            @Value("${app.subscription.entitlement-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.subscription.entitlement-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.userSubscriptionRepository = userSubscriptionRepository;
+        this.planContentIndex = planContentIndex;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entitlementsByUser = new BoundedMap<>(maxEntries,
+                cached -> cached.expiresAtMillis() <= System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the user's entitlements. A miss costs one subscription query;
+     * plan contents come from the in-memory {@link PlanContentIndex}.
+     */
+    public UserEntitlements get(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        long nowMillis = System.currentTimeMillis();
+        PlanContentSnapshot planContent = planContentIndex.snapshot();
+
+        CachedEntitlements cached = entitlementsByUser.get(userId);
+        if (cached != null
+                && cached.expiresAtMillis() > nowMillis
+                && !cached.entitlements().isStale(now)
+                && cached.entitlements().isBuiltFrom(planContent)) {
+            return cached.entitlements();
+        }
+
+        long generation = entitlementsByUser.generation(userId);
+        UserEntitlements built = UserEntitlements.from(
+                userSubscriptionRepository.findByUserIdAndStatusAndExpiresAtAfter(
+                        userId,
+                        SubscriptionStatus.ACTIVE,
+                        now
+                ),
+                planContent
+        );
+
+        entitlementsByUser.putIfCurrent(userId, new CachedEntitlements(built, nowMillis + ttlMillis), generation);
+        return built;
+    }
+
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        AfterCommit.runNowAndAfterCommit(() -> entitlementsByUser.invalidate(userId));
+    }
+
+    public int size() {
+        return entitlementsByUser.size();
+    }
+
+    private record CachedEntitlements(UserEntitlements entitlements, long expiresAtMillis) {
+    }
+}
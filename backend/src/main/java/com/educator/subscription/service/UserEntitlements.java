@@ -0,0 +1,164 @@
+package com.educator.subscription.service;
+
+import com.educator.subscription.entity.UserSubscription;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of what a user can reach through active subscriptions.
+ *
+ * Course ids live in an open-addressing long table and exam ids in a hash set,
+ * so both checks are constant-time and allocation-free. The snapshot is only
+ * valid until the earliest subscription expiry it was built from, and only
+ * for the {@link PlanContentSnapshot} version it was built against.
+ */
+public final class UserEntitlements {
+
+    private static final long EMPTY_SLOT = 0L;
+
+    private final long[] courseTable;
+    private final int courseMask;
+    private final boolean containsZeroCourse;
+    private final int courseCount;
+
+    private final Set<UUID> examIds;
+    private final Set<UUID> planIds;
+    private final LocalDateTime earliestExpiry;
+    private final long planContentVersion;
+
+    private UserEntitlements(
+            long[] courseTable,
+            boolean containsZeroCourse,
+            int courseCount,
+            Set<UUID> examIds,
+            Set<UUID> planIds,
+            LocalDateTime earliestExpiry,
+            long planContentVersion
+    ) {
+        this.courseTable = courseTable;
+        this.courseMask = courseTable.length - 1;
+        this.containsZeroCourse = containsZeroCourse;
+        this.courseCount = courseCount;
+        this.examIds = examIds;
+        this.planIds = planIds;
+        this.earliestExpiry = earliestExpiry;
+        this.planContentVersion = planContentVersion;
+    }
+
+    /**
+     * Builds a snapshot from the user's unexpired ACTIVE subscriptions and the plan contents.
+     */
+    public static UserEntitlements from(
+            Collection<UserSubscription> activeSubscriptions,
+            PlanContentSnapshot planContent
+    ) {
+        Set<Long> courses = new HashSet<>();
+        Set<UUID> exams = new HashSet<>();
+        Set<UUID> plans = new HashSet<>();
+        LocalDateTime earliest = null;
+
+        for (UserSubscription subscription : activeSubscriptions) {
+            UUID planId = subscription.getPlanId();
+            if (plans.add(planId)) {
+                for (long courseId : planContent.coursesOf(planId)) {
+                    courses.add(courseId);
+                }
+                exams.addAll(planContent.examsOf(planId));
+            }
+            if (earliest == null || subscription.getExpiresAt().isBefore(earliest)) {
+                earliest = subscription.getExpiresAt();
+            }
+        }
+
+        // Keep the table at most half full so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(4, courses.size() * 2 - 1)) << 1;
+        long[] table = new long[capacity];
+        boolean zero = false;
+        for (long courseId : courses) {
+            if (courseId == EMPTY_SLOT) {
+                zero = true;
+                continue;
+            }
+            int slot = mix(courseId) & (capacity - 1);
+            while (table[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = courseId;
+        }
+
+        return new UserEntitlements(
+                table,
+                zero,
+                courses.size(),
+                Set.copyOf(exams),
+                Set.copyOf(plans),
+                earliest,
+                planContent.getVersion()
+        );
+    }
+
+    public boolean includesCourse(long courseId) {
+        if (courseId == EMPTY_SLOT) {
+            return containsZeroCourse;
+        }
+        int slot = mix(courseId) & courseMask;
+        long current;
+        while ((current = courseTable[slot]) != EMPTY_SLOT) {
+            if (current == courseId) {
+                return true;
+            }
+            slot = (slot + 1) & courseMask;
+        }
+        return false;
+    }
+
+    public boolean includesExam(UUID examId) {
+        return examId != null && examIds.contains(examId);
+    }
+
+    public boolean isBuiltFrom(PlanContentSnapshot planContent) {
+        return planContentVersion == planContent.getVersion();
+    }
+
+    public boolean hasActiveSubscription(LocalDateTime now) {
+        return !planIds.isEmpty() && !isStale(now);
+    }
+
+    /**
+     * True once any subscription in the snapshot has expired; the snapshot
+     * must then be rebuilt because it may grant access it no longer should.
+     */
+    public boolean isStale(LocalDateTime now) {
+        return earliestExpiry != null && !now.isBefore(earliestExpiry);
+    }
+
+    public int getCourseCount() {
+        return courseCount;
+    }
+
+    public int getExamCount() {
+        return examIds.size();
+    }
+
+    public LocalDateTime getEarliestExpiry() {
+        return earliestExpiry;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "UserEntitlements{plans=" + planIds.size()
+                + ", courses=" + courseCount
+                + ", exams=" + examIds.size()
+                + ", earliestExpiry=" + earliestExpiry
+                + '}';
+    }
+}
@@ -3,6 +3,8 @@ package com.educator.users;
 import com.educator.roles.Role;
 import jakarta.persistence.*;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -28,6 +30,9 @@ public class User {
     )
     private Set<Role> roles = new HashSet<>();
 
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
     public User() {
     }
 
@@ -68,6 +73,27 @@ public class User {
         this.roles.add(role);
     }
 
+    public Instant getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
+    /**
+     * Rejects every token issued in an earlier second. {@code iat} has
+     * second precision, so a token issued in the same second as the
+     * revocation (a re-login right after a password change) stays valid.
+     */
+    public void revokeIssuedTokens(Instant now) {
+        this.tokensValidAfter = now.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    public boolean acceptsTokenIssuedAt(Instant issuedAt) {
+        return acceptsTokenIssuedAt(tokensValidAfter, issuedAt);
+    }
+
+    public static boolean acceptsTokenIssuedAt(Instant tokensValidAfter, Instant issuedAt) {
+        return tokensValidAfter == null || (issuedAt != null && !issuedAt.isBefore(tokensValidAfter));
+    }
+
     public boolean hasRole(String roleName) {
         return roles.stream().anyMatch(r -> r.getName().equals(roleName));
     }
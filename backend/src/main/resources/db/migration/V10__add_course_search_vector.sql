@@ -0,0 +1,12 @@
+-- Full-text search over course title (weight A) and description (weight B).
+-- The 'simple' configuration lowercases without stemming, since courses are
+-- written in several languages.
+ALTER TABLE public.courses
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title_en, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description_en, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_course_search_vector
+    ON public.courses USING GIN (search_vector);
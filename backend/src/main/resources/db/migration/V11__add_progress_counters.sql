@@ -0,0 +1,27 @@
+-- Denormalized progress counters, maintained incrementally by the application
+-- and repaired by the periodic reconciliation job.
+ALTER TABLE public.courses
+    ADD COLUMN IF NOT EXISTS lesson_count INT NOT NULL DEFAULT 0;
+
+ALTER TABLE public.enrollments
+    ADD COLUMN IF NOT EXISTS completed_lessons INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_lessons_snapshot INT NOT NULL DEFAULT 0;
+
+UPDATE public.courses c
+SET lesson_count = (
+    SELECT COUNT(*) FROM public.lessons l
+    WHERE l.course_id = c.id AND l.is_deleted = FALSE
+);
+
+UPDATE public.enrollments e
+SET total_lessons_snapshot = c.lesson_count,
+    completed_lessons = (
+        SELECT COUNT(*)
+        FROM public.lesson_progress p
+        JOIN public.lessons l ON l.id = p.lesson_id
+        WHERE p.enrollment_id = e.id
+          AND p.completed = TRUE
+          AND l.is_deleted = FALSE
+    )
+FROM public.courses c
+WHERE c.id = e.course_id;
@@ -0,0 +1,20 @@
+-- Notifications recorded by exam and certificate transactions. A background
+-- dispatcher copies pending rows into notifications in batches and stamps
+-- dispatched_at; dispatched rows are pruned after a retention period.
+CREATE TABLE IF NOT EXISTS public.notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id UUID NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    title VARCHAR(255),
+    message VARCHAR(1000),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    dispatched_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending
+    ON public.notification_outbox (id)
+    WHERE dispatched_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_dispatched_at
+    ON public.notification_outbox (dispatched_at)
+    WHERE dispatched_at IS NOT NULL;
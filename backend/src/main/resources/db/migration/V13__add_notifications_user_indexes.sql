@@ -0,0 +1,7 @@
+-- notifications had no index besides its primary key, so the unread count
+-- and the per-user listing both scanned the whole table.
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read
+    ON public.notifications (user_id, read);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created
+    ON public.notifications (user_id, created_at DESC, id DESC);
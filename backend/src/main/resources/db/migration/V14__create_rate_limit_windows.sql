@@ -0,0 +1,9 @@
+-- Per-minute request counters shared by all nodes when distributed auth rate
+-- limiting is enabled. Losing them on a crash only resets the current
+-- minute, so the table skips the WAL.
+CREATE UNLOGGED TABLE IF NOT EXISTS public.rate_limit_windows (
+    limit_key VARCHAR(200) NOT NULL,
+    window_start BIGINT NOT NULL,
+    hits INTEGER NOT NULL,
+    PRIMARY KEY (limit_key, window_start)
+);
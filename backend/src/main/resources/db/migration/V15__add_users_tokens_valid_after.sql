@@ -0,0 +1,4 @@
+-- Tokens issued before this instant are rejected on every node. Stamped
+-- when roles, email or password change; NULL means nothing was revoked.
+ALTER TABLE public.users
+    ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP(6) WITH TIME ZONE;
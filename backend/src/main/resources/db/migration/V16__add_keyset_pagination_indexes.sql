@@ -0,0 +1,13 @@
+-- Composite indexes matching the keyset order of each cursor listing, so a
+-- slice after a cursor is one index range read instead of a sort of every
+-- matching row.
+CREATE INDEX IF NOT EXISTS idx_certificates_user_created
+    ON public.certificates (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_enrollments_user_enrolled
+    ON public.enrollments (user_id, enrolled_at DESC, id DESC);
+
+-- The public catalog only lists live courses; difficulty/status filters are applied on the range
+CREATE INDEX IF NOT EXISTS idx_courses_catalog_created
+    ON public.courses (created_at DESC, id DESC)
+    WHERE is_deleted = false AND is_archived = false;
@@ -0,0 +1,14 @@
+-- Delivery failures per outbox entry. An entry that keeps failing is parked
+-- after a few attempts so it no longer holds up the rest of the outbox; it
+-- stays in the table with its last error for inspection.
+ALTER TABLE public.notification_outbox
+    ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS last_error VARCHAR(1000),
+    ADD COLUMN IF NOT EXISTS parked_at TIMESTAMP(6) WITH TIME ZONE;
+
+-- Entries that failed before are claimed after fresh ones
+DROP INDEX IF EXISTS public.idx_notification_outbox_pending;
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending
+    ON public.notification_outbox (attempts, id)
+    WHERE dispatched_at IS NULL AND parked_at IS NULL;
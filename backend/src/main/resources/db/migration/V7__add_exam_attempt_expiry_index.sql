@@ -0,0 +1,6 @@
+-- Supports the set-based expiry job, which filters IN_PROGRESS attempts by start time.
+CREATE INDEX IF NOT EXISTS idx_exam_attempts_status_started_at
+    ON public.exam_attempts (status, started_at);
+
+CREATE INDEX IF NOT EXISTS idx_exam_attempts_exam_id
+    ON public.exam_attempts (exam_id);
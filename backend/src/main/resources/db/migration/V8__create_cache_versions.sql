@@ -0,0 +1,11 @@
+-- Version counters for in-process caches. Writers bump the row in the same
+-- transaction as the change; other nodes poll it to detect stale snapshots.
+CREATE TABLE IF NOT EXISTS public.cache_versions (
+    name VARCHAR(100) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP
+);
+
+INSERT INTO public.cache_versions (name, version, updated_at)
+VALUES ('subscription-plan-content', 0, NOW())
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,22 @@
+-- Materialized path ("/1/5/12/") and depth for hierarchy nodes, so cycle and
+-- depth checks no longer walk parent links one query at a time.
+ALTER TABLE public.hierarchy_nodes ADD COLUMN IF NOT EXISTS path VARCHAR(1024);
+ALTER TABLE public.hierarchy_nodes ADD COLUMN IF NOT EXISTS depth_level INTEGER NOT NULL DEFAULT 0;
+
+WITH RECURSIVE tree AS (
+    SELECT id, '/' || id || '/' AS path, 0 AS depth_level
+    FROM public.hierarchy_nodes
+    WHERE parent_id IS NULL
+    UNION ALL
+    SELECT child.id, tree.path || child.id || '/', tree.depth_level + 1
+    FROM public.hierarchy_nodes child
+    JOIN tree ON child.parent_id = tree.id
+)
+UPDATE public.hierarchy_nodes node
+SET path = tree.path,
+    depth_level = tree.depth_level
+FROM tree
+WHERE node.id = tree.id;
+
+CREATE INDEX IF NOT EXISTS idx_hierarchy_path
+    ON public.hierarchy_nodes (path varchar_pattern_ops);
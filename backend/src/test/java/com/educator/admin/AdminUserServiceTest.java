@@ -2,6 +2,7 @@ package com.educator.admin;
 
 import com.educator.roles.Role;
 import com.educator.roles.RoleRepository;
+import com.educator.security.VerifiedTokenCache;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import com.educator.users.dto.AdminUserResponse;
@@ -36,6 +37,9 @@ class AdminUserServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private AdminUserService service;
 
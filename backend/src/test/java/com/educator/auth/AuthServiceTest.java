@@ -2,6 +2,7 @@ package com.educator.auth;
 
 import com.educator.roles.Role;
 import com.educator.roles.RoleRepository;
+import com.educator.security.VerifiedTokenCache;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,9 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -0,0 +1,69 @@
+package com.educator.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedMapTest {
+
+    @Test
+    void put_whenFull_skipsTheNewKeyAndTrimsOffTheCallerThread() {
+        List<Runnable> queued = new ArrayList<>();
+        BoundedMap<Integer, String> map = new BoundedMap<>(10, value -> value.startsWith("stale"), true, queued::add);
+        for (int i = 0; i < 10; i++) {
+            assertThat(map.put(i, i < 3 ? "stale-" + i : "live-" + i)).isTrue();
+        }
+
+        assertThat(map.put(10, "live-10")).isFalse();
+        assertThat(map.put(11, "live-11")).isFalse();
+        assertThat(map.put(5, "replaced")).isTrue();
+        assertThat(map.size()).isEqualTo(10);
+        assertThat(queued).hasSize(1);
+
+        queued.get(0).run();
+
+        assertThat(map.size()).isEqualTo(7);
+        assertThat(map.get(0)).isNull();
+        assertThat(map.liveEvictions()).isZero();
+        assertThat(map.put(10, "live-10")).isTrue();
+    }
+
+    @Test
+    void trim_dropsLiveEntriesOnlyWhenAllowed() {
+        BoundedMap<Integer, String> cache = new BoundedMap<>(10, value -> false, true, Runnable::run);
+        BoundedMap<Integer, String> limiter = new BoundedMap<>(10, value -> false, false, Runnable::run);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "live");
+            limiter.put(i, "live");
+        }
+
+        cache.trim();
+        limiter.trim();
+
+        assertThat(cache.size()).isEqualTo(9);
+        assertThat(cache.liveEvictions()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(10);
+        assertThat(limiter.computeIfAbsent(99, key -> "new")).isNull();
+    }
+
+    @Test
+    void putIfCurrent_discardsLoadsThatOverlappedAnInvalidation() {
+        BoundedMap<String, String> map = new BoundedMap<>(10, value -> false);
+
+        long before = map.generation("a");
+        map.invalidate("a");
+        assertThat(map.putIfCurrent("a", "old", before)).isFalse();
+
+        long unrelated = map.generation("a");
+        map.invalidate("b");
+        assertThat(map.putIfCurrent("a", "fresh", unrelated)).isTrue();
+
+        long beforeAll = map.generation("a");
+        map.invalidateIf(value -> false);
+        assertThat(map.putIfCurrent("a", "stale", beforeAll)).isFalse();
+        assertThat(map.get("a")).isEqualTo("fresh");
+    }
+}
@@ -0,0 +1,44 @@
+package com.educator.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuardedSnapshotTest {
+
+    @Test
+    void get_buildsOnceUntilInvalidated() {
+        AtomicInteger builds = new AtomicInteger();
+        GuardedSnapshot<Integer> snapshot = new GuardedSnapshot<>(builds::incrementAndGet);
+
+        assertThat(snapshot.get()).isEqualTo(1);
+        assertThat(snapshot.get()).isEqualTo(1);
+
+        snapshot.invalidate();
+
+        assertThat(snapshot.peek()).isNull();
+        assertThat(snapshot.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_doesNotPublishValueBuiltAcrossAnInvalidation() {
+        AtomicInteger builds = new AtomicInteger();
+        AtomicReference<GuardedSnapshot<Integer>> holder = new AtomicReference<>();
+        GuardedSnapshot<Integer> snapshot = new GuardedSnapshot<>(() -> {
+            int build = builds.incrementAndGet();
+            if (build == 1) {
+                holder.get().invalidate();
+            }
+            return build;
+        });
+        holder.set(snapshot);
+
+        assertThat(snapshot.get()).isEqualTo(1);
+        assertThat(snapshot.peek()).isNull();
+        assertThat(snapshot.get()).isEqualTo(2);
+        assertThat(snapshot.peek()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,55 @@
+package com.educator.common.pagination;
+
+import com.educator.common.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeDecode_roundTripsSortKeyAndId() {
+        Instant createdAt = Instant.parse("2024-05-01T10:15:30.123456Z");
+        UUID id = UUID.randomUUID();
+
+        String cursor = KeysetCursor.encode(createdAt, id);
+        String[] key = KeysetCursor.decode(cursor, 2);
+
+        assertThat(cursor).doesNotContain("|", "=", "+", "/");
+        assertThat(KeysetCursor.parse(key[0], Instant::parse)).isEqualTo(createdAt);
+        assertThat(KeysetCursor.parse(key[1], UUID::fromString)).isEqualTo(id);
+    }
+
+    @Test
+    void decode_rejectsForeignOrTamperedCursors() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> KeysetCursor.decode(KeysetCursor.encode(1L), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.parse("abc", Long::parseLong))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThat(KeysetCursor.isFirstPage("")).isTrue();
+        assertThat(KeysetCursor.isFirstPage(null)).isTrue();
+    }
+
+    @Test
+    void cursorPageOf_dropsLookaheadRowAndPointsCursorAtLastReturnedRow() {
+        CursorPage<Long> more = CursorPage.of(List.of(5L, 4L, 3L), 2, id -> KeysetCursor.encode(id), null);
+        CursorPage<Long> last = CursorPage.of(List.of(2L), 2, id -> KeysetCursor.encode(id), 5L);
+
+        assertThat(more.getContent()).containsExactly(5L, 4L);
+        assertThat(more.isHasMore()).isTrue();
+        assertThat(KeysetCursor.decode(more.getNextCursor(), 1)).containsExactly("4");
+        assertThat(more.getTotalElements()).isNull();
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(last.isHasMore()).isFalse();
+        assertThat(last.getTotalElements()).isEqualTo(5L);
+    }
+}
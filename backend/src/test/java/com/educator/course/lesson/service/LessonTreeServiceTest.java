@@ -0,0 +1,104 @@
+package com.educator.course.lesson.service;
+
+import com.educator.course.CourseRepository;
+import com.educator.course.lesson.LessonRepository;
+import com.educator.course.lesson.LessonRepository.LessonTreeRow;
+import com.educator.course.lesson.dto.LessonTreeResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LessonTreeServiceTest {
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Test
+    void build_nestsChildrenInRowOrderAndDropsOrphans() {
+        List<LessonTreeResponse> roots = LessonTreeService.build(List.of(
+                row(1L, null, 1, 0),
+                row(3L, 1L, 1, 1),
+                row(4L, 3L, 1, 2),
+                row(2L, null, 2, 0),
+                row(5L, 1L, 2, 1),
+                row(6L, 99L, 3, 1)
+        ));
+
+        assertThat(roots).extracting(LessonTreeResponse::getId).containsExactly(1L, 2L);
+        assertThat(roots.get(0).getChildren()).extracting(LessonTreeResponse::getId).containsExactly(3L, 5L);
+        assertThat(roots.get(0).getChildren().get(0).getChildren())
+                .extracting(LessonTreeResponse::getId).containsExactly(4L);
+        assertThat(roots.get(1).getChildren()).isEmpty();
+    }
+
+    @Test
+    void getTree_pagesRootsAndCachesUntilEvicted() {
+        LessonTreeService service = new LessonTreeService(lessonRepository, courseRepository, 100);
+        when(courseRepository.existsById(7L)).thenReturn(true);
+        when(lessonRepository.findTreeRowsByCourseId(7L)).thenReturn(List.of(
+                row(1L, null, 1, 0),
+                row(2L, null, 2, 0),
+                row(3L, null, 3, 0)
+        ));
+
+        Page<LessonTreeResponse> page = service.getTree(7L, PageRequest.of(1, 2));
+        service.getTree(7L, PageRequest.of(0, 2));
+
+        assertThat(page.getContent()).extracting(LessonTreeResponse::getId).containsExactly(3L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        verify(lessonRepository, times(1)).findTreeRowsByCourseId(7L);
+
+        service.evict(7L);
+        service.getTree(7L, PageRequest.of(0, 2));
+        verify(lessonRepository, times(2)).findTreeRowsByCourseId(7L);
+    }
+
+    @Test
+    void getTree_rejectsUnknownCourse() {
+        LessonTreeService service = new LessonTreeService(lessonRepository, courseRepository, 100);
+        when(courseRepository.existsById(8L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.getTree(8L, PageRequest.of(0, 20)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Course not found");
+    }
+
+    private static LessonTreeRow row(Long id, Long parentId, int orderIndex, int depthLevel) {
+        return new LessonTreeRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getParentId() {
+                return parentId;
+            }
+
+            @Override
+            public int getOrderIndex() {
+                return orderIndex;
+            }
+
+            @Override
+            public int getDepthLevel() {
+                return depthLevel;
+            }
+        };
+    }
+}
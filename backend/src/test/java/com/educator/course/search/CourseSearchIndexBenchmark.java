@@ -0,0 +1,92 @@
+package com.educator.course.search;
+
+import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import com.educator.course.CourseStatus;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Manual latency benchmark for the in-memory course search at catalog scale.
+ * Not picked up by surefire; run main() from the IDE, or:
+ *
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *       com.educator.course.search.CourseSearchIndexBenchmark
+ *
+ * Optional first argument: number of courses (default 100000).
+ */
+public final class CourseSearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "algebra", "geometry", "calculus", "history", "physics", "chemistry", "biology",
+            "economics", "grammar", "writing", "reading", "statistics", "programming", "java",
+            "python", "databases", "networks", "security", "design", "music", "painting",
+            "ancient", "modern", "introduction", "advanced", "basics", "practice", "exam",
+            "preparation", "theory", "applied", "mechanics", "organic", "cellular", "world"
+    };
+
+    private static final List<List<String>> QUERIES = List.of(
+            List.of("algebra"),
+            List.of("hist"),
+            List.of("intro", "prog"),
+            List.of("advanced", "organic", "chemistry"),
+            List.of("p")
+    );
+
+    private CourseSearchIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int courses = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+
+        List<Course> catalog = new ArrayList<>(courses);
+        for (int i = 1; i <= courses; i++) {
+            catalog.add(CourseSearchIndexTest.course(
+                    (long) i,
+                    words(random, 4) + " " + i,
+                    words(random, 30),
+                    CourseDifficulty.values()[i % CourseDifficulty.values().length],
+                    i % 5 == 0 ? CourseStatus.DRAFT : CourseStatus.PUBLISHED
+            ));
+        }
+
+        long buildStart = System.nanoTime();
+        CourseSearchIndex index = CourseSearchIndex.build(catalog);
+        System.out.printf("build: %d courses in %.1f ms%n", index.size(), (System.nanoTime() - buildStart) / 1e6);
+
+        for (List<String> query : QUERIES) {
+            for (int i = 0; i < 200; i++) {
+                index.search(query, null, CourseStatus.PUBLISHED, PageRequest.of(0, 20));
+            }
+
+            int runs = 500;
+            long[] samples = new long[runs];
+            long total = 0;
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                total = index.search(query, null, CourseStatus.PUBLISHED, PageRequest.of(0, 20)).getTotalElements();
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-32s matches=%6d  p50=%.2f ms  p99=%.2f ms%n",
+                    String.join(" ", query), total, samples[runs / 2] / 1e6, samples[runs * 99 / 100] / 1e6);
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
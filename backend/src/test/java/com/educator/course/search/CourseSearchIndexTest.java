@@ -0,0 +1,78 @@
+package com.educator.course.search;
+
+import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import com.educator.course.CourseStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseSearchIndexTest {
+
+    @Test
+    void search_appliesKeywordDifficultyAndStatusFilters() {
+        CourseSearchIndex index = CourseSearchIndex.build(List.of(
+                course(1L, "Ancient History", "Great civilization", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED),
+                course(2L, "Advanced History", "Deep analysis", CourseDifficulty.ADVANCED, CourseStatus.PUBLISHED),
+                course(3L, "Draft Course", "history draft", CourseDifficulty.BEGINNER, CourseStatus.DRAFT)
+        ));
+
+        Page<Long> result = index.search(
+                List.of("history"), CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, PageRequest.of(0, 20));
+
+        assertThat(result.getContent()).containsExactly(1L);
+        assertThat(result.getTotalElements()).isEqualTo(1L);
+    }
+
+    @Test
+    void search_matchesPrefixesOfEveryTermAndRanksTitleAboveDescription() {
+        CourseSearchIndex index = CourseSearchIndex.build(List.of(
+                course(1L, "Cooking basics", "Learn algebra while baking", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED),
+                course(2L, "Algebra basics", "Linear equations", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED),
+                course(3L, "Algebra II", "Quadratics", CourseDifficulty.ADVANCED, CourseStatus.PUBLISHED)
+        ));
+
+        assertThat(index.search(List.of("alg", "bas"), null, null, PageRequest.of(0, 20)).getContent())
+                .containsExactly(2L, 1L);
+        assertThat(index.search(List.of("zzz"), null, null, PageRequest.of(0, 20)).getTotalElements())
+                .isZero();
+    }
+
+    @Test
+    void search_pagesRankedResultsAndBreaksTiesByNewestFirst() {
+        CourseSearchIndex index = CourseSearchIndex.build(List.of(
+                course(1L, "Physics one", "", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED),
+                course(2L, "Physics two", "", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED),
+                course(3L, "Physics three", "", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED)
+        ));
+
+        Page<Long> second = index.search(List.of("physics"), null, null, PageRequest.of(1, 2));
+
+        assertThat(second.getContent()).containsExactly(1L);
+        assertThat(second.getTotalElements()).isEqualTo(3L);
+    }
+
+    @Test
+    void tokenize_lowercasesAndSplitsOnNonAlphanumerics() {
+        assertThat(CourseSearchIndex.tokenize("  C++ & Data-Structures 101!"))
+                .containsExactly("c", "data", "structures", "101");
+        assertThat(PostgresCourseSearchEngine.toTsQuery(List.of("data", "str")))
+                .isEqualTo("data:* & str:*");
+    }
+
+    static Course course(Long id, String title, String description, CourseDifficulty difficulty, CourseStatus status) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitleEn(title);
+        course.setDescriptionEn(description);
+        course.setDifficulty(difficulty);
+        course.setStatus(status);
+        course.setCreatedAt(Instant.ofEpochSecond(id));
+        return course;
+    }
+}
@@ -0,0 +1,125 @@
+package com.educator.course.search;
+
+import com.educator.course.Course;
+import com.educator.course.CourseDifficulty;
+import com.educator.course.CourseRepository;
+import com.educator.course.CourseStatus;
+import com.educator.course.dto.CourseSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseTitleSuggesterTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private CourseTitleSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new CourseTitleSuggester(courseRepository);
+    }
+
+    @Test
+    void suggest_returnsTitlesStartingWithTermFirstThenShorterTitles() {
+        build(
+                published(1L, "Intro to Algebra"),
+                published(2L, "Algebra"),
+                published(3L, "Algebra for Engineers"),
+                published(4L, "Biology")
+        );
+
+        assertThat(suggester.suggest("alg", 10))
+                .extracting(CourseSuggestion::id)
+                .containsExactly(2L, 3L, 1L);
+        assertThat(suggester.suggest("intro alg", 10))
+                .extracting(CourseSuggestion::id)
+                .containsExactly(1L);
+        assertThat(suggester.suggest("chem", 10)).isEmpty();
+        assertThat(suggester.suggest("alg", 1)).hasSize(1);
+    }
+
+    @Test
+    void courseChanged_appliesPublishRenameAndArchiveIncrementally() {
+        build(published(1L, "Chemistry"));
+
+        Course renamed = published(1L, "Organic Chemistry");
+        suggester.courseChanged(renamed);
+        suggester.courseChanged(published(2L, "Chess Openings"));
+
+        assertThat(suggester.suggest("org", 5)).extracting(CourseSuggestion::titleEn)
+                .containsExactly("Organic Chemistry");
+        assertThat(suggester.suggest("che", 5)).extracting(CourseSuggestion::id)
+                .containsExactly(2L, 1L);
+
+        renamed.setArchived(true);
+        suggester.courseChanged(renamed);
+
+        assertThat(suggester.suggest("che", 5)).extracting(CourseSuggestion::id).containsExactly(2L);
+        assertThat(suggester.suggest("org", 5)).isEmpty();
+        assertThat(suggester.size()).isEqualTo(1);
+    }
+
+    @Test
+    void suggest_keepsTopListsCorrectAfterRemovalFromCrowdedPrefix() {
+        List<Course> courses = new ArrayList<>();
+        for (long id = 1; id <= CourseTitleSuggester.MAX_TOP + 5; id++) {
+            courses.add(published(id, "Topic " + "x".repeat((int) id)));
+        }
+        build(courses.toArray(new Course[0]));
+
+        Course shortest = courses.get(0);
+        shortest.setStatus(CourseStatus.DRAFT);
+        suggester.courseChanged(shortest);
+
+        assertThat(suggester.suggest("top", 3)).extracting(CourseSuggestion::id)
+                .containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void suggest_findsMatchesMissingFromTopListsOfCrowdedPrefixes() {
+        List<Course> courses = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < 2500; i++) {
+            courses.add(published(id++, "Alpha " + i));
+            courses.add(published(id++, "Intro Gamma " + i));
+        }
+        courses.add(published(9001L, "Alpha and Gamma for Experienced Practitioners"));
+        courses.add(published(9002L, "Gamma Functions Alongside Alpha Particles Revisited"));
+        build(courses.toArray(new Course[0]));
+
+        // Both terms match more than 2048 titles; their intersection is only the two long ones
+        assertThat(suggester.suggest("alpha gamma", 5)).extracting(CourseSuggestion::id)
+                .containsExactly(9001L, 9002L);
+        // Titles leading with the term outrank the shorter "Intro Gamma n" titles in the top list
+        assertThat(suggester.suggest("gamma", 2)).extracting(CourseSuggestion::id)
+                .containsExactly(9002L, 2L);
+        assertThat(suggester.suggest("alpha", 3)).extracting(CourseSuggestion::titleEn)
+                .containsExactly("Alpha 0", "Alpha 1", "Alpha 2");
+    }
+
+    private void build(Course... courses) {
+        when(courseRepository.findAllByStatusAndIsDeletedFalse(CourseStatus.PUBLISHED))
+                .thenReturn(List.of(courses));
+        suggester.rebuild();
+    }
+
+    private static Course published(Long id, String title) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitleEn(title);
+        course.setDifficulty(CourseDifficulty.BEGINNER);
+        course.setStatus(CourseStatus.PUBLISHED);
+        return course;
+    }
+}
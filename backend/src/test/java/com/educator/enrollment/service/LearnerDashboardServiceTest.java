@@ -0,0 +1,137 @@
+package com.educator.enrollment.service;
+
+import com.educator.certificate.entity.Certificate;
+import com.educator.certificate.enums.CertificateStatus;
+import com.educator.certificate.repository.CertificateRepository;
+import com.educator.course.CourseDifficulty;
+import com.educator.enrollment.dto.LearnerDashboardEntry;
+import com.educator.enrollment.entity.EnrollmentStatus;
+import com.educator.enrollment.repository.EnrollmentRepository;
+import com.educator.enrollment.repository.EnrollmentRepository.DashboardRow;
+import com.educator.exam.entity.ExamAttempt;
+import com.educator.exam.enums.AttemptStatus;
+import com.educator.exam.repository.ExamAttemptRepository;
+import com.educator.exam.repository.ExamRepository;
+import com.educator.exam.repository.ExamRepository.CourseExam;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LearnerDashboardServiceTest {
+
+    @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private ExamRepository examRepository;
+    @Mock private ExamAttemptRepository examAttemptRepository;
+    @Mock private CertificateRepository certificateRepository;
+
+    @Test
+    void getDashboard_joinsProgressLatestAttemptAndCertificatePerEnrollment() {
+        LearnerDashboardService service = service();
+        UUID stableId = UUID.randomUUID();
+        UUID examId = UUID.randomUUID();
+        when(enrollmentRepository.findDashboardRows(7L)).thenReturn(List.of(row(1L, 10L, 3, 4), row(2L, 20L, 0, 0)));
+        when(examRepository.findExamIdsByCourseIdIn(List.of(10L, 20L))).thenReturn(List.of(courseExam(10L, examId)));
+
+        ExamAttempt attempt = new ExamAttempt();
+        attempt.setExamId(examId);
+        attempt.setStatus(AttemptStatus.EVALUATED);
+        attempt.setScorePercentage(75);
+        attempt.setPassed(true);
+        when(examAttemptRepository.findLatestByUserIdAndExamIdIn(eq(stableId), anyCollection())).thenReturn(List.of(attempt));
+
+        Certificate certificate = new Certificate();
+        certificate.setCourseId(20L);
+        certificate.setStatus(CertificateStatus.GENERATED);
+        when(certificateRepository.findByUserIdAndCourseIdIn(stableId, List.of(10L, 20L))).thenReturn(List.of(certificate));
+
+        List<LearnerDashboardEntry> dashboard = service.getDashboard(7L, stableId);
+
+        assertThat(dashboard).hasSize(2);
+        assertThat(dashboard.get(0).course().titleEn()).isEqualTo("Course 10");
+        assertThat(dashboard.get(0).progressPercent()).isEqualTo(75);
+        assertThat(dashboard.get(0).latestExamAttempt().scorePercentage()).isEqualTo(75);
+        assertThat(dashboard.get(0).certificate()).isNull();
+        assertThat(dashboard.get(1).progressPercent()).isZero();
+        assertThat(dashboard.get(1).latestExamAttempt()).isNull();
+        assertThat(dashboard.get(1).certificate().status()).isEqualTo(CertificateStatus.GENERATED);
+    }
+
+    @Test
+    void getDashboard_issuesNoFurtherQueriesWithoutEnrollmentsOrExams() {
+        LearnerDashboardService service = service();
+        when(enrollmentRepository.findDashboardRows(7L)).thenReturn(List.of());
+
+        assertThat(service.getDashboard(7L, UUID.randomUUID())).isEmpty();
+        verifyNoInteractions(examRepository, examAttemptRepository, certificateRepository);
+
+        when(enrollmentRepository.findDashboardRows(8L)).thenReturn(List.of(row(3L, 30L, 1, 2)));
+        assertThat(service.getDashboard(8L, UUID.randomUUID())).hasSize(1);
+        verify(examAttemptRepository, never()).findLatestByUserIdAndExamIdIn(any(), anyCollection());
+    }
+
+    @Test
+    void getDashboard_listsHiddenCoursesAsHistoryButOnlySuggestsOpenActiveOnes() {
+        LearnerDashboardService service = service();
+        UUID stableId = UUID.randomUUID();
+        when(enrollmentRepository.findDashboardRows(7L)).thenReturn(List.of(
+                row(1L, 10L, 1, 4, EnrollmentStatus.ACTIVE, true),
+                row(2L, 20L, 1, 4, EnrollmentStatus.ACTIVE, false),
+                row(3L, 30L, 4, 4, EnrollmentStatus.COMPLETED, false)
+        ));
+        Certificate certificate = new Certificate();
+        certificate.setCourseId(30L);
+        certificate.setStatus(CertificateStatus.GENERATED);
+        when(certificateRepository.findByUserIdAndCourseIdIn(stableId, List.of(10L, 20L, 30L))).thenReturn(List.of(certificate));
+
+        List<LearnerDashboardEntry> dashboard = service.getDashboard(7L, stableId);
+
+        assertThat(dashboard).extracting(LearnerDashboardEntry::continueLearning).containsExactly(true, false, false);
+        assertThat(dashboard.get(1).course().available()).isFalse();
+        assertThat(dashboard.get(2).certificate().status()).isEqualTo(CertificateStatus.GENERATED);
+    }
+
+    private LearnerDashboardService service() {
+        return new LearnerDashboardService(enrollmentRepository, examRepository, examAttemptRepository, certificateRepository);
+    }
+
+    private static DashboardRow row(Long enrollmentId, Long courseId, int completed, int total) {
+        return row(enrollmentId, courseId, completed, total, EnrollmentStatus.ACTIVE, true);
+    }
+
+    private static DashboardRow row(Long enrollmentId, Long courseId, int completed, int total,
+                                    EnrollmentStatus status, boolean courseAvailable) {
+        return new DashboardRow() {
+            public Long getEnrollmentId() { return enrollmentId; }
+            public EnrollmentStatus getStatus() { return status; }
+            public LocalDateTime getEnrolledAt() { return LocalDateTime.of(2024, 1, 1, 0, 0); }
+            public LocalDateTime getLastAccessedAt() { return null; }
+            public LocalDateTime getCompletedAt() { return null; }
+            public int getCompletedLessons() { return completed; }
+            public int getTotalLessons() { return total; }
+            public Long getCourseId() { return courseId; }
+            public String getCourseTitle() { return "Course " + courseId; }
+            public CourseDifficulty getDifficulty() { return CourseDifficulty.BEGINNER; }
+            public int getEstimatedDurationMinutes() { return 30; }
+            public boolean isCourseAvailable() { return courseAvailable; }
+        };
+    }
+
+    private static CourseExam courseExam(Long courseId, UUID examId) {
+        return new CourseExam() {
+            public UUID getExamId() { return examId; }
+            public Long getCourseId() { return courseId; }
+        };
+    }
+}
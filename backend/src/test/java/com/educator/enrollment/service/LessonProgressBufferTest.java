@@ -0,0 +1,138 @@
+package com.educator.enrollment.service;
+
+import com.educator.enrollment.repository.LessonProgressBatchWriter;
+import com.educator.enrollment.repository.LessonProgressBatchWriter.CompletedLesson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LessonProgressBufferTest {
+
+    @Mock private LessonProgressBatchWriter batchWriter;
+    @Mock private EnrollmentCompletionDetector completionDetector;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_coalescesRepeatedEventsAndChecksCompletionAfterWrite() throws Exception {
+        LessonProgressBuffer buffer = new LessonProgressBuffer(batchWriter, completionDetector, 100, 1000);
+        when(batchWriter.write(anyList(), anyMap(), anyInt())).thenReturn(Set.of(1L));
+
+        buffer.recordCompleted(1L, 10L);
+        buffer.recordCompleted(1L, 10L);
+        buffer.recordCompleted(1L, 11L);
+        buffer.recordAccess(2L);
+        buffer.recordAccess(2L);
+
+        assertThat(buffer.flush()).isEqualTo(4);
+        assertThat(buffer.pendingCount()).isZero();
+
+        ArgumentCaptor<List<CompletedLesson>> rows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Map<Long, LocalDateTime>> accesses = ArgumentCaptor.forClass(Map.class);
+        verify(batchWriter).write(rows.capture(), accesses.capture(), eq(100));
+        assertThat(rows.getValue()).extracting(CompletedLesson::lessonId).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(accesses.getValue()).containsOnlyKeys(1L, 2L);
+
+        buffer.destroy();
+        verify(completionDetector).completeIfEligible(1L);
+        verify(completionDetector, never()).completeIfEligible(2L);
+    }
+
+    @Test
+    void flush_requeuesRowsWhenTheWriteFails() throws Exception {
+        LessonProgressBuffer buffer = new LessonProgressBuffer(batchWriter, completionDetector, 100, 1000);
+        when(batchWriter.write(anyList(), anyMap(), anyInt()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(Set.of(1L));
+
+        buffer.recordCompleted(1L, 10L);
+
+        assertThat(buffer.flush()).isZero();
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+
+        buffer.destroy();
+        assertThat(buffer.pendingCount()).isZero();
+        verify(batchWriter, times(2)).write(anyList(), anyMap(), anyInt());
+        verify(completionDetector).completeIfEligible(1L);
+    }
+
+    @Test
+    void recordCompleted_wakesTheFlushThreadWhenTheBufferIsFull() throws Exception {
+        LessonProgressBuffer buffer = new LessonProgressBuffer(batchWriter, completionDetector, 100, 2);
+        Thread caller = Thread.currentThread();
+        when(batchWriter.write(anyList(), anyMap(), anyInt())).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isNotSameAs(caller);
+            return Set.of();
+        });
+
+        buffer.recordCompleted(1L, 10L);
+        buffer.recordCompleted(1L, 11L);
+
+        verify(batchWriter, timeout(2000)).write(anyList(), anyMap(), eq(100));
+        buffer.destroy();
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_dropsOnlyTheRowsTheDatabaseRejects() throws Exception {
+        LessonProgressBuffer buffer = new LessonProgressBuffer(batchWriter, completionDetector, 100, 1000);
+        when(batchWriter.write(anyList(), anyMap(), anyInt())).thenAnswer(invocation -> {
+            List<CompletedLesson> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.lessonId() == 13L)) {
+                throw new DataIntegrityViolationException("lesson 13 is gone");
+            }
+            return Set.of();
+        });
+
+        for (long lessonId = 10L; lessonId < 18L; lessonId++) {
+            buffer.recordCompleted(1L, lessonId);
+        }
+
+        assertThat(buffer.flush()).isEqualTo(7 + 1);
+        assertThat(buffer.pendingCount()).isZero();
+
+        ArgumentCaptor<List<CompletedLesson>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter, atLeastOnce()).write(rows.capture(), anyMap(), anyInt());
+        Set<Long> written = new HashSet<>();
+        rows.getAllValues().stream()
+                .filter(batch -> batch.stream().noneMatch(row -> row.lessonId() == 13L))
+                .forEach(batch -> batch.forEach(row -> written.add(row.lessonId())));
+        assertThat(written).containsExactlyInAnyOrder(10L, 11L, 12L, 14L, 15L, 16L, 17L);
+        buffer.destroy();
+    }
+
+    @Test
+    void flush_retriesFailedCompletionChecksAFewTimes() throws Exception {
+        LessonProgressBuffer buffer = new LessonProgressBuffer(batchWriter, completionDetector, 100, 1000);
+        when(batchWriter.write(anyList(), anyMap(), anyInt())).thenReturn(Set.of(1L));
+        doThrow(new IllegalStateException("lock timeout")).when(completionDetector).completeIfEligible(1L);
+
+        buffer.recordCompleted(1L, 10L);
+        buffer.flush();
+        verify(completionDetector, timeout(2000).times(1)).completeIfEligible(1L);
+
+        for (int i = 0; i < LessonProgressBuffer.MAX_CHECK_ATTEMPTS + 2; i++) {
+            buffer.flush();
+            Thread.sleep(50);
+        }
+
+        buffer.destroy();
+        verify(completionDetector, times(LessonProgressBuffer.MAX_CHECK_ATTEMPTS)).completeIfEligible(1L);
+    }
+}
@@ -0,0 +1,124 @@
+package com.educator.exam.service;
+
+import com.educator.exam.entity.Exam;
+import com.educator.exam.entity.ExamOption;
+import com.educator.exam.entity.ExamQuestion;
+import com.educator.exam.enums.ExamStatus;
+import com.educator.exam.repository.ExamOptionRepository;
+import com.educator.exam.repository.ExamQuestionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExamAnswerKeyCacheTest {
+
+    @Mock private ExamQuestionRepository examQuestionRepository;
+    @Mock private ExamOptionRepository examOptionRepository;
+
+    @InjectMocks
+    private ExamAnswerKeyCache cache;
+
+    @Test
+    void compiledKey_scoresOnlyCorrectOptions() {
+        UUID examId = UUID.randomUUID();
+        ExamQuestion q1 = question(examId);
+        ExamQuestion q2 = question(examId);
+        ExamQuestion q3 = question(examId);
+        ExamOption q1Correct = option(q1.getId(), true);
+        ExamOption q1Wrong = option(q1.getId(), false);
+        ExamOption q2Correct = option(q2.getId(), true);
+
+        CompiledAnswerKey key = CompiledAnswerKey.compile(
+                examId, 1L, List.of(q1, q2, q3), List.of(q1Correct, q1Wrong, q2Correct));
+
+        assertThat(key.getTotalQuestions()).isEqualTo(3);
+        assertThat(key.isCorrect(q1.getId(), q1Correct.getId())).isTrue();
+        assertThat(key.isCorrect(q1.getId(), q1Wrong.getId())).isFalse();
+        assertThat(key.isCorrect(q2.getId(), q2Correct.getId())).isTrue();
+        assertThat(key.isCorrect(q3.getId(), q2Correct.getId())).isFalse();
+        assertThat(key.isCorrect(UUID.randomUUID(), q1Correct.getId())).isFalse();
+        assertThat(key.isCorrect(q1.getId(), null)).isFalse();
+    }
+
+    @Test
+    void getOrCompile_cachesPublishedExamUntilEvicted() {
+        Exam exam = exam(ExamStatus.PUBLISHED);
+        ExamQuestion q1 = question(exam.getId());
+        when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(exam.getId())).thenReturn(List.of(q1));
+        when(examOptionRepository.findByQuestionIdInOrderByDisplayOrderAsc(anyCollection()))
+                .thenReturn(List.of(option(q1.getId(), true)));
+
+        CompiledAnswerKey first = cache.getOrCompile(exam);
+        CompiledAnswerKey second = cache.getOrCompile(exam);
+
+        assertThat(second).isSameAs(first);
+        verify(examQuestionRepository, times(1)).findByExamIdOrderByDisplayOrderAsc(exam.getId());
+
+        cache.evictForQuestion(q1.getId());
+        assertThat(cache.size()).isZero();
+
+        CompiledAnswerKey third = cache.getOrCompile(exam);
+        assertThat(third).isNotSameAs(first);
+        assertThat(third.getVersion()).isGreaterThan(first.getVersion());
+        verify(examQuestionRepository, times(2)).findByExamIdOrderByDisplayOrderAsc(exam.getId());
+    }
+
+    @Test
+    void getOrCompile_doesNotCacheDraftExam() {
+        Exam exam = exam(ExamStatus.DRAFT);
+        when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(exam.getId())).thenReturn(List.of());
+
+        cache.getOrCompile(exam);
+        cache.getOrCompile(exam);
+
+        assertThat(cache.size()).isZero();
+        verify(examQuestionRepository, times(2)).findByExamIdOrderByDisplayOrderAsc(exam.getId());
+        verifyNoInteractions(examOptionRepository);
+    }
+
+    @Test
+    void getOrCompile_doesNotPublishKeyCompiledAcrossAnEviction() {
+        Exam exam = exam(ExamStatus.PUBLISHED);
+        when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(exam.getId())).thenAnswer(invocation -> {
+            cache.evict(exam.getId());
+            return List.of();
+        });
+
+        cache.getOrCompile(exam);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Exam exam(ExamStatus status) {
+        Exam exam = new Exam();
+        ReflectionTestUtils.setField(exam, "id", UUID.randomUUID());
+        exam.setStatus(status);
+        return exam;
+    }
+
+    private static ExamQuestion question(UUID examId) {
+        ExamQuestion question = new ExamQuestion();
+        question.setExamId(examId);
+        ReflectionTestUtils.setField(question, "id", UUID.randomUUID());
+        return question;
+    }
+
+    private static ExamOption option(UUID questionId, boolean correct) {
+        ExamOption option = new ExamOption();
+        option.setQuestionId(questionId);
+        option.setCorrect(correct);
+        ReflectionTestUtils.setField(option, "id", UUID.randomUUID());
+        return option;
+    }
+}
@@ -0,0 +1,62 @@
+package com.educator.exam.service;
+
+import com.educator.exam.repository.ExamAttemptRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExamAttemptDeadlineTimerTest {
+
+    @Mock private ExamAttemptRepository examAttemptRepository;
+
+    @Test
+    void expireDue_expiresOnlyAttemptsPastTheirDeadline() {
+        ExamAttemptDeadlineTimer timer = new ExamAttemptDeadlineTimer(examAttemptRepository, true);
+        UUID dueAttempt = UUID.randomUUID();
+        UUID activeAttempt = UUID.randomUUID();
+
+        timer.register(dueAttempt, LocalDateTime.now().minusMinutes(31), 30);
+        timer.register(activeAttempt, LocalDateTime.now().minusMinutes(5), 30);
+        when(examAttemptRepository.expireInProgressById(eq(dueAttempt), any(), any())).thenReturn(1);
+
+        assertThat(timer.expireDue()).isEqualTo(1);
+        assertThat(timer.pendingCount()).isEqualTo(1);
+        verify(examAttemptRepository, never()).expireInProgressById(eq(activeAttempt), any(), any());
+    }
+
+    @Test
+    void deregister_skipsSubmittedAttemptWithoutTouchingTheDatabase() {
+        ExamAttemptDeadlineTimer timer = new ExamAttemptDeadlineTimer(examAttemptRepository, true);
+        UUID submitted = UUID.randomUUID();
+
+        timer.register(submitted, LocalDateTime.now().minusMinutes(31), 30);
+        timer.deregister(submitted);
+
+        assertThat(timer.pendingCount()).isZero();
+        assertThat(timer.expireDue()).isZero();
+        verifyNoInteractions(examAttemptRepository);
+    }
+
+    @Test
+    void register_ignoresUntimedAttemptsAndDisabledTimer() {
+        ExamAttemptDeadlineTimer timer = new ExamAttemptDeadlineTimer(examAttemptRepository, true);
+        timer.register(UUID.randomUUID(), LocalDateTime.now(), null);
+        timer.register(UUID.randomUUID(), LocalDateTime.now(), 0);
+        timer.register(UUID.randomUUID(), null, 30);
+        assertThat(timer.pendingCount()).isZero();
+
+        ExamAttemptDeadlineTimer disabled = new ExamAttemptDeadlineTimer(examAttemptRepository, false);
+        disabled.register(UUID.randomUUID(), LocalDateTime.now(), 30);
+        assertThat(disabled.pendingCount()).isZero();
+    }
+}
@@ -1,6 +1,7 @@
 package com.educator.exam.service;
 
 import com.educator.certificate.service.CertificateService;
+import com.educator.common.security.AuthenticatedIdentity;
 import com.educator.completion.repository.CourseCompletionRepository;
 import com.educator.exam.entity.Exam;
 import com.educator.exam.entity.ExamAttempt;
@@ -9,8 +10,6 @@ import com.educator.exam.enums.AttemptStatus;
 import com.educator.exam.repository.*;
 import com.educator.notification.service.NotificationPersistenceService;
 import com.educator.security.service.AccessControlService;
-import com.educator.users.User;
-import com.educator.users.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -44,7 +43,8 @@ class ExamAttemptServiceTimerShuffleTest {
     @Mock private CertificateService certificateService;
     @Mock private AccessControlService accessControlService;
     @Mock private NotificationPersistenceService notificationPersistenceService;
-    @Mock private UserRepository userRepository;
+    @Mock private ExamAnswerKeyCache examAnswerKeyCache;
+    @Mock private ExamAttemptDeadlineTimer examAttemptDeadlineTimer;
 
     @InjectMocks
     private ExamAttemptService service;
@@ -57,16 +57,13 @@ class ExamAttemptServiceTimerShuffleTest {
         UUID userId = UUID.randomUUID();
         Exam exam = exam(examId, true, 5, 1);
 
-        User mockUser = new User(TEST_EMAIL, "encoded");
-        ReflectionTestUtils.setField(mockUser, "id", 1L);
-        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
         when(accessControlService.canAccessExam(anyLong(), any()))
                 .thenReturn(true);
 
         when(examRepository.findById(examId)).thenReturn(java.util.Optional.of(exam));
         when(examAttemptRepository.countByExamIdAndUserId(examId, userId)).thenReturn(1L);
 
-        assertThatThrownBy(() -> service.startAttempt(examId, userId, TEST_EMAIL))
+        assertThatThrownBy(() -> service.startAttempt(examId, identity(userId)))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Maximum attempts exceeded");
     }
@@ -82,9 +79,6 @@ class ExamAttemptServiceTimerShuffleTest {
                 question(examId, 3)
         );
 
-        User mockUser = new User(TEST_EMAIL, "encoded");
-        ReflectionTestUtils.setField(mockUser, "id", 1L);
-        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
         when(accessControlService.canAccessExam(anyLong(), any()))
                 .thenReturn(true);
 
@@ -93,7 +87,7 @@ class ExamAttemptServiceTimerShuffleTest {
         when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(examId)).thenReturn(questions);
         when(examAttemptRepository.save(any(ExamAttempt.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        ExamAttempt attempt = service.startAttempt(examId, userId, TEST_EMAIL);
+        ExamAttempt attempt = service.startAttempt(examId, identity(userId));
 
         String expectedOrder = questions.stream()
                 .map(q -> q.getId().toString())
@@ -116,9 +110,6 @@ class ExamAttemptServiceTimerShuffleTest {
                 question(examId, 5)
         );
 
-        User mockUser = new User(TEST_EMAIL, "encoded");
-        ReflectionTestUtils.setField(mockUser, "id", 1L);
-        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
         when(accessControlService.canAccessExam(anyLong(), any()))
                 .thenReturn(true);
 
@@ -130,7 +121,7 @@ class ExamAttemptServiceTimerShuffleTest {
         Set<String> observedOrders = new java.util.HashSet<>();
 
         for (int i = 0; i < 20; i++) {
-            ExamAttempt attempt = service.startAttempt(examId, userId, TEST_EMAIL);
+            ExamAttempt attempt = service.startAttempt(examId, identity(userId));
             observedOrders.add(attempt.getQuestionOrder());
         }
 
@@ -174,32 +165,8 @@ class ExamAttemptServiceTimerShuffleTest {
         assertThat(attemptCaptor.getValue().getStatus()).isEqualTo(AttemptStatus.EXPIRED);
     }
 
-    @Test
-    void expireTimedOutAttempts_marksOnlyExpiredAttempts() {
-        UUID examId = UUID.randomUUID();
-        Exam exam = exam(examId, false, 5, 10);
-
-        ExamAttempt timedOutAttempt = new ExamAttempt();
-        timedOutAttempt.setExamId(examId);
-        timedOutAttempt.setStatus(AttemptStatus.IN_PROGRESS);
-        ReflectionTestUtils.setField(timedOutAttempt, "startedAt", LocalDateTime.now().minusMinutes(8));
-
-        ExamAttempt activeAttempt = new ExamAttempt();
-        activeAttempt.setExamId(examId);
-        activeAttempt.setStatus(AttemptStatus.IN_PROGRESS);
-        ReflectionTestUtils.setField(activeAttempt, "startedAt", LocalDateTime.now().minusMinutes(2));
-
-        when(examAttemptRepository.findByStatus(AttemptStatus.IN_PROGRESS))
-                .thenReturn(List.of(timedOutAttempt, activeAttempt));
-        when(examRepository.findById(examId)).thenReturn(java.util.Optional.of(exam));
-
-        service.expireTimedOutAttempts();
-
-        assertThat(timedOutAttempt.getStatus()).isEqualTo(AttemptStatus.EXPIRED);
-        assertThat(activeAttempt.getStatus()).isEqualTo(AttemptStatus.IN_PROGRESS);
-
-        verify(examAttemptRepository).save(timedOutAttempt);
-        verify(examAttemptRepository, never()).save(activeAttempt);
+    private static AuthenticatedIdentity identity(UUID userId) {
+        return new AuthenticatedIdentity(1L, userId, TEST_EMAIL, Set.of("STUDENT"));
     }
 
     private static Exam exam(UUID examId, boolean shuffleQuestions, int timeLimitMinutes, int maxAttempts) {
@@ -0,0 +1,178 @@
+package com.educator.exam.service;
+
+import com.educator.common.exception.BusinessValidationException;
+import com.educator.exam.dto.BulkUpsertExamQuestionsRequest;
+import com.educator.exam.dto.BulkUpsertExamQuestionsRequest.OptionEntry;
+import com.educator.exam.dto.BulkUpsertExamQuestionsRequest.QuestionEntry;
+import com.educator.exam.dto.BulkUpsertExamQuestionsResponse;
+import com.educator.exam.entity.Exam;
+import com.educator.exam.entity.ExamOption;
+import com.educator.exam.entity.ExamQuestion;
+import com.educator.exam.repository.ExamOptionRepository;
+import com.educator.exam.repository.ExamQuestionBatchWriter;
+import com.educator.exam.repository.ExamQuestionBatchWriter.OptionRow;
+import com.educator.exam.repository.ExamQuestionBatchWriter.QuestionRow;
+import com.educator.exam.repository.ExamQuestionRepository;
+import com.educator.exam.repository.ExamRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExamQuestionServiceTest {
+
+    private static final UUID EXAM_ID = UUID.randomUUID();
+
+    @Mock private ExamQuestionRepository examQuestionRepository;
+    @Mock private ExamOptionRepository examOptionRepository;
+    @Mock private ExamRepository examRepository;
+    @Mock private ExamQuestionBatchWriter examQuestionBatchWriter;
+    @Mock private ExamAnswerKeyCache examAnswerKeyCache;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpsert_writesNewAndChangedRowsInOneBatchedCall() {
+        ExamQuestion existing = question(1);
+        ExamOption keptOption = option(existing.getId(), 1);
+        ExamOption droppedOption = option(existing.getId(), 2);
+        when(examRepository.findByIdForUpdate(EXAM_ID)).thenReturn(Optional.of(new Exam()));
+        when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(EXAM_ID)).thenReturn(List.of(existing));
+        when(examOptionRepository.findByQuestionIdInOrderByDisplayOrderAsc(anyCollection()))
+                .thenReturn(List.of(keptOption, droppedOption));
+
+        QuestionEntry edited = entry(existing.getId(), 1, optionEntry(keptOption.getId(), 1, true), optionEntry(null, 3, false));
+        QuestionEntry created = entry(null, 2, optionEntry(null, 1, false), optionEntry(null, 2, true));
+
+        BulkUpsertExamQuestionsResponse response = service().bulkUpsert(EXAM_ID, request(edited, created));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(response.questions()).hasSize(2);
+        assertThat(response.questions().get(0).id()).isEqualTo(existing.getId());
+        assertThat(response.questions().get(0).optionIds()).hasSize(2).startsWith(keptOption.getId());
+        assertThat(response.questions().get(1).optionIds()).hasSize(2);
+
+        ArgumentCaptor<List<QuestionRow>> insertedQuestions = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<OptionRow>> insertedOptions = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Collection<UUID>> deletedOptions = ArgumentCaptor.forClass(Collection.class);
+        verify(examQuestionBatchWriter).write(eq(EXAM_ID), insertedQuestions.capture(), anyList(),
+                insertedOptions.capture(), anyList(), deletedOptions.capture(), eq(500));
+        assertThat(insertedQuestions.getValue()).extracting(QuestionRow::id).containsExactly(response.questions().get(1).id());
+        assertThat(insertedOptions.getValue()).hasSize(3);
+        assertThat(deletedOptions.getValue()).containsExactly(droppedOption.getId());
+        verify(examAnswerKeyCache).evict(EXAM_ID);
+    }
+
+    @Test
+    void bulkUpsert_rejectsQuestionWithoutExactlyOneCorrectOption() {
+        when(examRepository.findByIdForUpdate(EXAM_ID)).thenReturn(Optional.of(new Exam()));
+        when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(EXAM_ID)).thenReturn(List.of());
+
+        QuestionEntry twoCorrect = entry(null, 1, optionEntry(null, 1, true), optionEntry(null, 2, true));
+
+        assertThatThrownBy(() -> service().bulkUpsert(EXAM_ID, request(twoCorrect)))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("exactly one correct option");
+        verifyNoInteractions(examQuestionBatchWriter);
+    }
+
+    @Test
+    void bulkUpsert_rejectsDuplicateDisplayOrders() {
+        when(examRepository.findByIdForUpdate(EXAM_ID)).thenReturn(Optional.of(new Exam()));
+        when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(EXAM_ID)).thenReturn(List.of(question(3)));
+
+        QuestionEntry duplicateOptions = entry(null, 1, optionEntry(null, 1, true), optionEntry(null, 1, false));
+        assertThatThrownBy(() -> service().bulkUpsert(EXAM_ID, request(duplicateOptions)))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("Duplicate option display order");
+
+        QuestionEntry clashesWithUntouched = entry(null, 3, optionEntry(null, 1, true));
+        assertThatThrownBy(() -> service().bulkUpsert(EXAM_ID, request(clashesWithUntouched)))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("already used");
+        verifyNoInteractions(examQuestionBatchWriter);
+    }
+
+    @Test
+    void bulkUpsert_rejectsQuestionsAndOptionsFromElsewhere() {
+        ExamQuestion existing = question(1);
+        when(examRepository.findByIdForUpdate(EXAM_ID)).thenReturn(Optional.of(new Exam()));
+        when(examQuestionRepository.findByExamIdOrderByDisplayOrderAsc(EXAM_ID)).thenReturn(List.of(existing));
+        when(examOptionRepository.findByQuestionIdInOrderByDisplayOrderAsc(anyCollection())).thenReturn(List.of());
+
+        QuestionEntry foreignQuestion = entry(UUID.randomUUID(), 2, optionEntry(null, 1, true));
+        assertThatThrownBy(() -> service().bulkUpsert(EXAM_ID, request(foreignQuestion)))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("does not belong to this exam");
+
+        QuestionEntry foreignOption = entry(existing.getId(), 1, optionEntry(UUID.randomUUID(), 1, true));
+        assertThatThrownBy(() -> service().bulkUpsert(EXAM_ID, request(foreignOption)))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("does not belong to question");
+        verify(examQuestionBatchWriter, never()).write(any(), anyList(), anyList(), anyList(), anyList(), anyCollection(), anyInt());
+    }
+
+    private ExamQuestionService service() {
+        return new ExamQuestionService(
+                examQuestionRepository, examOptionRepository, examRepository, examQuestionBatchWriter, examAnswerKeyCache, 500);
+    }
+
+    private static BulkUpsertExamQuestionsRequest request(QuestionEntry... entries) {
+        BulkUpsertExamQuestionsRequest request = new BulkUpsertExamQuestionsRequest();
+        request.setQuestions(List.of(entries));
+        return request;
+    }
+
+    private static QuestionEntry entry(UUID id, int displayOrder, OptionEntry... options) {
+        QuestionEntry entry = new QuestionEntry();
+        entry.setId(id);
+        entry.setQuestionText("Q-" + displayOrder);
+        entry.setDisplayOrder(displayOrder);
+        entry.setOptions(List.of(options));
+        return entry;
+    }
+
+    private static OptionEntry optionEntry(UUID id, int displayOrder, boolean correct) {
+        OptionEntry option = new OptionEntry();
+        option.setId(id);
+        option.setOptionText("Option-" + displayOrder);
+        option.setCorrect(correct);
+        option.setDisplayOrder(displayOrder);
+        return option;
+    }
+
+    private static ExamQuestion question(int displayOrder) {
+        ExamQuestion question = new ExamQuestion();
+        ReflectionTestUtils.setField(question, "id", UUID.randomUUID());
+        question.setExamId(EXAM_ID);
+        question.setQuestionText("Q-" + displayOrder);
+        question.setDisplayOrder(displayOrder);
+        return question;
+    }
+
+    private static ExamOption option(UUID questionId, int displayOrder) {
+        ExamOption option = new ExamOption();
+        ReflectionTestUtils.setField(option, "id", UUID.randomUUID());
+        option.setQuestionId(questionId);
+        option.setOptionText("Option-" + displayOrder);
+        option.setDisplayOrder(displayOrder);
+        return option;
+    }
+}
@@ -0,0 +1,105 @@
+package com.educator.hierarchy;
+
+import com.educator.common.exception.BusinessValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HierarchyNodeServiceTest {
+
+    @Mock
+    private HierarchyNodeRepository repository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void buildTree_nestsChildrenInSortOrderAndDropsUnreachableNodes() {
+        HierarchyNode root = node(1L, null, "root");
+        HierarchyNode first = node(2L, root, "first");
+        HierarchyNode second = node(3L, root, "second");
+        HierarchyNode grandchild = node(4L, first, "grandchild");
+        HierarchyNode orphan = node(6L, node(5L, null, "unpublished"), "orphan");
+
+        List<HierarchyTreeNode> tree =
+                HierarchyNodeService.buildTree(List.of(root, first, orphan, second, grandchild));
+
+        assertThat(tree).extracting(HierarchyTreeNode::slug).containsExactly("root");
+        assertThat(tree.get(0).children()).extracting(HierarchyTreeNode::slug).containsExactly("first", "second");
+        assertThat(tree.get(0).children().get(0).children()).extracting(HierarchyTreeNode::slug)
+                .containsExactly("grandchild");
+    }
+
+    @Test
+    void getPublishedTree_isCachedUntilHierarchyChanges() {
+        HierarchyNodeService service = new HierarchyNodeService(repository, eventPublisher);
+        HierarchyNode root = node(1L, null, "root");
+        when(repository.findAllVisiblePublished()).thenReturn(List.of(root));
+        when(repository.findById(1L)).thenReturn(Optional.of(root));
+        when(repository.save(root)).thenReturn(root);
+
+        service.getPublishedTree();
+        service.getPublishedTree();
+        verify(repository, times(1)).findAllVisiblePublished();
+
+        service.updateNode(1L, "Root", "desc", 1, true, true);
+        service.getPublishedTree();
+        verify(repository, times(2)).findAllVisiblePublished();
+    }
+
+    @Test
+    void moveNode_rejectsMoveUnderOwnDescendantFromPathsAlone() {
+        HierarchyNodeService service = new HierarchyNodeService(repository, eventPublisher);
+        HierarchyNode root = node(1L, null, "root");
+        HierarchyNode child = node(2L, root, "child");
+        when(repository.findById(1L)).thenReturn(Optional.of(root));
+        when(repository.findById(2L)).thenReturn(Optional.of(child));
+
+        assertThatThrownBy(() -> service.moveNode(1L, 2L))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessage("Cycle detected in hierarchy");
+        verify(repository, never()).rebaseSubtree(anyString(), anyInt(), anyString(), anyInt());
+    }
+
+    @Test
+    void moveNode_rejectsMoveThatPushesSubtreePastMaxDepth() {
+        HierarchyNodeService service = new HierarchyNodeService(repository, eventPublisher);
+        HierarchyNode deep = node(1L, null, "deep");
+        deep.setDepthLevel(7);
+        deep.setPath("/9/1/");
+        HierarchyNode moved = node(2L, null, "moved");
+        when(repository.findById(1L)).thenReturn(Optional.of(deep));
+        when(repository.findById(2L)).thenReturn(Optional.of(moved));
+        when(repository.findMaxDepthUnderPath("/2/")).thenReturn(2);
+
+        assertThatThrownBy(() -> service.moveNode(2L, 1L))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessage("Maximum hierarchy depth exceeded");
+    }
+
+    private static HierarchyNode node(Long id, HierarchyNode parent, String slug) {
+        HierarchyNode node = new HierarchyNode();
+        ReflectionTestUtils.setField(node, "id", id);
+        node.setSlug(slug);
+        node.setParent(parent);
+        node.setDepthLevel(parent == null ? 0 : parent.getDepthLevel() + 1);
+        node.setPath((parent == null ? "/" : parent.getPath()) + id + "/");
+        return node;
+    }
+}
@@ -0,0 +1,130 @@
+package com.educator.homepage.service;
+
+import com.educator.common.cache.CacheVersionService;
+import com.educator.course.CourseRepository;
+import com.educator.homepage.dto.HomepageResponse;
+import com.educator.homepage.entity.BlockConfig;
+import com.educator.homepage.entity.HomepageSection;
+import com.educator.homepage.entity.SectionBlock;
+import com.educator.homepage.enums.BlockTargetType;
+import com.educator.homepage.enums.BlockType;
+import com.educator.homepage.repository.BlockConfigRepository;
+import com.educator.homepage.repository.HomepageSectionRepository;
+import com.educator.homepage.repository.SectionBlockRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HomepageQueryServiceTest {
+
+    @Mock private HomepageSectionRepository sectionRepo;
+    @Mock private SectionBlockRepository blockRepo;
+    @Mock private BlockConfigRepository blockConfigRepo;
+    @Mock private CourseRepository courseRepo;
+    @Mock private CacheVersionService cacheVersionService;
+
+    @InjectMocks
+    private HomepageQueryService service;
+
+    @Test
+    void getHomepage_assemblesWithBatchedQueriesAndDropsInvisibleCourseBlocks() {
+        HomepageSection hero = section(1);
+        HomepageSection featured = section(2);
+        SectionBlock text = block(hero, 1);
+        SectionBlock visibleCourse = block(featured, 1);
+        SectionBlock draftCourse = block(featured, 2);
+
+        when(sectionRepo.findAllByEnabledTrueOrderByOrderIndexAsc()).thenReturn(List.of(hero, featured));
+        when(blockRepo.findAllBySectionIdInAndEnabledTrueOrderByOrderIndexAsc(anyCollection()))
+                .thenReturn(List.of(text, visibleCourse, draftCourse));
+        when(blockConfigRepo.findAllByBlockIdIn(anyCollection())).thenReturn(List.of(
+                courseConfig(visibleCourse, "/courses/10"),
+                courseConfig(draftCourse, "/courses/11")
+        ));
+        when(courseRepo.findVisibleIdsIn(anyCollection())).thenReturn(List.of(10L));
+
+        List<HomepageResponse> homepage = service.getHomepage();
+
+        assertThat(homepage).hasSize(2);
+        assertThat(homepage.get(0).getBlocks()).containsExactly(text);
+        assertThat(homepage.get(1).getBlocks()).containsExactly(visibleCourse);
+        verify(blockRepo, never()).findAllBySectionIdAndEnabledTrueOrderByOrderIndexAsc(any());
+        verify(blockConfigRepo, never()).findByBlockId(any());
+        verify(courseRepo, never()).findByIdAndStatusAndIsDeletedFalse(any(), any());
+    }
+
+    @Test
+    void getHomepage_servesSnapshotUntilInvalidated() {
+        when(sectionRepo.findAllByEnabledTrueOrderByOrderIndexAsc()).thenReturn(List.of(section(1)));
+
+        HomepageSnapshot first = service.getSnapshot();
+        service.getHomepage(PageRequest.of(0, 20));
+        assertThat(service.getSnapshot()).isSameAs(first);
+        verify(sectionRepo, times(1)).findAllByEnabledTrueOrderByOrderIndexAsc();
+
+        service.invalidate();
+
+        HomepageSnapshot rebuilt = service.getSnapshot();
+        assertThat(rebuilt).isNotSameAs(first);
+        assertThat(rebuilt.getETag()).isEqualTo(first.getETag());
+        verify(cacheVersionService).increment(HomepageQueryService.CACHE_NAME);
+        verify(sectionRepo, times(2)).findAllByEnabledTrueOrderByOrderIndexAsc();
+    }
+
+    @Test
+    void snapshot_pagesInMemory() {
+        HomepageSnapshot snapshot = HomepageSnapshot.of(List.of(
+                new HomepageResponse(section(1), List.of()),
+                new HomepageResponse(section(2), List.of()),
+                new HomepageResponse(section(3), List.of())
+        ), 0L);
+
+        var page = snapshot.page(PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0).getSection().getOrderIndex()).isEqualTo(3);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(snapshot.page(PageRequest.of(5, 2)).getContent()).isEmpty();
+    }
+
+    private static HomepageSection section(int order) {
+        HomepageSection section = new HomepageSection();
+        ReflectionTestUtils.setField(section, "id", UUID.randomUUID());
+        section.setTitle("Section " + order);
+        section.setOrderIndex(order);
+        return section;
+    }
+
+    private static SectionBlock block(HomepageSection section, int order) {
+        SectionBlock block = new SectionBlock();
+        ReflectionTestUtils.setField(block, "id", UUID.randomUUID());
+        block.setSectionId(section.getId());
+        block.setBlockType(BlockType.TEXT);
+        block.setOrderIndex(order);
+        return block;
+    }
+
+    private static BlockConfig courseConfig(SectionBlock block, String url) {
+        BlockConfig config = new BlockConfig();
+        config.setBlockId(block.getId());
+        config.setTargetType(BlockTargetType.COURSE);
+        config.setTargetUrl(url);
+        return config;
+    }
+}
@@ -0,0 +1,29 @@
+package com.educator.importer.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SizeLimitedInputStreamTest {
+
+    @Test
+    void read_passesBodiesUpToTheLimit() throws IOException {
+        InputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[100]), 100);
+
+        assertThat(in.readAllBytes()).hasSize(100);
+    }
+
+    @Test
+    void read_failsOnceTheLimitIsPassed() {
+        InputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[101]), 100);
+
+        assertThatThrownBy(in::readAllBytes)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("larger than 100 bytes");
+    }
+}
@@ -0,0 +1,60 @@
+package com.educator.importer.csv;
+
+import com.educator.importer.csv.CsvRecordReader.CsvRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void next_handlesQuotesSeparatorsAndLineBreaksInsideFields() throws IOException {
+        CsvRecordReader reader = reader("a,\"b, \"\"quoted\"\"\",c\r\n\r\n\"multi\nline\",,last\n", 100, 10);
+
+        CsvRecord first = reader.next();
+        assertThat(first.line()).isEqualTo(1);
+        assertThat(first.fields()).containsExactly("a", "b, \"quoted\"", "c");
+        assertThat(first.problem()).isNull();
+
+        CsvRecord second = reader.next();
+        assertThat(second.line()).isEqualTo(3);
+        assertThat(second.fields()).containsExactly("multi\nline", "", "last");
+
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_capsOversizedRecordsAndResumesWithTheNextOne() throws IOException {
+        CsvRecordReader reader = reader("abcdefgh,x\n1,2,3,4\nok,fine", 4, 3);
+
+        CsvRecord tooLong = reader.next();
+        assertThat(tooLong.fields()).containsExactly("abcd", "x");
+        assertThat(tooLong.problem()).contains("longer than 4");
+
+        CsvRecord tooWide = reader.next();
+        assertThat(tooWide.fields()).hasSize(3);
+        assertThat(tooWide.problem()).contains("More than 3 fields");
+
+        CsvRecord last = reader.next();
+        assertThat(last.line()).isEqualTo(3);
+        assertThat(last.fields()).isEqualTo(List.of("ok", "fine"));
+        assertThat(last.problem()).isNull();
+    }
+
+    @Test
+    void next_reportsUnterminatedQuote() throws IOException {
+        CsvRecordReader reader = reader("a,\"never closed\nb,c\n", 100, 10);
+
+        CsvRecord record = reader.next();
+        assertThat(record.problem()).isEqualTo("Unterminated quoted field");
+        assertThat(reader.next()).isNull();
+    }
+
+    private static CsvRecordReader reader(String csv, int maxFieldLength, int maxFields) {
+        return new CsvRecordReader(new StringReader(csv), maxFieldLength, maxFields);
+    }
+}
@@ -0,0 +1,223 @@
+package com.educator.importer.exam;
+
+import com.educator.exam.repository.ExamQuestionBatchWriter;
+import com.educator.exam.repository.ExamQuestionBatchWriter.OptionRow;
+import com.educator.exam.repository.ExamQuestionBatchWriter.QuestionRow;
+import com.educator.exam.repository.ExamRepository;
+import com.educator.exam.service.ExamAnswerKeyCache;
+import com.educator.importer.common.ImportContext;
+import com.educator.importer.common.ImportError;
+import com.educator.importer.common.ImportResult;
+import com.educator.importer.enums.ImportEntityType;
+import com.educator.importer.enums.ImportSourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExamQuestionCsvImportServiceTest {
+
+    private static final UUID EXAM_ID = UUID.randomUUID();
+    private static final String HEADER = "question_text,correct_option,option_1,option_2,option_3,explanation\n";
+
+    @Mock private ExamRepository examRepository;
+    @Mock private ExamQuestionBatchWriter examQuestionBatchWriter;
+    @Mock private ExamAnswerKeyCache examAnswerKeyCache;
+
+    private final List<List<QuestionRow>> writtenQuestions = new ArrayList<>();
+    private final List<List<OptionRow>> writtenOptions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(examRepository.existsById(EXAM_ID)).thenReturn(true);
+        doAnswer(invocation -> {
+            writtenQuestions.add(List.copyOf(invocation.getArgument(1)));
+            writtenOptions.add(List.copyOf(invocation.getArgument(2)));
+            return null;
+        }).when(examQuestionBatchWriter).append(eq(EXAM_ID), anyList(), anyList(), anyInt());
+    }
+
+    @Test
+    void importData_writesValidRowsInFixedChunksAndEvictsPerChunk() {
+        String csv = HEADER
+                + "What is 2+2?,2,3,4,5,Basic sums\n"
+                + "\"Pick the \"\"odd\"\" one\",1,seven,,eight,\n"
+                + "Capital of France?,3,Rome,Berlin,Paris,\n";
+
+        ImportResult result = service(2, 100).importData(csvImport(csv));
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getRowsRead()).isEqualTo(3);
+        assertThat(result.getRowsImported()).isEqualTo(3);
+        assertThat(writtenQuestions).hasSize(2);
+        assertThat(writtenQuestions.get(0)).extracting(QuestionRow::displayOrder).containsExactly(1, 2);
+        assertThat(writtenQuestions.get(1)).extracting(QuestionRow::displayOrder).containsExactly(1);
+        assertThat(writtenQuestions.get(0).get(1).questionText()).isEqualTo("Pick the \"odd\" one");
+        assertThat(writtenQuestions.get(0).get(0).explanation()).isEqualTo("Basic sums");
+        assertThat(writtenQuestions.get(0).get(1).explanation()).isNull();
+
+        List<OptionRow> oddOneOptions = writtenOptions.get(0).subList(3, 5);
+        assertThat(oddOneOptions).extracting(OptionRow::optionText).containsExactly("seven", "eight");
+        assertThat(oddOneOptions).extracting(OptionRow::displayOrder).containsExactly(1, 2);
+        assertThat(oddOneOptions).extracting(OptionRow::correct).containsExactly(true, false);
+        assertThat(writtenOptions.get(1)).filteredOn(OptionRow::correct).extracting(OptionRow::optionText).containsExactly("Paris");
+        verify(examAnswerKeyCache, times(2)).evict(EXAM_ID);
+    }
+
+    @Test
+    void importData_skipsAndReportsInvalidRowsByLine() {
+        String csv = HEADER
+                + ",1,a,b,,\n"
+                + "No correct,x,a,b,,\n"
+                + "Blank correct,3,a,b,,\n"
+                + "One option,1,a,,,\n"
+                + "Short row,1,a\n"
+                + "Fine,2,a,b,,\n";
+
+        ImportResult result = service(10, 100).importData(csvImport(csv));
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getRowsRead()).isEqualTo(6);
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getRowsFailed()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(ImportError::getRow).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(result.getErrors()).extracting(ImportError::getMessage).containsExactly(
+                "question_text is required",
+                "correct_option must be an option number",
+                "correct_option 3 does not refer to a filled option column",
+                "At least two options are required",
+                "Expected 6 columns but found 3"
+        );
+    }
+
+    @Test
+    void importData_rejectsBadHeaderWithoutWriting() {
+        ImportResult result = service(10, 100).importData(csvImport("question_text,correct_option,option_1,answer\nQ,1,a,b\n"));
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("Unknown column 'answer'"));
+        verifyNoInteractions(examQuestionBatchWriter, examAnswerKeyCache);
+    }
+
+    @Test
+    void importData_reportsFailedChunkAndCarriesOn() {
+        doThrow(new DataIntegrityViolationException("boom"))
+                .doAnswer(invocation -> null)
+                .when(examQuestionBatchWriter).append(eq(EXAM_ID), anyList(), anyList(), anyInt());
+        String csv = HEADER + "Q1,1,a,b,,\nQ2,1,a,b,,\nQ3,1,a,b,,\n";
+
+        ImportResult result = service(2, 100).importData(csvImport(csv));
+
+        // Only the chunk that committed evicts the answer key
+        verify(examAnswerKeyCache, times(1)).evict(EXAM_ID);
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getRowsFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getCode()).isEqualTo("BATCH_FAILED");
+            assertThat(error.getMessage()).startsWith("Rows on lines 2-3 were not saved");
+        });
+    }
+
+    @Test
+    void importData_streamsLargeBankWithBoundedErrorList() {
+        int rows = 500_000;
+        InputStream source = new GeneratedCsv(rows);
+        // Count instead of keeping the chunks, so the test's own heap stays flat
+        long[] appended = new long[2];
+        doAnswer(invocation -> {
+            int size = invocation.<List<QuestionRow>>getArgument(1).size();
+            appended[0] += size;
+            appended[1] = Math.max(appended[1], size);
+            return null;
+        }).when(examQuestionBatchWriter).append(eq(EXAM_ID), anyList(), anyList(), anyInt());
+
+        ImportResult result = service(1000, 10).importData(csvImport(source));
+
+        // Every 100th row is invalid; only the first 10 are listed
+        assertThat(result.getRowsRead()).isEqualTo(rows);
+        assertThat(result.getRowsFailed()).isEqualTo(rows / 100);
+        assertThat(result.getRowsImported()).isEqualTo(rows - rows / 100);
+        assertThat(result.getErrors()).hasSize(10);
+        assertThat(appended[0]).isEqualTo(rows - rows / 100);
+        assertThat(appended[1]).isEqualTo(1000);
+        assertThat(result.getRowsPerSecond()).isPositive();
+    }
+
+    @Test
+    void importData_rejectsOtherSources() {
+        ImportContext context = new ImportContext();
+        context.setEntityType(ImportEntityType.COURSE);
+        context.setSourceType(ImportSourceType.CSV);
+
+        ImportResult result = service(10, 100).importData(new ExamQuestionCsvImport(
+                context, EXAM_ID, new ByteArrayInputStream(new byte[0])));
+
+        assertThat(result.getErrors()).extracting(ImportError::getCode).containsExactly("UNSUPPORTED_SOURCE");
+        verifyNoInteractions(examQuestionBatchWriter);
+    }
+
+    private ExamQuestionCsvImportService service(int batchSize, int maxReportedErrors) {
+        return new ExamQuestionCsvImportService(examRepository, examQuestionBatchWriter,
+                examAnswerKeyCache, batchSize, maxReportedErrors);
+    }
+
+    private static ExamQuestionCsvImport csvImport(String csv) {
+        return csvImport(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ExamQuestionCsvImport csvImport(InputStream source) {
+        ImportContext context = new ImportContext();
+        context.setEntityType(ImportEntityType.EXAM);
+        context.setSourceType(ImportSourceType.CSV);
+        return new ExamQuestionCsvImport(context, EXAM_ID, source);
+    }
+
+    /**
+     * Produces rows on demand, so the test never holds the whole file either.
+     */
+    private static final class GeneratedCsv extends InputStream {
+
+        private final int rows;
+        private int row = -1;
+        private byte[] current = HEADER.getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                row++;
+                if (row >= rows) {
+                    return -1;
+                }
+                String correct = row % 100 == 99 ? "9" : "2";
+                current = ("Question " + row + "," + correct + ",alpha,beta,gamma,\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return current[position++];
+        }
+    }
+}
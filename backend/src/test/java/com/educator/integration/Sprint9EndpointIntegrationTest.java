@@ -14,6 +14,7 @@ import com.educator.certificate.controller.LearnerCertificateController;
 import com.educator.certificate.entity.Certificate;
 import com.educator.certificate.enums.CertificateStatus;
 import com.educator.certificate.service.CertificateService;
+import com.educator.common.dto.CursorPage;
 import com.educator.course.Course;
 import com.educator.course.CourseDifficulty;
 import com.educator.course.CourseRepository;
@@ -26,7 +27,10 @@ import com.educator.course.lesson.api.LessonAdminQueryController;
 import com.educator.course.lesson.api.LessonPublicController;
 import com.educator.course.lesson.api.LessonTreeController;
 import com.educator.course.lesson.service.LessonService;
+import com.educator.course.lesson.service.LessonTreeService;
+import com.educator.course.search.CourseTitleSuggester;
 import com.educator.course.service.CourseService;
+import com.educator.course.service.HierarchyCourseService;
 import com.educator.enrollment.controller.LearnerEnrollmentController;
 import com.educator.enrollment.entity.Enrollment;
 import com.educator.enrollment.service.EnrollmentService;
@@ -46,15 +50,21 @@ import com.educator.homepage.entity.SectionBlock;
 import com.educator.homepage.enums.BlockType;
 import com.educator.homepage.enums.SectionPosition;
 import com.educator.homepage.service.HomepageQueryService;
+import com.educator.homepage.service.HomepageRenderer;
+import com.educator.homepage.service.HomepageSnapshot;
 import com.educator.notification.controller.LearnerNotificationController;
 import com.educator.notification.entity.Notification;
 import com.educator.notification.entity.NotificationType;
 import com.educator.notification.enums.NotificationStatus;
 import com.educator.notification.service.LearnerNotificationService;
+import com.educator.notification.service.NotificationStreamHub;
 import com.educator.profile.LearnerProfileController;
 import com.educator.profile.ProfileService;
 import com.educator.profile.dto.ProfileResponse;
+import com.educator.security.AuthRateLimiter;
+import com.educator.security.AuthenticatedIdentityCache;
 import com.educator.security.JwtUtil;
+import com.educator.security.VerifiedTokenCache;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import com.educator.users.dto.AdminUserResponse;
@@ -63,6 +73,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -71,11 +82,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
@@ -101,6 +116,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         LearnerEnrollmentController.class
 })
 @AutoConfigureMockMvc(addFilters = false)
+@Import(HomepageRenderer.class)
 class Sprint9EndpointIntegrationTest {
 
         @Autowired
@@ -112,18 +128,25 @@ class Sprint9EndpointIntegrationTest {
         @MockitoBean private ProfileService profileService;
         @MockitoBean private ExamAttemptService examAttemptService;
         @MockitoBean private LearnerNotificationService learnerNotificationService;
+        @MockitoBean private NotificationStreamHub notificationStreamHub;
         @MockitoBean private CertificateService certificateService;
         @MockitoBean private CourseService courseService;
+        @MockitoBean private HierarchyCourseService hierarchyCourseService;
+        @MockitoBean private CourseTitleSuggester courseTitleSuggester;
         @MockitoBean private AdminUserService adminUserService;
         @MockitoBean private AdminStatsService adminStatsService;
         @MockitoBean private HierarchyNodeRepository hierarchyNodeRepository;
         @MockitoBean private HomepageQueryService homepageQueryService;
         @MockitoBean private HierarchyNodeService hierarchyNodeService;
         @MockitoBean private LessonService lessonService;
+        @MockitoBean private LessonTreeService lessonTreeService;
         @MockitoBean private CourseRepository courseRepository;
         @MockitoBean private EnrollmentService enrollmentService;
         @MockitoBean private UserRepository userRepository;
         @MockitoBean private LessonRepository lessonRepository;
+        @MockitoBean private AuthenticatedIdentityCache authenticatedIdentityCache;
+        @MockitoBean private VerifiedTokenCache verifiedTokenCache;
+        @MockitoBean private AuthRateLimiter authRateLimiter;
 
         @Test
         void publicCourseEndpoints_returnSearchAndDetails() throws Exception {
@@ -144,6 +167,15 @@ class Sprint9EndpointIntegrationTest {
                         .andExpect(status().isOk())
                         .andExpect(jsonPath("$.content[0].titleEn").value("History 101"));
 
+                when(courseService.browsePublicCourses(any(), eq(CourseStatus.PUBLISHED), eq(""), any(), eq(false)))
+                        .thenReturn(new CursorPage<>(List.of(course), "next"));
+
+                mockMvc.perform(get("/api/public/courses/search").param("cursor", ""))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content[0].titleEn").value("History 101"))
+                        .andExpect(jsonPath("$.nextCursor").value("next"))
+                        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
                 mockMvc.perform(get("/api/public/courses/{courseId}", 50L))
                         .andExpect(status().isOk())
                         .andExpect(jsonPath("$.id").value(50));
@@ -153,21 +185,42 @@ class Sprint9EndpointIntegrationTest {
         void paginatedListEndpoints_returnPaginatedResponses() throws Exception {
 
                 // FIXED HERE (Removed EnrichedBlock)
-                when(homepageQueryService.getHomepage(any()))
-                        .thenReturn(new PageImpl<>(
-                                List.of(
-                                        new HomepageResponse(
-                                                section("Hero", 1),
-                                                List.of(block(1))
-                                        )
-                                ),
-                                PageRequest.of(0, 20),
-                                1
-                        ));
-
-                mockMvc.perform(get("/api/public/homepage"))
+                HomepageSnapshot snapshot = HomepageSnapshot.of(
+                        List.of(
+                                new HomepageResponse(
+                                        section("Hero", 1),
+                                        List.of(block(1))
+                                )
+                        ),
+                        0L
+                );
+                when(homepageQueryService.getSnapshot()).thenReturn(snapshot);
+
+                String etag = mockMvc.perform(get("/api/public/homepage"))
                         .andExpect(status().isOk())
-                        .andExpect(jsonPath("$.content[0].section.title").value("Hero"));
+                        .andExpect(header().exists("ETag"))
+                        .andExpect(header().exists("Last-Modified"))
+                        .andExpect(header().string("Cache-Control", "no-cache"))
+                        .andExpect(header().string("Vary", "Accept-Encoding"))
+                        .andExpect(jsonPath("$.content[0].section.title").value("Hero"))
+                        .andReturn()
+                        .getResponse()
+                        .getHeader("ETag");
+
+                mockMvc.perform(get("/api/public/homepage").header("If-None-Match", etag))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string("ETag", etag));
+
+                byte[] gzipped = mockMvc.perform(get("/api/public/homepage").header("Accept-Encoding", "gzip, deflate"))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string("Content-Encoding", "gzip"))
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsByteArray();
+
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+                        assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("\"Hero\"");
+                }
         }
 
         private static UsernamePasswordAuthenticationToken authPrincipal(String email) {
@@ -19,6 +19,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,6 +30,12 @@ class LearnerNotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    @Mock
+    private NotificationStreamHub streamHub;
+
     @InjectMocks
     private LearnerNotificationService service;
 
@@ -46,27 +53,49 @@ class LearnerNotificationServiceTest {
     }
 
     @Test
-    void unreadCount_delegatesToRepository() {
+    void unreadCount_readsCachedCounter() {
         UUID userId = UUID.randomUUID();
-        when(notificationRepository.countByUserIdAndReadFalse(userId)).thenReturn(4L);
+        when(unreadCounter.get(userId)).thenReturn(4L);
 
         long count = service.unreadCount(userId);
 
         assertThat(count).isEqualTo(4L);
     }
 
+    @Test
+    void markAllRead_updatesInOneStatementAndEvictsCounter() {
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.markAllRead(userId)).thenReturn(3);
+
+        assertThat(service.markAllRead(userId)).isEqualTo(3);
+        verify(unreadCounter).evict(userId);
+        verify(streamHub).publishUnreadCount(userId);
+    }
+
     @Test
     void markRead_marksNotificationAndSavesWhenOwnedByUser() {
         UUID userId = UUID.randomUUID();
         UUID notificationId = UUID.randomUUID();
         Notification notification = notificationFor(userId);
         when(notificationRepository.findByIdAndUserId(notificationId, userId)).thenReturn(Optional.of(notification));
-        when(notificationRepository.save(notification)).thenReturn(notification);
+        when(notificationRepository.markRead(notificationId, userId)).thenReturn(1);
 
         Notification result = service.markRead(userId, notificationId);
 
         assertThat(result.isRead()).isTrue();
-        verify(notificationRepository).save(notification);
+        verify(notificationRepository).markRead(notificationId, userId);
+        verify(unreadCounter).add(userId, -1);
+    }
+
+    @Test
+    void markRead_leavesTheCountAloneWhenAConcurrentRequestFlippedTheRowFirst() {
+        UUID userId = UUID.randomUUID();
+        UUID notificationId = UUID.randomUUID();
+        when(notificationRepository.findByIdAndUserId(notificationId, userId)).thenReturn(Optional.of(notificationFor(userId)));
+        when(notificationRepository.markRead(notificationId, userId)).thenReturn(0);
+
+        assertThat(service.markRead(userId, notificationId).isRead()).isTrue();
+        verify(unreadCounter, never()).add(any(), anyLong());
     }
 
     @Test
@@ -89,7 +118,7 @@ class LearnerNotificationServiceTest {
         assertThatThrownBy(() -> service.markRead(userId, notificationId))
                 .isInstanceOf(IllegalArgumentException.class);
 
-        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationRepository, never()).markRead(any(), any());
     }
 
     @Test
@@ -113,7 +142,7 @@ class LearnerNotificationServiceTest {
         assertThatThrownBy(() -> service.markRead(userId, notificationId))
                 .isInstanceOf(IllegalArgumentException.class);
 
-        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationRepository, never()).markRead(any(), any());
     }
 
     @Test
@@ -127,7 +156,7 @@ class LearnerNotificationServiceTest {
         Notification result = service.markRead(userId, notificationId);
 
         assertThat(result.isRead()).isTrue();
-        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationRepository, never()).markRead(any(), any());
     }
 
     private static Notification notificationFor(UUID userId) {
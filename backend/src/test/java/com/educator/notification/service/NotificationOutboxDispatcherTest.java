@@ -0,0 +1,80 @@
+package com.educator.notification.service;
+
+import com.educator.notification.entity.NotificationType;
+import com.educator.notification.repository.NotificationOutboxBatchWriter;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.DeliveredNotification;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.DispatchedBatch;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.OutboxDispatchException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    @Mock private NotificationOutboxBatchWriter batchWriter;
+    @Mock private UnreadNotificationCounter unreadCounter;
+    @Mock private NotificationStreamHub streamHub;
+
+    @Test
+    void drain_dispatchesBatchesUntilOneComesBackShortAndCountsDeliveries() {
+        NotificationOutboxDispatcher dispatcher = new NotificationOutboxDispatcher(batchWriter, unreadCounter, streamHub, 2, 5, 24);
+        UUID userA = UUID.randomUUID();
+        UUID userB = UUID.randomUUID();
+        when(batchWriter.dispatchBatch(2)).thenReturn(
+                new DispatchedBatch(2, List.of(delivered(userA), delivered(userA))),
+                new DispatchedBatch(2, List.of(delivered(userB), delivered(userB))),
+                new DispatchedBatch(1, List.of(delivered(userA)))
+        );
+
+        assertThat(dispatcher.drain()).isEqualTo(5);
+        verify(batchWriter, times(3)).dispatchBatch(2);
+        verify(unreadCounter).add(userA, 2L);
+        verify(unreadCounter).add(userA, 1L);
+        verify(unreadCounter).add(userB, 2L);
+        verify(streamHub, times(3)).publish(anyList());
+    }
+
+    @Test
+    void drain_retriesAFailedBatchEntryByEntryAndRecordsTheBrokenOne() {
+        NotificationOutboxDispatcher dispatcher = new NotificationOutboxDispatcher(batchWriter, unreadCounter, streamHub, 3, 5, 24);
+        UUID userId = UUID.randomUUID();
+        when(batchWriter.dispatchBatch(3)).thenThrow(
+                new OutboxDispatchException(List.of(1L, 2L, 3L), new IllegalArgumentException("bad type")));
+        when(batchWriter.dispatchEntry(1L)).thenReturn(new DispatchedBatch(1, List.of(delivered(userId))));
+        when(batchWriter.dispatchEntry(2L)).thenThrow(
+                new OutboxDispatchException(List.of(2L), new IllegalArgumentException("bad type")));
+        when(batchWriter.dispatchEntry(3L)).thenReturn(new DispatchedBatch(1, List.of(delivered(userId))));
+        when(batchWriter.recordFailure(2L, "bad type", 5)).thenReturn(false);
+
+        // The failure ends the drain; the next poll retries entry 2
+        assertThat(dispatcher.drain()).isEqualTo(3);
+        verify(batchWriter, times(1)).dispatchBatch(3);
+        verify(batchWriter).recordFailure(2L, "bad type", 5);
+        verify(unreadCounter).add(userId, 2L);
+    }
+
+    @Test
+    void wakeUp_drainsOnWorkerThread() throws Exception {
+        NotificationOutboxDispatcher dispatcher = new NotificationOutboxDispatcher(batchWriter, unreadCounter, streamHub, 10, 5, 24);
+        when(batchWriter.dispatchBatch(10)).thenReturn(new DispatchedBatch(0, List.of()));
+
+        dispatcher.wakeUp();
+        dispatcher.destroy();
+
+        verify(batchWriter).dispatchBatch(10);
+    }
+
+    private static DeliveredNotification delivered(UUID userId) {
+        return new DeliveredNotification(UUID.randomUUID(), userId, NotificationType.EXAM_PASSED, "t", "m", Instant.now());
+    }
+}
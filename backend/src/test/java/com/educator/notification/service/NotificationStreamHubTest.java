@@ -0,0 +1,99 @@
+package com.educator.notification.service;
+
+import com.educator.notification.entity.NotificationType;
+import com.educator.notification.repository.NotificationOutboxBatchWriter.DeliveredNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamHubTest {
+
+    @Mock private UnreadNotificationCounter unreadCounter;
+
+    private NotificationStreamHub hub;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (hub != null) {
+            hub.destroy();
+        }
+    }
+
+    @Test
+    void subscribe_closesOldestConnectionsBeyondPerUserLimit() {
+        hub = new NotificationStreamHub(unreadCounter, 60_000, 8, 2, 1);
+        UUID userId = UUID.randomUUID();
+
+        hub.subscribe(userId, null);
+        hub.subscribe(userId, null);
+        hub.subscribe(userId, null);
+        hub.subscribe(UUID.randomUUID(), null);
+
+        assertThat(hub.connectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void subscribe_endsTheStreamNoLaterThanTheTokenExpires() {
+        hub = new NotificationStreamHub(unreadCounter, 60_000, 8, 2, 1);
+
+        SseEmitter capped = hub.subscribe(UUID.randomUUID(), Instant.now().plusSeconds(10));
+        SseEmitter uncapped = hub.subscribe(UUID.randomUUID(), Instant.now().plusSeconds(3600));
+
+        assertThat(capped.getTimeout()).isBetween(1L, 10_000L);
+        assertThat(uncapped.getTimeout()).isEqualTo(60_000L);
+    }
+
+    @Test
+    void subscribe_keepsConnectionsReachableWhileOthersOfTheUserClose() throws Exception {
+        hub = new NotificationStreamHub(unreadCounter, 60_000, 8, 1, 1);
+        UUID userId = UUID.randomUUID();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    hub.subscribe(userId, null);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Each subscribe closed the older connections; the survivors are still registered
+        assertThat(hub.connectionCount()).isBetween(1, threads.length);
+        clearInvocations(unreadCounter);
+        hub.publishUnreadCount(userId);
+        verify(unreadCounter).get(userId);
+    }
+
+    @Test
+    void publish_onlyLooksUpCountsForConnectedRecipients() {
+        hub = new NotificationStreamHub(unreadCounter, 60_000, 8, 2, 1);
+        UUID connected = UUID.randomUUID();
+        UUID offline = UUID.randomUUID();
+        hub.subscribe(connected, null);
+
+        hub.publish(List.of(delivered(connected), delivered(offline)));
+        hub.publishUnreadCount(offline);
+
+        verify(unreadCounter, times(2)).get(connected);
+        verify(unreadCounter, never()).get(offline);
+    }
+
+    private static DeliveredNotification delivered(UUID userId) {
+        return new DeliveredNotification(UUID.randomUUID(), userId, NotificationType.EXAM_PASSED, "t", "m", Instant.now());
+    }
+}
@@ -0,0 +1,82 @@
+package com.educator.notification.service;
+
+import com.educator.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    @Mock private NotificationRepository notificationRepository;
+
+    @Test
+    void get_loadsOnceThenAppliesDeltasInPlace() {
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 300, 100);
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.countByUserIdAndReadFalse(userId)).thenReturn(2L, 7L);
+
+        assertThat(counter.get(userId)).isEqualTo(2L);
+        counter.add(userId, 3);
+        counter.add(userId, -1);
+        assertThat(counter.get(userId)).isEqualTo(4L);
+        counter.add(userId, -10);
+        assertThat(counter.get(userId)).isZero();
+        verify(notificationRepository, times(1)).countByUserIdAndReadFalse(userId);
+
+        counter.evict(userId);
+        assertThat(counter.get(userId)).isEqualTo(7L);
+    }
+
+    @Test
+    void add_ignoresUsersWithoutCachedCount() {
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 300, 100);
+        UUID userId = UUID.randomUUID();
+
+        counter.add(userId, 1);
+
+        assertThat(counter.size()).isZero();
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void get_discardsALoadOnlyWhenThatUsersCountChangedMeanwhile() {
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 300, 100);
+        // Fixed ids with distinct hash codes, so they do not share a generation stripe
+        UUID userA = new UUID(0L, 1L);
+        UUID userB = new UUID(0L, 2L);
+        when(notificationRepository.countByUserIdAndReadFalse(userA)).thenAnswer(invocation -> {
+            counter.add(userB, 1);
+            return 2L;
+        });
+        when(notificationRepository.countByUserIdAndReadFalse(userB)).thenAnswer(invocation -> {
+            counter.add(userB, 1);
+            return 5L;
+        }).thenReturn(6L);
+
+        assertThat(counter.get(userA)).isEqualTo(2L);
+        assertThat(counter.get(userA)).isEqualTo(2L);
+        verify(notificationRepository, times(1)).countByUserIdAndReadFalse(userA);
+
+        assertThat(counter.get(userB)).isEqualTo(5L);
+        assertThat(counter.get(userB)).isEqualTo(6L);
+        verify(notificationRepository, times(2)).countByUserIdAndReadFalse(userB);
+    }
+
+    @Test
+    void get_staysWithinMaxEntries() {
+        UnreadNotificationCounter counter = new UnreadNotificationCounter(notificationRepository, 300, 10);
+
+        for (int i = 0; i < 50; i++) {
+            counter.get(UUID.randomUUID());
+        }
+
+        assertThat(counter.size()).isLessThanOrEqualTo(10);
+    }
+}
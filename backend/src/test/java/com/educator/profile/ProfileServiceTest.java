@@ -1,6 +1,9 @@
 package com.educator.profile;
 
+import com.educator.common.security.AuthenticatedIdentity;
+import com.educator.common.security.UserIdentityUtil;
 import com.educator.roles.Role;
+import com.educator.security.VerifiedTokenCache;
 import com.educator.users.User;
 import com.educator.users.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -13,12 +16,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,53 +35,48 @@ class ProfileServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private ProfileService profileService;
 
     @Test
-    void getProfile_returnsMappedUser() {
+    void getProfile_returnsMappedIdentityWithoutLookup() {
         User user = user(1L, "student@example.com", "encoded");
         user.addRole(new Role(Role.STUDENT));
-        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
 
-        var profile = profileService.getProfile("student@example.com");
+        var profile = profileService.getProfile(AuthenticatedIdentity.from(user));
 
         assertThat(profile.getId()).isEqualTo(1L);
         assertThat(profile.getEmail()).isEqualTo("student@example.com");
         assertThat(profile.getRoles()).containsExactly("STUDENT");
-    }
-
-    @Test
-    void getProfile_throwsWhenUserMissing() {
-        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
-
-        assertThatThrownBy(() -> profileService.getProfile("missing@example.com"))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessage("User not found");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void updateProfile_normalizesEmailAndSaves() {
         User user = user(1L, "old@example.com", "encoded");
-        when(userRepository.findByEmail("old@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        var profile = profileService.updateProfile("old@example.com", "  NEW@EXAMPLE.COM ");
+        var profile = profileService.updateProfile(identity(1L, "old@example.com"), "  NEW@EXAMPLE.COM ");
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
         verify(userRepository).save(userCaptor.capture());
         assertThat(userCaptor.getValue().getEmail()).isEqualTo("new@example.com");
         assertThat(profile.getEmail()).isEqualTo("new@example.com");
+        verify(verifiedTokenCache).revoke(user);
     }
 
     @Test
     void updateProfile_doesNotCheckDuplicateWhenEmailUnchangedIgnoringCase() {
         User user = user(1L, "student@example.com", "encoded");
-        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        profileService.updateProfile("student@example.com", "STUDENT@EXAMPLE.COM");
+        profileService.updateProfile(identity(1L, "student@example.com"), "STUDENT@EXAMPLE.COM");
 
         verify(userRepository, never()).existsByEmail("student@example.com");
     }
@@ -84,10 +84,10 @@ class ProfileServiceTest {
     @Test
     void updateProfile_throwsWhenTargetEmailAlreadyExists() {
         User user = user(1L, "student@example.com", "encoded");
-        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.existsByEmail("taken@example.com")).thenReturn(true);
 
-        assertThatThrownBy(() -> profileService.updateProfile("student@example.com", "taken@example.com"))
+        assertThatThrownBy(() -> profileService.updateProfile(identity(1L, "student@example.com"), "taken@example.com"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Email already registered");
 
@@ -96,9 +96,9 @@ class ProfileServiceTest {
 
     @Test
     void updateProfile_throwsWhenAuthenticatedUserMissing() {
-        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> profileService.updateProfile("missing@example.com", "new@example.com"))
+        assertThatThrownBy(() -> profileService.updateProfile(identity(99L, "missing@example.com"), "new@example.com"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("User not found");
     }
@@ -106,23 +106,24 @@ class ProfileServiceTest {
     @Test
     void changePassword_updatesWhenCurrentPasswordMatches() {
         User user = user(1L, "student@example.com", "old-encoded");
-        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("OldPass1", "old-encoded")).thenReturn(true);
         when(passwordEncoder.encode("NewPass1")).thenReturn("new-encoded");
 
-        profileService.changePassword("student@example.com", "OldPass1", "NewPass1");
+        profileService.changePassword(identity(1L, "student@example.com"), "OldPass1", "NewPass1");
 
         assertThat(user.getPassword()).isEqualTo("new-encoded");
         verify(userRepository).save(user);
+        verify(verifiedTokenCache).revoke(user);
     }
 
     @Test
     void changePassword_throwsWhenCurrentPasswordMismatch() {
         User user = user(1L, "student@example.com", "old-encoded");
-        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("WrongPass1", "old-encoded")).thenReturn(false);
 
-        assertThatThrownBy(() -> profileService.changePassword("student@example.com", "WrongPass1", "NewPass1"))
+        assertThatThrownBy(() -> profileService.changePassword(identity(1L, "student@example.com"), "WrongPass1", "NewPass1"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Current password is incorrect");
 
@@ -131,9 +132,9 @@ class ProfileServiceTest {
 
     @Test
     void changePassword_throwsWhenUserMissing() {
-        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> profileService.changePassword("missing@example.com", "OldPass1", "NewPass1"))
+        assertThatThrownBy(() -> profileService.changePassword(identity(99L, "missing@example.com"), "OldPass1", "NewPass1"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("User not found");
     }
@@ -141,15 +142,19 @@ class ProfileServiceTest {
     @Test
     void updateProfile_trimsEmailBeforeSaving() {
         User user = user(1L, "student@example.com", "encoded");
-        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.existsByEmail("trimmed@example.com")).thenReturn(false);
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        var profile = profileService.updateProfile("student@example.com", "  trimmed@example.com   ");
+        var profile = profileService.updateProfile(identity(1L, "student@example.com"), "  trimmed@example.com   ");
 
         assertThat(profile.getEmail()).isEqualTo("trimmed@example.com");
     }
 
+    private static AuthenticatedIdentity identity(Long id, String email) {
+        return new AuthenticatedIdentity(id, UserIdentityUtil.toStableUuid(email), email, Set.of(Role.STUDENT));
+    }
+
     private static User user(Long id, String email, String password) {
         User user = new User(email, password);
         ReflectionTestUtils.setField(user, "id", id);
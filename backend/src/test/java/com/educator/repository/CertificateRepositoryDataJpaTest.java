@@ -10,6 +10,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,6 +50,19 @@ class CertificateRepositoryDataJpaTest {
                 .isAfterOrEqualTo(page.getContent().get(1).getCreatedAt());
     }
 
+    @Test
+    void findByUserIdAndCourseIdIn_returnsOnlyTheUsersCertificatesForThoseCourses() {
+        UUID userId = UUID.randomUUID();
+        Certificate first = saveCertificate(31L, userId, LocalDateTime.now());
+        Certificate second = saveCertificate(32L, userId, LocalDateTime.now());
+        saveCertificate(33L, userId, LocalDateTime.now());
+        saveCertificate(31L, UUID.randomUUID(), LocalDateTime.now());
+
+        assertThat(repository.findByUserIdAndCourseIdIn(userId, List.of(31L, 32L)))
+                .extracting(Certificate::getId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
     private Certificate saveCertificate(Long courseId, UUID userId, LocalDateTime createdAt) {
         Certificate certificate = new Certificate();
         certificate.setCourseId(courseId);
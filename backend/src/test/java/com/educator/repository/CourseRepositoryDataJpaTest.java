@@ -4,6 +4,7 @@ import com.educator.course.Course;
 import com.educator.course.CourseDifficulty;
 import com.educator.course.CourseRepository;
 import com.educator.course.CourseStatus;
+import com.educator.course.service.HierarchyCourseCounts;
 import com.educator.hierarchy.HierarchyNode;
 import com.educator.hierarchy.HierarchyNodeRepository;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,8 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -23,27 +26,6 @@ class CourseRepositoryDataJpaTest {
     @Autowired
     private HierarchyNodeRepository hierarchyNodeRepository;
 
-    @Test
-    void searchPublicCourses_appliesKeywordDifficultyAndStatusFilters() {
-        HierarchyNode node = saveNode("history");
-
-        saveCourse(node, "Ancient History", "Great civilization", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, false);
-        saveCourse(node, "Advanced History", "Deep analysis", CourseDifficulty.ADVANCED, CourseStatus.PUBLISHED, false, false);
-        saveCourse(node, "Deleted Course", "Should not appear", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, true);
-        saveCourse(node, "Archived Course", "Should not appear", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, true, false);
-        saveCourse(node, "Draft Course", "Should not appear", CourseDifficulty.BEGINNER, CourseStatus.DRAFT, false, false);
-
-        Page<Course> result = courseRepository.searchPublicCoursesWithQuery(
-                "history",
-                CourseDifficulty.BEGINNER,
-                CourseStatus.PUBLISHED,
-                PageRequest.of(0, 20)
-        );
-
-        assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getTitleEn()).isEqualTo("Ancient History");
-    }
-
     @Test
     void searchPublicCoursesWithoutQuery_filtersWithoutTextSearch() {
         HierarchyNode node = saveNode("math");
@@ -75,6 +57,56 @@ class CourseRepositoryDataJpaTest {
         assertThat(courseRepository.countByIsDeletedFalse()).isEqualTo(2L);
     }
 
+    @Test
+    void findPublishedInSubtreeAfter_keysetPagesCoursesBelowNodeAndCountsRollUp() {
+        HierarchyNode root = saveNode("languages");
+        HierarchyNode child = saveChildNode("spanish", root, true);
+        HierarchyNode hidden = saveChildNode("hidden", root, false);
+        HierarchyNode underHidden = saveChildNode("under-hidden", hidden, true);
+        HierarchyNode other = saveNode("music");
+
+        saveCourse(root, "Intro", "desc", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, false);
+        saveCourse(child, "Spanish 1", "desc", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, false);
+        saveCourse(child, "Spanish 2", "desc", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, false);
+        saveCourse(child, "Spanish Draft", "desc", CourseDifficulty.BEGINNER, CourseStatus.DRAFT, false, false);
+        saveCourse(hidden, "Hidden", "desc", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, false);
+        saveCourse(underHidden, "Under Hidden", "desc", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, false);
+        saveCourse(other, "Piano", "desc", CourseDifficulty.BEGINNER, CourseStatus.PUBLISHED, false, false);
+
+        List<Course> first = courseRepository.findPublishedInSubtreeAfter(
+                root.getPath(), Integer.MIN_VALUE, 0L, PageRequest.of(0, 2));
+        Course last = first.get(first.size() - 1);
+        List<Course> rest = courseRepository.findPublishedInSubtreeAfter(
+                root.getPath(), last.getSortOrder(), last.getId(), PageRequest.of(0, 2));
+
+        assertThat(first).extracting(Course::getTitleEn).containsExactly("Intro", "Spanish 1");
+        assertThat(rest).extracting(Course::getTitleEn).containsExactly("Spanish 2");
+
+        HierarchyCourseCounts counts = HierarchyCourseCounts.from(courseRepository.countPublishedByNodePath());
+        assertThat(counts.countFor(root.getId())).isEqualTo(3L);
+        assertThat(counts.countFor(child.getId())).isEqualTo(2L);
+        assertThat(counts.countFor(hidden.getId())).isZero();
+        assertThat(counts.countFor(underHidden.getId())).isZero();
+        assertThat(hierarchyNodeRepository.existsHiddenOnPath(underHidden.getPath())).isTrue();
+        assertThat(hierarchyNodeRepository.existsHiddenOnPath(child.getPath())).isFalse();
+        assertThat(counts.countsUnder(root.getPath()))
+                .containsOnlyKeys(root.getId(), child.getId());
+    }
+
+    private HierarchyNode saveChildNode(String slug, HierarchyNode parent, boolean published) {
+        HierarchyNode node = new HierarchyNode();
+        node.setSlug(slug);
+        node.setNameEn(slug + "-name");
+        node.setParent(parent);
+        node.setDepthLevel(parent.getDepthLevel() + 1);
+        node.setVisible(true);
+        node.setPublished(published);
+        node.setCreatedBy("test");
+        node = hierarchyNodeRepository.save(node);
+        node.setPath(parent.getPath() + node.getId() + "/");
+        return hierarchyNodeRepository.save(node);
+    }
+
     private HierarchyNode saveNode(String slug) {
         HierarchyNode node = new HierarchyNode();
         node.setSlug(slug);
@@ -84,6 +116,8 @@ class CourseRepositoryDataJpaTest {
         node.setVisible(true);
         node.setPublished(true);
         node.setCreatedBy("test");
+        node = hierarchyNodeRepository.save(node);
+        node.setPath("/" + node.getId() + "/");
         return hierarchyNodeRepository.save(node);
     }
 
@@ -4,9 +4,16 @@ import com.educator.course.Course;
 import com.educator.course.CourseDifficulty;
 import com.educator.course.CourseRepository;
 import com.educator.course.CourseStatus;
+import com.educator.course.lesson.Lesson;
+import com.educator.course.lesson.LessonRepository;
+import com.educator.course.lesson.LessonType;
 import com.educator.enrollment.entity.Enrollment;
 import com.educator.enrollment.entity.EnrollmentStatus;
+import com.educator.enrollment.entity.LessonProgress;
 import com.educator.enrollment.repository.EnrollmentRepository;
+import com.educator.enrollment.repository.LessonProgressBatchWriter;
+import com.educator.enrollment.repository.LessonProgressBatchWriter.CompletedLesson;
+import com.educator.enrollment.repository.LessonProgressRepository;
 import com.educator.hierarchy.HierarchyNode;
 import com.educator.hierarchy.HierarchyNodeRepository;
 import com.educator.users.User;
@@ -14,7 +21,15 @@ import com.educator.users.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +48,15 @@ class EnrollmentRepositoryDataJpaTest {
     @Autowired
     private HierarchyNodeRepository hierarchyNodeRepository;
 
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private LessonProgressRepository lessonProgressRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void derivedQueries_returnExpectedResultsAndCounts() {
         User learner = userRepository.save(new User("learner@example.com", "pw"));
@@ -60,6 +84,168 @@ class EnrollmentRepositoryDataJpaTest {
         assertThat(otherActive.getId()).isNotNull();
     }
 
+    @Test
+    void keysetQueries_pageEnrollmentsByEnrolledAtThenId() {
+        User learner = userRepository.save(new User("keyset@example.com", "pw"));
+        Enrollment first = saveEnrollment(learner, "keyset-1", LocalDateTime.of(2024, 1, 1, 10, 0));
+        Enrollment second = saveEnrollment(learner, "keyset-2", LocalDateTime.of(2024, 1, 2, 10, 0));
+        Enrollment third = saveEnrollment(learner, "keyset-3", LocalDateTime.of(2024, 1, 2, 10, 0));
+
+        List<Enrollment> head = enrollmentRepository.findAllByUserOrderByEnrolledAtDescIdDesc(learner, Limit.of(2));
+        Enrollment last = head.get(head.size() - 1);
+        List<Enrollment> tail = enrollmentRepository.findAllByUserAfter(learner, last.getEnrolledAt(), last.getId(), Limit.of(2));
+
+        assertThat(head).extracting(Enrollment::getId).containsExactly(third.getId(), second.getId());
+        assertThat(tail).extracting(Enrollment::getId).containsExactly(first.getId());
+        assertThat(enrollmentRepository.countByUser(learner)).isEqualTo(3L);
+    }
+
+    @Test
+    void lessonProgressBatchWriter_upsertsCompletionsAndKeepsFirstCompletionTime() {
+        User learner = userRepository.save(new User("progress@example.com", "pw"));
+        Course course = saveCourse("progress");
+        Enrollment enrollment = enrollmentRepository.save(new Enrollment(learner, course));
+        Lesson lesson1 = saveLesson(course, 1);
+        Lesson lesson2 = saveLesson(course, 2);
+        LessonProgressBatchWriter writer = new LessonProgressBatchWriter(jdbcTemplate);
+        LocalDateTime firstCompletion = LocalDateTime.of(2024, 2, 1, 9, 0);
+        LocalDateTime lastAccess = LocalDateTime.of(2024, 2, 1, 9, 30);
+
+        Set<Long> firstFlush = writer.write(
+                List.of(new CompletedLesson(enrollment.getId(), lesson1.getId(), firstCompletion)),
+                Map.of(enrollment.getId(), lastAccess),
+                1
+        );
+        Set<Long> secondFlush = writer.write(
+                List.of(
+                        new CompletedLesson(enrollment.getId(), lesson1.getId(), firstCompletion.plusHours(1)),
+                        new CompletedLesson(enrollment.getId(), lesson2.getId(), firstCompletion.plusHours(1))
+                ),
+                Map.of(enrollment.getId(), lastAccess.minusHours(1)),
+                1
+        );
+        Set<Long> replay = writer.write(
+                List.of(new CompletedLesson(enrollment.getId(), lesson2.getId(), firstCompletion)),
+                Map.of(),
+                1
+        );
+
+        assertThat(firstFlush).containsExactly(enrollment.getId());
+        assertThat(secondFlush).containsExactly(enrollment.getId());
+        assertThat(replay).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT completed_lessons FROM enrollments WHERE id = ?", Integer.class, enrollment.getId()
+        )).isEqualTo(2);
+        assertThat(lessonProgressRepository.countByEnrollmentAndCompletedTrue(enrollment)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT completed_at FROM lesson_progress WHERE enrollment_id = ? AND lesson_id = ?",
+                LocalDateTime.class, enrollment.getId(), lesson1.getId()
+        )).isEqualTo(firstCompletion);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_accessed_at FROM enrollments WHERE id = ?",
+                LocalDateTime.class, enrollment.getId()
+        )).isEqualTo(lastAccess);
+    }
+
+    @Test
+    void progressCounters_bulkAdjustmentsAndReconciliationRepairDrift() {
+        User learner = userRepository.save(new User("counters@example.com", "pw"));
+        Course course = saveCourse("counters");
+        Lesson lesson1 = saveLesson(course, 1);
+        saveLesson(course, 2);
+        Enrollment enrollment = enrollmentRepository.save(new Enrollment(learner, course));
+        LessonProgress progress = new LessonProgress(enrollment, lesson1);
+        progress.markCompleted();
+        lessonProgressRepository.save(progress);
+
+        // Lessons were saved directly, so every counter starts out drifted
+        assertThat(courseRepository.reconcileLessonCounts()).isEqualTo(1);
+        assertThat(enrollmentRepository.reconcileProgressCounters()).isEqualTo(1);
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getLessonCount()).isEqualTo(2);
+        Enrollment reconciled = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertThat(reconciled.getCompletedLessons()).isEqualTo(1);
+        assertThat(reconciled.getTotalLessonsSnapshot()).isEqualTo(2);
+        assertThat(reconciled.getProgressPercent()).isEqualTo(50);
+        assertThat(reconciled.hasCompletedAllLessons()).isFalse();
+
+        Long id = enrollment.getId();
+        assertThat(enrollmentRepository.findCounterIdsAfter(course.getId(), 0L, Limit.of(10))).containsExactly(id);
+        assertThat(enrollmentRepository.findCounterIdsAfter(course.getId(), id, Limit.of(10))).isEmpty();
+        assertThat(enrollmentRepository.adjustTotalLessons(course.getId(), id + 1, id + 10, -1)).isZero();
+        assertThat(enrollmentRepository.adjustTotalLessons(course.getId(), id, id, -1)).isEqualTo(1);
+        assertThat(enrollmentRepository.decrementCompletedLessonsForLesson(lesson1.getId(), id, id)).isEqualTo(1);
+        assertThat(courseRepository.reconcileLessonCounts()).isZero();
+        assertThat(enrollmentRepository.reconcileProgressCounters()).isEqualTo(1);
+        assertThat(enrollmentRepository.reconcileProgressCounters()).isZero();
+    }
+
+    @Test
+    void progressCounters_leaveCompletedEnrollmentsAtTheirCompletionCounts() {
+        User learner = userRepository.save(new User("completed-counters@example.com", "pw"));
+        Course course = saveCourse("completed-counters");
+        Lesson lesson = saveLesson(course, 1);
+        Enrollment enrollment = enrollmentRepository.save(new Enrollment(learner, course));
+        LessonProgress progress = new LessonProgress(enrollment, lesson);
+        progress.markCompleted();
+        lessonProgressRepository.save(progress);
+        courseRepository.reconcileLessonCounts();
+        enrollmentRepository.reconcileProgressCounters();
+        enrollment = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        enrollment.markCompleted();
+        enrollmentRepository.saveAndFlush(enrollment);
+
+        // A lesson added after completion
+        saveLesson(course, 2);
+        courseRepository.reconcileLessonCounts();
+        Long id = enrollment.getId();
+
+        assertThat(enrollmentRepository.findCounterIdsAfter(course.getId(), 0L, Limit.of(10))).isEmpty();
+        assertThat(enrollmentRepository.adjustTotalLessons(course.getId(), id, id, 1)).isZero();
+        assertThat(enrollmentRepository.decrementCompletedLessonsForLesson(lesson.getId(), id, id)).isZero();
+        assertThat(enrollmentRepository.reconcileProgressCounters()).isZero();
+        assertThat(enrollmentRepository.findById(id).orElseThrow().getProgressPercent()).isEqualTo(100);
+    }
+
+    @Test
+    void findDashboardRows_projectsEveryEnrollmentWithCourseAvailabilityAndCounters() {
+        User learner = userRepository.save(new User("dashboard@example.com", "pw"));
+        Enrollment older = saveEnrollment(learner, "dashboard-1", LocalDateTime.of(2024, 3, 1, 9, 0));
+        Enrollment newer = saveEnrollment(learner, "dashboard-2", LocalDateTime.of(2024, 3, 2, 9, 0));
+        Enrollment hidden = saveEnrollment(learner, "dashboard-3", LocalDateTime.of(2024, 3, 3, 9, 0));
+        hidden.getCourse().setArchived(true);
+        courseRepository.save(hidden.getCourse());
+        enrollmentRepository.save(new Enrollment(userRepository.save(new User("else@example.com", "pw")), older.getCourse()));
+
+        List<EnrollmentRepository.DashboardRow> rows = enrollmentRepository.findDashboardRows(learner.getId());
+
+        assertThat(rows).extracting(EnrollmentRepository.DashboardRow::getEnrollmentId)
+                .containsExactly(hidden.getId(), newer.getId(), older.getId());
+        assertThat(rows).extracting(EnrollmentRepository.DashboardRow::isCourseAvailable)
+                .containsExactly(false, true, true);
+        assertThat(rows.get(1).getCourseTitle()).isEqualTo("dashboard-2-title");
+        assertThat(rows.get(1).getCourseId()).isEqualTo(newer.getCourse().getId());
+        assertThat(rows.get(1).getStatus()).isEqualTo(EnrollmentStatus.ACTIVE);
+        assertThat(rows.get(1).getTotalLessons()).isZero();
+    }
+
+    private Lesson saveLesson(Course course, int order) {
+        Lesson lesson = new Lesson();
+        lesson.setCourse(course);
+        lesson.setPath("/course/" + course.getId() + "/lesson/" + order);
+        lesson.setDepthLevel(0);
+        lesson.setType(LessonType.TEXT);
+        lesson.setOrderIndex(order);
+        lesson.setTextContent("content");
+        lesson.setDeleted(false);
+        return lessonRepository.save(lesson);
+    }
+
+    private Enrollment saveEnrollment(User user, String courseSlug, LocalDateTime enrolledAt) {
+        Enrollment enrollment = new Enrollment(user, saveCourse(courseSlug));
+        ReflectionTestUtils.setField(enrollment, "enrolledAt", enrolledAt);
+        return enrollmentRepository.save(enrollment);
+    }
+
     private Course saveCourse(String slug) {
         HierarchyNode node = new HierarchyNode();
         node.setSlug(slug + "-node");
@@ -10,12 +10,16 @@ import com.educator.exam.enums.ExamStatus;
 import com.educator.exam.repository.ExamAttemptAnswerRepository;
 import com.educator.exam.repository.ExamAttemptRepository;
 import com.educator.exam.repository.ExamOptionRepository;
+import com.educator.exam.repository.ExamQuestionBatchWriter;
+import com.educator.exam.repository.ExamQuestionBatchWriter.OptionRow;
+import com.educator.exam.repository.ExamQuestionBatchWriter.QuestionRow;
 import com.educator.exam.repository.ExamQuestionRepository;
 import com.educator.exam.repository.ExamRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
@@ -23,6 +27,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 class ExamRepositoriesDataJpaTest {
@@ -42,6 +47,9 @@ class ExamRepositoriesDataJpaTest {
     @Autowired
     private ExamAttemptAnswerRepository examAttemptAnswerRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void examRepository_methodsWorkForCourseAndStatus() {
         Exam published = saveExam(100L, ExamStatus.PUBLISHED);
@@ -115,6 +123,173 @@ class ExamRepositoriesDataJpaTest {
                 .containsExactly(answer.getId());
     }
 
+    @Test
+    void examAttemptRepository_expiresOnlyTimedOutInProgressAttempts() {
+        Exam exam = saveExam(400L, ExamStatus.PUBLISHED);
+        Exam untimed = saveExam(401L, ExamStatus.PUBLISHED);
+        untimed.setTimeLimitMinutes(null);
+        examRepository.save(untimed);
+
+        ExamAttempt timedOut = saveAttemptStartedAt(exam.getId(), AttemptStatus.IN_PROGRESS, LocalDateTime.now().minusMinutes(45));
+        ExamAttempt active = saveAttemptStartedAt(exam.getId(), AttemptStatus.IN_PROGRESS, LocalDateTime.now().minusMinutes(5));
+        ExamAttempt evaluated = saveAttemptStartedAt(exam.getId(), AttemptStatus.EVALUATED, LocalDateTime.now().minusMinutes(90));
+        ExamAttempt noLimit = saveAttemptStartedAt(untimed.getId(), AttemptStatus.IN_PROGRESS, LocalDateTime.now().minusDays(1));
+
+        assertThat(examAttemptRepository.findDistinctTimeLimitsWithAttemptsInStatus(AttemptStatus.IN_PROGRESS))
+                .containsExactly(30);
+
+        LocalDateTime now = LocalDateTime.now();
+        int expired = examAttemptRepository.expireInProgressStartedBefore(30, now.minusMinutes(30), now);
+
+        assertThat(expired).isEqualTo(1);
+        assertThat(examAttemptRepository.findById(timedOut.getId())).get()
+                .extracting(ExamAttempt::getStatus).isEqualTo(AttemptStatus.EXPIRED);
+        assertThat(examAttemptRepository.findById(active.getId())).get()
+                .extracting(ExamAttempt::getStatus).isEqualTo(AttemptStatus.IN_PROGRESS);
+        assertThat(examAttemptRepository.findById(evaluated.getId())).get()
+                .extracting(ExamAttempt::getStatus).isEqualTo(AttemptStatus.EVALUATED);
+        assertThat(examAttemptRepository.findById(noLimit.getId())).get()
+                .extracting(ExamAttempt::getStatus).isEqualTo(AttemptStatus.IN_PROGRESS);
+
+        // A second run (e.g. on another node) finds nothing left to expire.
+        assertThat(examAttemptRepository.expireInProgressStartedBefore(30, now.minusMinutes(30), now)).isZero();
+    }
+
+    @Test
+    void examAttemptRepository_supportsDeadlineTimerQueries() {
+        Exam exam = saveExam(500L, ExamStatus.PUBLISHED);
+        Exam untimed = saveExam(501L, ExamStatus.PUBLISHED);
+        untimed.setTimeLimitMinutes(0);
+        examRepository.save(untimed);
+
+        ExamAttempt due = saveAttemptStartedAt(exam.getId(), AttemptStatus.IN_PROGRESS, LocalDateTime.now().minusMinutes(31));
+        ExamAttempt notDue = saveAttemptStartedAt(exam.getId(), AttemptStatus.IN_PROGRESS, LocalDateTime.now().minusMinutes(1));
+        saveAttemptStartedAt(exam.getId(), AttemptStatus.EVALUATED, LocalDateTime.now().minusMinutes(40));
+        saveAttemptStartedAt(untimed.getId(), AttemptStatus.IN_PROGRESS, LocalDateTime.now().minusMinutes(40));
+
+        assertThat(examAttemptRepository.findInProgressTimedAttempts())
+                .extracting(ExamAttemptRepository.TimedAttempt::getAttemptId)
+                .containsExactly(due.getId(), notDue.getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(examAttemptRepository.expireInProgressById(notDue.getId(), now.minusMinutes(30), now)).isZero();
+        assertThat(examAttemptRepository.expireInProgressById(due.getId(), now.minusMinutes(30), now)).isEqualTo(1);
+        assertThat(examAttemptRepository.expireInProgressById(due.getId(), now.minusMinutes(30), now)).isZero();
+    }
+
+    @Test
+    void dashboardQueries_returnExamIdsByCourseAndLatestAttemptPerExam() {
+        Exam first = saveExam(400L, ExamStatus.PUBLISHED);
+        Exam second = saveExam(401L, ExamStatus.PUBLISHED);
+        saveExam(402L, ExamStatus.PUBLISHED);
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        saveAttemptStartedAt(first.getId(), userId, now.minusHours(2));
+        ExamAttempt latestFirst = saveAttemptStartedAt(first.getId(), userId, now.minusHours(1));
+        ExamAttempt onlySecond = saveAttemptStartedAt(second.getId(), userId, now.minusDays(1));
+        saveAttemptStartedAt(first.getId(), UUID.randomUUID(), now);
+
+        assertThat(examRepository.findExamIdsByCourseIdIn(List.of(400L, 401L, 999L)))
+                .extracting(ExamRepository.CourseExam::getExamId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(examAttemptRepository.findLatestByUserIdAndExamIdIn(userId, List.of(first.getId(), second.getId())))
+                .extracting(ExamAttempt::getId)
+                .containsExactlyInAnyOrder(latestFirst.getId(), onlySecond.getId());
+    }
+
+    @Test
+    void examQuestionBatchWriter_insertsUpdatesAndDeletesInBatches() {
+        Exam exam = saveExam(401L, ExamStatus.DRAFT);
+        ExamQuestion existing = saveQuestion(exam.getId(), 1);
+        ExamOption kept = saveOption(existing.getId(), 1, true);
+        ExamOption dropped = saveOption(existing.getId(), 2, false);
+        examOptionRepository.flush();
+
+        UUID newQuestionId = UUID.randomUUID();
+        UUID newOptionId = UUID.randomUUID();
+        new ExamQuestionBatchWriter(jdbcTemplate).write(
+                exam.getId(),
+                List.of(new QuestionRow(newQuestionId, "New question", 2, null)),
+                List.of(new QuestionRow(existing.getId(), "Edited question", 1, "why")),
+                List.of(new OptionRow(newOptionId, newQuestionId, "Only option", true, 1)),
+                List.of(new OptionRow(kept.getId(), existing.getId(), "Edited option", true, 1)),
+                List.of(dropped.getId()),
+                1
+        );
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT question_text FROM exam_questions WHERE exam_id = ? ORDER BY display_order",
+                String.class, exam.getId()))
+                .containsExactly("Edited question", "New question");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT option_text FROM exam_options WHERE question_id IN (?, ?) ORDER BY option_text",
+                String.class, existing.getId(), newQuestionId))
+                .containsExactly("Edited option", "Only option");
+    }
+
+    @Test
+    void examQuestionBatchWriter_failsWhenAnUpdatedRowIsGone() {
+        Exam exam = saveExam(404L, ExamStatus.DRAFT);
+        Exam other = saveExam(405L, ExamStatus.DRAFT);
+        ExamQuestion elsewhere = saveQuestion(other.getId(), 1);
+        examQuestionRepository.flush();
+
+        ExamQuestionBatchWriter writer = new ExamQuestionBatchWriter(jdbcTemplate);
+        assertThatThrownBy(() -> writer.write(
+                exam.getId(),
+                List.of(),
+                List.of(new QuestionRow(elsewhere.getId(), "Moved", 1, null)),
+                List.of(),
+                List.of(),
+                List.of(),
+                10
+        )).isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> writer.write(
+                exam.getId(),
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(new OptionRow(UUID.randomUUID(), elsewhere.getId(), "Deleted", true, 1)),
+                List.of(),
+                10
+        )).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void findByIdForUpdate_returnsExamWhenPresent() {
+        Exam exam = saveExam(406L, ExamStatus.DRAFT);
+
+        assertThat(examRepository.findByIdForUpdate(exam.getId())).contains(exam);
+        assertThat(examRepository.findByIdForUpdate(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void examQuestionBatchWriter_appendsAfterTheLastQuestion() {
+        Exam exam = saveExam(402L, ExamStatus.DRAFT);
+        Exam empty = saveExam(403L, ExamStatus.DRAFT);
+        saveQuestion(exam.getId(), 3);
+        saveQuestion(exam.getId(), 7);
+        examQuestionRepository.flush();
+
+        ExamQuestionBatchWriter writer = new ExamQuestionBatchWriter(jdbcTemplate);
+        writer.append(exam.getId(), List.of(
+                new QuestionRow(UUID.randomUUID(), "A", 1, null),
+                new QuestionRow(UUID.randomUUID(), "B", 2, null)), List.of(), 10);
+        writer.append(empty.getId(), List.of(new QuestionRow(UUID.randomUUID(), "C", 1, null)), List.of(), 10);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT display_order FROM exam_questions WHERE exam_id = ? ORDER BY display_order",
+                Integer.class, exam.getId()))
+                .containsExactly(3, 7, 8, 9);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT display_order FROM exam_questions WHERE exam_id = ?", Integer.class, empty.getId()))
+                .containsExactly(1);
+        assertThatThrownBy(() -> writer.append(UUID.randomUUID(), List.of(), List.of(), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private Exam saveExam(Long courseId, ExamStatus status) {
         Exam exam = new Exam();
         exam.setCourseId(courseId);
@@ -149,6 +324,28 @@ class ExamRepositoriesDataJpaTest {
         return examOptionRepository.save(option);
     }
 
+    private ExamAttempt saveAttemptStartedAt(UUID examId, AttemptStatus status, LocalDateTime startedAt) {
+        ExamAttempt attempt = new ExamAttempt();
+        attempt.setExamId(examId);
+        attempt.setUserId(UUID.randomUUID());
+        attempt.setStatus(status);
+        attempt = examAttemptRepository.save(attempt);
+
+        ReflectionTestUtils.setField(attempt, "startedAt", startedAt);
+        return examAttemptRepository.saveAndFlush(attempt);
+    }
+
+    private ExamAttempt saveAttemptStartedAt(UUID examId, UUID userId, LocalDateTime startedAt) {
+        ExamAttempt attempt = new ExamAttempt();
+        attempt.setExamId(examId);
+        attempt.setUserId(userId);
+        attempt.setStatus(AttemptStatus.EVALUATED);
+        attempt = examAttemptRepository.save(attempt);
+
+        ReflectionTestUtils.setField(attempt, "startedAt", startedAt);
+        return examAttemptRepository.saveAndFlush(attempt);
+    }
+
     private ExamAttempt saveAttempt(UUID examId, UUID userId, AttemptStatus status, LocalDateTime evaluatedAt) {
         ExamAttempt attempt = new ExamAttempt();
         attempt.setExamId(examId);
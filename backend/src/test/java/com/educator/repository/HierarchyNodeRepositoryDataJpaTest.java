@@ -30,6 +30,37 @@ class HierarchyNodeRepositoryDataJpaTest {
         assertThat(result).extracting(HierarchyNode::getSlug).containsExactly("a", "c");
     }
 
+    @Test
+    void rebaseSubtree_movesPathPrefixAndDepthOfWholeSubtree() {
+        HierarchyNode a = saveWithPath("a", null);
+        HierarchyNode b = saveWithPath("b", a);
+        HierarchyNode c = saveWithPath("c", b);
+        HierarchyNode other = saveWithPath("other", null);
+        repository.flush();
+
+        assertThat(repository.findMaxDepthUnderPath(a.getPath())).isEqualTo(2);
+
+        String newPrefix = other.getPath() + b.getId() + "/";
+        int updated = repository.rebaseSubtree(b.getPath(), b.getPath().length(), newPrefix, 0);
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(repository.findMaxDepthUnderPath(a.getPath())).isZero();
+        assertThat(repository.findMaxDepthUnderPath(other.getPath())).isEqualTo(2);
+        assertThat(repository.findMaxDepthUnderPath(newPrefix + c.getId() + "/")).isEqualTo(2);
+    }
+
+    private HierarchyNode saveWithPath(String slug, HierarchyNode parent) {
+        HierarchyNode node = new HierarchyNode();
+        node.setSlug(slug);
+        node.setNameEn(slug + "-name");
+        node.setCreatedBy("test");
+        node.setParent(parent);
+        node.setDepthLevel(parent == null ? 0 : parent.getDepthLevel() + 1);
+        node = repository.save(node);
+        node.setPath((parent == null ? "/" : parent.getPath()) + node.getId() + "/");
+        return repository.save(node);
+    }
+
     private void saveNode(String slug, int sortOrder, boolean visible, boolean published, boolean deleted) {
         HierarchyNode node = new HierarchyNode();
         node.setSlug(slug);
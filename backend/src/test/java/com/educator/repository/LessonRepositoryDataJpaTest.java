@@ -70,6 +70,24 @@ class LessonRepositoryDataJpaTest {
         assertThat(lessonRepository.existsByParentLessonAndIsDeletedFalse(parent)).isTrue();
     }
 
+    @Test
+    void findTreeRowsByCourseId_returnsParentLinksInSiblingOrder() {
+        Course course = saveCourse();
+
+        Lesson root2 = saveLesson(course, null, "/course/1/lesson/2", 0, 2, false);
+        Lesson root1 = saveLesson(course, null, "/course/1/lesson/1", 0, 1, false);
+        Lesson child = saveLesson(course, root1, "/course/1/lesson/1/lesson/3", 1, 1, false);
+        saveLesson(course, root1, "/course/1/lesson/1/lesson/4", 1, 2, true);
+
+        List<LessonRepository.LessonTreeRow> rows = lessonRepository.findTreeRowsByCourseId(course.getId());
+
+        assertThat(rows).extracting(LessonRepository.LessonTreeRow::getId)
+                .containsExactly(root1.getId(), child.getId(), root2.getId());
+        assertThat(rows.get(0).getParentId()).isNull();
+        assertThat(rows.get(1).getParentId()).isEqualTo(root1.getId());
+        assertThat(rows.get(1).getDepthLevel()).isEqualTo(1);
+    }
+
     private Course saveCourse() {
         HierarchyNode node = new HierarchyNode();
         node.setSlug("lesson-node-" + System.nanoTime());
@@ -1,16 +1,24 @@
 package com.educator.repository;
 
 import com.educator.notification.entity.Notification;
+import com.educator.notification.entity.NotificationOutboxEntry;
 import com.educator.notification.entity.NotificationType;
 import com.educator.notification.enums.NotificationStatus;
+import com.educator.notification.repository.NotificationOutboxBatchWriter;
+import com.educator.notification.repository.NotificationOutboxRepository;
 import com.educator.notification.repository.NotificationRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +29,12 @@ class NotificationRepositoryDataJpaTest {
     @Autowired
     private NotificationRepository repository;
 
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void countByUserIdAndReadFalse_countsOnlyUnreadForUser() {
         UUID userId = UUID.randomUUID();
@@ -47,6 +61,104 @@ class NotificationRepositoryDataJpaTest {
         assertThat(page.getContent().get(1).getId()).isEqualTo(oldest.getId());
     }
 
+    @Test
+    void keysetQueries_walkAllNotificationsNewestFirstIncludingTimestampTies() {
+        UUID userId = UUID.randomUUID();
+        Instant tie = Instant.parse("2024-03-01T10:00:00Z");
+        saveNotification(userId, false, tie.plusSeconds(15));
+        saveNotification(userId, false, tie);
+        saveNotification(userId, false, tie);
+        saveNotification(userId, false, tie.minusSeconds(40));
+        saveNotification(UUID.randomUUID(), false, tie.plusSeconds(20));
+
+        List<Notification> walked = new ArrayList<>(
+                repository.findByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(2)));
+        for (int slice = 0; slice < 4; slice++) {
+            Notification last = walked.get(walked.size() - 1);
+            List<Notification> next = repository.findByUserIdAfter(userId, last.getCreatedAt(), last.getId(), Limit.of(2));
+            if (next.isEmpty()) {
+                break;
+            }
+            walked.addAll(next);
+        }
+
+        assertThat(walked).hasSize(4);
+        assertThat(walked).extracting(Notification::getId).doesNotHaveDuplicates();
+        assertThat(walked).extracting(Notification::getCreatedAt)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(repository.countByUserId(userId)).isEqualTo(4L);
+    }
+
+    @Test
+    void markRead_flipsAnUnreadNotificationOfItsOwnerOnce() {
+        UUID userId = UUID.randomUUID();
+        Notification notification = saveNotification(userId, false, Instant.now());
+
+        assertThat(repository.markRead(notification.getId(), UUID.randomUUID())).isZero();
+        assertThat(repository.markRead(notification.getId(), userId)).isEqualTo(1);
+        assertThat(repository.markRead(notification.getId(), userId)).isZero();
+        assertThat(repository.countByUserIdAndReadFalse(userId)).isZero();
+    }
+
+    @Test
+    void markAllRead_updatesOnlyUnreadNotificationsOfUser() {
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        saveNotification(userId, false, Instant.now().minusSeconds(10));
+        saveNotification(userId, false, Instant.now().minusSeconds(5));
+        saveNotification(userId, true, Instant.now().minusSeconds(1));
+        saveNotification(otherUserId, false, Instant.now().minusSeconds(1));
+
+        assertThat(repository.markAllRead(userId)).isEqualTo(2);
+        assertThat(repository.countByUserIdAndReadFalse(userId)).isZero();
+        assertThat(repository.countByUserIdAndReadFalse(otherUserId)).isEqualTo(1L);
+        assertThat(repository.markAllRead(userId)).isZero();
+    }
+
+    @Test
+    void outboxBatchWriter_deliversPendingEntriesOnceInBatches() {
+        UUID userId = UUID.randomUUID();
+        outboxRepository.save(new NotificationOutboxEntry(userId, NotificationType.EXAM_PASSED, "Exam Passed", "m1"));
+        outboxRepository.save(new NotificationOutboxEntry(userId, NotificationType.COURSE_COMPLETED, "Course Completed", "m2"));
+        outboxRepository.save(new NotificationOutboxEntry(userId, NotificationType.CERTIFICATE_ELIGIBLE, "Certificate Generated", "m3"));
+        NotificationOutboxBatchWriter writer = new NotificationOutboxBatchWriter(jdbcTemplate);
+
+        assertThat(writer.dispatchBatch(2).read()).isEqualTo(2);
+        assertThat(writer.dispatchBatch(2).delivered()).singleElement()
+                .satisfies(n -> assertThat(n.userId()).isEqualTo(userId));
+        assertThat(writer.dispatchBatch(2).read()).isZero();
+
+        List<Notification> delivered = repository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, 10)).getContent();
+        assertThat(delivered).extracting(Notification::getTitle)
+                .containsExactlyInAnyOrder("Exam Passed", "Course Completed", "Certificate Generated");
+        assertThat(delivered).allMatch(n -> !n.isRead() && n.getStatus() == NotificationStatus.PERSISTED);
+        assertThat(outboxRepository.countByDispatchedAtIsNull()).isZero();
+
+        assertThat(writer.deleteDispatchedBefore(Instant.now().minusSeconds(60))).isZero();
+        assertThat(writer.deleteDispatchedBefore(Instant.now().plusSeconds(60))).isEqualTo(3);
+    }
+
+    @Test
+    void outboxBatchWriter_parksAnEntryAfterRepeatedFailuresAndClaimsFreshEntriesFirst() {
+        UUID userId = UUID.randomUUID();
+        NotificationOutboxEntry broken = outboxRepository.save(
+                new NotificationOutboxEntry(userId, NotificationType.EXAM_PASSED, "Broken", "m1"));
+        outboxRepository.save(new NotificationOutboxEntry(userId, NotificationType.EXAM_FAILED, "Fresh", "m2"));
+        outboxRepository.flush();
+        NotificationOutboxBatchWriter writer = new NotificationOutboxBatchWriter(jdbcTemplate);
+
+        assertThat(writer.recordFailure(broken.getId(), "first", 2)).isFalse();
+        assertThat(writer.dispatchBatch(1).delivered()).singleElement()
+                .satisfies(n -> assertThat(n.title()).isEqualTo("Fresh"));
+
+        assertThat(writer.recordFailure(broken.getId(), "second", 2)).isTrue();
+        assertThat(writer.dispatchBatch(10).read()).isZero();
+        assertThat(writer.dispatchEntry(broken.getId()).read()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_error FROM notification_outbox WHERE id = ?", String.class, broken.getId()))
+                .isEqualTo("second");
+    }
+
     private Notification saveNotification(UUID userId, boolean read, Instant createdAt) {
         Notification notification = new Notification();
         notification.setUserId(userId);
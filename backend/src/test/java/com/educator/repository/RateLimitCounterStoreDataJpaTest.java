@@ -0,0 +1,51 @@
+package com.educator.repository;
+
+import com.educator.security.RateLimitCounterStore;
+import com.educator.security.RateLimitCounterStore.WindowDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class RateLimitCounterStoreDataJpaTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RateLimitCounterStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Same shape as V14; the test schema is generated from entities only
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS rate_limit_windows (
+                    limit_key VARCHAR(200) NOT NULL,
+                    window_start BIGINT NOT NULL,
+                    hits INTEGER NOT NULL,
+                    PRIMARY KEY (limit_key, window_start)
+                )
+                """);
+        store = new RateLimitCounterStore(jdbcTemplate, 1);
+    }
+
+    @Test
+    void add_accumulatesDeltasPerKeyAndWindow() {
+        store.add(List.of(new WindowDelta("login|10.0.0.1", 100, 3), new WindowDelta("login|10.0.0.2", 100, 1)));
+        store.add(List.of(new WindowDelta("login|10.0.0.1", 100, 2), new WindowDelta("login|10.0.0.1", 99, 7)));
+
+        Map<String, Integer> counts = store.counts(100, List.of("login|10.0.0.1", "login|10.0.0.2", "login|10.0.0.3"));
+
+        assertThat(counts).containsExactlyInAnyOrderEntriesOf(Map.of("login|10.0.0.1", 5, "login|10.0.0.2", 1));
+        assertThat(store.counts(99, List.of("login|10.0.0.1"))).containsEntry("login|10.0.0.1", 7);
+
+        assertThat(store.deleteBefore(100)).isEqualTo(1);
+        assertThat(store.counts(99, List.of("login|10.0.0.1"))).isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package com.educator.repository;
+
+import com.educator.common.cache.CacheVersion;
+import com.educator.common.cache.CacheVersionRepository;
+import com.educator.common.cache.CacheVersionService;
+import com.educator.subscription.entity.SubscriptionPlanCourse;
+import com.educator.subscription.entity.SubscriptionPlanExam;
+import com.educator.subscription.entity.SubscriptionStatus;
+import com.educator.subscription.entity.UserSubscription;
+import com.educator.subscription.repository.SubscriptionPlanCourseRepository;
+import com.educator.subscription.repository.SubscriptionPlanExamRepository;
+import com.educator.subscription.repository.UserSubscriptionRepository;
+import com.educator.subscription.service.PlanContentSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(CacheVersionService.class)
+class SubscriptionRepositoryDataJpaTest {
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Autowired
+    private SubscriptionPlanCourseRepository planCourseRepository;
+
+    @Autowired
+    private SubscriptionPlanExamRepository planExamRepository;
+
+    @Autowired
+    private CacheVersionRepository cacheVersionRepository;
+
+    @Autowired
+    private CacheVersionService cacheVersionService;
+
+    @Test
+    void findByUserIdAndStatusAndExpiresAtAfter_returnsOnlyUnexpiredActiveSubscriptions() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID activePlan = UUID.randomUUID();
+
+        saveSubscription(1L, activePlan, now.plusDays(10), SubscriptionStatus.ACTIVE);
+        saveSubscription(1L, UUID.randomUUID(), now.minusDays(1), SubscriptionStatus.ACTIVE);
+        saveSubscription(1L, UUID.randomUUID(), now.plusDays(10), SubscriptionStatus.EXPIRED);
+        saveSubscription(2L, UUID.randomUUID(), now.plusDays(10), SubscriptionStatus.ACTIVE);
+
+        assertThat(userSubscriptionRepository.findByUserIdAndStatusAndExpiresAtAfter(1L, SubscriptionStatus.ACTIVE, now))
+                .extracting(UserSubscription::getPlanId)
+                .containsExactly(activePlan);
+    }
+
+    @Test
+    void planContentSnapshot_buildsFromAllMappings() {
+        UUID planId = UUID.randomUUID();
+        UUID examId = UUID.randomUUID();
+        mapCourse(planId, 11L);
+        mapCourse(planId, 12L);
+        planExamRepository.save(SubscriptionPlanExam.builder().planId(planId).examId(examId).build());
+
+        PlanContentSnapshot snapshot = PlanContentSnapshot.build(
+                3L,
+                planCourseRepository.findAll(),
+                planExamRepository.findAll()
+        );
+
+        assertThat(snapshot.containsCourse(planId, 11L)).isTrue();
+        assertThat(snapshot.containsCourse(planId, 13L)).isFalse();
+        assertThat(snapshot.containsExam(planId, examId)).isTrue();
+        assertThat(snapshot.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void cacheVersion_incrementUpsertsRow() {
+        assertThat(cacheVersionService.increment("plans")).isEqualTo(1L);
+        assertThat(cacheVersionService.increment("plans")).isEqualTo(2L);
+
+        cacheVersionRepository.saveAndFlush(new CacheVersion("homepage", 4L, LocalDateTime.now()));
+        assertThat(cacheVersionService.increment("homepage")).isEqualTo(5L);
+        assertThat(cacheVersionService.current("homepage")).isEqualTo(5L);
+        assertThat(cacheVersionService.current("plans")).isEqualTo(2L);
+    }
+
+    private void saveSubscription(Long userId, UUID planId, LocalDateTime expiresAt, SubscriptionStatus status) {
+        userSubscriptionRepository.save(UserSubscription.builder()
+                .userId(userId)
+                .planId(planId)
+                .startAt(expiresAt.minusDays(30))
+                .expiresAt(expiresAt)
+                .status(status)
+                .build());
+    }
+
+    private void mapCourse(UUID planId, Long courseId) {
+        planCourseRepository.save(SubscriptionPlanCourse.builder().planId(planId).courseId(courseId).build());
+    }
+}
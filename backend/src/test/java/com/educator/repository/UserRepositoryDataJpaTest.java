@@ -7,6 +7,7 @@ import com.educator.users.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,6 +41,18 @@ class UserRepositoryDataJpaTest {
         assertThat(userRepository.countByRoleName(Role.ADMIN)).isEqualTo(1L);
         assertThat(userRepository.countByRoleName(Role.INSTRUCTOR)).isZero();
     }
-}
-
 
+    @Test
+    void keysetQueries_pageUsersByIdDescending() {
+        User first = userRepository.save(new User("first@example.com", "pw"));
+        User second = userRepository.save(new User("second@example.com", "pw"));
+        User third = userRepository.save(new User("third@example.com", "pw"));
+
+        assertThat(userRepository.findAllByOrderByIdDesc(Limit.of(2)))
+                .extracting(User::getId)
+                .containsExactly(third.getId(), second.getId());
+        assertThat(userRepository.findByIdLessThanOrderByIdDesc(second.getId(), Limit.of(2)))
+                .extracting(User::getId)
+                .containsExactly(first.getId());
+    }
+}
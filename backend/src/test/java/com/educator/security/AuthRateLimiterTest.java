@@ -0,0 +1,144 @@
+package com.educator.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_allowsBurstThenRefillsOneTokenPerInterval() {
+        AuthRateLimiter limiter = limiter(100);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire("/api/auth/login", "10.0.0.1")).isZero();
+        }
+        long retryAfter = limiter.tryAcquire("/api/auth/login", "10.0.0.1");
+        assertThat(retryAfter).isEqualTo(10_000L);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("/api/auth/login", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("/api/auth/login", "10.0.0.1")).isPositive();
+        assertThat(meterRegistry.counter("auth.rate_limit.rejected", "route", "login").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void tryAcquire_keepsSeparateBudgetsPerRouteAndClient() {
+        AuthRateLimiter limiter = limiter(100);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.tryAcquire("/api/auth/reset-request", "10.0.0.1")).isZero();
+        }
+        assertThat(limiter.tryAcquire("/api/auth/reset-confirm", "10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("/api/auth/reset-request", "10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire("/api/auth/login", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("/api/auth/refresh", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void evictIdle_dropsOnlyFullyRefilledBuckets() {
+        AuthRateLimiter limiter = limiter(100);
+        limiter.tryAcquire("/api/auth/login", "10.0.0.1");
+        limiter.tryAcquire("/api/auth/register", "10.0.0.2");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_staysWithinMaxKeys() {
+        AuthRateLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("/api/auth/login", "10.0.1." + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void tryAcquire_keepsLiveBucketsWhenFullAndMetersNewClientsOnASharedOverflowBucket() {
+        AuthRateLimiter limiter = limiter(2);
+        for (int i = 0; i < 6; i++) {
+            limiter.tryAcquire("/api/auth/login", "10.0.0.1");
+        }
+        limiter.tryAcquire("/api/auth/login", "10.0.0.2");
+
+        // The flood neither evicts 10.0.0.1 nor gets a fresh budget per address
+        int allowed = 0;
+        for (int i = 0; i < 50; i++) {
+            if (limiter.tryAcquire("/api/auth/login", "10.0.2." + i) == 0) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(6);
+        assertThat(limiter.tryAcquire("/api/auth/login", "10.0.0.1")).isPositive();
+        assertThat(meterRegistry.counter("auth.rate_limit.overflow").count()).isEqualTo(50.0);
+    }
+
+    @Test
+    void tryAcquire_appliesTheRoutePolicyToOtherSpellingsOfThePath() {
+        AuthRateLimiter limiter = limiter(100);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire(i % 2 == 0 ? "/api/auth/login/" : "/api//auth/%6Cogin;x=1", "10.0.0.1")).isZero();
+        }
+        assertThat(limiter.tryAcquire("/API/auth/login", "10.0.0.1")).isPositive();
+        assertThat(AuthRateLimiter.normalizePath("/api/auth/login/")).isEqualTo("/api/auth/login");
+        assertThat(AuthRateLimiter.normalizePath("/")).isEqualTo("/");
+    }
+
+    @Test
+    void tryAcquire_keysNonAddressClientsByAFixedSizeDigest() {
+        AuthRateLimiter limiter = limiter(100);
+        String forged = "x".repeat(8000);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire("/api/auth/login", forged)).isZero();
+        }
+        assertThat(limiter.tryAcquire("/api/auth/login", forged)).isPositive();
+        assertThat(AuthRateLimiter.normalizeClientKey(forged)).hasSize(44);
+        assertThat(AuthRateLimiter.normalizeClientKey("2001:db8::1")).isEqualTo("2001:db8::1");
+        assertThat(AuthRateLimiter.normalizeClientKey("10.0.0.1")).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void tryAcquire_rejectsWhenClusterBudgetIsSpent() {
+        ClusterRateLimitWindows clusterWindows = mock(ClusterRateLimitWindows.class);
+        AuthRateLimiter limiter = new AuthRateLimiter(6, 5, 2, 20, 100, clusterWindows, meterRegistry, clock::get);
+        when(clusterWindows.tryAcquire("login|10.0.0.1", 6)).thenReturn(0L, 42_000L);
+
+        assertThat(limiter.tryAcquire("/api/auth/login", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("/api/auth/login", "10.0.0.1")).isEqualTo(42_000L);
+        assertThat(meterRegistry.counter("auth.rate_limit.rejected", "route", "login").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void tryAcquire_passesAFixedSizeKeyToTheClusterStoreForAnOverLongClient() {
+        ClusterRateLimitWindows clusterWindows = mock(ClusterRateLimitWindows.class);
+        AuthRateLimiter limiter = new AuthRateLimiter(6, 5, 2, 20, 100, clusterWindows, meterRegistry, clock::get);
+        String forged = "x".repeat(8000);
+
+        limiter.tryAcquire("/api/auth/login", forged);
+
+        verify(clusterWindows).tryAcquire("login|" + AuthRateLimiter.normalizeClientKey(forged), 6);
+        assertThat(("login|" + AuthRateLimiter.normalizeClientKey(forged)).length())
+                .isLessThanOrEqualTo(ClusterRateLimitWindows.MAX_KEY_LENGTH);
+    }
+
+    private AuthRateLimiter limiter(int maxKeys) {
+        return new AuthRateLimiter(6, 5, 2, 20, maxKeys, null, meterRegistry, clock::get);
+    }
+}
@@ -0,0 +1,73 @@
+package com.educator.security;
+
+import com.educator.common.security.AuthenticatedIdentity;
+import com.educator.common.security.UserIdentityUtil;
+import com.educator.roles.Role;
+import com.educator.users.User;
+import com.educator.users.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatedIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void resolve_loadsOnceAndServesFromCache() {
+        AuthenticatedIdentityCache cache = new AuthenticatedIdentityCache(userRepository, 300, 100);
+        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user(7L, "student@example.com")));
+
+        AuthenticatedIdentity first = cache.resolve("student@example.com").orElseThrow();
+        AuthenticatedIdentity second = cache.resolve("student@example.com").orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.userId()).isEqualTo(7L);
+        assertThat(first.stableId()).isEqualTo(UserIdentityUtil.toStableUuid("student@example.com"));
+        assertThat(first.roles()).containsExactly(Role.STUDENT);
+        verify(userRepository, times(1)).findByEmail("student@example.com");
+    }
+
+    @Test
+    void evict_forcesReload() {
+        AuthenticatedIdentityCache cache = new AuthenticatedIdentityCache(userRepository, 300, 100);
+        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user(7L, "student@example.com")));
+
+        cache.resolve("student@example.com");
+        cache.evictUser(7L);
+        assertThat(cache.size()).isZero();
+
+        cache.resolve("student@example.com");
+        verify(userRepository, times(2)).findByEmail("student@example.com");
+    }
+
+    @Test
+    void resolve_staysWithinCapacity() {
+        AuthenticatedIdentityCache cache = new AuthenticatedIdentityCache(userRepository, 300, 10);
+        for (int i = 0; i < 50; i++) {
+            String email = "user" + i + "@example.com";
+            when(userRepository.findByEmail(email)).thenReturn(Optional.of(user((long) i, email)));
+            cache.resolve(email);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+
+    private static User user(Long id, String email) {
+        User user = new User(email, "encoded");
+        ReflectionTestUtils.setField(user, "id", id);
+        user.addRole(new Role(Role.STUDENT));
+        return user;
+    }
+}
@@ -0,0 +1,163 @@
+package com.educator.security;
+
+import com.educator.security.RateLimitCounterStore.WindowDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterRateLimitWindowsTest {
+
+    private static final long MINUTE_100 = 100 * ClusterRateLimitWindows.WINDOW_MILLIS;
+
+    @Mock private RateLimitCounterStore store;
+
+    private final AtomicLong clock = new AtomicLong(MINUTE_100 + 1_000);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_pushesLocalHitsAndAppliesClusterTotals() {
+        ClusterRateLimitWindows windows = windows();
+
+        assertThat(windows.tryAcquire("login|10.0.0.1", 5)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 5)).isZero();
+        when(store.counts(eq(100L), anyCollection())).thenReturn(Map.of("login|10.0.0.1", 4));
+
+        windows.flush();
+
+        ArgumentCaptor<List<WindowDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(store).add(deltas.capture());
+        assertThat(deltas.getValue()).containsExactly(new WindowDelta("login|10.0.0.1", 100, 2));
+
+        // Other nodes used two more; one hit left this minute
+        assertThat(windows.tryAcquire("login|10.0.0.1", 5)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 5)).isEqualTo(59_000L);
+
+        clock.addAndGet(ClusterRateLimitWindows.WINDOW_MILLIS);
+        assertThat(windows.tryAcquire("login|10.0.0.1", 5)).isZero();
+    }
+
+    @Test
+    void flush_failureBypassesStoreUntilBackoffEnds() {
+        ClusterRateLimitWindows windows = windows();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isPositive();
+        doThrow(new QueryTimeoutException("slow")).when(store).add(anyList());
+
+        windows.flush();
+
+        assertThat(windows.isBypassed()).isTrue();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isZero();
+        windows.flush();
+        verify(store, times(1)).add(anyList());
+
+        // The hit the failed flush could not write still counts once the store is back
+        clock.addAndGet(10_000);
+        assertThat(windows.isBypassed()).isFalse();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isPositive();
+        assertThat(windows.tryAcquire("login|10.0.0.2", 1)).isZero();
+        verify(store, never()).deleteBefore(anyLong());
+    }
+
+    @Test
+    void tryAcquire_bypassesAStoreThatBlocksTheFlushWithoutWaitingForIt() throws Exception {
+        ClusterRateLimitWindows windows = windows();
+        CountDownLatch flushBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushBlocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(store).add(anyList());
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isPositive();
+
+        Thread flush = new Thread(windows::flush);
+        flush.start();
+        assertThat(flushBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Within the slow threshold the stale totals still apply; past it the store is bypassed
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isPositive();
+        clock.addAndGet(251);
+        assertThat(windows.isBypassed()).isTrue();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isZero();
+
+        release.countDown();
+        flush.join(5_000);
+        assertThat(windows.isBypassed()).isTrue();
+    }
+
+    @Test
+    void tryAcquire_leavesKeysUntrackedWhenFullUntilFlushDropsPastWindows() {
+        ClusterRateLimitWindows windows = new ClusterRateLimitWindows(store, 250, 10_000, 1, new SimpleMeterRegistry(), clock::get);
+        assertThat(windows.tryAcquire("login|10.0.0.1", 1)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.2", 1)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.2", 1)).isZero();
+
+        windows.flush();
+        clock.addAndGet(ClusterRateLimitWindows.WINDOW_MILLIS);
+        windows.flush();
+
+        assertThat(windows.tryAcquire("login|10.0.0.2", 1)).isZero();
+        assertThat(windows.tryAcquire("login|10.0.0.2", 1)).isPositive();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_storesOverLongKeysByDigestAndDropsRejectedDeltas() {
+        ClusterRateLimitWindows windows = windows();
+        String overLong = "login|" + "x".repeat(300);
+        assertThat(windows.tryAcquire(overLong, 5)).isZero();
+        doThrow(new DataIntegrityViolationException("value too long")).doNothing().when(store).add(anyList());
+
+        windows.flush();
+
+        ArgumentCaptor<List<WindowDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(store).add(deltas.capture());
+        assertThat(deltas.getValue()).singleElement()
+                .satisfies(delta -> assertThat(delta.key()).hasSizeLessThanOrEqualTo(ClusterRateLimitWindows.MAX_KEY_LENGTH));
+
+        // A data error neither bypasses the store nor comes back on the next flush
+        assertThat(windows.isBypassed()).isFalse();
+        windows.flush();
+        verify(store, times(1)).add(argThat(list -> !list.isEmpty()));
+    }
+
+    @Test
+    void flush_dropsFailedHitsOnceTheirMinuteIsPast() {
+        ClusterRateLimitWindows windows = windows();
+        assertThat(windows.tryAcquire("login|10.0.0.1", 5)).isZero();
+        doThrow(new QueryTimeoutException("slow")).when(store).add(anyList());
+
+        windows.flush();
+        clock.addAndGet(ClusterRateLimitWindows.WINDOW_MILLIS);
+        windows.flush();
+        clock.addAndGet(ClusterRateLimitWindows.WINDOW_MILLIS);
+        windows.flush();
+
+        // Retried while its minute could still be read back, then given up instead of failing every flush
+        verify(store, times(2)).add(argThat(list -> !list.isEmpty()));
+    }
+
+    private ClusterRateLimitWindows windows() {
+        return new ClusterRateLimitWindows(store, 250, 10_000, 100, new SimpleMeterRegistry(), clock::get);
+    }
+}
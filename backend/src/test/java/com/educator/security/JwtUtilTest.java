@@ -3,6 +3,7 @@ package com.educator.security;
 import com.educator.roles.Role;
 import com.educator.users.User;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 
@@ -65,6 +66,28 @@ class JwtUtilTest {
         assertThat(jwtUtil.validateToken(tampered)).isFalse();
     }
 
+    @Test
+    void verify_returnsAllClaimsFromSingleParse() {
+        JwtUtil jwtUtil = new JwtUtil(TEST_SECRET, 60_000);
+        User user = createUser("verify@example.com", List.of(Role.STUDENT));
+        ReflectionTestUtils.setField(user, "id", 42L);
+
+        VerifiedJwt jwt = jwtUtil.verify(jwtUtil.generateToken(user)).orElseThrow();
+
+        assertThat(jwt.subject()).isEqualTo("verify@example.com");
+        assertThat(jwt.userId()).isEqualTo(42L);
+        assertThat(jwt.roles()).containsExactly(Role.STUDENT);
+        assertThat(jwt.expiresAt()).isAfter(jwt.issuedAt());
+    }
+
+    @Test
+    void verify_returnsEmptyForTamperedToken() {
+        JwtUtil jwtUtil = new JwtUtil(TEST_SECRET, 60_000);
+        String token = jwtUtil.generateToken(createUser("tampered@example.com", List.of(Role.STUDENT)));
+
+        assertThat(jwtUtil.verify(token.substring(0, token.length() - 2) + "aa")).isEmpty();
+    }
+
     private User createUser(String email, List<String> roleNames) {
         User user = new User(email, "encoded-password");
         roleNames.stream().map(Role::new).forEach(user::addRole);
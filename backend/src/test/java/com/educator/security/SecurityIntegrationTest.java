@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -90,6 +91,61 @@ class SecurityIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void coursePublishAndArchiveRejectStudentRole() throws Exception {
+        User student = createUserWithRole(
+                "publish-check." + UUID.randomUUID() + "@example.com",
+                "StrongPass1",
+                Role.STUDENT
+        );
+        String studentToken = jwtUtil.generateToken(student);
+
+        for (String action : new String[] {"publish", "archive"}) {
+            mockMvc.perform(
+                            post("/api/admin/courses/1/" + action)
+                                    .header("Authorization", "Bearer " + studentToken)
+                    )
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void examQuestionBulkUpsertRejectsStudentRole() throws Exception {
+        User student = createUserWithRole(
+                "bulk-check." + UUID.randomUUID() + "@example.com",
+                "StrongPass1",
+                Role.STUDENT
+        );
+        String studentToken = jwtUtil.generateToken(student);
+
+        mockMvc.perform(
+                        put("/api/admin/exams/" + UUID.randomUUID() + "/questions/bulk")
+                                .header("Authorization", "Bearer " + studentToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"questions\":[{\"questionText\":\"Q\",\"displayOrder\":1,"
+                                        + "\"options\":[{\"optionText\":\"A\",\"correct\":true,\"displayOrder\":1}]}]}")
+                )
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void examQuestionImportRejectsStudentRole() throws Exception {
+        User student = createUserWithRole(
+                "import-check." + UUID.randomUUID() + "@example.com",
+                "StrongPass1",
+                Role.STUDENT
+        );
+        String studentToken = jwtUtil.generateToken(student);
+
+        mockMvc.perform(
+                        post("/api/admin/exams/" + UUID.randomUUID() + "/questions/import")
+                                .header("Authorization", "Bearer " + studentToken)
+                                .contentType("text/csv")
+                                .content("question_text,correct_option,option_1,option_2\nQ,1,a,b\n")
+                )
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void invalidJwtReturnsStructured401() throws Exception {
         mockMvc.perform(
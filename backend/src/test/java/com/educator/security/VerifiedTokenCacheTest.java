@@ -0,0 +1,82 @@
+package com.educator.security;
+
+import com.educator.common.security.AuthenticatedIdentity;
+import com.educator.roles.Role;
+import com.educator.users.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private AuthenticatedIdentityCache identityCache;
+
+    @Test
+    void get_returnsCachedIdentityUntilTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(identityCache, 300, 100);
+
+        cache.put("live-token", jwt(Instant.now(), Instant.now().plusSeconds(60)), identity(1L, "live@example.com"));
+        cache.put("expired-token", jwt(Instant.now(), Instant.now().minusSeconds(1)), identity(2L, "expired@example.com"));
+
+        assertThat(cache.get("live-token")).get()
+                .extracting(AuthenticatedIdentity::email).isEqualTo("live@example.com");
+        assertThat(cache.get("expired-token")).isEmpty();
+        assertThat(cache.get("unknown-token")).isEmpty();
+    }
+
+    @Test
+    void revoke_stampsUserAndDropsCachedTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(identityCache, 300, 100);
+        cache.put("token", jwt(Instant.now().minus(10, ChronoUnit.MINUTES), Instant.now().plusSeconds(600)),
+                identity(1L, "student@example.com"));
+        cache.put("other-token", jwt(Instant.now(), Instant.now().plusSeconds(600)),
+                identity(2L, "other@example.com"));
+        User user = new User("student@example.com", "encoded");
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        cache.revoke(user);
+
+        assertThat(cache.get("token")).isEmpty();
+        assertThat(cache.get("other-token")).isPresent();
+        verify(identityCache).evict("student@example.com");
+        verify(identityCache).evictUser(1L);
+
+        Instant validAfter = user.getTokensValidAfter();
+        assertThat(validAfter).isNotNull();
+        assertThat(user.acceptsTokenIssuedAt(validAfter.minusSeconds(1))).isFalse();
+        assertThat(user.acceptsTokenIssuedAt(validAfter)).isTrue();
+    }
+
+    @Test
+    void revoke_acceptsTokenIssuedInTheSameSecond() {
+        User user = new User("student@example.com", "encoded");
+        Instant revokedAt = Instant.parse("2026-03-01T10:15:30.900Z");
+
+        user.revokeIssuedTokens(revokedAt);
+
+        // iat is whole seconds: a re-login in the revocation's second carries 10:15:30
+        assertThat(user.acceptsTokenIssuedAt(Instant.parse("2026-03-01T10:15:30Z"))).isTrue();
+        assertThat(user.acceptsTokenIssuedAt(Instant.parse("2026-03-01T10:15:29Z"))).isFalse();
+    }
+
+    private static VerifiedJwt jwt(Instant issuedAt, Instant expiresAt) {
+        return new VerifiedJwt("student@example.com", 1L, List.of(Role.STUDENT), issuedAt, expiresAt);
+    }
+
+    private static AuthenticatedIdentity identity(Long userId, String email) {
+        return new AuthenticatedIdentity(userId, UUID.randomUUID(), email, Set.of(Role.STUDENT));
+    }
+}
@@ -0,0 +1,141 @@
+package com.educator.subscription.service;
+
+import com.educator.subscription.entity.SubscriptionPlanCourse;
+import com.educator.subscription.entity.SubscriptionPlanExam;
+import com.educator.subscription.entity.SubscriptionStatus;
+import com.educator.subscription.entity.UserSubscription;
+import com.educator.subscription.repository.UserSubscriptionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserEntitlementCacheTest {
+
+    @Mock
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Mock
+    private PlanContentIndex planContentIndex;
+
+    @Test
+    void get_buildsOnceAndServesFromCache() {
+        UserEntitlementCache cache = new UserEntitlementCache(userSubscriptionRepository, planContentIndex, 300, 100);
+        UUID planId = UUID.randomUUID();
+        when(planContentIndex.snapshot()).thenReturn(content(1L, planId, 3L));
+        when(userSubscriptionRepository.findByUserIdAndStatusAndExpiresAtAfter(eq(7L), eq(SubscriptionStatus.ACTIVE), any()))
+                .thenReturn(List.of(subscription(planId, LocalDateTime.now().plusDays(5))));
+
+        assertThat(cache.get(7L).includesCourse(3L)).isTrue();
+        assertThat(cache.get(7L).includesCourse(4L)).isFalse();
+
+        verify(userSubscriptionRepository, times(1))
+                .findByUserIdAndStatusAndExpiresAtAfter(eq(7L), eq(SubscriptionStatus.ACTIVE), any());
+    }
+
+    @Test
+    void get_rebuildsWhenPlanContentVersionChanges() {
+        UserEntitlementCache cache = new UserEntitlementCache(userSubscriptionRepository, planContentIndex, 300, 100);
+        UUID planId = UUID.randomUUID();
+        when(userSubscriptionRepository.findByUserIdAndStatusAndExpiresAtAfter(eq(7L), eq(SubscriptionStatus.ACTIVE), any()))
+                .thenReturn(List.of(subscription(planId, LocalDateTime.now().plusDays(5))));
+
+        when(planContentIndex.snapshot()).thenReturn(content(1L, planId, 3L));
+        assertThat(cache.get(7L).includesCourse(4L)).isFalse();
+
+        when(planContentIndex.snapshot()).thenReturn(content(2L, planId, 3L, 4L));
+        assertThat(cache.get(7L).includesCourse(4L)).isTrue();
+    }
+
+    @Test
+    void get_rebuildsOnceEarliestSubscriptionHasExpired() {
+        UserEntitlementCache cache = new UserEntitlementCache(userSubscriptionRepository, planContentIndex, 300, 100);
+        UUID planId = UUID.randomUUID();
+        when(planContentIndex.snapshot()).thenReturn(content(1L, planId, 3L));
+        when(userSubscriptionRepository.findByUserIdAndStatusAndExpiresAtAfter(eq(7L), eq(SubscriptionStatus.ACTIVE), any()))
+                .thenReturn(List.of(subscription(planId, LocalDateTime.now().minusSeconds(1))));
+
+        cache.get(7L);
+        cache.get(7L);
+
+        verify(userSubscriptionRepository, times(2))
+                .findByUserIdAndStatusAndExpiresAtAfter(eq(7L), eq(SubscriptionStatus.ACTIVE), any());
+    }
+
+    @Test
+    void entitlements_lookUpManyCoursesAndExams() {
+        UUID planId = UUID.randomUUID();
+        UUID examId = UUID.randomUUID();
+
+        List<SubscriptionPlanCourse> courses = new ArrayList<>();
+        for (long courseId = 0; courseId < 500; courseId += 2) {
+            courses.add(SubscriptionPlanCourse.builder().planId(planId).courseId(courseId).build());
+        }
+        PlanContentSnapshot content = PlanContentSnapshot.build(
+                1L,
+                courses,
+                List.of(SubscriptionPlanExam.builder().planId(planId).examId(examId).build())
+        );
+
+        UserEntitlements entitlements = UserEntitlements.from(
+                List.of(subscription(planId, LocalDateTime.now().plusDays(1))),
+                content
+        );
+
+        assertThat(entitlements.getCourseCount()).isEqualTo(250);
+        for (long courseId = 0; courseId < 500; courseId++) {
+            assertThat(entitlements.includesCourse(courseId)).isEqualTo(courseId % 2 == 0);
+        }
+        assertThat(entitlements.includesExam(examId)).isTrue();
+        assertThat(entitlements.includesExam(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void planContentSnapshot_appliesCopyOnWriteChanges() {
+        UUID planId = UUID.randomUUID();
+        UUID examId = UUID.randomUUID();
+        PlanContentSnapshot original = content(1L, planId, 5L, 9L);
+
+        PlanContentSnapshot attached = original.withCourse(2L, planId, 7L, true).withExam(3L, planId, examId, true);
+        PlanContentSnapshot removed = attached.withCourse(4L, planId, 5L, false).withExam(5L, planId, examId, false);
+
+        assertThat(original.containsCourse(planId, 7L)).isFalse();
+        assertThat(attached.containsCourse(planId, 7L)).isTrue();
+        assertThat(attached.containsExam(planId, examId)).isTrue();
+        assertThat(removed.containsCourse(planId, 5L)).isFalse();
+        assertThat(removed.containsCourse(planId, 9L)).isTrue();
+        assertThat(removed.containsExam(planId, examId)).isFalse();
+        assertThat(removed.getVersion()).isEqualTo(5L);
+    }
+
+    private static PlanContentSnapshot content(long version, UUID planId, long... courseIds) {
+        List<SubscriptionPlanCourse> courses = new ArrayList<>();
+        for (long courseId : courseIds) {
+            courses.add(SubscriptionPlanCourse.builder().planId(planId).courseId(courseId).build());
+        }
+        return PlanContentSnapshot.build(version, courses, List.of());
+    }
+
+    private static UserSubscription subscription(UUID planId, LocalDateTime expiresAt) {
+        return UserSubscription.builder()
+                .userId(7L)
+                .planId(planId)
+                .startAt(expiresAt.minusDays(30))
+                .expiresAt(expiresAt)
+                .status(SubscriptionStatus.ACTIVE)
+                .build();
+    }
+}